@@ -23,6 +23,7 @@ import static org.apache.hugegraph.config.OptionChecker.allowValues;
 import static org.apache.hugegraph.config.OptionChecker.disallowEmpty;
 import static org.apache.hugegraph.config.OptionChecker.nonNegativeInt;
 import static org.apache.hugegraph.config.OptionChecker.positiveInt;
+import static org.apache.hugegraph.config.OptionChecker.rangeInt;
 
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -254,6 +255,89 @@ public class ComputerOptions extends OptionHolder {
                     ""
             );
 
+    public static final ConfigOption<Boolean> SNAPSHOT_PARTITION_LAYOUT =
+            new ConfigOption<>(
+                    "snapshot.partition_layout",
+                    "Whether the snapshot is made of the partitions built " +
+                    "at the end of inputstep and their stats, which are " +
+                    "mapped in directly when loading the snapshot, instead " +
+                    "of the received vertex and edge files which need to " +
+                    "be merged and built again.",
+                    allowValues(true, false),
+                    false
+            );
+
+    public static final ConfigOption<Class<?>> SNAPSHOT_STORE_CLASS =
+            new ConfigOption<>(
+                    "snapshot.store_class",
+                    "The class of store that saves the snapshot files, like " +
+                    "MinioSnapshotStore that saves the files to MinIO with " +
+                    "the snapshot.minio_* options, and LocalSnapshotStore " +
+                    "that saves the files to a local or shared directory.",
+                    disallowEmpty(),
+                    loadClass("org.apache.hugegraph.computer.core.snapshot.MinioSnapshotStore")
+            );
+
+    public static final ConfigOption<String> SNAPSHOT_LOCAL_DIR =
+            new ConfigOption<>(
+                    "snapshot.local_dir",
+                    "The directory of LocalSnapshotStore to save the " +
+                    "snapshot files, it must be shared by all the workers " +
+                    "if they run on different hosts.",
+                    disallowEmpty(),
+                    "snapshot"
+            );
+
+    public static final ConfigOption<Integer> SNAPSHOT_TRANSFER_THREADS =
+            new ConfigOption<>(
+                    "snapshot.transfer_threads",
+                    "The number of threads to upload or download the " +
+                    "snapshot files of a worker in parallel.",
+                    positiveInt(),
+                    4
+            );
+
+    public static final ConfigOption<Integer> CHECKPOINT_INTERVAL =
+            new ConfigOption<>(
+                    "checkpoint.interval",
+                    "The interval of supersteps to write a checkpoint, the " +
+                    "job resumes from the latest complete checkpoint when " +
+                    "restarted. The checkpoint is disabled if it's 0.",
+                    nonNegativeInt(),
+                    0
+            );
+
+    public static final ConfigOption<Class<?>> CHECKPOINT_STORE_CLASS =
+            new ConfigOption<>(
+                    "checkpoint.store_class",
+                    "The class of store that saves the checkpoint files, " +
+                    "like LocalCheckpointStore that saves the files to a " +
+                    "local or shared directory, and MinioCheckpointStore " +
+                    "that saves the files to MinIO with the snapshot.minio_* " +
+                    "options.",
+                    disallowEmpty(),
+                    loadClass("org.apache.hugegraph.computer.core.checkpoint.LocalCheckpointStore")
+            );
+
+    public static final ConfigOption<String> CHECKPOINT_LOCAL_DIR =
+            new ConfigOption<>(
+                    "checkpoint.local_dir",
+                    "The directory of LocalCheckpointStore to save the " +
+                    "checkpoint files, it must be shared by all the " +
+                    "workers and master if they run on different hosts.",
+                    disallowEmpty(),
+                    "checkpoint"
+            );
+
+    public static final ConfigOption<Integer> CHECKPOINT_TRANSFER_THREADS =
+            new ConfigOption<>(
+                    "checkpoint.transfer_threads",
+                    "The number of threads to upload or download the " +
+                    "checkpoint files of a worker in parallel.",
+                    positiveInt(),
+                    4
+            );
+
     public static final ConfigOption<Integer> INPUT_SEND_THREAD_NUMS =
             new ConfigOption<>(
                     "input.send_thread_nums",
@@ -270,6 +354,18 @@ public class ComputerOptions extends OptionHolder {
                     4
             );
 
+    public static final ConfigOption<String> SORT_INPUT_SORTER =
+            new ConfigOption<>(
+                    "sort.input_sorter",
+                    "The sorter to sort the entries of a buffer in memory, " +
+                    "JAVA means sorting the entries by comparing the keys, " +
+                    "RADIX means radix sorting the normalized prefixes of " +
+                    "the keys and comparing the keys only if the prefixes " +
+                    "are equal.",
+                    allowValues("JAVA", "RADIX"),
+                    "JAVA"
+            );
+
     public static final ConfigOption<Class<?>> OUTPUT_CLASS =
             new ConfigOption<>(
                     "output.output_class",
@@ -346,6 +442,24 @@ public class ComputerOptions extends OptionHolder {
                     1
             );
 
+    public static final ConfigOption<Integer> OUTPUT_PARTITIONS_THREAD_NUMS =
+            new ConfigOption<>(
+                    "output.partitions_thread_nums",
+                    "The number of threads for partition parallel output",
+                    positiveInt(),
+                    4
+            );
+
+    public static final ConfigOption<Integer> OUTPUT_PIPELINE_BUFFER_SIZE =
+            new ConfigOption<>(
+                    "output.pipeline_buffer_size",
+                    "The max number of vertices read from partition but not " +
+                    "written to output yet, reading vertices is overlapped " +
+                    "with writing to output if it's positive",
+                    nonNegativeInt(),
+                    10000
+            );
+
     public static final ConfigOption<Integer>
             OUTPUT_THREAD_POOL_SHUTDOWN_TIMEOUT =
             new ConfigOption<>(
@@ -627,6 +741,17 @@ public class ComputerOptions extends OptionHolder {
                     100 * Bytes.MB
             );
 
+    public static final ConfigOption<Boolean> WORKER_RECEIVED_MERGE_IN_MEMORY =
+            new ConfigOption<>(
+                    "worker.received_merge_in_memory",
+                    "Whether to merge the received buffers in memory if " +
+                    "none of them have been merged into a file, it avoids " +
+                    "writing and reading the file when the received data " +
+                    "is within worker.received_buffers_bytes_limit.",
+                    allowValues(true, false),
+                    true
+            );
+
     public static final ConfigOption<Long> WORKER_WAIT_SORT_TIMEOUT =
             new ConfigOption<>(
                     "worker.wait_sort_timeout",
@@ -656,6 +781,53 @@ public class ComputerOptions extends OptionHolder {
                     ImmutableList.of("jobs")
             );
 
+    public static final ConfigOption<Integer> WORKER_SEND_THREAD_NUMS =
+            new ConfigOption<>(
+                    "worker.send_thread_nums",
+                    "The number of threads sending the queued messages to " +
+                    "the target workers, each thread sends to a fixed " +
+                    "group of workers, so a slow worker only delays the " +
+                    "workers in the same group. It's limited by the " +
+                    "number of workers.",
+                    positiveInt(),
+                    1
+            );
+
+    public static final ConfigOption<String> WORKER_SEND_QUEUE_TYPE =
+            new ConfigOption<>(
+                    "worker.send_queue_type",
+                    "The type of the queue buffering the messages to be " +
+                    "sent to a worker, BLOCKING is a locked blocking " +
+                    "queue, RING is a lock-free ring buffer which only " +
+                    "wakes the send thread up when it's waiting.",
+                    allowValues("BLOCKING", "RING"),
+                    "BLOCKING"
+            );
+
+    public static final ConfigOption<Integer> WORKER_SENDER_COMBINE_SIZE =
+            new ConfigOption<>(
+                    "worker.sender_combine_size",
+                    "The max number of distinct target ids combined in " +
+                    "a hash table of each send buffer before the messages " +
+                    "are written to the buffer, it only works if the " +
+                    "combiner is set and the ids are long type. " +
+                    "0 means disable combining before sort.",
+                    rangeInt(0, 1 << 24),
+                    0
+            );
+
+    public static final ConfigOption<Long> WORKER_SEND_BUFFER_POOL_SIZE =
+            new ConfigOption<>(
+                    "worker.send_buffer_pool_size",
+                    "The total bytes of the direct memory pool used to " +
+                    "store the sorted buffers to send, the buffers are " +
+                    "returned to the pool after acked by the target " +
+                    "worker. 0 means allocate a heap buffer for each " +
+                    "sorted buffer.",
+                    nonNegativeInt(),
+                    0L
+            );
+
     public static final ConfigOption<Integer> WORKER_WRITE_BUFFER_THRESHOLD =
             new ConfigOption<>(
                     "worker.write_buffer_threshold",
@@ -675,6 +847,78 @@ public class ComputerOptions extends OptionHolder {
                     (int) (50 * Bytes.MB)
             );
 
+    public static final ConfigOption<String> WORKER_PARTITION_STORE_TYPE =
+            new ConfigOption<>(
+                    "worker.partition_store_type",
+                    "The store type of the vertices, edges and values of " +
+                    "the partitions after inputstep, FILE means stored in " +
+                    "files and read at each superstep, MEMORY means kept " +
+                    "in memory in CSR layout.",
+                    allowValues("FILE", "MEMORY"),
+                    "FILE"
+            );
+
+    public static final ConfigOption<Long> WORKER_MEMORY_PARTITIONS_BYTES_LIMIT =
+            new ConfigOption<>(
+                    "worker.memory_partitions_bytes_limit",
+                    "The limit bytes of all the partitions kept in memory " +
+                    "when partition_store_type is MEMORY, the partitions " +
+                    "exceeding this limit fall back to be stored in files.",
+                    positiveInt(),
+                    1024 * Bytes.MB
+            );
+
+    public static final ConfigOption<Boolean> WORKER_REUSE_EDGES =
+            new ConfigOption<>(
+                    "worker.reuse_edges",
+                    "Whether to decode the edges of vertices into reused " +
+                    "objects when computing. If true, an edge and its " +
+                    "target id are only valid until the next edge is " +
+                    "read, the computation must copy them by Edge.copy() " +
+                    "if they need to be retained.",
+                    allowValues(true, false),
+                    false
+            );
+
+    public static final ConfigOption<Boolean> WORKER_MMAP_FILE_INPUT =
+            new ConfigOption<>(
+                    "worker.mmap_file_input",
+                    "Whether to read the vertex, edge, value and sorted " +
+                    "files by memory-mapping them, so that seek and " +
+                    "re-read become pointer moves. It's suitable for the " +
+                    "workers with enough page cache.",
+                    allowValues(true, false),
+                    false
+            );
+
+    public static final ConfigOption<Integer> WORKER_READ_AHEAD_DEPTH =
+            new ConfigOption<>(
+                    "worker.read_ahead_depth",
+                    "The max number of buffers read ahead in the I/O " +
+                    "threads for each vertex, edge, value and sorted file " +
+                    "input while computing, 0 means disable read ahead. " +
+                    "It's ignored if worker.mmap_file_input is true.",
+                    nonNegativeInt(),
+                    0
+            );
+
+    public static final ConfigOption<Integer> WORKER_READ_AHEAD_BUFFER_SIZE =
+            new ConfigOption<>(
+                    "worker.read_ahead_buffer_size",
+                    "The size of each buffer read ahead in bytes.",
+                    positiveInt(),
+                    64 * (int) Bytes.KB
+            );
+
+    public static final ConfigOption<Integer> WORKER_READ_AHEAD_THREADS =
+            new ConfigOption<>(
+                    "worker.read_ahead_threads",
+                    "The number of I/O threads shared by the file inputs " +
+                    "to read ahead.",
+                    positiveInt(),
+                    2
+            );
+
     public static final ConfigOption<Class<?>> MASTER_COMPUTATION_CLASS =
             new ConfigOption<>(
                     "master.computation_class",
@@ -750,6 +994,18 @@ public class ComputerOptions extends OptionHolder {
                     TRANSPORT_DEFAULT_THREADS
             );
 
+    public static final ConfigOption<Integer> TRANSPORT_CLIENT_CONNECTIONS =
+            new ConfigOption<>(
+                    "transport.client_connections",
+                    "The number of connections from a worker to each " +
+                    "worker. The partitions are striped across the " +
+                    "connections, so the messages of a partition are " +
+                    "still received in order, and the connections are " +
+                    "decoded by different server threads.",
+                    positiveInt(),
+                    1
+            );
+
     public static final ConfigOption<Class<?>> TRANSPORT_PROVIDER_CLASS =
             new ConfigOption<>(
                     "transport.provider_class",
@@ -786,6 +1042,30 @@ public class ComputerOptions extends OptionHolder {
                     true
             );
 
+    public static final ConfigOption<String> TRANSPORT_COMPRESSION_CODEC =
+            new ConfigOption<>(
+                    "transport.compression_codec",
+                    "The codec to compress the body of data messages, " +
+                    "'none' means not compress. The built-in 'deflate' " +
+                    "codec only depends on JDK, other codecs can be " +
+                    "provided by implementing BlockCodec as a service. " +
+                    "The codec is negotiated when the session starts, the " +
+                    "server rejects it if transport.recv_file_mode is " +
+                    "enabled or it can't find the codec.",
+                    disallowEmpty(),
+                    "none"
+            );
+
+    public static final ConfigOption<Boolean> TRANSPORT_LOCAL_SHORT_CIRCUIT =
+            new ConfigOption<>(
+                    "transport.local_short_circuit",
+                    "Whether to pass the sorted buffers to the partitions " +
+                    "of local worker directly to the receiver, instead of " +
+                    "sending them through the loopback connection.",
+                    allowValues(true, false),
+                    true
+            );
+
     public static final ConfigOption<Boolean> TRANSPORT_TCP_KEEP_ALIVE =
             new ConfigOption<>(
                     "transport.tcp_keep_alive",
@@ -914,6 +1194,28 @@ public class ComputerOptions extends OptionHolder {
                     6
             );
 
+    public static final ConfigOption<Boolean> TRANSPORT_ADAPTIVE_FLOW_CONTROL =
+            new ConfigOption<>(
+                    "transport.adaptive_flow_control",
+                    "Whether to adapt the max number of client unreceived " +
+                    "ack to the ack round-trip time and the free buffer " +
+                    "bytes advertised by the server. The window starts at " +
+                    "max_pending_requests, grows by one each round trip " +
+                    "and is halved when the round-trip time rises.",
+                    allowValues(true, false),
+                    false
+            );
+
+    public static final ConfigOption<Integer> TRANSPORT_MAX_FLOW_WINDOW =
+            new ConfigOption<>(
+                    "transport.max_flow_window",
+                    "The max number of client unreceived ack that the " +
+                    "adaptive flow control window can grow to, it must be " +
+                    ">= max_pending_requests.",
+                    positiveInt(),
+                    256
+            );
+
     public static final ConfigOption<Long> TRANSPORT_MIN_ACK_INTERVAL =
             new ConfigOption<>(
                     "transport.min_ack_interval",
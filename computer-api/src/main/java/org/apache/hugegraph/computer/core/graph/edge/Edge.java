@@ -41,4 +41,10 @@ public interface Edge extends Recyclable {
     void properties(Properties properties);
 
     <T extends Value> T property(String key);
+
+    /**
+     * Copy the edge with its target id and properties, it's used to retain
+     * an edge which may be reused when iterating edges.
+     */
+    Edge copy();
 }
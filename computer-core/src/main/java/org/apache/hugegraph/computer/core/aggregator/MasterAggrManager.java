@@ -99,6 +99,24 @@ public class MasterAggrManager implements Manager {
         return aggr.aggregatedValue();
     }
 
+    /**
+     * The aggregated values of all aggregators at current superstep, used
+     * to checkpoint the aggregators.
+     */
+    public Map<String, Value> aggregatedValues() {
+        return this.aggregatorsHandler.listAggregators();
+    }
+
+    /**
+     * Restore the aggregated values of aggregators from checkpoint, the
+     * workers get the values at next superstep.
+     */
+    public void aggregatedValues(Map<String, Value> values) {
+        for (Entry<String, Value> entry : values.entrySet()) {
+            this.aggregatedAggregator(entry.getKey(), entry.getValue());
+        }
+    }
+
     private class MasterAggregateHandler implements AggregateRpcService {
 
         private final Aggregators aggregators;
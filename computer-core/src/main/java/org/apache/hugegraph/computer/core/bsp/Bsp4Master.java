@@ -24,6 +24,7 @@ import org.apache.hugegraph.computer.core.common.Constants;
 import org.apache.hugegraph.computer.core.common.ContainerInfo;
 import org.apache.hugegraph.computer.core.config.Config;
 import org.apache.hugegraph.computer.core.graph.SuperstepStat;
+import org.apache.hugegraph.computer.core.graph.partition.PartitionOutputStat;
 import org.apache.hugegraph.computer.core.graph.value.IntValue;
 import org.apache.hugegraph.computer.core.util.SerializeUtil;
 import org.apache.hugegraph.computer.core.worker.WorkerStat;
@@ -181,13 +182,33 @@ public class Bsp4Master extends BspBase {
     }
 
     /**
-     * Wait workers output the vertices.
+     * Wait all workers write the checkpoint of specified superstep.
      */
-    public void waitWorkersOutputDone() {
+    public void waitWorkersCheckpointDone(int superstep) {
+        LOG.info("Master is waiting for workers checkpoint-done({})",
+                 superstep);
+        String path = this.constructPath(BspEvent.BSP_WORKER_CHECKPOINT_DONE,
+                                         superstep);
+        this.waitOnWorkersEvent(path, this.barrierOnWorkersTimeout());
+        LOG.info("Master waited workers checkpoint-done({})", superstep);
+    }
+
+    /**
+     * Wait workers output the vertices, return the output stats of all
+     * partitions.
+     */
+    public List<PartitionOutputStat> waitWorkersOutputDone() {
         LOG.info("Master is waiting for workers output-done");
         String path = this.constructPath(BspEvent.BSP_WORKER_OUTPUT_DONE);
-        this.waitOnWorkersEvent(path, this.barrierOnWorkersTimeout());
+        List<byte[]> list = this.waitOnWorkersEvent(path,
+                            this.barrierOnWorkersTimeout());
+        List<PartitionOutputStat> result = new ArrayList<>();
+        for (byte[] bytes : list) {
+            result.addAll(SerializeUtil.fromBytes(bytes,
+                                                  PartitionOutputStat::new));
+        }
         LOG.info("Master waited workers output-done");
+        return result;
     }
 
     /**
@@ -23,6 +23,7 @@ import org.apache.hugegraph.computer.core.common.Constants;
 import org.apache.hugegraph.computer.core.common.ContainerInfo;
 import org.apache.hugegraph.computer.core.config.Config;
 import org.apache.hugegraph.computer.core.graph.SuperstepStat;
+import org.apache.hugegraph.computer.core.graph.partition.PartitionOutputStat;
 import org.apache.hugegraph.computer.core.graph.value.IntValue;
 import org.apache.hugegraph.computer.core.util.SerializeUtil;
 import org.apache.hugegraph.computer.core.worker.WorkerStat;
@@ -221,14 +222,28 @@ public class Bsp4Worker extends BspBase {
         return superstepStat;
     }
 
+    /**
+     * Worker set this signal to indicate the worker has written the
+     * checkpoint of specified superstep.
+     */
+    public void workerCheckpointDone(int superstep) {
+        String path = this.constructPath(BspEvent.BSP_WORKER_CHECKPOINT_DONE,
+                                         superstep, this.workerInfo.id());
+        this.bspClient().put(path, Constants.EMPTY_BYTES);
+        LOG.info("Worker({}) set checkpoint-done({})",
+                 this.workerInfo.id(), superstep);
+    }
+
     /**
      * Worker set this signal to indicate the worker has outputted the result.
+     * The output stats of partitions are sent to master.
      */
-    public void workerOutputDone() {
+    public void workerOutputDone(List<PartitionOutputStat> outputStats) {
         String path = this.constructPath(BspEvent.BSP_WORKER_OUTPUT_DONE,
                                          this.workerInfo.id());
-        this.bspClient().put(path, Constants.EMPTY_BYTES);
-        LOG.info("Worker({}) set output-done", this.workerInfo.id());
+        this.bspClient().put(path, SerializeUtil.toBytes(outputStats));
+        LOG.info("Worker({}) set output-done, output stats: {}",
+                 this.workerInfo.id(), outputStats);
     }
 
     /**
@@ -33,7 +33,8 @@ public enum BspEvent {
     BSP_WORKER_STEP_DONE(11, "/worker/step_done"),
     BSP_MASTER_STEP_DONE(12, "/master/step_done"),
     BSP_WORKER_OUTPUT_DONE(13, "/worker/output_done"),
-    BSP_WORKER_CLOSE_DONE(14, "/worker/close_done");
+    BSP_WORKER_CLOSE_DONE(14, "/worker/close_done"),
+    BSP_WORKER_CHECKPOINT_DONE(15, "/worker/checkpoint_done");
 
     private byte code;
     private String key;
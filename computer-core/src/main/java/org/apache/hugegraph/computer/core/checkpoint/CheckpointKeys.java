@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.checkpoint;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The layout of checkpoint keys in store, all the keys of a checkpoint are
+ * under the directory "{job_id}/{superstep}/":
+ * "partition/{partition}/*" is the state of a computed partition,
+ * "message/{partition}/*" is the message files received by a partition,
+ * "master" is the state of master, and "complete" is the marker written
+ * after all others, only the checkpoint with marker can be resumed from.
+ */
+public final class CheckpointKeys {
+
+    private static final String SEPARATOR = "/";
+    private static final String PARTITION = "partition";
+    private static final String MESSAGE = "message";
+    private static final String MASTER = "master";
+    private static final String COMPLETE = "complete";
+
+    private CheckpointKeys() {
+    }
+
+    public static String job(String jobId) {
+        return jobId + SEPARATOR;
+    }
+
+    public static String superstep(String jobId, int superstep) {
+        return job(jobId) + superstep + SEPARATOR;
+    }
+
+    public static String partition(String jobId, int superstep,
+                                   int partition) {
+        return superstep(jobId, superstep) + PARTITION + SEPARATOR +
+               partition + SEPARATOR;
+    }
+
+    public static String message(String jobId, int superstep,
+                                 int partition) {
+        return superstep(jobId, superstep) + MESSAGE + SEPARATOR +
+               partition + SEPARATOR;
+    }
+
+    public static String master(String jobId, int superstep) {
+        return superstep(jobId, superstep) + MASTER;
+    }
+
+    public static String complete(String jobId, int superstep) {
+        return superstep(jobId, superstep) + COMPLETE;
+    }
+
+    public static String fileName(String key) {
+        return StringUtils.substringAfterLast(key, SEPARATOR);
+    }
+
+    /**
+     * Parse the superstep from the key under the directory of the job,
+     * return -1 if the key is not in any superstep directory.
+     */
+    public static int superstepOf(String jobId, String key) {
+        String job = job(jobId);
+        if (!key.startsWith(job)) {
+            return -1;
+        }
+        String superstep = StringUtils.substringBefore(
+                           key.substring(job.length()), SEPARATOR);
+        return StringUtils.isNumeric(superstep) && !superstep.isEmpty() ?
+               Integer.parseInt(superstep) : -1;
+    }
+
+    /**
+     * Whether the key is the complete marker of a checkpoint.
+     */
+    public static boolean isComplete(String jobId, String key) {
+        int superstep = superstepOf(jobId, key);
+        return superstep >= 0 && key.equals(complete(jobId, superstep));
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.checkpoint;
+
+import org.apache.hugegraph.computer.core.config.ComputerOptions;
+import org.apache.hugegraph.computer.core.config.Config;
+import org.apache.hugegraph.computer.core.manager.Manager;
+
+/**
+ * The base of master and worker checkpoint managers. A checkpoint is written
+ * after every {@link ComputerOptions#CHECKPOINT_INTERVAL} supersteps, and
+ * the job resumes from the latest complete checkpoint when it's restarted.
+ */
+public abstract class CheckpointManager implements Manager {
+
+    protected int interval;
+    protected String jobId;
+    protected CheckpointStore store;
+
+    @Override
+    public void init(Config config) {
+        this.interval = config.get(ComputerOptions.CHECKPOINT_INTERVAL);
+        this.jobId = config.get(ComputerOptions.JOB_ID);
+        if (this.enabled()) {
+            this.store = config.createObject(
+                         ComputerOptions.CHECKPOINT_STORE_CLASS);
+            this.store.init(config);
+        }
+    }
+
+    @Override
+    public void close(Config config) {
+        if (this.store != null) {
+            this.store.close();
+        }
+    }
+
+    public boolean enabled() {
+        return this.interval > 0;
+    }
+
+    /**
+     * Whether to write a checkpoint after the superstep computed.
+     */
+    public boolean needCheckpoint(int superstep) {
+        return this.enabled() && (superstep + 1) % this.interval == 0;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.checkpoint;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.hugegraph.computer.core.common.exception.ComputerException;
+import org.apache.hugegraph.computer.core.config.ComputerOptions;
+import org.apache.hugegraph.computer.core.config.Config;
+
+/**
+ * The store saves the checkpoint files to a directory of local file system,
+ * the directory should be on a shared file system like NFS if the master
+ * and workers run on different hosts. The file is copied to a temporary
+ * file first and then renamed to the key, so a partial written file is
+ * never visible.
+ */
+public class LocalCheckpointStore implements CheckpointStore {
+
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private File root;
+
+    @Override
+    public void init(Config config) {
+        this.root = new File(config.get(ComputerOptions.CHECKPOINT_LOCAL_DIR))
+                    .getAbsoluteFile();
+        if (!this.root.mkdirs() && !this.root.isDirectory()) {
+            throw new ComputerException("Can't create checkpoint dir %s",
+                                        this.root);
+        }
+    }
+
+    @Override
+    public void upload(File file, String key) {
+        File target = this.file(key);
+        File tmp = new File(target.getParentFile(),
+                            target.getName() + "." + UUID.randomUUID() +
+                            TMP_SUFFIX);
+        try {
+            Files.createDirectories(target.getParentFile().toPath());
+            Files.copy(file.toPath(), tmp.toPath());
+            Files.move(tmp.toPath(), target.toPath(),
+                       StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            FileUtils.deleteQuietly(tmp);
+            throw new ComputerException("Failed to upload checkpoint file " +
+                                        "%s to %s", e, file, target);
+        }
+    }
+
+    @Override
+    public void download(String key, File file) {
+        File source = this.file(key);
+        try {
+            Files.createDirectories(file.getAbsoluteFile().getParentFile()
+                                        .toPath());
+            Files.copy(source.toPath(), file.toPath(),
+                       StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new ComputerException("Failed to download checkpoint " +
+                                        "file %s to %s", e, source, file);
+        }
+    }
+
+    @Override
+    public List<String> list(String directory) {
+        Path dir = this.file(directory).toPath();
+        if (!Files.isDirectory(dir)) {
+            return Collections.emptyList();
+        }
+        Path rootPath = this.root.toPath();
+        try (Stream<Path> paths = Files.walk(dir)) {
+            List<String> keys = new ArrayList<>();
+            for (Path path : paths.filter(Files::isRegularFile)
+                                  .collect(Collectors.toList())) {
+                if (path.getFileName().toString().endsWith(TMP_SUFFIX)) {
+                    continue;
+                }
+                keys.add(rootPath.relativize(path).toString()
+                                 .replace(File.separatorChar, '/'));
+            }
+            return keys;
+        } catch (IOException e) {
+            throw new ComputerException("Failed to list checkpoint dir %s",
+                                        e, dir);
+        }
+    }
+
+    @Override
+    public void delete(String directory) {
+        FileUtils.deleteQuietly(this.file(directory));
+    }
+
+    @Override
+    public void close() {
+        // pass
+    }
+
+    private File file(String key) {
+        return new File(this.root, key);
+    }
+}
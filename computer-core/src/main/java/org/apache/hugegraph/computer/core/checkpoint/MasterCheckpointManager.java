@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.checkpoint;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.apache.hugegraph.computer.core.aggregator.MasterAggrManager;
+import org.apache.hugegraph.computer.core.common.ComputerContext;
+import org.apache.hugegraph.computer.core.common.Constants;
+import org.apache.hugegraph.computer.core.common.exception.ComputerException;
+import org.apache.hugegraph.computer.core.graph.GraphFactory;
+import org.apache.hugegraph.computer.core.graph.SuperstepStat;
+import org.apache.hugegraph.computer.core.graph.value.Value;
+import org.apache.hugegraph.computer.core.io.BytesInput;
+import org.apache.hugegraph.computer.core.io.BytesOutput;
+import org.apache.hugegraph.computer.core.io.IOFactory;
+import org.apache.hugegraph.util.Log;
+import org.slf4j.Logger;
+
+/**
+ * The master writes the superstep stat and the aggregated values to the
+ * checkpoint after all workers written theirs, and then marks the checkpoint
+ * complete. The state of master computation is not saved, it's initialized
+ * again when the job restarted.
+ */
+public class MasterCheckpointManager extends CheckpointManager {
+
+    public static final String NAME = "master_checkpoint";
+
+    private static final Logger LOG = Log.logger(MasterCheckpointManager.class);
+
+    private final GraphFactory graphFactory;
+    private final MasterAggrManager aggrManager;
+
+    public MasterCheckpointManager(ComputerContext context,
+                                   MasterAggrManager aggrManager) {
+        this.graphFactory = context.graphFactory();
+        this.aggrManager = aggrManager;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    /**
+     * Return the superstep of the latest complete checkpoint, or
+     * {@link Constants#INPUT_SUPERSTEP} if no checkpoint to resume from.
+     * The incomplete checkpoints after it are deleted, they may be left by
+     * the failed job and can't be mixed with the new checkpoints.
+     */
+    public int resumeSuperstep() {
+        if (!this.enabled()) {
+            return Constants.INPUT_SUPERSTEP;
+        }
+        int latest = Constants.INPUT_SUPERSTEP;
+        TreeSet<Integer> supersteps = new TreeSet<>();
+        for (String key : this.store.list(CheckpointKeys.job(this.jobId))) {
+            int superstep = CheckpointKeys.superstepOf(this.jobId, key);
+            if (superstep < 0) {
+                continue;
+            }
+            supersteps.add(superstep);
+            if (CheckpointKeys.isComplete(this.jobId, key)) {
+                latest = Math.max(latest, superstep);
+            }
+        }
+        for (int superstep : supersteps.tailSet(latest, false)) {
+            LOG.info("Delete the incomplete checkpoint of superstep {}",
+                     superstep);
+            this.store.delete(CheckpointKeys.superstep(this.jobId, superstep));
+        }
+        return latest;
+    }
+
+    /**
+     * Write the checkpoint of master and mark the checkpoint of superstep
+     * complete, must be called after all workers written the checkpoint.
+     * The older checkpoints are deleted after it.
+     */
+    public void checkpoint(int superstep, SuperstepStat superstepStat) {
+        long start = System.currentTimeMillis();
+        Map<String, Value> aggregators = this.aggrManager.aggregatedValues();
+        BytesOutput output = IOFactory.createBytesOutput(
+                             Constants.SMALL_BUF_SIZE);
+        File file = null;
+        try {
+            superstepStat.write(output);
+            output.writeInt(aggregators.size());
+            for (Map.Entry<String, Value> entry : aggregators.entrySet()) {
+                Value value = entry.getValue();
+                output.writeUTF(entry.getKey());
+                output.writeByte(value.valueType().code());
+                value.write(output);
+            }
+            file = File.createTempFile(NAME, null);
+            Files.write(file.toPath(), output.toByteArray());
+            this.store.upload(file, CheckpointKeys.master(this.jobId,
+                                                          superstep));
+            // The marker is empty, it's written after all others
+            Files.write(file.toPath(), Constants.EMPTY_BYTES);
+            this.store.upload(file, CheckpointKeys.complete(this.jobId,
+                                                            superstep));
+        } catch (IOException e) {
+            throw new ComputerException("Failed to write master checkpoint " +
+                                        "of superstep %s", e, superstep);
+        } finally {
+            if (file != null) {
+                file.delete();
+            }
+        }
+
+        TreeSet<Integer> older = new TreeSet<>();
+        for (String key : this.store.list(CheckpointKeys.job(this.jobId))) {
+            int step = CheckpointKeys.superstepOf(this.jobId, key);
+            if (step >= 0 && step < superstep) {
+                older.add(step);
+            }
+        }
+        for (int step : older) {
+            this.store.delete(CheckpointKeys.superstep(this.jobId, step));
+        }
+        LOG.info("Master written checkpoint of superstep {}, cost {}ms",
+                 superstep, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Restore the aggregated values from the checkpoint of superstep, and
+     * return the superstep stat saved in it.
+     */
+    public SuperstepStat restore(int superstep) {
+        File file = null;
+        try {
+            file = File.createTempFile(NAME, null);
+            this.store.download(CheckpointKeys.master(this.jobId, superstep),
+                                file);
+            BytesInput input = IOFactory.createBytesInput(
+                               Files.readAllBytes(file.toPath()));
+            SuperstepStat superstepStat = new SuperstepStat();
+            superstepStat.read(input);
+            int size = input.readInt();
+            Map<String, Value> aggregators = new HashMap<>(size);
+            for (int i = 0; i < size; i++) {
+                String name = input.readUTF();
+                Value value = this.graphFactory.createValue(input.readByte());
+                value.read(input);
+                aggregators.put(name, value);
+            }
+            this.aggrManager.aggregatedValues(aggregators);
+            LOG.info("Master restored checkpoint of superstep {}, graph " +
+                     "stat: {}", superstep, superstepStat);
+            return superstepStat;
+        } catch (IOException e) {
+            throw new ComputerException("Failed to restore master " +
+                                        "checkpoint of superstep %s",
+                                        e, superstep);
+        } finally {
+            if (file != null) {
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * Delete all the checkpoints of the job, called after the job finished
+     * successfully.
+     */
+    public void clear() {
+        if (this.enabled()) {
+            this.store.delete(CheckpointKeys.job(this.jobId));
+        }
+    }
+}
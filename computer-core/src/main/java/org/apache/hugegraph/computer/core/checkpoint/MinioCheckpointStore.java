@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.checkpoint;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.hugegraph.computer.core.common.exception.ComputerException;
+import org.apache.hugegraph.computer.core.config.ComputerOptions;
+import org.apache.hugegraph.computer.core.config.Config;
+import org.apache.hugegraph.util.E;
+
+import io.minio.BucketExistsArgs;
+import io.minio.DownloadObjectArgs;
+import io.minio.ListObjectsArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.UploadObjectArgs;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import io.minio.messages.Item;
+
+/**
+ * The store saves the checkpoint files to MinIO, it shares the endpoint,
+ * credentials and bucket with the snapshot of input. An object of MinIO is
+ * visible only after it's uploaded completely.
+ */
+public class MinioCheckpointStore implements CheckpointStore {
+
+    private MinioClient minioClient;
+    private String bucketName;
+
+    @Override
+    public void init(Config config) {
+        String endpoint = config.get(ComputerOptions.SNAPSHOT_MINIO_ENDPOINT);
+        this.bucketName = config.get(
+                          ComputerOptions.SNAPSHOT_MINIO_BUCKET_NAME);
+        E.checkArgument(StringUtils.isNotEmpty(endpoint) &&
+                        StringUtils.isNotEmpty(this.bucketName),
+                        "The MinIO endpoint and bucket name must be set " +
+                        "to save the checkpoint to MinIO");
+        String accessKey = config.get(
+                           ComputerOptions.SNAPSHOT_MINIO_ACCESS_KEY);
+        String secretKey = config.get(
+                           ComputerOptions.SNAPSHOT_MINIO_SECRET_KEY);
+        this.minioClient = MinioClient.builder()
+                                      .endpoint(endpoint)
+                                      .credentials(accessKey, secretKey)
+                                      .build();
+        try {
+            boolean exists = this.minioClient.bucketExists(
+                             BucketExistsArgs.builder()
+                                             .bucket(this.bucketName)
+                                             .build());
+            if (!exists) {
+                this.minioClient.makeBucket(MakeBucketArgs.builder()
+                                                          .bucket(this.bucketName)
+                                                          .build());
+            }
+        } catch (Exception e) {
+            throw new ComputerException("Failed to initialize bucket %s",
+                                        e, this.bucketName);
+        }
+    }
+
+    @Override
+    public void upload(File file, String key) {
+        try {
+            this.minioClient.uploadObject(UploadObjectArgs.builder()
+                                                          .bucket(this.bucketName)
+                                                          .object(key)
+                                                          .filename(file.getPath())
+                                                          .build());
+        } catch (Exception e) {
+            throw new ComputerException("Failed to upload checkpoint file " +
+                                        "%s to %s", e, file, key);
+        }
+    }
+
+    @Override
+    public void download(String key, File file) {
+        // The MinIO client refuses to overwrite the existing file
+        FileUtils.deleteQuietly(file);
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (!parent.mkdirs() && !parent.isDirectory()) {
+            throw new ComputerException("Can't create dir %s", parent);
+        }
+        try {
+            this.minioClient.downloadObject(DownloadObjectArgs.builder()
+                                                              .bucket(this.bucketName)
+                                                              .object(key)
+                                                              .filename(file.getPath())
+                                                              .build());
+        } catch (Exception e) {
+            throw new ComputerException("Failed to download checkpoint " +
+                                        "file %s to %s", e, key, file);
+        }
+    }
+
+    @Override
+    public List<String> list(String directory) {
+        List<String> keys = new ArrayList<>();
+        try {
+            Iterable<Result<Item>> items = this.minioClient.listObjects(
+                                           ListObjectsArgs.builder()
+                                                          .bucket(this.bucketName)
+                                                          .prefix(directory)
+                                                          .recursive(true)
+                                                          .build());
+            for (Result<Item> result : items) {
+                keys.add(result.get().objectName());
+            }
+        } catch (Exception e) {
+            throw new ComputerException("Failed to list checkpoint dir %s",
+                                        e, directory);
+        }
+        return keys;
+    }
+
+    @Override
+    public void delete(String directory) {
+        List<DeleteObject> objects = new ArrayList<>();
+        for (String key : this.list(directory)) {
+            objects.add(new DeleteObject(key));
+        }
+        if (objects.isEmpty()) {
+            return;
+        }
+        Iterable<Result<DeleteError>> results = this.minioClient.removeObjects(
+                                                RemoveObjectsArgs.builder()
+                                                                 .bucket(this.bucketName)
+                                                                 .objects(objects)
+                                                                 .build());
+        try {
+            for (Result<DeleteError> result : results) {
+                DeleteError error = result.get();
+                throw new ComputerException("Failed to delete checkpoint " +
+                                            "%s, error message: %s",
+                                            error.objectName(),
+                                            error.message());
+            }
+        } catch (ComputerException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ComputerException("Failed to delete checkpoint dir %s",
+                                        e, directory);
+        }
+    }
+
+    @Override
+    public void close() {
+        // pass
+    }
+}
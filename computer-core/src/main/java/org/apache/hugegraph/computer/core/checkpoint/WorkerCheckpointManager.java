@@ -0,0 +1,298 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.checkpoint;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.hugegraph.computer.core.common.ContainerInfo;
+import org.apache.hugegraph.computer.core.common.exception.ComputerException;
+import org.apache.hugegraph.computer.core.compute.ComputeManager;
+import org.apache.hugegraph.computer.core.config.ComputerOptions;
+import org.apache.hugegraph.computer.core.config.Config;
+import org.apache.hugegraph.computer.core.graph.partition.Partitioner;
+import org.apache.hugegraph.computer.core.network.buffer.FileRegionBuffer;
+import org.apache.hugegraph.computer.core.network.message.MessageType;
+import org.apache.hugegraph.computer.core.receiver.MessageRecvManager;
+import org.apache.hugegraph.computer.core.store.FileGenerator;
+import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.ExecutorUtil;
+import org.apache.hugegraph.util.Log;
+import org.slf4j.Logger;
+
+/**
+ * The worker writes the state of its partitions and the messages received
+ * for next superstep to the checkpoint, and restores them when the job
+ * resumes from the checkpoint. The files are uploaded and downloaded by
+ * multiple threads in parallel. A sorted message file may be a directory,
+ * each file in it is saved with the key "{directory name}/{file name}".
+ */
+public class WorkerCheckpointManager extends CheckpointManager {
+
+    public static final String NAME = "worker_checkpoint";
+
+    private static final Logger LOG = Log.logger(WorkerCheckpointManager.class);
+    private static final String PREFIX = "checkpoint-transfer-%s";
+    private static final String CHECKPOINT = "checkpoint";
+    private static final String SEPARATOR = "/";
+
+    private final FileGenerator fileGenerator;
+    private final MessageRecvManager recvManager;
+    private final ContainerInfo workerInfo;
+
+    private Partitioner partitioner;
+    private int partitionCount;
+    private ExecutorService transferExecutor;
+    private CompletableFuture<Void> restoreFuture;
+
+    public WorkerCheckpointManager(FileGenerator fileGenerator,
+                                   MessageRecvManager recvManager,
+                                   ContainerInfo workerInfo) {
+        this.fileGenerator = fileGenerator;
+        this.recvManager = recvManager;
+        this.workerInfo = workerInfo;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void init(Config config) {
+        super.init(config);
+        if (!this.enabled()) {
+            return;
+        }
+        this.partitioner = config.createObject(
+                           ComputerOptions.WORKER_PARTITIONER);
+        this.partitioner.init(config);
+        this.partitionCount = config.get(ComputerOptions.JOB_PARTITIONS_COUNT);
+        int threads = config.get(ComputerOptions.CHECKPOINT_TRANSFER_THREADS);
+        // One more thread for the restoring which waits for the transfers
+        this.transferExecutor = ExecutorUtil.newFixedThreadPool(threads + 1,
+                                                                PREFIX);
+    }
+
+    @Override
+    public void close(Config config) {
+        if (this.transferExecutor != null) {
+            this.transferExecutor.shutdownNow();
+        }
+        super.close(config);
+    }
+
+    /**
+     * Write the partitions computed at the superstep and the messages
+     * received at the superstep to the checkpoint, it must be called after
+     * all the messages of the superstep received.
+     */
+    public void checkpoint(int superstep, ComputeManager computeManager) {
+        long start = System.currentTimeMillis();
+        File dir = new File(this.fileGenerator.randomDirectory(
+                            CHECKPOINT, Integer.toString(superstep)));
+        try {
+            Map<Integer, File> partitionDirs = computeManager.checkpoint(dir);
+            Map<Integer, List<String>> messageFiles =
+                                       this.recvManager.messageFiles();
+
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (Map.Entry<Integer, File> entry : partitionDirs.entrySet()) {
+                String prefix = CheckpointKeys.partition(this.jobId, superstep,
+                                                         entry.getKey());
+                File[] files = entry.getValue().listFiles();
+                E.checkState(files != null, "Can't list files of %s",
+                             entry.getValue());
+                for (File file : files) {
+                    futures.add(this.uploadAsync(file,
+                                                 prefix + file.getName()));
+                }
+            }
+            for (Map.Entry<Integer, List<String>> entry :
+                 messageFiles.entrySet()) {
+                String prefix = CheckpointKeys.message(this.jobId, superstep,
+                                                       entry.getKey());
+                for (String path : entry.getValue()) {
+                    File file = new File(path);
+                    this.uploadEntry(file, prefix + file.getName(), futures);
+                }
+            }
+            waitTransferred(futures, superstep);
+            LOG.info("Worker({}) written checkpoint of superstep {} with {} " +
+                     "files, cost {}ms", this.workerInfo.id(), superstep,
+                     futures.size(), System.currentTimeMillis() - start);
+        } finally {
+            FileUtils.deleteQuietly(dir);
+        }
+    }
+
+    /**
+     * Restore the partitions of this worker and the messages received for
+     * them from the checkpoint of superstep asynchronously, call
+     * {@link #waitRestored()} before computing the next superstep.
+     */
+    public void restoreAsync(int superstep, ComputeManager computeManager) {
+        E.checkState(this.enabled(), "The checkpoint is not enabled");
+        // The restored messages are handled as received at the superstep
+        this.recvManager.restoreMessages(superstep);
+        this.restoreFuture = CompletableFuture.runAsync(
+                             () -> this.restore(superstep, computeManager),
+                             this.transferExecutor);
+    }
+
+    public void waitRestored() {
+        E.checkState(this.restoreFuture != null,
+                     "The restoring has not been started");
+        try {
+            this.restoreFuture.get();
+        } catch (ExecutionException e) {
+            throw new ComputerException("Failed to restore checkpoint",
+                                        e.getCause());
+        } catch (InterruptedException e) {
+            throw new ComputerException("Interrupted while restoring " +
+                                        "checkpoint", e);
+        } finally {
+            this.restoreFuture = null;
+        }
+    }
+
+    private void restore(int superstep, ComputeManager computeManager) {
+        long start = System.currentTimeMillis();
+        File dir = new File(this.fileGenerator.randomDirectory(
+                            CHECKPOINT, Integer.toString(superstep)));
+        int workerId = this.workerInfo.id();
+        try {
+            Map<Integer, File> partitionDirs = new HashMap<>();
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int p = 0; p < this.partitionCount; p++) {
+                if (this.partitioner.workerId(p) != workerId) {
+                    continue;
+                }
+                File partitionDir = new File(dir, Integer.toString(p));
+                List<String> keys = this.store.list(CheckpointKeys.partition(
+                                                    this.jobId, superstep, p));
+                if (!keys.isEmpty()) {
+                    partitionDirs.put(p, partitionDir);
+                }
+                for (String key : keys) {
+                    File file = new File(partitionDir,
+                                         CheckpointKeys.fileName(key));
+                    futures.add(CompletableFuture.runAsync(
+                                () -> this.store.download(key, file),
+                                this.transferExecutor));
+                }
+                String prefix = CheckpointKeys.message(this.jobId, superstep,
+                                                       p);
+                for (List<String> entryKeys : groupEntryKeys(
+                                              prefix, this.store.list(prefix))) {
+                    futures.add(this.downloadMessageAsync(prefix, entryKeys,
+                                                          p));
+                }
+            }
+            waitTransferred(futures, superstep);
+            computeManager.restore(partitionDirs, superstep);
+            LOG.info("Worker({}) restored checkpoint of superstep {} with " +
+                     "{} files, cost {}ms", workerId, superstep,
+                     futures.size(), System.currentTimeMillis() - start);
+        } finally {
+            FileUtils.deleteQuietly(dir);
+        }
+    }
+
+    private CompletableFuture<Void> uploadAsync(File file, String key) {
+        return CompletableFuture.runAsync(() -> this.store.upload(file, key),
+                                          this.transferExecutor);
+    }
+
+    /**
+     * Upload the file, or all the files in it if it's a directory like the
+     * sorted HgkvDir, the key of file in directory is "{key}/{file name}".
+     */
+    private void uploadEntry(File entry, String key,
+                             List<CompletableFuture<Void>> futures) {
+        if (!entry.isDirectory()) {
+            futures.add(this.uploadAsync(entry, key));
+            return;
+        }
+        File[] files = entry.listFiles();
+        E.checkState(files != null, "Can't list files of %s", entry);
+        for (File file : files) {
+            this.uploadEntry(file, key + SEPARATOR + file.getName(), futures);
+        }
+    }
+
+    /**
+     * Group the keys uploaded by {@link #uploadEntry} by the entry.
+     */
+    private static Collection<List<String>> groupEntryKeys(String prefix,
+                                                           List<String> keys) {
+        Map<String, List<String>> entries = new HashMap<>();
+        for (String key : keys) {
+            String entry = StringUtils.substringBefore(
+                           key.substring(prefix.length()), SEPARATOR);
+            entries.computeIfAbsent(entry, k -> new ArrayList<>()).add(key);
+        }
+        return entries.values();
+    }
+
+    private CompletableFuture<Void> downloadMessageAsync(String prefix,
+                                                         List<String> keys,
+                                                         int partition) {
+        String path = this.recvManager.genOutputPath(MessageType.MSG,
+                                                     partition);
+        return CompletableFuture.runAsync(() -> {
+            long length = 0L;
+            for (String key : keys) {
+                String relative = key.substring(prefix.length());
+                int index = relative.indexOf(SEPARATOR);
+                File file = index < 0 ? new File(path) :
+                            new File(path, relative.substring(index + 1));
+                this.store.download(key, file);
+                length += file.length();
+            }
+            int bytes = (int) Math.min(length, Integer.MAX_VALUE);
+            this.recvManager.handle(MessageType.MSG, partition,
+                                    new FileRegionBuffer(bytes, path));
+        }, this.transferExecutor);
+    }
+
+    private static void waitTransferred(List<CompletableFuture<Void>> futures,
+                                        int superstep) {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                             .get();
+        } catch (ExecutionException e) {
+            throw new ComputerException("Failed to transfer checkpoint " +
+                                        "files of superstep %s",
+                                        e.getCause(), superstep);
+        } catch (InterruptedException e) {
+            throw new ComputerException("Interrupted while transferring " +
+                                        "checkpoint files of superstep %s",
+                                        e, superstep);
+        }
+    }
+}
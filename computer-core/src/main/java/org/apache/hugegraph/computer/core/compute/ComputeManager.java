@@ -17,22 +17,34 @@
 
 package org.apache.hugegraph.computer.core.compute;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 
 import org.apache.hugegraph.computer.core.common.ComputerContext;
 import org.apache.hugegraph.computer.core.common.exception.ComputerException;
 import org.apache.hugegraph.computer.core.config.ComputerOptions;
 import org.apache.hugegraph.computer.core.config.Config;
+import org.apache.hugegraph.computer.core.graph.partition.PartitionOutputStat;
 import org.apache.hugegraph.computer.core.graph.partition.PartitionStat;
+import org.apache.hugegraph.computer.core.io.ReadAheadStat;
 import org.apache.hugegraph.computer.core.manager.Managers;
 import org.apache.hugegraph.computer.core.network.message.MessageType;
+import org.apache.hugegraph.computer.core.output.ComputerOutput;
+import org.apache.hugegraph.computer.core.output.PipelinedOutput;
 import org.apache.hugegraph.computer.core.receiver.MessageRecvManager;
 import org.apache.hugegraph.computer.core.receiver.MessageStat;
 import org.apache.hugegraph.computer.core.sender.MessageSendManager;
 import org.apache.hugegraph.computer.core.sort.flusher.PeekableIterator;
+import org.apache.hugegraph.computer.core.store.FileManager;
 import org.apache.hugegraph.computer.core.store.entry.KvEntry;
 import org.apache.hugegraph.computer.core.util.Consumers;
 import org.apache.hugegraph.computer.core.worker.WorkerContext;
@@ -45,12 +57,14 @@ public class ComputeManager {
 
     private static final Logger LOG = Log.logger(ComputeManager.class);
     private static final String PREFIX = "partition-compute-executor-%s";
+    private static final String OUTPUT_PREFIX = "partition-output-executor-%s";
+    private static final String WRITE_PREFIX = "partition-output-writer-%s";
 
     private final int workerId;
     private final ComputerContext context;
     private final Managers managers;
 
-    private final Map<Integer, FileGraphPartition> partitions;
+    private final Map<Integer, GraphPartition> partitions;
     private final MessageRecvManager recvManager;
     private final MessageSendManager sendManager;
     private final ExecutorService computeExecutor;
@@ -83,51 +97,125 @@ public class ComputeManager {
         Map<Integer, PeekableIterator<KvEntry>> edges =
                      this.recvManager.edgePartitions();
 
-        // TODO: parallel input process
-        for (Map.Entry<Integer, PeekableIterator<KvEntry>> entry :
-             vertices.entrySet()) {
-            int partition = entry.getKey();
-            PeekableIterator<KvEntry> vertexIter = entry.getValue();
-            PeekableIterator<KvEntry> edgesIter =
-                                      edges.getOrDefault(
-                                            partition,
-                                            PeekableIterator.emptyIterator());
-
-            FileGraphPartition part = new FileGraphPartition(this.context,
-                                                             this.managers,
-                                                             partition);
-            PartitionStat partitionStat = null;
-            ComputerException inputException = null;
-            try {
-                partitionStat = part.input(vertexIter, edgesIter);
-            } catch (ComputerException e) {
-                inputException = e;
-            } finally {
-                try {
-                    vertexIter.close();
-                    edgesIter.close();
-                } catch (Exception e) {
-                    String message = "Failed to close vertex or edge file " +
-                                     "iterator";
-                    ComputerException closeException = new ComputerException(
-                                                           message, e);
-                    if (inputException != null) {
-                        inputException.addSuppressed(closeException);
-                    } else {
-                        throw closeException;
+        Map<Integer, MessageStat> vertexStats = this.recvManager.vertexStats();
+        Map<Integer, MessageStat> edgeStats = this.recvManager.edgeStats();
+        boolean memoryStore = "MEMORY".equals(this.context.config().get(
+                              ComputerOptions.WORKER_PARTITION_STORE_TYPE));
+        long memoryBytesLimit = this.context.config().get(
+                                ComputerOptions.WORKER_MEMORY_PARTITIONS_BYTES_LIMIT);
+        long memoryBytes = 0L;
+
+        Map<Integer, PartitionStat> stats = new ConcurrentHashMap<>();
+        Queue<RuntimeException> exceptions = new ConcurrentLinkedQueue<>();
+
+        /*
+         * Every partition is input and closed even if some partitions
+         * failed, the exceptions of all failed partitions are thrown
+         * together after all partition input completed.
+         */
+        Consumers<GraphPartition> consumers =
+                  new Consumers<>(this.computeExecutor, partition -> {
+                      int id = partition.partition();
+                      PeekableIterator<KvEntry> vertexIter = vertices.get(id);
+                      PeekableIterator<KvEntry> edgesIter =
+                                                edges.getOrDefault(
+                                                      id,
+                                                      PeekableIterator.emptyIterator());
+                      try {
+                          stats.put(id, inputPartition(partition, vertexIter,
+                                                       edgesIter));
+                      } catch (RuntimeException e) {
+                          exceptions.add(e);
+                      }
+                  });
+        consumers.start("partition-input");
+
+        try {
+            for (Integer partition : vertices.keySet()) {
+                GraphPartition part;
+                long estimatedBytes = bytesOf(vertexStats.get(partition)) +
+                                      bytesOf(edgeStats.get(partition));
+                if (memoryStore &&
+                    estimatedBytes <= MemoryGraphPartition.MAX_BYTES &&
+                    memoryBytes + estimatedBytes <= memoryBytesLimit) {
+                    memoryBytes += estimatedBytes;
+                    part = new MemoryGraphPartition(this.context, partition);
+                } else {
+                    if (memoryStore) {
+                        LOG.info("The partition {} with estimated {} bytes " +
+                                 "exceeds the memory limit {} or the limit " +
+                                 "{} of one memory partition, store it in " +
+                                 "files", partition, estimatedBytes,
+                                 memoryBytesLimit,
+                                 MemoryGraphPartition.MAX_BYTES);
                     }
+                    part = new FileGraphPartition(this.context, this.managers,
+                                                  partition);
                 }
-                if (inputException != null) {
-                    throw inputException;
-                }
+                this.partitions.put(partition, part);
+                consumers.provide(part);
+            }
+            consumers.await();
+        } catch (Throwable t) {
+            throw new ComputerException("An exception occurred when " +
+                                        "partition parallel input", t);
+        }
+
+        if (!exceptions.isEmpty()) {
+            RuntimeException inputException = exceptions.poll();
+            for (RuntimeException e : exceptions) {
+                inputException.addSuppressed(e);
             }
+            throw inputException;
+        }
 
-            workerStat.add(partitionStat);
-            this.partitions.put(partition, part);
+        for (Integer partition : vertices.keySet()) {
+            workerStat.add(stats.get(partition));
         }
         return workerStat;
     }
 
+    private static PartitionStat inputPartition(
+                                 GraphPartition partition,
+                                 PeekableIterator<KvEntry> vertexIter,
+                                 PeekableIterator<KvEntry> edgesIter) {
+        long start = System.currentTimeMillis();
+        PartitionStat partitionStat = null;
+        ComputerException inputException = null;
+        try {
+            partitionStat = partition.input(vertexIter, edgesIter);
+        } catch (ComputerException e) {
+            inputException = e;
+        } finally {
+            try {
+                vertexIter.close();
+                edgesIter.close();
+            } catch (Exception e) {
+                String message = "Failed to close vertex or edge file " +
+                                 "iterator";
+                ComputerException closeException = new ComputerException(
+                                                       message, e);
+                if (inputException != null) {
+                    inputException.addSuppressed(closeException);
+                } else {
+                    throw closeException;
+                }
+            }
+            if (inputException != null) {
+                throw inputException;
+            }
+        }
+
+        LOG.info("Input partition {} complete, cost {}ms, stat='{}'",
+                 partition.partition(), System.currentTimeMillis() - start,
+                 partitionStat);
+        return partitionStat;
+    }
+
+    private static long bytesOf(MessageStat stat) {
+        return stat == null ? 0L : stat.messageBytes();
+    }
+
     /**
      * Get compute-messages from MessageRecvManager, then put message to
      * corresponding partition. Be called before
@@ -136,7 +224,7 @@ public class ComputeManager {
     public void takeRecvedMessages() {
         Map<Integer, PeekableIterator<KvEntry>> messages =
                      this.recvManager.messagePartitions();
-        for (FileGraphPartition partition : this.partitions.values()) {
+        for (GraphPartition partition : this.partitions.values()) {
             partition.messages(messages.get(partition.partition()));
         }
     }
@@ -146,13 +234,19 @@ public class ComputeManager {
 
         WorkerStat workerStat = new WorkerStat(this.workerId);
         Map<Integer, PartitionStat> stats = new ConcurrentHashMap<>();
+        // Discard the read ahead statistics before this superstep
+        FileManager fileManager = this.managers.get(FileManager.NAME);
+        ReadAheadStat readAheadStat = fileManager.inputFactory()
+                                                 .readAheadStat();
+        readAheadStat.snapshotAndReset();
+        long start = System.currentTimeMillis();
 
         /*
          * Remark: The main thread can perceive the partition compute exception
          * only after all partition compute completed, and only record the last
          * exception.
          */
-        Consumers<FileGraphPartition> consumers =
+        Consumers<GraphPartition> consumers =
                   new Consumers<>(this.computeExecutor, partition -> {
                       PartitionStat stat = partition.compute(context,
                                                              superstep);
@@ -161,7 +255,7 @@ public class ComputeManager {
         consumers.start("partition-compute");
 
         try {
-            for (FileGraphPartition partition : this.partitions.values()) {
+            for (GraphPartition partition : this.partitions.values()) {
                 consumers.provide(partition);
             }
             consumers.await();
@@ -169,6 +263,9 @@ public class ComputeManager {
             throw new ComputerException("An exception occurred when " +
                                         "partition parallel compute", t);
         }
+        LOG.info("Compute superstep {} cost {}ms, read ahead stat='{}'",
+                 superstep, System.currentTimeMillis() - start,
+                 readAheadStat.snapshotAndReset());
 
         this.sendManager.finishSend(MessageType.MSG);
 
@@ -191,13 +288,144 @@ public class ComputeManager {
         return workerStat;
     }
 
-    public void output() {
-        // TODO: Write results back parallel
-        for (FileGraphPartition partition : this.partitions.values()) {
-            PartitionStat stat = partition.output();
-            LOG.info("Output partition {} complete, stat='{}'",
-                     partition.partition(), stat);
+    /**
+     * Save the state of all partitions computed at the latest superstep,
+     * the state of each partition is saved to the sub directory of dir
+     * named by the partition id. Return the directories of partitions.
+     */
+    public Map<Integer, File> checkpoint(File dir) {
+        Map<Integer, File> dirs = new ConcurrentHashMap<>();
+        Consumers<GraphPartition> consumers =
+                  new Consumers<>(this.computeExecutor, partition -> {
+                      int id = partition.partition();
+                      File partitionDir = new File(dir, Integer.toString(id));
+                      try {
+                          Files.createDirectories(partitionDir.toPath());
+                          partition.checkpoint(partitionDir);
+                      } catch (IOException e) {
+                          throw new ComputerException(
+                                    "Failed to checkpoint partition %s",
+                                    e, id);
+                      }
+                      dirs.put(id, partitionDir);
+                  });
+        consumers.start("partition-checkpoint");
+
+        try {
+            for (GraphPartition partition : this.partitions.values()) {
+                consumers.provide(partition);
+            }
+            consumers.await();
+        } catch (Throwable t) {
+            throw new ComputerException("An exception occurred when " +
+                                        "partition parallel checkpoint", t);
+        }
+        return dirs;
+    }
+
+    /**
+     * Rebuild the partitions of this worker from the directories written by
+     * {@link #checkpoint(File)}, instead of inputting them at inputstep.
+     * The partitions are restored to the state after the superstep
+     * computed.
+     */
+    public void restore(Map<Integer, File> dirs, int superstep) {
+        Map<Integer, GraphPartition> partitions = new ConcurrentHashMap<>();
+        Consumers<Map.Entry<Integer, File>> consumers =
+                  new Consumers<>(this.computeExecutor, entry -> {
+                      int id = entry.getKey();
+                      File dir = entry.getValue();
+                      GraphPartition partition;
+                      if (new File(dir, MemoryGraphPartition.CHECKPOINT_FILE)
+                                   .exists()) {
+                          partition = new MemoryGraphPartition(this.context,
+                                                               id);
+                      } else {
+                          partition = new FileGraphPartition(this.context,
+                                                             this.managers,
+                                                             id);
+                      }
+                      try {
+                          partition.restore(dir, superstep);
+                      } catch (IOException e) {
+                          throw new ComputerException(
+                                    "Failed to restore partition %s from %s",
+                                    e, id, dir);
+                      }
+                      partitions.put(id, partition);
+                  });
+        consumers.start("partition-restore");
+
+        try {
+            for (Map.Entry<Integer, File> entry : dirs.entrySet()) {
+                consumers.provide(entry);
+            }
+            consumers.await();
+        } catch (Throwable t) {
+            throw new ComputerException("An exception occurred when " +
+                                        "partition parallel restore", t);
+        }
+        this.partitions.putAll(partitions);
+        LOG.info("Restored {} partitions at superstep {}",
+                 partitions.size(), superstep);
+    }
+
+    public List<PartitionOutputStat> output() {
+        Config config = this.context.config();
+        int threadNum = config.get(ComputerOptions.OUTPUT_PARTITIONS_THREAD_NUMS);
+        int bufferSize = config.get(ComputerOptions.OUTPUT_PIPELINE_BUFFER_SIZE);
+        ExecutorService outputExecutor = ExecutorUtil.newFixedThreadPool(
+                                         threadNum, OUTPUT_PREFIX);
+        ExecutorService writeExecutor = bufferSize > 0 ?
+                                        ExecutorUtil.newFixedThreadPool(
+                                        threadNum, WRITE_PREFIX) : null;
+        Map<Integer, PartitionOutputStat> stats = new ConcurrentHashMap<>();
+
+        Consumers<GraphPartition> consumers =
+                  new Consumers<>(outputExecutor, partition -> {
+                      long start = System.currentTimeMillis();
+                      ComputerOutput output = config.createObject(
+                                              ComputerOptions.OUTPUT_CLASS);
+                      if (writeExecutor != null) {
+                          output = new PipelinedOutput(
+                                   this.context.graphFactory(), output,
+                                   writeExecutor, bufferSize);
+                      }
+                      output.init(config, partition.partition());
+                      PartitionStat stat = partition.output(output);
+                      output.close();
+
+                      PartitionOutputStat outputStat = new PartitionOutputStat(
+                                         stat.partitionId(), stat.vertexCount(),
+                                         stat.edgeCount(),
+                                         System.currentTimeMillis() - start);
+                      stats.put(outputStat.partitionId(), outputStat);
+                      LOG.info("Output partition {} complete, stat='{}'",
+                               partition.partition(), outputStat);
+                  });
+        consumers.start("partition-output");
+
+        try {
+            for (GraphPartition partition : this.partitions.values()) {
+                consumers.provide(partition);
+            }
+            consumers.await();
+        } catch (Throwable t) {
+            throw new ComputerException("An exception occurred when " +
+                                        "partition parallel output", t);
+        } finally {
+            outputExecutor.shutdown();
+            if (writeExecutor != null) {
+                // Interrupt the writing blocked on the failed partitions
+                writeExecutor.shutdownNow();
+            }
+        }
+
+        List<PartitionOutputStat> result = new ArrayList<>(stats.size());
+        for (Integer partition : this.partitions.keySet()) {
+            result.add(stats.get(partition));
         }
+        return result;
     }
 
     public void close() {
@@ -19,21 +19,28 @@ package org.apache.hugegraph.computer.core.compute;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Iterator;
 
 import org.apache.hugegraph.computer.core.common.ComputerContext;
 import org.apache.hugegraph.computer.core.common.Constants;
 import org.apache.hugegraph.computer.core.common.exception.ComputerException;
+import org.apache.hugegraph.computer.core.compute.input.CompactEdges;
 import org.apache.hugegraph.computer.core.compute.input.EdgesInput;
-import org.apache.hugegraph.computer.core.compute.input.MessageInput;
+import org.apache.hugegraph.computer.core.compute.input.ReusablePointer;
 import org.apache.hugegraph.computer.core.compute.input.VertexInput;
 import org.apache.hugegraph.computer.core.config.ComputerOptions;
+import org.apache.hugegraph.computer.core.config.EdgeFrequency;
 import org.apache.hugegraph.computer.core.graph.edge.Edges;
 import org.apache.hugegraph.computer.core.graph.partition.PartitionStat;
 import org.apache.hugegraph.computer.core.graph.value.Value;
 import org.apache.hugegraph.computer.core.graph.vertex.Vertex;
 import org.apache.hugegraph.computer.core.io.BufferedFileInput;
 import org.apache.hugegraph.computer.core.io.BufferedFileOutput;
+import org.apache.hugegraph.computer.core.io.FileInputFactory;
+import org.apache.hugegraph.computer.core.io.RandomAccessInput;
 import org.apache.hugegraph.computer.core.manager.Managers;
 import org.apache.hugegraph.computer.core.output.ComputerOutput;
 import org.apache.hugegraph.computer.core.sort.flusher.PeekableIterator;
@@ -43,64 +50,80 @@ import org.apache.hugegraph.computer.core.store.FileManager;
 import org.apache.hugegraph.computer.core.store.entry.EntriesUtil;
 import org.apache.hugegraph.computer.core.store.entry.KvEntry;
 import org.apache.hugegraph.computer.core.store.entry.Pointer;
-import org.apache.hugegraph.computer.core.worker.Computation;
 import org.apache.hugegraph.computer.core.worker.ComputationContext;
-import org.apache.hugegraph.computer.core.worker.WorkerContext;
 import org.apache.hugegraph.util.E;
-import org.apache.hugegraph.util.Log;
-import org.slf4j.Logger;
 
-public class FileGraphPartition {
-
-    private static final Logger LOG = Log.logger(FileGraphPartition.class);
+public class FileGraphPartition extends GraphPartition {
 
     private static final String VERTEX = "vertex";
     private static final String EDGE = "edge";
-    private static final String STATUS = "status";
     private static final String VALUE = "value";
+    private static final String STATUS = "status";
+
+    // The number of vertices in a block of the skip index
+    private static final int BLOCK_SIZE = 128;
+    private static final int COPY_BUFFER_SIZE = 8192;
 
-    private final ComputerContext context;
-    private final Computation<Value> computation;
     private final FileGenerator fileGenerator;
-    private final int partition;
+    private final FileInputFactory inputFactory;
 
     private final File vertexFile;
     private final File edgeFile;
 
-    private File preStatusFile;
-    private File curStatusFile;
     private File preValueFile;
     private File curValueFile;
 
-    private long vertexCount;
-    private long edgeCount;
-
-    private BufferedFileOutput curStatusOutput;
     private BufferedFileOutput curValueOutput;
-
-    private BufferedFileInput preStatusInput;
-    private BufferedFileInput preValueInput;
+    private RandomAccessInput preValueInput;
 
     private VertexInput vertexInput;
     private EdgesInput edgesInput;
-    private MessageInput<Value> messageInput;
+
+    /*
+     * The values are stored in fixedValues instead of value files if the
+     * size of result value is fixed.
+     */
+    private final boolean fixedValue;
+    private final int fixedValueSize;
+    private FixedValueStore fixedValues;
+
+    // The status of vertices, the bit is set if the vertex is active
+    private final BitSet activeVertices;
+
+    /*
+     * The skip index of blocks, each block has BLOCK_SIZE vertices. The
+     * block i starts at vertexPositions[i] of vertex file, edgePositions[i]
+     * of edge file, and the id of first vertex is blockFirstIds[i]. The
+     * values of block i is [valuePositions[i], valuePositions[i + 1]) of
+     * value file, which is rebuilt at each superstep.
+     */
+    private long[] vertexPositions;
+    private long[] edgePositions;
+    private ReusablePointer[] blockFirstIds;
+    private long[] preValuePositions;
+    private long[] curValuePositions;
+    private byte[] copyBuffer;
 
     public FileGraphPartition(ComputerContext context,
                               Managers managers,
                               int partition) {
-        this.context = context;
-        this.computation = context.config()
-                                  .createObject(
-                                          ComputerOptions.WORKER_COMPUTATION_CLASS);
-        this.computation.init(context.config());
-        this.fileGenerator = managers.get(FileManager.NAME);
-        this.partition = partition;
+        super(context, partition);
+        FileManager fileManager = managers.get(FileManager.NAME);
+        this.fileGenerator = fileManager;
+        this.inputFactory = fileManager.inputFactory();
         this.vertexFile = new File(this.fileGenerator.randomDirectory(VERTEX));
         this.edgeFile = new File(this.fileGenerator.randomDirectory(EDGE));
-        this.vertexCount = 0L;
-        this.edgeCount = 0L;
+        Value result = context.config().createObject(
+                       ComputerOptions.ALGORITHM_RESULT_CLASS);
+        this.fixedValue = FixedValueStore.supported(result);
+        this.fixedValueSize = result.valueType().byteSize();
+        this.activeVertices = new BitSet();
+        this.vertexPositions = new long[0];
+        this.edgePositions = new long[0];
+        this.blockFirstIds = new ReusablePointer[0];
     }
 
+    @Override
     protected PartitionStat input(PeekableIterator<KvEntry> vertices,
                                   PeekableIterator<KvEntry> edges) {
         try {
@@ -110,15 +133,29 @@ public class FileGraphPartition {
                                            this.vertexFile);
             BufferedFileOutput edgeOut = new BufferedFileOutput(
                                          this.edgeFile);
+            CompactEdges.writeHeader(edgeOut);
+            // Only the edges with frequency SINGLE may be delta encoded
+            EdgeFrequency frequency = this.context.config().get(
+                                      ComputerOptions.INPUT_EDGE_FREQ);
+            CompactEdges compactEdges = frequency == EdgeFrequency.SINGLE ?
+                                        new CompactEdges() : null;
+            int blocks = 0;
             while (vertices.hasNext()) {
                 KvEntry entry = vertices.next();
                 Pointer key = entry.key();
                 Pointer value = entry.value();
+                if (this.vertexCount % BLOCK_SIZE == 0) {
+                    this.addBlock(blocks++, key, vertexOut.position(),
+                                  edgeOut.position());
+                }
                 this.writeVertex(key, value, vertexOut);
-                this.writeEdges(key, edges, edgeOut);
+                this.writeEdges(key, edges, edgeOut, compactEdges);
             }
             vertexOut.close();
             edgeOut.close();
+            this.vertexPositions = Arrays.copyOf(this.vertexPositions, blocks);
+            this.edgePositions = Arrays.copyOf(this.edgePositions, blocks);
+            this.blockFirstIds = Arrays.copyOf(this.blockFirstIds, blocks);
         } catch (IOException e) {
             throw new ComputerException(
                       "Failed to init FileGraphPartition '%s'",
@@ -129,51 +166,13 @@ public class FileGraphPartition {
                                  this.edgeCount, 0L);
     }
 
-    protected PartitionStat compute(WorkerContext context,
-                                    int superstep) {
-        LOG.info("Partition {} begin compute in superstep {}",
-                 this.partition, superstep);
-        try {
-            this.beforeCompute(superstep);
-        } catch (IOException e) {
-            throw new ComputerException(
-                      "Error occurred when beforeCompute at superstep %s",
-                      e, superstep);
-        }
-
-        long activeVertexCount;
-        try {
-            this.computation.beforeSuperstep(context);
-            activeVertexCount = superstep == 0 ?
-                                this.compute0(context) :
-                                this.compute1(context);
-            this.computation.afterSuperstep(context);
-        } catch (Exception e) {
-            throw new ComputerException(
-                      "Error occurred when compute at superstep %s",
-                      e, superstep);
-        }
-
-        try {
-            this.afterCompute(superstep);
-        } catch (Exception e) {
-            throw new ComputerException(
-                      "Error occurred when afterCompute at superstep %s",
-                      e, superstep);
-        }
-
-        LOG.info("Partition {} finish compute in superstep {}",
-                 this.partition, superstep);
-
-        return new PartitionStat(this.partition, this.vertexCount,
-                                 this.edgeCount,
-                                 this.vertexCount - activeVertexCount);
-    }
-
-
-    private long compute0(ComputationContext context) {
+    @Override
+    protected long compute0(ComputationContext context) {
         long activeVertexCount = 0L;
-        while (this.vertexInput.hasNext()) {
+        for (int i = 0; this.vertexInput.hasNext(); i++) {
+            if (i % BLOCK_SIZE == 0) {
+                this.markValuePosition(i / BLOCK_SIZE);
+            }
             Vertex vertex = this.vertexInput.next();
             vertex.reactivate();
 
@@ -187,59 +186,119 @@ public class FileGraphPartition {
             }
 
             try {
-                this.saveVertexStatusAndValue(vertex);
+                this.saveVertexStatusAndValue(i, vertex);
             } catch (IOException e) {
                 throw new ComputerException(
                           "Error occurred when saveVertex: %s", e, vertex);
             }
         }
+        this.markValuePosition(this.blockCount());
         return activeVertexCount;
     }
 
-    private long compute1(ComputationContext context) {
+    @Override
+    protected long compute1(ComputationContext context) {
         Value result = this.context.config().createObject(
                        ComputerOptions.ALGORITHM_RESULT_CLASS);
         long activeVertexCount = 0L;
-        while (this.vertexInput.hasNext()) {
-            Vertex vertex = this.vertexInput.next();
-            this.readVertexStatusAndValue(vertex, result);
-
-            Iterator<Value> messageIter = this.messageInput.iterator(
-                                          this.vertexInput.idPointer());
-            if (messageIter.hasNext()) {
-                vertex.reactivate();
+        int blocks = this.blockCount();
+        boolean skipped = false;
+        try {
+            for (int block = 0; block < blocks; block++) {
+                int start = block * BLOCK_SIZE;
+                int end = (int) Math.min(start + BLOCK_SIZE, this.vertexCount);
+                this.markValuePosition(block);
+                if (this.canSkipBlock(block, start, end)) {
+                    // The values of the block are unchanged
+                    if (!this.fixedValue) {
+                        this.copyPreValues(block);
+                    }
+                    skipped = true;
+                    continue;
+                }
+                if (skipped) {
+                    this.vertexInput.seek(this.vertexPositions[block], start);
+                    this.edgesInput.seek(this.edgePositions[block]);
+                    skipped = false;
+                }
+                for (int i = start; i < end; i++) {
+                    if (this.compute1(context, i, result)) {
+                        activeVertexCount++;
+                    }
+                }
             }
+            this.markValuePosition(blocks);
+        } catch (IOException e) {
+            throw new ComputerException(
+                      "Error occurred when compute partition %s",
+                      e, this.partition);
+        }
+        return activeVertexCount;
+    }
 
+    private boolean compute1(ComputationContext context, int index,
+                             Value result) throws IOException {
+        ReusablePointer idPointer = this.vertexInput.nextId();
+        Iterator<Value> messageIter = this.messageInput.iterator(idPointer);
+        if (!this.activeVertices.get(index) && !messageIter.hasNext()) {
             /*
-             * If the vertex is inactive, it's edges will be skipped
-             * automatically at the next vertex.
+             * The inactive vertex without messages isn't decoded, and it's
+             * edges will be skipped automatically at the next vertex.
              */
-            if (vertex.active()) {
-                Edges edges = this.edgesInput.edges(
-                              this.vertexInput.idPointer());
-                vertex.edges(edges);
-                this.computation.compute(context, vertex, messageIter);
+            if (!this.fixedValue) {
+                result.read(this.preValueInput);
+                result.write(this.curValueOutput);
             }
+            return false;
+        }
 
-            // The vertex status may be changed after computation
-            if (vertex.active()) {
-                activeVertexCount++;
-            }
+        Vertex vertex = this.vertexInput.vertex();
+        this.readVertexStatusAndValue(index, vertex, result);
+        vertex.reactivate();
+        Edges edges = this.edgesInput.edges(idPointer);
+        vertex.edges(edges);
+        this.computation.compute(context, vertex, messageIter);
 
-            try {
-                this.saveVertexStatusAndValue(vertex);
-            } catch (IOException e) {
-                throw new ComputerException(
-                          "Error occurred when saveVertex", e);
-            }
+        this.saveVertexStatusAndValue(index, vertex);
+        // The vertex status may be changed after computation
+        return vertex.active();
+    }
+
+    /**
+     * The block can be skipped if all the vertices of it are inactive and
+     * no messages sent to them.
+     */
+    private boolean canSkipBlock(int block, int start, int end) {
+        int active = this.activeVertices.nextSetBit(start);
+        if (active >= 0 && active < end) {
+            return false;
+        }
+        ReusablePointer nextBlockId = block + 1 < this.blockFirstIds.length ?
+                                      this.blockFirstIds[block + 1] : null;
+        return !this.messageInput.hasMessagesInRange(this.blockFirstIds[block],
+                                                     nextBlockId);
+    }
+
+    private void markValuePosition(int block) {
+        if (!this.fixedValue) {
+            this.curValuePositions[block] = this.curValueOutput.position();
+        }
+    }
+
+    private void copyPreValues(int block) throws IOException {
+        long length = this.preValuePositions[block + 1] -
+                      this.preValuePositions[block];
+        assert this.preValueInput.position() == this.preValuePositions[block];
+        while (length > 0L) {
+            int size = (int) Math.min(length, this.copyBuffer.length);
+            this.preValueInput.readFully(this.copyBuffer, 0, size);
+            this.curValueOutput.write(this.copyBuffer, 0, size);
+            length -= size;
         }
-        return activeVertexCount;
     }
 
-    protected PartitionStat output() {
-        ComputerOutput output = this.context.config().createObject(
-                                ComputerOptions.OUTPUT_CLASS);
-        output.init(this.context.config(), this.partition);
+    @Override
+    protected PartitionStat output(ComputerOutput output) {
         try {
             this.beforeOutput();
         } catch (IOException e) {
@@ -248,9 +307,9 @@ public class FileGraphPartition {
 
         Value result = this.context.config().createObject(
                        ComputerOptions.ALGORITHM_RESULT_CLASS);
-        while (this.vertexInput.hasNext()) {
+        for (int i = 0; this.vertexInput.hasNext(); i++) {
             Vertex vertex = this.vertexInput.next();
-            this.readVertexStatusAndValue(vertex, result);
+            this.readVertexStatusAndValue(i, vertex, result);
 
             Edges edges = this.edgesInput.edges(this.vertexInput.idPointer());
             vertex.edges(edges);
@@ -263,39 +322,24 @@ public class FileGraphPartition {
         } catch (IOException e) {
             throw new ComputerException("Error occurred when afterOutput", e);
         }
-        output.close();
         return new PartitionStat(this.partition, this.vertexCount,
                                  this.edgeCount, 0L);
     }
 
-    /**
-     * Put the messages sent at previous superstep from MessageRecvManager to
-     * this partition. The messages is null if no messages sent to this
-     * partition at previous superstep.
-     */
-    protected void messages(PeekableIterator<KvEntry> messages) {
-        this.messageInput = new MessageInput<>(this.context, messages);
-    }
-
-    protected int partition() {
-        return this.partition;
-    }
+    private void readVertexStatusAndValue(int index, Vertex vertex,
+                                          Value result) {
+        if (this.activeVertices.get(index)) {
+            vertex.reactivate();
+        } else {
+            vertex.inactivate();
+        }
 
-    private void readVertexStatusAndValue(Vertex vertex, Value result) {
         try {
-            boolean activate = this.preStatusInput.readBoolean();
-            if (activate) {
-                vertex.reactivate();
+            if (this.fixedValue) {
+                this.fixedValues.read(index, result);
             } else {
-                vertex.inactivate();
+                result.read(this.preValueInput);
             }
-        } catch (IOException e) {
-            throw new ComputerException(
-                      "Failed to read status of vertex '%s'", e, vertex);
-        }
-
-        try {
-            result.read(this.preValueInput);
             vertex.value(result);
         } catch (IOException e) {
             throw new ComputerException(
@@ -303,11 +347,34 @@ public class FileGraphPartition {
         }
     }
 
-    private void saveVertexStatusAndValue(Vertex vertex) throws IOException {
-        this.curStatusOutput.writeBoolean(vertex.active());
+    private void saveVertexStatusAndValue(int index, Vertex vertex)
+                                          throws IOException {
+        this.activeVertices.set(index, vertex.active());
         Value value = vertex.value();
         E.checkNotNull(value, "Vertex's value can't be null");
-        value.write(this.curValueOutput);
+        if (this.fixedValue) {
+            this.fixedValues.write(index, value);
+        } else {
+            value.write(this.curValueOutput);
+        }
+    }
+
+    private void addBlock(int block, Pointer firstId, long vertexPosition,
+                          long edgePosition) throws IOException {
+        if (block >= this.vertexPositions.length) {
+            int size = Math.max(block << 1, 16);
+            this.vertexPositions = Arrays.copyOf(this.vertexPositions, size);
+            this.edgePositions = Arrays.copyOf(this.edgePositions, size);
+            this.blockFirstIds = Arrays.copyOf(this.blockFirstIds, size);
+        }
+        this.vertexPositions[block] = vertexPosition;
+        this.edgePositions[block] = edgePosition;
+        byte[] id = firstId.bytes();
+        this.blockFirstIds[block] = new ReusablePointer(id, id.length);
+    }
+
+    private int blockCount() {
+        return this.blockFirstIds.length;
     }
 
     private void writeVertex(Pointer key, Pointer value,
@@ -324,7 +391,8 @@ public class FileGraphPartition {
     }
 
     private void writeEdges(Pointer vid, PeekableIterator<KvEntry> edges,
-                            BufferedFileOutput edgeOut) throws IOException {
+                            BufferedFileOutput edgeOut,
+                            CompactEdges compactEdges) throws IOException {
         byte[] vidBytes = vid.bytes();
         while (edges.hasNext()) {
             KvEntry entry = edges.peek();
@@ -348,13 +416,19 @@ public class FileGraphPartition {
 
             this.edgeCount += entry.numSubEntries();
             edgeOut.writeFixedInt((int) entry.numSubEntries());
-            EntryIterator subKvIt = EntriesUtil.subKvIterFromEntry(entry);
-            while (subKvIt.hasNext()) {
-                KvEntry subEntry = subKvIt.next();
-                // Not write sub-key length
-                edgeOut.write(subEntry.key().bytes());
-                // Not write sub-value length
-                edgeOut.write(subEntry.value().bytes());
+            if (compactEdges != null && compactEdges.encodeDeltaIds(entry)) {
+                edgeOut.writeByte(CompactEdges.FLAG_DELTA_IDS);
+                compactEdges.writeDeltaIds(edgeOut);
+            } else {
+                edgeOut.writeByte(CompactEdges.FLAG_RAW);
+                EntryIterator subKvIt = EntriesUtil.subKvIterFromEntry(entry);
+                while (subKvIt.hasNext()) {
+                    KvEntry subEntry = subKvIt.next();
+                    // Not write sub-key length
+                    edgeOut.write(subEntry.key().bytes());
+                    // Not write sub-value length
+                    edgeOut.write(subEntry.value().bytes());
+                }
             }
             long valueLength = edgeOut.position() - valuePosition -
                                Constants.INT_LEN;
@@ -362,75 +436,178 @@ public class FileGraphPartition {
         }
     }
 
-    private void beforeCompute(int superstep) throws IOException {
-        this.vertexInput = new VertexInput(this.context, this.vertexFile,
-                                           this.vertexCount);
-        this.edgesInput = new EdgesInput(this.context, this.edgeFile);
-        // Inputs of vertex, edges, status, and value.
+    @Override
+    protected void beforeCompute(int superstep) throws IOException {
+        this.vertexInput = new VertexInput(this.context, this.inputFactory,
+                                           this.vertexFile, this.vertexCount);
+        this.edgesInput = new EdgesInput(this.context, this.inputFactory,
+                                         this.edgeFile);
+        // Inputs of vertex, edges and value.
         this.vertexInput.init();
         this.edgesInput.init();
+        if (this.fixedValue) {
+            // The values are updated in place
+            if (superstep == 0) {
+                this.fixedValues = new FixedValueStore(this.fixedValueSize,
+                                                       this.vertexCount);
+            }
+            return;
+        }
         if (superstep != 0) {
-            this.preStatusFile = this.curStatusFile;
             this.preValueFile = this.curValueFile;
-            this.preStatusInput = new BufferedFileInput(this.preStatusFile);
-            this.preValueInput = new BufferedFileInput(this.preValueFile);
+            this.preValueInput = this.inputFactory.createRawFileInput(
+                                 this.preValueFile);
+            this.preValuePositions = this.curValuePositions;
+            this.copyBuffer = new byte[COPY_BUFFER_SIZE];
         }
 
-        // Outputs of vertex's status and vertex's value.
-        String statusPath = this.fileGenerator.randomDirectory(
-                            STATUS, Integer.toString(superstep),
-                            Integer.toString(this.partition));
+        // Output of vertex's value.
         String valuePath = this.fileGenerator.randomDirectory(
                            VALUE, Integer.toString(superstep),
                            Integer.toString(this.partition));
-        this.curStatusFile = new File(statusPath);
         this.curValueFile = new File(valuePath);
-        createFile(this.curStatusFile);
         createFile(this.curValueFile);
 
-        this.curStatusOutput = new BufferedFileOutput(this.curStatusFile);
         this.curValueOutput = new BufferedFileOutput(this.curValueFile);
+        this.curValuePositions = new long[this.blockCount() + 1];
     }
 
-    private void afterCompute(int superstep) throws Exception {
+    @Override
+    protected void afterCompute(int superstep) throws Exception {
         this.vertexInput.close();
         this.edgesInput.close();
         if (superstep != 0) {
             this.messageInput.close();
-            this.preStatusInput.close();
+        }
+        if (this.fixedValue) {
+            return;
+        }
+        if (superstep != 0) {
             this.preValueInput.close();
-            this.preStatusFile.delete();
             this.preValueFile.delete();
+            this.preValuePositions = null;
+            this.copyBuffer = null;
         }
-        this.curStatusOutput.close();
         this.curValueOutput.close();
     }
 
+    @Override
+    protected void checkpoint(File dir) throws IOException {
+        // There are no values if the partition isn't computed yet
+        boolean computed = this.fixedValue ? this.fixedValues != null :
+                                             this.curValueFile != null;
+        Files.copy(this.vertexFile.toPath(), new File(dir, VERTEX).toPath());
+        Files.copy(this.edgeFile.toPath(), new File(dir, EDGE).toPath());
+        try (BufferedFileOutput out = new BufferedFileOutput(
+                                      new File(dir, STATUS))) {
+            out.writeLong(this.vertexCount);
+            out.writeLong(this.edgeCount);
+            int blocks = this.blockCount();
+            out.writeInt(blocks);
+            for (int i = 0; i < blocks; i++) {
+                out.writeLong(this.vertexPositions[i]);
+                out.writeLong(this.edgePositions[i]);
+                ReusablePointer firstId = this.blockFirstIds[i];
+                out.writeInt((int) firstId.length());
+                out.write(firstId.bytes(), 0, (int) firstId.length());
+            }
+            writeBits(out, this.activeVertices);
+            out.writeBoolean(computed);
+            if (computed && !this.fixedValue) {
+                for (int i = 0; i <= blocks; i++) {
+                    out.writeLong(this.curValuePositions[i]);
+                }
+            }
+        }
+        if (!computed) {
+            return;
+        }
+        File valueFile = new File(dir, VALUE);
+        if (this.fixedValue) {
+            try (BufferedFileOutput out = new BufferedFileOutput(valueFile)) {
+                this.fixedValues.writeAll(out);
+            }
+        } else {
+            Files.copy(this.curValueFile.toPath(), valueFile.toPath());
+        }
+    }
+
+    @Override
+    protected void restore(File dir, int superstep) throws IOException {
+        copyToNewFile(new File(dir, VERTEX), this.vertexFile);
+        copyToNewFile(new File(dir, EDGE), this.edgeFile);
+        int blocks;
+        boolean computed;
+        try (RandomAccessInput in = new BufferedFileInput(
+                                    new File(dir, STATUS))) {
+            this.vertexCount = in.readLong();
+            this.edgeCount = in.readLong();
+            blocks = in.readInt();
+            this.vertexPositions = new long[blocks];
+            this.edgePositions = new long[blocks];
+            this.blockFirstIds = new ReusablePointer[blocks];
+            for (int i = 0; i < blocks; i++) {
+                this.vertexPositions[i] = in.readLong();
+                this.edgePositions[i] = in.readLong();
+                byte[] id = new byte[in.readInt()];
+                in.readFully(id);
+                this.blockFirstIds[i] = new ReusablePointer(id, id.length);
+            }
+            readBits(in, this.activeVertices);
+            computed = in.readBoolean();
+            if (computed && !this.fixedValue) {
+                this.curValuePositions = new long[blocks + 1];
+                for (int i = 0; i <= blocks; i++) {
+                    this.curValuePositions[i] = in.readLong();
+                }
+            }
+        }
+        if (!computed) {
+            return;
+        }
+        File valueFile = new File(dir, VALUE);
+        if (this.fixedValue) {
+            this.fixedValues = new FixedValueStore(this.fixedValueSize,
+                                                   this.vertexCount);
+            try (RandomAccessInput in = new BufferedFileInput(valueFile)) {
+                this.fixedValues.readAll(in);
+            }
+        } else {
+            String valuePath = this.fileGenerator.randomDirectory(
+                               VALUE, Integer.toString(superstep),
+                               Integer.toString(this.partition));
+            this.curValueFile = new File(valuePath);
+            copyToNewFile(valueFile, this.curValueFile);
+        }
+    }
+
     private void beforeOutput() throws IOException {
-        this.vertexInput = new VertexInput(this.context, this.vertexFile,
-                                           this.vertexCount);
-        this.edgesInput = new EdgesInput(this.context, this.edgeFile);
+        this.vertexInput = new VertexInput(this.context, this.inputFactory,
+                                           this.vertexFile, this.vertexCount);
+        this.edgesInput = new EdgesInput(this.context, this.inputFactory,
+                                         this.edgeFile);
 
         this.vertexInput.init();
         this.edgesInput.init();
 
-        this.preStatusFile = this.curStatusFile;
-        this.preValueFile = this.curValueFile;
-        this.preStatusInput = new BufferedFileInput(this.preStatusFile);
-        this.preValueInput = new BufferedFileInput(this.preValueFile);
+        if (!this.fixedValue) {
+            this.preValueFile = this.curValueFile;
+            this.preValueInput = this.inputFactory.createRawFileInput(
+                                 this.preValueFile);
+        }
     }
 
     private void afterOutput() throws IOException {
         this.vertexInput.close();
         this.edgesInput.close();
 
-        this.preStatusInput.close();
-        this.preValueInput.close();
-
-        assert this.preStatusFile == this.curStatusFile;
-        assert this.preValueFile == this.curValueFile;
-        this.preStatusFile.delete();
-        this.preValueFile.delete();
+        if (this.fixedValue) {
+            this.fixedValues = null;
+        } else {
+            this.preValueInput.close();
+            assert this.preValueFile == this.curValueFile;
+            this.preValueFile.delete();
+        }
 
         this.vertexFile.delete();
         this.edgeFile.delete();
@@ -440,4 +617,10 @@ public class FileGraphPartition {
         file.getParentFile().mkdirs();
         E.checkArgument(file.createNewFile(), "Already exists file: %s", file);
     }
+
+    private static void copyToNewFile(File source, File target)
+                                      throws IOException {
+        target.getParentFile().mkdirs();
+        Files.copy(source.toPath(), target.toPath());
+    }
 }
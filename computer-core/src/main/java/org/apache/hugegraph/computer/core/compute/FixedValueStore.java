@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.compute;
+
+import java.io.IOException;
+
+import org.apache.hugegraph.computer.core.graph.value.Value;
+import org.apache.hugegraph.computer.core.io.RandomAccessInput;
+import org.apache.hugegraph.computer.core.io.RandomAccessOutput;
+import org.apache.hugegraph.computer.core.io.UnsafeBytesInput;
+import org.apache.hugegraph.computer.core.io.UnsafeBytesOutput;
+import org.apache.hugegraph.util.E;
+
+/**
+ * The store of vertex values whose serialized size is fixed, such as
+ * DoubleValue and LongValue. The value of the vertex is stored at the slot
+ * indexed by the ordinal of the vertex in the partition, and is updated in
+ * place at each superstep, so no value file need to be rewritten.
+ */
+public class FixedValueStore {
+
+    private final int valueSize;
+    private final long capacity;
+    private final UnsafeBytesOutput output;
+    private final UnsafeBytesInput input;
+
+    public FixedValueStore(int valueSize, long capacity) {
+        E.checkArgument(valueSize > 0,
+                        "The value size must be > 0, but got %s", valueSize);
+        E.checkArgument(valueSize * capacity <= Integer.MAX_VALUE,
+                        "Too many vertices to store fixed values: %s",
+                        capacity);
+        this.valueSize = valueSize;
+        this.capacity = capacity;
+        // The input and output share the same buffer
+        this.output = new UnsafeBytesOutput((int) (valueSize * capacity));
+        this.input = new UnsafeBytesInput(this.output.buffer());
+    }
+
+    public static boolean supported(Value value) {
+        return value.valueType().byteSize() > 0;
+    }
+
+    public void read(long index, Value value) throws IOException {
+        this.checkIndex(index);
+        this.input.seek(index * this.valueSize);
+        value.read(this.input);
+    }
+
+    public void write(long index, Value value) throws IOException {
+        this.checkIndex(index);
+        long position = index * this.valueSize;
+        this.output.seek(position);
+        value.write(this.output);
+        assert this.output.position() - position == this.valueSize;
+    }
+
+    /**
+     * Write the values of all slots to the output, used to checkpoint.
+     */
+    public void writeAll(RandomAccessOutput out) throws IOException {
+        out.write(this.output.buffer(), 0, (int) this.bytes());
+    }
+
+    /**
+     * Read the values of all slots written by {@link #writeAll}.
+     */
+    public void readAll(RandomAccessInput in) throws IOException {
+        in.readFully(this.output.buffer(), 0, (int) this.bytes());
+    }
+
+    public long bytes() {
+        return this.valueSize * this.capacity;
+    }
+
+    private void checkIndex(long index) {
+        assert index >= 0L && index < this.capacity : index;
+    }
+}
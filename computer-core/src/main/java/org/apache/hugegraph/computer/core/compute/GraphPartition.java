@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.compute;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.BitSet;
+
+import org.apache.hugegraph.computer.core.common.ComputerContext;
+import org.apache.hugegraph.computer.core.common.exception.ComputerException;
+import org.apache.hugegraph.computer.core.compute.input.MessageInput;
+import org.apache.hugegraph.computer.core.config.ComputerOptions;
+import org.apache.hugegraph.computer.core.graph.partition.PartitionStat;
+import org.apache.hugegraph.computer.core.graph.value.Value;
+import org.apache.hugegraph.computer.core.io.RandomAccessInput;
+import org.apache.hugegraph.computer.core.io.RandomAccessOutput;
+import org.apache.hugegraph.computer.core.output.ComputerOutput;
+import org.apache.hugegraph.computer.core.sort.flusher.PeekableIterator;
+import org.apache.hugegraph.computer.core.store.entry.KvEntry;
+import org.apache.hugegraph.computer.core.worker.Computation;
+import org.apache.hugegraph.computer.core.worker.ComputationContext;
+import org.apache.hugegraph.computer.core.worker.WorkerContext;
+import org.apache.hugegraph.util.Log;
+import org.slf4j.Logger;
+
+/**
+ * The vertices and edges of a partition in a worker, the partition is built
+ * at inputstep and computed at each superstep. The subclasses decide where
+ * the vertices, edges, status and values of the partition are stored.
+ */
+public abstract class GraphPartition {
+
+    private static final Logger LOG = Log.logger(GraphPartition.class);
+
+    protected final ComputerContext context;
+    protected final Computation<Value> computation;
+    protected final int partition;
+
+    protected long vertexCount;
+    protected long edgeCount;
+
+    protected MessageInput<Value> messageInput;
+
+    public GraphPartition(ComputerContext context, int partition) {
+        this.context = context;
+        this.computation = context.config()
+                                  .createObject(
+                                          ComputerOptions.WORKER_COMPUTATION_CLASS);
+        this.computation.init(context.config());
+        this.partition = partition;
+        this.vertexCount = 0L;
+        this.edgeCount = 0L;
+    }
+
+    protected abstract PartitionStat input(PeekableIterator<KvEntry> vertices,
+                                           PeekableIterator<KvEntry> edges);
+
+    protected PartitionStat compute(WorkerContext context,
+                                    int superstep) {
+        LOG.info("Partition {} begin compute in superstep {}",
+                 this.partition, superstep);
+        try {
+            this.beforeCompute(superstep);
+        } catch (IOException e) {
+            throw new ComputerException(
+                      "Error occurred when beforeCompute at superstep %s",
+                      e, superstep);
+        }
+
+        long activeVertexCount;
+        try {
+            this.computation.beforeSuperstep(context);
+            activeVertexCount = superstep == 0 ?
+                                this.compute0(context) :
+                                this.compute1(context);
+            this.computation.afterSuperstep(context);
+        } catch (Exception e) {
+            throw new ComputerException(
+                      "Error occurred when compute at superstep %s",
+                      e, superstep);
+        }
+
+        try {
+            this.afterCompute(superstep);
+        } catch (Exception e) {
+            throw new ComputerException(
+                      "Error occurred when afterCompute at superstep %s",
+                      e, superstep);
+        }
+
+        LOG.info("Partition {} finish compute in superstep {}",
+                 this.partition, superstep);
+
+        return new PartitionStat(this.partition, this.vertexCount,
+                                 this.edgeCount,
+                                 this.vertexCount - activeVertexCount);
+    }
+
+    protected abstract long compute0(ComputationContext context);
+
+    protected abstract long compute1(ComputationContext context);
+
+    protected abstract void beforeCompute(int superstep) throws IOException;
+
+    protected abstract void afterCompute(int superstep) throws Exception;
+
+    /**
+     * Write the vertices with their values to the output, the output is
+     * initialized and closed by the caller.
+     */
+    protected abstract PartitionStat output(ComputerOutput output);
+
+    /**
+     * Save the vertices, edges, status and values of the partition computed
+     * at the latest superstep to the files in the directory, there are no
+     * values if the partition is just built at inputstep.
+     */
+    protected abstract void checkpoint(File dir) throws IOException;
+
+    /**
+     * Rebuild the partition from the files written by
+     * {@link #checkpoint(File)}, the partition is restored to the state
+     * after the superstep computed.
+     */
+    protected abstract void restore(File dir, int superstep)
+                                    throws IOException;
+
+    /**
+     * Put the messages sent at previous superstep from MessageRecvManager to
+     * this partition. The messages is null if no messages sent to this
+     * partition at previous superstep.
+     */
+    protected void messages(PeekableIterator<KvEntry> messages) {
+        this.messageInput = new MessageInput<>(this.context, messages);
+    }
+
+    protected int partition() {
+        return this.partition;
+    }
+
+    protected static void writeBits(RandomAccessOutput out, BitSet bits)
+                                    throws IOException {
+        long[] words = bits.toLongArray();
+        out.writeInt(words.length);
+        for (long word : words) {
+            out.writeLong(word);
+        }
+    }
+
+    protected static void readBits(RandomAccessInput in, BitSet bits)
+                                   throws IOException {
+        long[] words = new long[in.readInt()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = in.readLong();
+        }
+        bits.clear();
+        bits.or(BitSet.valueOf(words));
+    }
+}
@@ -0,0 +1,548 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.compute;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.annotation.Nonnull;
+
+import org.apache.hugegraph.computer.core.common.ComputerContext;
+import org.apache.hugegraph.computer.core.common.Constants;
+import org.apache.hugegraph.computer.core.common.exception.ComputerException;
+import org.apache.hugegraph.computer.core.compute.input.EdgesInput;
+import org.apache.hugegraph.computer.core.compute.input.ReusableEdges;
+import org.apache.hugegraph.computer.core.compute.input.ReusablePointer;
+import org.apache.hugegraph.computer.core.config.ComputerOptions;
+import org.apache.hugegraph.computer.core.config.EdgeFrequency;
+import org.apache.hugegraph.computer.core.graph.GraphFactory;
+import org.apache.hugegraph.computer.core.graph.edge.Edge;
+import org.apache.hugegraph.computer.core.graph.edge.Edges;
+import org.apache.hugegraph.computer.core.graph.partition.PartitionStat;
+import org.apache.hugegraph.computer.core.graph.properties.Properties;
+import org.apache.hugegraph.computer.core.graph.value.Value;
+import org.apache.hugegraph.computer.core.graph.vertex.Vertex;
+import org.apache.hugegraph.computer.core.io.BufferedFileInput;
+import org.apache.hugegraph.computer.core.io.BufferedFileOutput;
+import org.apache.hugegraph.computer.core.io.IOFactory;
+import org.apache.hugegraph.computer.core.io.RandomAccessInput;
+import org.apache.hugegraph.computer.core.io.RandomAccessOutput;
+import org.apache.hugegraph.computer.core.io.StreamGraphInput;
+import org.apache.hugegraph.computer.core.io.UnsafeBytesInput;
+import org.apache.hugegraph.computer.core.io.UnsafeBytesOutput;
+import org.apache.hugegraph.computer.core.output.ComputerOutput;
+import org.apache.hugegraph.computer.core.sort.flusher.PeekableIterator;
+import org.apache.hugegraph.computer.core.store.EntryIterator;
+import org.apache.hugegraph.computer.core.store.entry.EntriesUtil;
+import org.apache.hugegraph.computer.core.store.entry.KvEntry;
+import org.apache.hugegraph.computer.core.store.entry.Pointer;
+import org.apache.hugegraph.computer.core.worker.ComputationContext;
+import org.apache.hugegraph.util.E;
+
+/**
+ * The partition keeps all the vertices, edges, status and values in memory,
+ * it avoids reading and writing files at each superstep. The edges are stored
+ * in CSR layout: the serialized edges of all vertices are packed in one byte
+ * array in vertex order, the i-th vertex owns the edges in
+ * [edgeIndexes[i], edgeIndexes[i + 1]) which are located at
+ * [edgePositions[i], edgePositions[i + 1]) of the byte array.
+ * The edges are kept serialized instead of in primitive target id arrays,
+ * because the ids may be of any id type and the edges may carry labels,
+ * names and properties according to the edge frequency.
+ * The offsets of the edges and values are int, so the edges or values of
+ * a partition can't exceed {@link #MAX_BYTES}.
+ */
+public class MemoryGraphPartition extends GraphPartition {
+
+    // The file name of checkpoint, all the state is saved in one file
+    public static final String CHECKPOINT_FILE = "memory";
+
+    public static final long MAX_BYTES = UnsafeBytesOutput.MAX_BUFFER_SIZE;
+
+    private static final int INIT_CAPACITY = 1024;
+
+    private final GraphFactory graphFactory;
+    private final EdgeFrequency frequency;
+
+    // Vertex i is stored as [keyLength][key][valueLength][value]
+    private byte[] vertexBytes;
+    private byte[] edgeBytes;
+    private int[] edgeIndexes;
+    private int[] edgePositions;
+
+    private final BitSet activeVertices;
+
+    private byte[] preValueBytes;
+    private int[] preValuePositions;
+    private UnsafeBytesOutput curValueOutput;
+    private int[] curValuePositions;
+
+    private final ReusablePointer idPointer;
+    private final ReusablePointer valuePointer;
+    private final Vertex vertex;
+    private final Properties properties;
+    private final CsrEdges edges;
+    // Not null if decode the edges into reused objects
+    private final ReusableEdges reusableEdges;
+    private RandomAccessInput reusableEdgesInput;
+
+    public MemoryGraphPartition(ComputerContext context, int partition) {
+        super(context, partition);
+        this.graphFactory = context.graphFactory();
+        this.frequency = context.config().get(ComputerOptions.INPUT_EDGE_FREQ);
+        this.vertexBytes = Constants.EMPTY_BYTES;
+        this.edgeBytes = Constants.EMPTY_BYTES;
+        this.edgeIndexes = new int[]{0};
+        this.edgePositions = new int[]{0};
+        this.activeVertices = new BitSet();
+        this.idPointer = new ReusablePointer();
+        this.valuePointer = new ReusablePointer();
+        this.vertex = this.graphFactory.createVertex();
+        this.properties = this.graphFactory.createProperties();
+        this.edges = new CsrEdges();
+        if (context.config().get(ComputerOptions.WORKER_REUSE_EDGES)) {
+            this.reusableEdges = new ReusableEdges(this.graphFactory,
+                                                   this.frequency);
+        } else {
+            this.reusableEdges = null;
+        }
+    }
+
+    @Override
+    protected PartitionStat input(PeekableIterator<KvEntry> vertices,
+                                  PeekableIterator<KvEntry> edges) {
+        UnsafeBytesOutput vertexOut = new UnsafeBytesOutput(INIT_CAPACITY);
+        UnsafeBytesOutput edgeOut = new UnsafeBytesOutput(INIT_CAPACITY);
+        int[] indexes = new int[INIT_CAPACITY + 1];
+        int[] positions = new int[INIT_CAPACITY + 1];
+        int edgeIndex = 0;
+        try {
+            while (vertices.hasNext()) {
+                KvEntry entry = vertices.next();
+                Pointer key = entry.key();
+                this.writeVertex(key, entry.value(), vertexOut);
+                edgeIndex += this.writeEdges(key, edges, edgeOut);
+
+                E.checkState(this.vertexCount < Integer.MAX_VALUE - 1,
+                             "Too many vertices in memory partition %s",
+                             this.partition);
+                // The entry i + 1 is the end of edges of the i-th vertex
+                int index = (int) this.vertexCount;
+                if (index >= indexes.length) {
+                    indexes = Arrays.copyOf(indexes, indexes.length << 1);
+                    positions = Arrays.copyOf(positions, positions.length << 1);
+                }
+                indexes[index] = edgeIndex;
+                positions[index] = (int) edgeOut.position();
+            }
+        } catch (IOException | ComputerException e) {
+            // The edges may exceed the MAX_BYTES
+            throw new ComputerException(
+                      "Failed to init MemoryGraphPartition '%s'",
+                      e, this.partition);
+        }
+
+        int count = (int) this.vertexCount;
+        this.vertexBytes = vertexOut.toByteArray();
+        this.edgeBytes = edgeOut.toByteArray();
+        this.edgeIndexes = Arrays.copyOf(indexes, count + 1);
+        this.edgePositions = Arrays.copyOf(positions, count + 1);
+
+        return new PartitionStat(this.partition, this.vertexCount,
+                                 this.edgeCount, 0L);
+    }
+
+    @Override
+    protected long compute0(ComputationContext context) {
+        UnsafeBytesInput vertexInput = new UnsafeBytesInput(this.vertexBytes);
+        long activeVertexCount = 0L;
+        for (int i = 0; i < this.vertexCount; i++) {
+            this.readVertexPointers(vertexInput);
+            Vertex vertex = this.decodeVertex();
+            vertex.reactivate();
+            vertex.edges(this.edges.reset(i));
+
+            this.computation.compute0(context, vertex);
+
+            if (vertex.active()) {
+                activeVertexCount++;
+            }
+            this.saveVertexStatusAndValue(i, vertex);
+        }
+        return activeVertexCount;
+    }
+
+    @Override
+    protected long compute1(ComputationContext context) {
+        Value result = this.context.config().createObject(
+                       ComputerOptions.ALGORITHM_RESULT_CLASS);
+        UnsafeBytesInput vertexInput = new UnsafeBytesInput(this.vertexBytes);
+        UnsafeBytesInput valueInput = new UnsafeBytesInput(
+                                      this.preValueBytes);
+        long activeVertexCount = 0L;
+        for (int i = 0; i < this.vertexCount; i++) {
+            this.readVertexPointers(vertexInput);
+            Iterator<Value> messageIter = this.messageInput.iterator(
+                                          this.idPointer);
+            if (!this.activeVertices.get(i) && !messageIter.hasNext()) {
+                // The inactive vertex keeps it's value without decoding
+                this.copyPreValue(i);
+                continue;
+            }
+
+            Vertex vertex = this.decodeVertex();
+            this.readVertexValue(i, vertex, result, valueInput);
+            vertex.reactivate();
+            vertex.edges(this.edges.reset(i));
+            this.computation.compute(context, vertex, messageIter);
+
+            // The vertex status may be changed after computation
+            if (vertex.active()) {
+                activeVertexCount++;
+            }
+            this.saveVertexStatusAndValue(i, vertex);
+        }
+        return activeVertexCount;
+    }
+
+    @Override
+    protected PartitionStat output(ComputerOutput output) {
+        this.swapValues();
+        Value result = this.context.config().createObject(
+                       ComputerOptions.ALGORITHM_RESULT_CLASS);
+        UnsafeBytesInput vertexInput = new UnsafeBytesInput(this.vertexBytes);
+        UnsafeBytesInput valueInput = new UnsafeBytesInput(
+                                      this.preValueBytes);
+        for (int i = 0; i < this.vertexCount; i++) {
+            this.readVertexPointers(vertexInput);
+            Vertex vertex = this.decodeVertex();
+            this.readVertexValue(i, vertex, result, valueInput);
+            if (this.activeVertices.get(i)) {
+                vertex.reactivate();
+            } else {
+                vertex.inactivate();
+            }
+            vertex.edges(this.edges.reset(i));
+
+            output.write(vertex);
+        }
+
+        // Release the memory after output
+        this.vertexBytes = Constants.EMPTY_BYTES;
+        this.edgeBytes = Constants.EMPTY_BYTES;
+        this.reusableEdgesInput = null;
+        this.preValueBytes = null;
+        this.preValuePositions = null;
+        return new PartitionStat(this.partition, this.vertexCount,
+                                 this.edgeCount, 0L);
+    }
+
+    @Override
+    protected void beforeCompute(int superstep) throws IOException {
+        if (superstep != 0) {
+            this.swapValues();
+        }
+        int size = this.preValueBytes == null ? INIT_CAPACITY :
+                   Math.max(this.preValueBytes.length, INIT_CAPACITY);
+        this.curValueOutput = new UnsafeBytesOutput(size);
+        if (this.curValuePositions == null) {
+            this.curValuePositions = new int[(int) this.vertexCount + 1];
+        }
+    }
+
+    @Override
+    protected void afterCompute(int superstep) throws Exception {
+        if (superstep != 0) {
+            this.messageInput.close();
+        }
+    }
+
+    @Override
+    protected void checkpoint(File dir) throws IOException {
+        try (BufferedFileOutput out = new BufferedFileOutput(
+                                      new File(dir, CHECKPOINT_FILE))) {
+            out.writeLong(this.vertexCount);
+            out.writeLong(this.edgeCount);
+            writeBytes(out, this.vertexBytes, this.vertexBytes.length);
+            writeBytes(out, this.edgeBytes, this.edgeBytes.length);
+            writeInts(out, this.edgeIndexes);
+            writeInts(out, this.edgePositions);
+            writeBits(out, this.activeVertices);
+            // There are no values if the partition isn't computed yet
+            boolean computed = this.curValueOutput != null;
+            out.writeBoolean(computed);
+            if (computed) {
+                writeBytes(out, this.curValueOutput.buffer(),
+                           (int) this.curValueOutput.position());
+                writeInts(out, this.curValuePositions);
+            }
+        }
+    }
+
+    @Override
+    protected void restore(File dir, int superstep) throws IOException {
+        try (RandomAccessInput in = new BufferedFileInput(
+                                    new File(dir, CHECKPOINT_FILE))) {
+            this.vertexCount = in.readLong();
+            this.edgeCount = in.readLong();
+            this.vertexBytes = readBytes(in);
+            this.edgeBytes = readBytes(in);
+            this.edgeIndexes = readInts(in);
+            this.edgePositions = readInts(in);
+            readBits(in, this.activeVertices);
+            if (in.readBoolean()) {
+                byte[] values = readBytes(in);
+                this.curValueOutput = new UnsafeBytesOutput(
+                                      Math.max(values.length, INIT_CAPACITY));
+                this.curValueOutput.write(values);
+                this.curValuePositions = readInts(in);
+            } else {
+                this.curValueOutput = null;
+                this.curValuePositions = null;
+            }
+        }
+        this.preValueBytes = null;
+        this.preValuePositions = null;
+        this.reusableEdgesInput = null;
+    }
+
+    private static void writeBytes(RandomAccessOutput out, byte[] bytes,
+                                   int length) throws IOException {
+        out.writeInt(length);
+        out.write(bytes, 0, length);
+    }
+
+    private static byte[] readBytes(RandomAccessInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static void writeInts(RandomAccessOutput out, int[] values)
+                                  throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static int[] readInts(RandomAccessInput in) throws IOException {
+        int[] values = new int[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    private void swapValues() {
+        int[] prePositions = this.preValuePositions;
+        this.preValueBytes = this.curValueOutput.buffer();
+        this.preValuePositions = this.curValuePositions;
+        // Reuse the positions array of the superstep before previous
+        this.curValuePositions = prePositions;
+        this.curValueOutput = null;
+    }
+
+    private void readVertexPointers(RandomAccessInput input) {
+        try {
+            this.idPointer.read(input);
+            this.valuePointer.read(input);
+        } catch (IOException e) {
+            throw new ComputerException(
+                      "Can't read vertex from memory partition %s",
+                      e, this.partition);
+        }
+    }
+
+    private Vertex decodeVertex() {
+        try {
+            RandomAccessInput valueInput = this.valuePointer.input();
+            this.vertex.label(StreamGraphInput.readLabel(valueInput));
+            this.properties.read(valueInput);
+            this.vertex.id(StreamGraphInput.readId(this.idPointer.input()));
+            this.vertex.properties(this.properties);
+        } catch (IOException e) {
+            throw new ComputerException(
+                      "Can't decode vertex from memory partition %s",
+                      e, this.partition);
+        }
+        return this.vertex;
+    }
+
+    private void readVertexValue(int index, Vertex vertex, Value result,
+                                 UnsafeBytesInput valueInput) {
+        try {
+            valueInput.seek(this.preValuePositions[index]);
+            result.read(valueInput);
+            vertex.value(result);
+        } catch (IOException e) {
+            throw new ComputerException(
+                      "Failed to read value of vertex '%s'", e, vertex);
+        }
+    }
+
+    private void copyPreValue(int index) {
+        int start = this.preValuePositions[index];
+        int end = this.preValuePositions[index + 1];
+        try {
+            this.curValuePositions[index] = (int) this.curValueOutput
+                                                      .position();
+            this.curValueOutput.write(this.preValueBytes, start, end - start);
+            this.curValuePositions[index + 1] = (int) this.curValueOutput
+                                                          .position();
+        } catch (IOException | ComputerException e) {
+            // The values may exceed the MAX_BYTES
+            throw new ComputerException(
+                      "Failed to copy value of vertex at index %s in " +
+                      "MemoryGraphPartition '%s'", e, index, this.partition);
+        }
+    }
+
+    private void saveVertexStatusAndValue(int index, Vertex vertex) {
+        this.activeVertices.set(index, vertex.active());
+        Value value = vertex.value();
+        E.checkNotNull(value, "Vertex's value can't be null");
+        try {
+            this.curValuePositions[index] = (int) this.curValueOutput
+                                                      .position();
+            value.write(this.curValueOutput);
+            this.curValuePositions[index + 1] = (int) this.curValueOutput
+                                                          .position();
+        } catch (IOException | ComputerException e) {
+            // The values may exceed the MAX_BYTES
+            throw new ComputerException(
+                      "Error occurred when saveVertex: %s in " +
+                      "MemoryGraphPartition '%s'", e, vertex, this.partition);
+        }
+    }
+
+    private void writeVertex(Pointer key, Pointer value,
+                             UnsafeBytesOutput vertexOut) throws IOException {
+        byte[] keyBytes = key.bytes();
+        vertexOut.writeFixedInt(keyBytes.length);
+        vertexOut.write(keyBytes);
+
+        byte[] valueBytes = value.bytes();
+        vertexOut.writeFixedInt(valueBytes.length);
+        vertexOut.write(valueBytes);
+
+        this.vertexCount++;
+    }
+
+    private int writeEdges(Pointer vid, PeekableIterator<KvEntry> edges,
+                           UnsafeBytesOutput edgeOut) throws IOException {
+        int count = 0;
+        while (edges.hasNext()) {
+            KvEntry entry = edges.peek();
+            Pointer key = entry.key();
+            int matched = vid.compareTo(key);
+            if (matched < 0) {
+                break;
+            }
+
+            edges.next();
+            if (matched > 0) {
+                // Skip stale edges
+                continue;
+            }
+            assert matched == 0;
+            count += (int) entry.numSubEntries();
+            EntryIterator subKvIt = EntriesUtil.subKvIterFromEntry(entry);
+            while (subKvIt.hasNext()) {
+                KvEntry subEntry = subKvIt.next();
+                // Not write sub-key length
+                edgeOut.write(subEntry.key().bytes());
+                // Not write sub-value length
+                edgeOut.write(subEntry.value().bytes());
+            }
+        }
+        this.edgeCount += count;
+        return count;
+    }
+
+    /**
+     * The edges of one vertex backed by the packed edge bytes, the instance
+     * is reused among the vertices, the edges are decoded when iterating.
+     */
+    private class CsrEdges implements Edges {
+
+        private int index;
+
+        public CsrEdges reset(int index) {
+            this.index = index;
+            return this;
+        }
+
+        @Override
+        public int size() {
+            return edgeIndexes[this.index + 1] - edgeIndexes[this.index];
+        }
+
+        @Override
+        public void add(Edge edge) {
+            throw new ComputerException(
+                      "Not support adding edges during computing");
+        }
+
+        @Override
+        @Nonnull
+        public Iterator<Edge> iterator() {
+            int size = this.size();
+            int start = edgePositions[this.index];
+            int end = edgePositions[this.index + 1];
+            if (reusableEdges != null) {
+                if (reusableEdgesInput == null) {
+                    reusableEdgesInput = IOFactory.createBytesInput(edgeBytes);
+                }
+                return reusableEdges.reset(reusableEdgesInput, start, size,
+                                           false).iterator();
+            }
+            RandomAccessInput input = IOFactory.createBytesInput(edgeBytes,
+                                                                 start, end);
+            return new Iterator<Edge>() {
+
+                private int readCount = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return this.readCount < size;
+                }
+
+                @Override
+                public Edge next() {
+                    if (!this.hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    this.readCount++;
+                    try {
+                        return EdgesInput.readEdge(graphFactory, frequency,
+                                                   input);
+                    } catch (IOException e) {
+                        throw new ComputerException(
+                                  "Failed to read edge from memory " +
+                                  "partition %s", e, partition);
+                    }
+                }
+            };
+        }
+    }
+}
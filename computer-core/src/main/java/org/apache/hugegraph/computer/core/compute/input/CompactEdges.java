@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.compute.input;
+
+import java.io.IOException;
+
+import org.apache.hugegraph.computer.core.common.Constants;
+import org.apache.hugegraph.computer.core.common.SerialEnum;
+import org.apache.hugegraph.computer.core.graph.id.IdType;
+import org.apache.hugegraph.computer.core.io.BytesInput;
+import org.apache.hugegraph.computer.core.io.BytesOutput;
+import org.apache.hugegraph.computer.core.io.IOFactory;
+import org.apache.hugegraph.computer.core.io.RandomAccessInput;
+import org.apache.hugegraph.computer.core.io.RandomAccessOutput;
+import org.apache.hugegraph.computer.core.store.entry.KvEntry;
+import org.apache.hugegraph.util.E;
+
+/**
+ * The compact layout of edge file. The file starts with MAGIC and VERSION,
+ * then the batches of edges, each batch is:
+ * [idLength][id][valueLength][count][flag][edges]
+ * If flag is FLAG_DELTA_IDS, the edges have no properties and the target
+ * ids are long ids, each of which is written as the zigzag varint delta to
+ * the previous one, the edges keep the order of the edges entry.
+ * Otherwise, the edges are written
+ * as sub-keys and sub-values of the edges entry like the legacy layout
+ * without file header and flag.
+ */
+public class CompactEdges {
+
+    // The negative magic never equals to the id length of legacy layout
+    public static final int MAGIC = 0xEDCE0000;
+    public static final byte VERSION = 2;
+
+    public static final byte FLAG_RAW = 0;
+    public static final byte FLAG_DELTA_IDS = 1;
+
+    private static final int HEADER_LENGTH = Constants.INT_LEN + 1;
+
+    private final BytesOutput output;
+
+    public CompactEdges() {
+        this.output = IOFactory.createBytesOutput(Constants.SMALL_BUF_SIZE);
+    }
+
+    public static void writeHeader(RandomAccessOutput out) throws IOException {
+        out.writeFixedInt(MAGIC);
+        out.writeByte(VERSION);
+    }
+
+    /**
+     * Read the header of edge file, return false and seek back to the start
+     * of the file if it's the legacy layout without header.
+     */
+    public static boolean readHeader(RandomAccessInput in) throws IOException {
+        if (in.available() < HEADER_LENGTH || in.readFixedInt() != MAGIC) {
+            in.seek(0L);
+            return false;
+        }
+        byte version = in.readByte();
+        E.checkState(version == VERSION,
+                     "Unsupported version of edge file: %s", version);
+        return true;
+    }
+
+    /**
+     * Encode the target ids of the edges entry as deltas, return false if
+     * any edge has properties or not a long target id. The entry must be
+     * written with EdgeFrequency.SINGLE. The sub-entries are parsed in
+     * place from the value of entry without creating objects for each edge.
+     */
+    public boolean encodeDeltaIds(KvEntry entry) throws IOException {
+        BytesInput in = IOFactory.createBytesInput(entry.value().bytes());
+        int count = in.readFixedInt();
+        this.output.seek(0L);
+        long previous = 0L;
+        for (int i = 0; i < count; i++) {
+            int keyLength = in.readFixedInt();
+            long keyEnd = in.position() + keyLength;
+            IdType type = SerialEnum.fromCode(IdType.class, in.readByte());
+            if (type != IdType.LONG) {
+                return false;
+            }
+            // Skip the length of id bytes
+            in.readInt();
+            long id = in.readLong();
+            in.seek(keyEnd);
+
+            int valueLength = in.readFixedInt();
+            long valueEnd = in.position() + valueLength;
+            // The number of properties
+            if (in.readInt() != 0) {
+                return false;
+            }
+            in.seek(valueEnd);
+
+            long delta = id - previous;
+            // Zigzag to write small negative deltas in few bytes
+            this.output.writeLong((delta << 1) ^ (delta >> 63));
+            previous = id;
+        }
+        return true;
+    }
+
+    /**
+     * Read the target id encoded by {@link #encodeDeltaIds(KvEntry)} after
+     * the previous target id, the previous id of the first edge is 0.
+     */
+    public static long readDeltaId(RandomAccessInput in, long previous)
+                                   throws IOException {
+        long zigzag = in.readLong();
+        return previous + ((zigzag >>> 1) ^ -(zigzag & 1L));
+    }
+
+    /**
+     * Write the deltas encoded by {@link #encodeDeltaIds(KvEntry)}.
+     */
+    public void writeDeltaIds(RandomAccessOutput out) throws IOException {
+        out.write(this.output.buffer(), 0, (int) this.output.position());
+    }
+}
@@ -21,6 +21,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 import javax.annotation.Nonnull;
 
@@ -32,39 +33,69 @@ import org.apache.hugegraph.computer.core.config.EdgeFrequency;
 import org.apache.hugegraph.computer.core.graph.GraphFactory;
 import org.apache.hugegraph.computer.core.graph.edge.Edge;
 import org.apache.hugegraph.computer.core.graph.edge.Edges;
+import org.apache.hugegraph.computer.core.graph.id.BytesId;
 import org.apache.hugegraph.computer.core.graph.properties.Properties;
-import org.apache.hugegraph.computer.core.io.BufferedFileInput;
+import org.apache.hugegraph.computer.core.io.FileInputFactory;
 import org.apache.hugegraph.computer.core.io.RandomAccessInput;
 import org.apache.hugegraph.computer.core.io.StreamGraphInput;
 
 public class EdgesInput {
 
     private RandomAccessInput input;
+    // Read the batches of the iterated edges, created when first used
+    private RandomAccessInput batchInput;
     private final ReusablePointer idPointer;
     private final ReusablePointer valuePointer;
+    private final FileInputFactory inputFactory;
     private final File edgeFile;
     private final GraphFactory graphFactory;
-    private final int flushThreshold;
     private final EdgeFrequency frequency;
+    // Not null if decode the edges into reused objects
+    private final ReusableEdges reusableEdges;
+    // Whether the edge file is compact layout, false if legacy layout
+    private boolean compact;
 
-    public EdgesInput(ComputerContext context, File edgeFile) {
+    public EdgesInput(ComputerContext context, FileInputFactory inputFactory,
+                      File edgeFile) {
+        this.inputFactory = inputFactory;
         this.graphFactory = context.graphFactory();
         this.idPointer = new ReusablePointer();
         this.valuePointer = new ReusablePointer();
         this.edgeFile = edgeFile;
-        this.flushThreshold = context.config().get(
-                ComputerOptions.INPUT_MAX_EDGES_IN_ONE_VERTEX);
         this.frequency = context.config().get(ComputerOptions.INPUT_EDGE_FREQ);
+        if (context.config().get(ComputerOptions.WORKER_REUSE_EDGES)) {
+            this.reusableEdges = new ReusableEdges(this.graphFactory,
+                                                   this.frequency);
+        } else {
+            this.reusableEdges = null;
+        }
     }
 
     public void init() throws IOException {
-        this.input = new BufferedFileInput(this.edgeFile);
+        this.input = this.inputFactory.createRawFileInput(this.edgeFile);
+        this.batchInput = null;
+        this.compact = CompactEdges.readHeader(this.input);
     }
 
     public void close() throws IOException {
         this.input.close();
+        if (this.batchInput != null) {
+            this.batchInput.close();
+        }
+    }
+
+    /**
+     * Seek to the edges batch at specified position of the edge file.
+     */
+    public void seek(long position) throws IOException {
+        this.input.seek(position);
     }
 
+    /**
+     * Find the edges of the specified vertex, the edges are not read until
+     * they are iterated. The size of the edges is read from the header of
+     * the batches, and the content of the batches is skipped by seek.
+     */
     public Edges edges(ReusablePointer vidPointer) {
         try {
             while (this.input.available() > 0) {
@@ -79,13 +110,7 @@ public class EdgesInput {
                     this.input.seek(startPosition);
                     return EmptyEdges.instance();
                 } else if (status == 0) { // Has edges
-                    this.valuePointer.read(this.input);
-                    Edges edges = this.readEdges(this.valuePointer.input());
-                    if (edges.size() < this.flushThreshold) {
-                        return edges;
-                    } else {
-                        return new SuperEdges(vidPointer, edges, startPosition);
-                    }
+                    return this.lazyEdges(vidPointer, startPosition);
                 } else {
                     /*
                      * The current batch belong to vertex that vertex id is
@@ -102,52 +127,47 @@ public class EdgesInput {
         }
     }
 
-    private class SuperEdges implements Edges {
+    /**
+     * Skip the batches of the vertex, the id of first batch has been read.
+     * A vertex has more than one batch if the number of its edges exceeds
+     * INPUT_MAX_EDGES_IN_ONE_VERTEX.
+     */
+    private Edges lazyEdges(ReusablePointer vidPointer, long startPosition)
+                            throws IOException {
+        int size = 0;
+        while (true) {
+            int valueLength = this.input.readFixedInt();
+            size += this.input.readFixedInt();
+            this.input.skip(valueLength - Constants.INT_LEN);
+            long endPosition = this.input.position();
+            if (this.input.available() > 0) {
+                this.idPointer.read(this.input);
+                if (vidPointer.compareTo(this.idPointer) == 0) {
+                    continue;
+                }
+                this.input.seek(endPosition);
+            }
+            return new LazyEdges(startPosition, endPosition, size);
+        }
+    }
+
+    private class LazyEdges implements Edges {
 
-        private final ReusablePointer vid;
         private final long startPosition;
-        private Iterator<Edge> currentEdgesIter;
-        private int size;
-        private int iterationTime;
+        private final long endPosition;
+        private final int size;
 
-        SuperEdges(ReusablePointer vid, Edges edges, long startPosition) {
-            this.vid = vid;
+        LazyEdges(long startPosition, long endPosition, int size) {
             this.startPosition = startPosition;
-            this.currentEdgesIter = edges.iterator();
-            this.size = 0;
-            this.iterationTime = 0;
+            this.endPosition = endPosition;
+            this.size = size;
         }
 
         @Override
         public int size() {
-            if (this.size == 0) {
-                this.calculateSize();
-            }
             return this.size;
         }
 
-        private void calculateSize() {
-            long currentPosition = EdgesInput.this.input.position();
-            try {
-                EdgesInput.this.input.seek(this.startPosition);
-                EdgesInput.this.idPointer.read(EdgesInput.this.input);
-                while (EdgesInput.this.idPointer.compareTo(this.vid) == 0) {
-                    long valueLength = EdgesInput.this.input.readFixedInt();
-                    this.size += EdgesInput.this.input.readInt();
-                    long bytesToSkip = valueLength - Constants.INT_LEN;
-                    EdgesInput.this.input.skip(bytesToSkip);
-                    if (EdgesInput.this.input.available() > 0) {
-                        EdgesInput.this.idPointer.read(EdgesInput.this.input);
-                    } else {
-                        break;
-                    }
-                }
-                EdgesInput.this.input.seek(currentPosition);
-            } catch (IOException e) {
-                throw new ComputerException("Compute size of edges failed", e);
-            }
-        }
-
         @Override
         public void add(Edge edge) {
             throw new ComputerException(
@@ -157,99 +177,89 @@ public class EdgesInput {
         @Override
         @Nonnull
         public Iterator<Edge> iterator() {
-            try {
-                if (this.iterationTime != 0) {
-                    EdgesInput.this.input.seek(this.startPosition);
-                }
-                this.iterationTime++;
-            } catch (IOException e) {
-                throw new ComputerException("Can't seek to %s",
-                                            e, this.startPosition);
-            }
             return new EdgesIterator();
-
         }
 
         private class EdgesIterator implements Iterator<Edge> {
 
+            private long batchPosition;
+            private Iterator<Edge> batchIter;
+
+            EdgesIterator() {
+                this.batchPosition = startPosition;
+                this.batchIter = Collections.emptyIterator();
+            }
+
             @Override
             public boolean hasNext() {
-                if (currentEdgesIter.hasNext()) {
-                    return true;
+                while (!this.batchIter.hasNext() &&
+                       this.batchPosition < endPosition) {
+                    this.batchIter = this.readBatch().iterator();
+                }
+                return this.batchIter.hasNext();
+            }
+
+            @Override
+            public Edge next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
                 }
-                long currentPosition = input.position();
+                return this.batchIter.next();
+            }
+
+            private Edges readBatch() {
+                /*
+                 * Read the batch by the batch input, the position of the
+                 * edges input is kept to find the edges of next vertices.
+                 */
                 try {
-                    if (input.available() > 0) {
-                        idPointer.read(input);
-                        if (idPointer.compareTo(vid) == 0) {
-                            valuePointer.read(input);
-                            currentEdgesIter = readEdges(valuePointer.input())
-                                               .iterator();
-                        } else {
-                            input.seek(currentPosition);
-                        }
-                    }
+                    RandomAccessInput in = batchInput();
+                    in.seek(this.batchPosition);
+                    // Skip the vertex id
+                    in.skip(in.readFixedInt());
+                    valuePointer.read(in);
+                    this.batchPosition = in.position();
                 } catch (IOException e) {
                     throw new ComputerException(
                               "Error occurred when read edges from edges " +
                               "input '%s' at position %s", e,
-                              edgeFile.getAbsoluteFile(), currentPosition);
+                              edgeFile.getAbsoluteFile(), this.batchPosition);
                 }
-                return currentEdgesIter.hasNext();
+                return readEdges(valuePointer.input());
             }
+        }
+    }
 
-            @Override
-            public Edge next() {
-                return currentEdgesIter.next();
-            }
+    private RandomAccessInput batchInput() throws IOException {
+        if (this.batchInput == null) {
+            this.batchInput = this.input.duplicate();
         }
+        return this.batchInput;
     }
 
-    // TODO: use one reused Edges instance to read batches for each vertex.
     private Edges readEdges(RandomAccessInput in) {
         try {
             int count = in.readFixedInt();
+            byte flag = this.compact ? in.readByte() : CompactEdges.FLAG_RAW;
+            boolean deltaIds = flag == CompactEdges.FLAG_DELTA_IDS;
+            if (this.reusableEdges != null) {
+                // The edges are decoded lazily from the value pointer
+                return this.reusableEdges.reset(in, in.position(), count,
+                                                deltaIds);
+            }
             Edges edges = this.graphFactory.createEdges(count);
-            if (this.frequency == EdgeFrequency.SINGLE) {
-                for (int i = 0; i < count; i++) {
-                    Edge edge = this.graphFactory.createEdge();
-                    // Only use targetId as subKey, use props as subValue
-                    edge.targetId(StreamGraphInput.readId(in));
-                    // Read subValue
-                    Properties props = this.graphFactory.createProperties();
-                    props.read(in);
-                    edge.properties(props);
-                    edges.add(edge);
-                }
-            } else if (this.frequency == EdgeFrequency.SINGLE_PER_LABEL) {
-                for (int i = 0; i < count; i++) {
-                    Edge edge = this.graphFactory.createEdge();
-                    // Use label + targetId as subKey, use props as subValue
-                    edge.label(StreamGraphInput.readLabel(in));
-                    edge.targetId(StreamGraphInput.readId(in));
-                    // Read subValue
-                    Properties props = this.graphFactory.createProperties();
-                    props.read(in);
-                    edge.properties(props);
-                    edges.add(edge);
-                }
-            } else {
-                assert this.frequency == EdgeFrequency.MULTIPLE;
+            if (deltaIds) {
+                long id = 0L;
                 for (int i = 0; i < count; i++) {
+                    id = CompactEdges.readDeltaId(in, id);
                     Edge edge = this.graphFactory.createEdge();
-                    /*
-                     * Use label + sortValues + targetId as subKey,
-                     * use properties as subValue
-                     */
-                    edge.label(StreamGraphInput.readLabel(in));
-                    edge.name(StreamGraphInput.readLabel(in));
-                    edge.targetId(StreamGraphInput.readId(in));
-                    // Read subValue
-                    Properties props = this.graphFactory.createProperties();
-                    props.read(in);
-                    edge.properties(props);
+                    edge.targetId(BytesId.of(id));
                     edges.add(edge);
                 }
+                return edges;
+            }
+            for (int i = 0; i < count; i++) {
+                edges.add(readEdge(this.graphFactory, this.frequency, in));
             }
             return edges;
         } catch (IOException e) {
@@ -258,6 +268,38 @@ public class EdgesInput {
         }
     }
 
+    /**
+     * Read an edge which is written as sub-key and sub-value of the edges
+     * entry, the layout of sub-key is decided by the edge frequency.
+     */
+    public static Edge readEdge(GraphFactory graphFactory,
+                                EdgeFrequency frequency,
+                                RandomAccessInput in) throws IOException {
+        Edge edge = graphFactory.createEdge();
+        if (frequency == EdgeFrequency.SINGLE) {
+            // Only use targetId as subKey, use props as subValue
+            edge.targetId(StreamGraphInput.readId(in));
+        } else if (frequency == EdgeFrequency.SINGLE_PER_LABEL) {
+            // Use label + targetId as subKey, use props as subValue
+            edge.label(StreamGraphInput.readLabel(in));
+            edge.targetId(StreamGraphInput.readId(in));
+        } else {
+            assert frequency == EdgeFrequency.MULTIPLE;
+            /*
+             * Use label + sortValues + targetId as subKey,
+             * use properties as subValue
+             */
+            edge.label(StreamGraphInput.readLabel(in));
+            edge.name(StreamGraphInput.readLabel(in));
+            edge.targetId(StreamGraphInput.readId(in));
+        }
+        // Read subValue
+        Properties props = graphFactory.createProperties();
+        props.read(in);
+        edge.properties(props);
+        return edge;
+    }
+
     public static class EmptyEdges implements Edges {
 
         private static final EmptyEdges INSTANCE = new EmptyEdges();
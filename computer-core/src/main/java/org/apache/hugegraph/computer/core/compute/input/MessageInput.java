@@ -69,6 +69,22 @@ public class MessageInput<T extends Value> {
         return new MessageIterator(vidPointer);
     }
 
+    /**
+     * Whether there are messages sent to the vertices whose id is in range
+     * [startId, endId), the endId is null means no upper bound. The messages
+     * sent to the vertices before startId are skipped.
+     */
+    public boolean hasMessagesInRange(Pointer startId, Pointer endId) {
+        while (this.messages.hasNext()) {
+            Pointer key = this.messages.peek().key();
+            if (key.compareTo(startId) >= 0) {
+                return endId == null || key.compareTo(endId) < 0;
+            }
+            this.messages.next();
+        }
+        return false;
+    }
+
     public void close() throws Exception {
         this.messages.close();
     }
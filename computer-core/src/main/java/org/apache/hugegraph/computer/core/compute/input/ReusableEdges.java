@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.compute.input;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.annotation.Nonnull;
+
+import org.apache.hugegraph.computer.core.common.exception.ComputerException;
+import org.apache.hugegraph.computer.core.config.EdgeFrequency;
+import org.apache.hugegraph.computer.core.graph.GraphFactory;
+import org.apache.hugegraph.computer.core.graph.edge.Edge;
+import org.apache.hugegraph.computer.core.graph.edge.Edges;
+import org.apache.hugegraph.computer.core.graph.id.BytesId;
+import org.apache.hugegraph.computer.core.graph.id.Id;
+import org.apache.hugegraph.computer.core.graph.id.IdType;
+import org.apache.hugegraph.computer.core.graph.properties.Properties;
+import org.apache.hugegraph.computer.core.io.BytesOutput;
+import org.apache.hugegraph.computer.core.io.IOFactory;
+import org.apache.hugegraph.computer.core.io.RandomAccessInput;
+import org.apache.hugegraph.computer.core.io.StreamGraphInput;
+
+/**
+ * The flyweight edges backed by the serialized edges, the edges are decoded
+ * only when iterating, and each edge is decoded into the same reused edge
+ * with the same target id and properties instances. So an edge is only
+ * valid until the next edge is read, use {@link Edge#copy()} or
+ * {@link #copy()} to retain the edges.
+ */
+public class ReusableEdges implements Edges {
+
+    // The max bytes of a serialized long id
+    private static final int ID_BUFFER_SIZE = 16;
+
+    private final GraphFactory graphFactory;
+    private final EdgeFrequency frequency;
+    private final Edge edge;
+    private final Id targetId;
+    private final Properties properties;
+
+    private RandomAccessInput input;
+    private long position;
+    private int size;
+    // Whether the target ids are delta encoded, see CompactEdges
+    private boolean deltaIds;
+    private long previousId;
+    private final BytesOutput idValueOutput;
+    private final BytesOutput idOutput;
+    private final RandomAccessInput idInput;
+
+    public ReusableEdges(GraphFactory graphFactory, EdgeFrequency frequency) {
+        this.graphFactory = graphFactory;
+        this.frequency = frequency;
+        this.edge = graphFactory.createEdge();
+        this.targetId = new BytesId();
+        this.properties = graphFactory.createProperties();
+        this.edge.targetId(this.targetId);
+        this.edge.properties(this.properties);
+        this.idValueOutput = IOFactory.createBytesOutput(ID_BUFFER_SIZE);
+        this.idOutput = IOFactory.createBytesOutput(ID_BUFFER_SIZE);
+        this.idInput = IOFactory.createBytesInput(this.idOutput.buffer());
+    }
+
+    /**
+     * Reset to the size edges which are serialized from the position of
+     * input, the input must not be changed before the edges are iterated.
+     */
+    public ReusableEdges reset(RandomAccessInput input, long position,
+                               int size, boolean deltaIds) {
+        this.input = input;
+        this.position = position;
+        this.size = size;
+        this.deltaIds = deltaIds;
+        return this;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public void add(Edge edge) {
+        throw new ComputerException(
+                  "Not support adding edges during computing");
+    }
+
+    @Override
+    @Nonnull
+    public Iterator<Edge> iterator() {
+        try {
+            this.input.seek(this.position);
+        } catch (IOException e) {
+            throw new ComputerException("Can't seek to %s", e, this.position);
+        }
+        this.previousId = 0L;
+        return new Iterator<Edge>() {
+
+            private int readCount = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.readCount < ReusableEdges.this.size;
+            }
+
+            @Override
+            public Edge next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                this.readCount++;
+                return ReusableEdges.this.readEdge();
+            }
+        };
+    }
+
+    /**
+     * Copy the edges into new allocated edges, the returned edges can be
+     * retained after the edges are reset.
+     */
+    public Edges copy() {
+        Edges edges = this.graphFactory.createEdges(this.size);
+        for (Edge edge : this) {
+            edges.add(edge.copy());
+        }
+        return edges;
+    }
+
+    private Edge readEdge() {
+        try {
+            if (this.deltaIds) {
+                this.previousId = CompactEdges.readDeltaId(this.input,
+                                                           this.previousId);
+                this.readLongId(this.previousId);
+                this.properties.clear();
+                return this.edge;
+            }
+            if (this.frequency != EdgeFrequency.SINGLE) {
+                this.edge.label(StreamGraphInput.readLabel(this.input));
+            }
+            if (this.frequency == EdgeFrequency.MULTIPLE) {
+                this.edge.name(StreamGraphInput.readLabel(this.input));
+            }
+            this.targetId.read(this.input);
+            this.properties.read(this.input);
+        } catch (IOException e) {
+            throw new ComputerException("Failed to read edge from input", e);
+        }
+        return this.edge;
+    }
+
+    private void readLongId(long id) throws IOException {
+        // Serialize the long id like BytesId.of(id) and read into target id
+        this.idValueOutput.seek(0L);
+        this.idValueOutput.writeLong(id);
+        int length = (int) this.idValueOutput.position();
+        this.idOutput.seek(0L);
+        this.idOutput.writeByte(IdType.LONG.code());
+        this.idOutput.writeInt(length);
+        this.idOutput.write(this.idValueOutput.buffer(), 0, length);
+        this.idInput.seek(0L);
+        this.targetId.read(this.idInput);
+    }
+}
@@ -24,7 +24,7 @@ import org.apache.hugegraph.computer.core.common.ComputerContext;
 import org.apache.hugegraph.computer.core.common.exception.ComputerException;
 import org.apache.hugegraph.computer.core.graph.properties.Properties;
 import org.apache.hugegraph.computer.core.graph.vertex.Vertex;
-import org.apache.hugegraph.computer.core.io.BufferedFileInput;
+import org.apache.hugegraph.computer.core.io.FileInputFactory;
 import org.apache.hugegraph.computer.core.io.RandomAccessInput;
 import org.apache.hugegraph.computer.core.io.StreamGraphInput;
 
@@ -37,11 +37,14 @@ public class VertexInput {
     private final ReusablePointer idPointer;
     private final ReusablePointer valuePointer;
     private final Properties properties;
+    private final FileInputFactory inputFactory;
     private final File vertexFile;
 
     public VertexInput(ComputerContext context,
+                       FileInputFactory inputFactory,
                        File vertexFile,
                        long vertexCount) {
+        this.inputFactory = inputFactory;
         this.vertexFile = vertexFile;
         this.vertexCount = vertexCount;
         this.readCount = 0L;
@@ -53,7 +56,7 @@ public class VertexInput {
     }
 
     public void init() throws IOException {
-        this.input = new BufferedFileInput(this.vertexFile);
+        this.input = this.inputFactory.createRawFileInput(this.vertexFile);
     }
 
     public void close() throws IOException {
@@ -65,10 +68,31 @@ public class VertexInput {
     }
 
     public Vertex next() {
+        this.nextId();
+        return this.vertex();
+    }
+
+    /**
+     * Read the id and the value bytes of next vertex without decoding them,
+     * the vertex can be decoded later by {@link #vertex()} if needed.
+     */
+    public ReusablePointer nextId() {
         this.readCount++;
         try {
             this.idPointer.read(this.input);
             this.valuePointer.read(this.input);
+        } catch (IOException e) {
+            throw new ComputerException("Can't read vertex from input '%s'",
+                                        e, this.vertexFile.getAbsolutePath());
+        }
+        return this.idPointer;
+    }
+
+    /**
+     * Decode the vertex read by {@link #nextId()}.
+     */
+    public Vertex vertex() {
+        try {
             RandomAccessInput valueInput = this.valuePointer.input();
             this.vertex.label(StreamGraphInput.readLabel(valueInput));
             this.properties.read(valueInput);
@@ -81,6 +105,15 @@ public class VertexInput {
         return this.vertex;
     }
 
+    /**
+     * Seek to the vertex at specified position of the vertex file, the
+     * readCount is the number of vertices before the position.
+     */
+    public void seek(long position, long readCount) throws IOException {
+        this.input.seek(position);
+        this.readCount = readCount;
+    }
+
     public ReusablePointer idPointer() {
         return this.idPointer;
     }
@@ -17,6 +17,7 @@
 
 package org.apache.hugegraph.computer.core.graph.edge;
 
+import java.util.Map;
 import java.util.Objects;
 
 import org.apache.hugegraph.computer.core.common.Constants;
@@ -31,6 +32,7 @@ public class DefaultEdge implements Edge {
     private String name;
     private Id targetId;
     private Properties properties;
+    private final GraphFactory graphFactory;
 
     public DefaultEdge(GraphFactory graphFactory) {
         this(graphFactory, Constants.EMPTY_STR, Constants.EMPTY_STR, null);
@@ -42,6 +44,7 @@ public class DefaultEdge implements Edge {
         this.name = name;
         this.targetId = targetId;
         this.properties = graphFactory.createProperties();
+        this.graphFactory = graphFactory;
     }
 
     @Override
@@ -89,6 +92,19 @@ public class DefaultEdge implements Edge {
         return this.properties.get(key);
     }
 
+    @Override
+    public Edge copy() {
+        DefaultEdge edge = new DefaultEdge(this.graphFactory, this.label,
+                                           this.name,
+                                           this.targetId == null ? null :
+                                           (Id) this.targetId.copy());
+        for (Map.Entry<String, Value> entry :
+             this.properties.get().entrySet()) {
+            edge.properties.put(entry.getKey(), entry.getValue().copy());
+        }
+        return edge;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
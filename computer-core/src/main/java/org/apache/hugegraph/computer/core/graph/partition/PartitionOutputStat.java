@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.graph.partition;
+
+import java.io.IOException;
+
+import org.apache.hugegraph.computer.core.io.RandomAccessInput;
+import org.apache.hugegraph.computer.core.io.RandomAccessOutput;
+import org.apache.hugegraph.computer.core.io.Readable;
+import org.apache.hugegraph.computer.core.io.Writable;
+import org.apache.hugegraph.computer.core.util.JsonUtil;
+
+/**
+ * The stat of a partition at outputstep, worker sends it to master to report
+ * the output throughput of each partition.
+ */
+public class PartitionOutputStat implements Readable, Writable {
+
+    private int partitionId;
+    private long vertexCount;
+    private long edgeCount;
+    // The time(in ms) cost to output the partition
+    private long outputTime;
+
+    public PartitionOutputStat() {
+        // For reflexion
+        this(0, 0L, 0L, 0L);
+    }
+
+    public PartitionOutputStat(int partitionId, long vertexCount,
+                               long edgeCount, long outputTime) {
+        this.partitionId = partitionId;
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.outputTime = outputTime;
+    }
+
+    public int partitionId() {
+        return this.partitionId;
+    }
+
+    public long vertexCount() {
+        return this.vertexCount;
+    }
+
+    public long edgeCount() {
+        return this.edgeCount;
+    }
+
+    public long outputTime() {
+        return this.outputTime;
+    }
+
+    /**
+     * The number of vertices output per second.
+     */
+    public long throughput() {
+        return this.vertexCount * 1000L / Math.max(this.outputTime, 1L);
+    }
+
+    @Override
+    public void read(RandomAccessInput in) throws IOException {
+        this.partitionId = in.readInt();
+        this.vertexCount = in.readLong();
+        this.edgeCount = in.readLong();
+        this.outputTime = in.readLong();
+    }
+
+    @Override
+    public void write(RandomAccessOutput out) throws IOException {
+        out.writeInt(this.partitionId);
+        out.writeLong(this.vertexCount);
+        out.writeLong(this.edgeCount);
+        out.writeLong(this.outputTime);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof PartitionOutputStat)) {
+            return false;
+        }
+        PartitionOutputStat other = (PartitionOutputStat) obj;
+        return this.partitionId == other.partitionId &&
+               this.vertexCount == other.vertexCount &&
+               this.edgeCount == other.edgeCount &&
+               this.outputTime == other.outputTime;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(this.partitionId);
+    }
+
+    @Override
+    public String toString() {
+        return JsonUtil.toJsonWithClass(this);
+    }
+}
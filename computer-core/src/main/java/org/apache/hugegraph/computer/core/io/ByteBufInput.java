@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hugegraph.computer.core.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteOrder;
+
+import org.apache.hugegraph.computer.core.common.Constants;
+import org.apache.hugegraph.computer.core.common.exception.ComputerException;
+import org.apache.hugegraph.computer.core.util.CoderUtil;
+import org.apache.hugegraph.util.E;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * The input reads the readable bytes of a netty ByteBuf directly, so that
+ * the received buffer needn't be copied to a byte array. The primitive
+ * values are read in native byte order like {@link UnsafeBytesInput}.
+ * The input doesn't own the ByteBuf, the caller must retain the ByteBuf
+ * while reading and release it after that.
+ */
+public class ByteBufInput implements RandomAccessInput {
+
+    private static final boolean LITTLE_ENDIAN =
+            ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+
+    private final ByteBuf buf;
+    private final int offset;
+    private final int limit;
+    private int position;
+
+    public ByteBufInput(ByteBuf buf) {
+        this(buf, buf.readerIndex(), buf.readableBytes(), 0);
+    }
+
+    private ByteBufInput(ByteBuf buf, int offset, int limit, int position) {
+        E.checkArgumentNotNull(buf, "The buf can't be null");
+        this.buf = buf;
+        this.offset = offset;
+        this.limit = limit;
+        this.position = position;
+    }
+
+    @Override
+    public void readFully(byte[] b) throws IOException {
+        this.readFully(b, 0, b.length);
+    }
+
+    @Override
+    public void readFully(byte[] b, int off, int len) throws IOException {
+        this.require(len);
+        this.buf.getBytes(this.index(), b, off, len);
+        this.position += len;
+    }
+
+    @Override
+    public int skipBytes(int n) {
+        int remaining = this.limit - this.position;
+        if (n <= remaining) {
+            this.position += n;
+            return n;
+        } else {
+            this.position = this.limit;
+            return remaining;
+        }
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return this.readByte() != 0;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        this.require(Constants.BYTE_LEN);
+        byte value = this.buf.getByte(this.index());
+        this.position += Constants.BYTE_LEN;
+        return value;
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return this.readByte() & 0xFF;
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        this.require(Constants.SHORT_LEN);
+        int index = this.index();
+        short value = LITTLE_ENDIAN ? this.buf.getShortLE(index) :
+                                      this.buf.getShort(index);
+        this.position += Constants.SHORT_LEN;
+        return value;
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return this.readShort() & 0xFFFF;
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        return (char) this.readShort();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        this.require(Constants.INT_LEN);
+        int index = this.index();
+        int value = LITTLE_ENDIAN ? this.buf.getIntLE(index) :
+                                    this.buf.getInt(index);
+        this.position += Constants.INT_LEN;
+        return value;
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        this.require(Constants.LONG_LEN);
+        int index = this.index();
+        long value = LITTLE_ENDIAN ? this.buf.getLongLE(index) :
+                                     this.buf.getLong(index);
+        this.position += Constants.LONG_LEN;
+        return value;
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return Float.intBitsToFloat(this.readInt());
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        return Double.longBitsToDouble(this.readLong());
+    }
+
+    @Override
+    public String readLine() {
+        throw new ComputerException("Not implemented yet");
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        int len = this.readUnsignedShort();
+        byte[] bytes = new byte[len];
+        this.readFully(bytes, 0, len);
+        return CoderUtil.decode(bytes);
+    }
+
+    @Override
+    public long position() {
+        return this.position;
+    }
+
+    @Override
+    public void seek(long position) throws IOException {
+        E.checkArgument(position >= 0 && position <= this.limit,
+                        "Can't seek to %s, the limit is %s",
+                        position, this.limit);
+        this.position = (int) position;
+    }
+
+    @Override
+    public long skip(long bytesToSkip) throws IOException {
+        E.checkArgument(bytesToSkip >= 0,
+                        "The parameter bytesToSkip must be >= 0, but got %s",
+                        bytesToSkip);
+        this.require((int) bytesToSkip);
+        long positionBeforeSkip = this.position;
+        this.position += bytesToSkip;
+        return positionBeforeSkip;
+    }
+
+    @Override
+    public long available() throws IOException {
+        return this.limit - this.position;
+    }
+
+    @Override
+    public ByteBufInput duplicate() throws IOException {
+        return new ByteBufInput(this.buf, this.offset, this.limit,
+                                this.position);
+    }
+
+    @Override
+    public int compare(long offset, long length, RandomAccessInput other,
+                       long otherOffset, long otherLength) throws IOException {
+        E.checkArgument(offset + length <= this.limit,
+                        "Invalid range [%s, %s) to compare, expect <= %s",
+                        offset, offset + length, this.limit);
+        // Same order as BytesUtil.compare()
+        if (length != otherLength) {
+            return Long.compare(length, otherLength);
+        }
+
+        int start = this.offset + (int) offset;
+        if (other instanceof ByteBufInput) {
+            ByteBufInput otherInput = (ByteBufInput) other;
+            int otherStart = otherInput.offset + (int) otherOffset;
+            for (int i = 0; i < length; i++) {
+                int a = this.buf.getByte(start + i) & 0xFF;
+                int b = otherInput.buf.getByte(otherStart + i) & 0xFF;
+                if (a != b) {
+                    return a - b;
+                }
+            }
+            return 0;
+        }
+
+        long otherPosition = other.position();
+        other.seek(otherOffset);
+        try {
+            for (int i = 0; i < length; i++) {
+                int a = this.buf.getByte(start + i) & 0xFF;
+                int b = other.readUnsignedByte();
+                if (a != b) {
+                    return a - b;
+                }
+            }
+            return 0;
+        } finally {
+            other.seek(otherPosition);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        // pass, the ByteBuf is released by the owner
+    }
+
+    private int index() {
+        return this.offset + this.position;
+    }
+
+    private void require(int size) throws IOException {
+        if (this.position + size > this.limit) {
+            throw new EOFException(String.format(
+                      "Only %s bytes available, trying to read %s bytes",
+                      this.limit - this.position, size));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.hugegraph.computer.core.config.ComputerOptions;
+import org.apache.hugegraph.computer.core.config.Config;
+import org.apache.hugegraph.util.E;
+
+/**
+ * Create the inputs of the files written by the worker. The file is mapped
+ * into memory if {@link ComputerOptions#WORKER_MMAP_FILE_INPUT} is true, or
+ * read ahead by the executor if {@link ComputerOptions#WORKER_READ_AHEAD_DEPTH}
+ * > 0, otherwise it's read by {@link BufferedFileInput}. The executor is
+ * owned by the creator of the factory.
+ */
+public class FileInputFactory {
+
+    private final boolean mmap;
+    private final int readAheadDepth;
+    private final int readAheadBufferSize;
+    // Null if the read ahead is disabled
+    private final ExecutorService readAheadExecutor;
+    private final ReadAheadStat readAheadStat;
+
+    /**
+     * Create the factory which reads the files by {@link BufferedFileInput}.
+     */
+    public FileInputFactory() {
+        this.mmap = false;
+        this.readAheadDepth = 0;
+        this.readAheadBufferSize = 0;
+        this.readAheadExecutor = null;
+        this.readAheadStat = new ReadAheadStat();
+    }
+
+    public FileInputFactory(Config config, ExecutorService readAheadExecutor) {
+        this.mmap = config.get(ComputerOptions.WORKER_MMAP_FILE_INPUT);
+        this.readAheadDepth = config.get(
+                              ComputerOptions.WORKER_READ_AHEAD_DEPTH);
+        this.readAheadBufferSize = config.get(
+                                   ComputerOptions.WORKER_READ_AHEAD_BUFFER_SIZE);
+        E.checkArgument(this.mmap || this.readAheadDepth == 0 ||
+                        readAheadExecutor != null,
+                        "The executor can't be null if read ahead depth " +
+                        "is %s", this.readAheadDepth);
+        this.readAheadExecutor = readAheadExecutor;
+        this.readAheadStat = new ReadAheadStat();
+    }
+
+    /**
+     * Create the file input without varint encoding.
+     */
+    public RandomAccessInput createRawFileInput(File file) throws IOException {
+        if (this.mmap) {
+            return new MmapFileInput(file);
+        }
+        if (this.readAheadDepth > 0) {
+            return new ReadAheadFileInput(file, this.readAheadBufferSize,
+                                          this.readAheadDepth,
+                                          this.readAheadExecutor,
+                                          this.readAheadStat);
+        }
+        return new BufferedFileInput(file);
+    }
+
+    public RandomAccessInput createFileInput(File file) throws IOException {
+        return new OptimizedBytesInput(this.createRawFileInput(file));
+    }
+
+    public ReadAheadStat readAheadStat() {
+        return this.readAheadStat;
+    }
+}
@@ -0,0 +1,368 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.io;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hugegraph.computer.core.common.Constants;
+import org.apache.hugegraph.computer.core.common.exception.ComputerException;
+import org.apache.hugegraph.computer.core.util.CoderUtil;
+import org.apache.hugegraph.util.E;
+
+/**
+ * The file input which maps the file into memory, so that seek and re-read
+ * only move the position instead of refilling a buffer. The file is mapped
+ * in segments of 2^segmentBits bytes, so the file larger than 2GB can be
+ * read. The primitive values are read in native byte order like
+ * {@link UnsafeBytesInput}, the same as written by {@link BufferedFileOutput}.
+ * The duplicated inputs share the mapped segments, the segments are unmapped
+ * after the input and all of its duplicates are closed.
+ */
+public class MmapFileInput implements RandomAccessInput {
+
+    // 1GB per segment
+    public static final int DEFAULT_SEGMENT_BITS = 30;
+
+    private final File file;
+    private final int segmentBits;
+    private final long segmentMask;
+    private final long length;
+    private final MappedSegments mapped;
+    // The views of the mapped segments with the position of this input
+    private final ByteBuffer[] segments;
+    private boolean closed;
+    private long position;
+
+    // The buffer and index to read a primitive value, see locate()
+    private final ByteBuffer spanBuffer;
+    private int index;
+
+    public MmapFileInput(File file) throws IOException {
+        this(file, DEFAULT_SEGMENT_BITS);
+    }
+
+    public MmapFileInput(File file, int segmentBits) throws IOException {
+        E.checkArgument(segmentBits >= 3 && segmentBits <= 30,
+                        "The segment bits must be in [3, 30], but got %s",
+                        segmentBits);
+        this.file = file;
+        this.segmentBits = segmentBits;
+        this.segmentMask = (1L << segmentBits) - 1L;
+        MappedByteBuffer[] buffers;
+        try (RandomAccessFile raf = new RandomAccessFile(
+                                    file, Constants.FILE_MODE_READ);
+             FileChannel channel = raf.getChannel()) {
+            this.length = channel.size();
+            long segmentSize = 1L << segmentBits;
+            int count = (int) ((this.length + segmentSize - 1L) >>>
+                               segmentBits);
+            buffers = new MappedByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                long start = (long) i << segmentBits;
+                long size = Math.min(segmentSize, this.length - start);
+                buffers[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                                         start, size);
+            }
+        }
+        this.mapped = new MappedSegments(buffers);
+        this.segments = this.mapped.views();
+        this.closed = false;
+        this.position = 0L;
+        this.spanBuffer = ByteBuffer.allocate(Constants.LONG_LEN)
+                                    .order(ByteOrder.nativeOrder());
+    }
+
+    private MmapFileInput(MmapFileInput input) {
+        this.file = input.file;
+        this.segmentBits = input.segmentBits;
+        this.segmentMask = input.segmentMask;
+        this.length = input.length;
+        this.mapped = input.mapped.retain();
+        this.segments = this.mapped.views();
+        this.closed = false;
+        this.position = input.position;
+        this.spanBuffer = ByteBuffer.allocate(Constants.LONG_LEN)
+                                    .order(ByteOrder.nativeOrder());
+    }
+
+    @Override
+    public void readFully(byte[] b) throws IOException {
+        this.readFully(b, 0, b.length);
+    }
+
+    @Override
+    public void readFully(byte[] b, int off, int len) throws IOException {
+        this.require(len);
+        this.read(this.position, b, off, len);
+        this.position += len;
+    }
+
+    @Override
+    public int skipBytes(int n) {
+        int skipped = (int) Math.min(n, this.length - this.position);
+        this.position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return this.readByte() != 0;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        return this.locate(Constants.BYTE_LEN).get(this.index);
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return this.readByte() & 0xFF;
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        return this.locate(Constants.SHORT_LEN).getShort(this.index);
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return this.readShort() & 0xFFFF;
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        return this.locate(Constants.CHAR_LEN).getChar(this.index);
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        return this.locate(Constants.INT_LEN).getInt(this.index);
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        return this.locate(Constants.LONG_LEN).getLong(this.index);
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return this.locate(Constants.FLOAT_LEN).getFloat(this.index);
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        return this.locate(Constants.DOUBLE_LEN).getDouble(this.index);
+    }
+
+    @Override
+    public String readLine() {
+        throw new ComputerException("Not implemented yet");
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        int len = this.readUnsignedShort();
+        byte[] bytes = new byte[len];
+        this.readFully(bytes, 0, len);
+        return CoderUtil.decode(bytes);
+    }
+
+    @Override
+    public long position() {
+        return this.position;
+    }
+
+    @Override
+    public void seek(long position) throws IOException {
+        if (position > this.length) {
+            throw new EOFException(String.format(
+                                   "Can't seek to %s, reach the end of file",
+                                   position));
+        }
+        this.position = position;
+    }
+
+    @Override
+    public long skip(long bytesToSkip) throws IOException {
+        E.checkArgument(bytesToSkip >= 0,
+                        "The parameter bytesToSkip must be >= 0, but got %s",
+                        bytesToSkip);
+        E.checkArgument(this.available() >= bytesToSkip,
+                        "Failed to skip '%s' bytes, because don't have " +
+                        "enough data", bytesToSkip);
+        long positionBeforeSkip = this.position;
+        this.position += bytesToSkip;
+        return positionBeforeSkip;
+    }
+
+    @Override
+    public long available() throws IOException {
+        return this.length - this.position;
+    }
+
+    @Override
+    public MmapFileInput duplicate() throws IOException {
+        this.checkOpened();
+        // Share the mapped segments, they are unmapped when all closed
+        return new MmapFileInput(this);
+    }
+
+    @Override
+    public int compare(long offset, long length, RandomAccessInput other,
+                       long otherOffset, long otherLength) throws IOException {
+        E.checkArgument(offset + length <= this.length,
+                        "Invalid range [%s, %s) to compare, expect <= %s",
+                        offset, offset + length, this.length);
+        // Same order as BytesUtil.compare()
+        if (length != otherLength) {
+            return Long.compare(length, otherLength);
+        }
+
+        long otherPosition = other.position();
+        other.seek(otherOffset);
+        try {
+            for (long i = 0L; i < length; i++) {
+                long position = offset + i;
+                int a = this.segment(position)
+                            .get((int) (position & this.segmentMask)) & 0xFF;
+                int b = other.readUnsignedByte();
+                if (a != b) {
+                    return a - b;
+                }
+            }
+            return 0;
+        } finally {
+            other.seek(otherPosition);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        for (int i = 0; i < this.segments.length; i++) {
+            this.segments[i] = null;
+        }
+        this.mapped.release();
+    }
+
+    /**
+     * Return the buffer to read the primitive value of size bytes at
+     * this.index of it, the value may span two segments.
+     */
+    private ByteBuffer locate(int size) throws IOException {
+        this.require(size);
+        ByteBuffer segment = this.segment(this.position);
+        int index = (int) (this.position & this.segmentMask);
+        ByteBuffer buffer;
+        if (index + size <= segment.limit()) {
+            buffer = segment;
+            this.index = index;
+        } else {
+            this.read(this.position, this.spanBuffer.array(), 0, size);
+            buffer = this.spanBuffer;
+            this.index = 0;
+        }
+        this.position += size;
+        return buffer;
+    }
+
+    private void read(long position, byte[] b, int off, int len) {
+        while (len > 0) {
+            ByteBuffer segment = this.segment(position);
+            int index = (int) (position & this.segmentMask);
+            int size = Math.min(len, segment.limit() - index);
+            segment.position(index);
+            segment.get(b, off, size);
+            position += size;
+            off += size;
+            len -= size;
+        }
+    }
+
+    private ByteBuffer segment(long position) {
+        this.checkOpened();
+        return this.segments[(int) (position >>> this.segmentBits)];
+    }
+
+    private void checkOpened() {
+        if (this.closed) {
+            throw new ComputerException("The input of file '%s' is closed",
+                                        this.file);
+        }
+    }
+
+    private void require(int size) throws IOException {
+        if (this.position + size > this.length) {
+            throw new EOFException(String.format(
+                      "Only %s bytes available, trying to read %s bytes",
+                      this.length - this.position, size));
+        }
+    }
+
+    /**
+     * The segments mapped from the file, which are shared by an input and
+     * its duplicates, and unmapped after all of them are closed.
+     */
+    private static class MappedSegments {
+
+        private final MappedByteBuffer[] buffers;
+        private final AtomicInteger refCount;
+
+        public MappedSegments(MappedByteBuffer[] buffers) {
+            this.buffers = buffers;
+            this.refCount = new AtomicInteger(1);
+        }
+
+        public MappedSegments retain() {
+            this.refCount.incrementAndGet();
+            return this;
+        }
+
+        public void release() {
+            if (this.refCount.decrementAndGet() == 0) {
+                for (MappedByteBuffer buffer : this.buffers) {
+                    UnsafeBytesInput.freeDirectBuffer(buffer);
+                }
+            }
+        }
+
+        /**
+         * Return the views of the segments with independent positions, the
+         * primitive values are read in native order.
+         */
+        public ByteBuffer[] views() {
+            ByteBuffer[] views = new ByteBuffer[this.buffers.length];
+            for (int i = 0; i < views.length; i++) {
+                views[i] = this.buffers[i].duplicate()
+                                          .order(ByteOrder.nativeOrder());
+            }
+            return views;
+        }
+    }
+}
@@ -25,7 +25,7 @@ import org.apache.hugegraph.util.E;
 
 public class OptimizedBytesInput implements BytesInput {
 
-    private final UnsafeBytesInput in;
+    private final RandomAccessInput in;
 
     public OptimizedBytesInput(byte[] buffer) {
         this(buffer, buffer.length);
@@ -39,7 +39,7 @@ public class OptimizedBytesInput implements BytesInput {
         this(new UnsafeBytesInput(buffer, position, limit));
     }
 
-    public OptimizedBytesInput(UnsafeBytesInput in) {
+    public OptimizedBytesInput(RandomAccessInput in) {
         this.in = in;
     }
 
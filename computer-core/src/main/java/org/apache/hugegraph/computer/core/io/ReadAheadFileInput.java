@@ -0,0 +1,324 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.io;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.hugegraph.computer.core.common.Constants;
+import org.apache.hugegraph.computer.core.common.exception.ComputerException;
+import org.apache.hugegraph.util.E;
+
+/**
+ * The file input which reads the next chunks of the file in the I/O threads
+ * while the current buffer is consumed. At most depth chunks are read ahead,
+ * the reading thread stalls only if the next chunk is not read yet. A seek
+ * beyond the read ahead chunks discards them and starts over from the new
+ * position. The executor is owned by the creator of the input, and it must
+ * not be shut down before the input is closed.
+ */
+public class ReadAheadFileInput extends AbstractBufferedFileInput {
+
+    private final File path;
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final int depth;
+    private final ExecutorService executor;
+    private final ReadAheadStat stat;
+
+    private final Deque<ChunkRead> chunks;
+    private final Deque<ByteBuffer> freeChunks;
+    // The chunk being copied to the buffer, it starts at this.fileOffset
+    private ByteBuffer current;
+    // The file offset of the next chunk to be read ahead
+    private long readAheadOffset;
+    private long stallNanos;
+
+    public ReadAheadFileInput(File file, int bufferCapacity, int depth,
+                              ExecutorService executor, ReadAheadStat stat)
+                              throws IOException {
+        super(bufferCapacity, file.length());
+        E.checkArgument(bufferCapacity >= 8,
+                        "The parameter bufferSize must be >= 8");
+        E.checkArgument(depth > 0,
+                        "The read ahead depth must be > 0, but got %s",
+                        depth);
+        E.checkArgumentNotNull(executor,
+                               "The executor of read ahead can't be null");
+        E.checkArgumentNotNull(stat, "The stat of read ahead can't be null");
+        this.path = file;
+        this.file = new RandomAccessFile(file, Constants.FILE_MODE_READ);
+        this.channel = this.file.getChannel();
+        this.depth = depth;
+        this.executor = executor;
+        this.stat = stat;
+        this.chunks = new ArrayDeque<>(depth);
+        this.freeChunks = new ArrayDeque<>(depth);
+        this.current = null;
+        this.readAheadOffset = 0L;
+        this.stallNanos = 0L;
+        this.fillBuffer();
+    }
+
+    @Override
+    public void readFully(byte[] b, int off, int len) throws IOException {
+        int remaining = super.remaining();
+        if (len <= remaining) {
+            super.readFully(b, off, len);
+            return;
+        }
+        if (len > this.available()) {
+            throw new EOFException(String.format(
+                      "Only %s bytes available, trying to read %s bytes",
+                      this.available(), len));
+        }
+        while (len > 0) {
+            int size = Math.min(len, super.remaining());
+            super.readFully(b, off, size);
+            off += size;
+            len -= size;
+            if (len > 0) {
+                this.shiftAndFillBuffer();
+            }
+        }
+    }
+
+    @Override
+    public void seek(long position) throws IOException {
+        if (position == this.position()) {
+            return;
+        }
+        long bufferStart = this.fileOffset - this.limit();
+        if (position >= bufferStart && position < this.fileOffset) {
+            super.seek(position - bufferStart);
+            return;
+        }
+        if (position > this.fileLength()) {
+            throw new EOFException(String.format(
+                                   "Can't seek to %s, reach the end of file",
+                                   position));
+        }
+        super.seek(0L);
+        this.limit(0);
+        if (position >= this.fileOffset && position < this.readAheadOffset) {
+            // The position is in the chunks read ahead, skip to it
+            this.skipChunks(position - this.fileOffset);
+        } else {
+            this.discardChunks();
+            this.fileOffset = position;
+            this.readAheadOffset = position;
+        }
+        this.fillBuffer();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.discardChunks();
+        this.file.close();
+    }
+
+    @Override
+    protected void fillBuffer() throws IOException {
+        int free = this.bufferCapacity() - this.limit();
+        while (free > 0 && this.fileOffset < this.fileLength()) {
+            ByteBuffer chunk = this.currentChunk();
+            int size = Math.min(free, chunk.remaining());
+            chunk.get(this.buffer(), this.limit(), size);
+            this.limit(this.limit() + size);
+            this.fileOffset += size;
+            free -= size;
+        }
+    }
+
+    @Override
+    public ReadAheadFileInput duplicate() throws IOException {
+        ReadAheadFileInput input = new ReadAheadFileInput(
+                                   this.path, this.bufferCapacity(),
+                                   this.depth, this.executor, this.stat);
+        input.seek(this.position());
+        return input;
+    }
+
+    /**
+     * The nanoseconds this input waited for the chunks read ahead.
+     */
+    public long stallNanos() {
+        return this.stallNanos;
+    }
+
+    private void skipChunks(long bytes) throws IOException {
+        while (bytes > 0L) {
+            ByteBuffer chunk = this.currentChunk();
+            int size = (int) Math.min(bytes, chunk.remaining());
+            chunk.position(chunk.position() + size);
+            this.fileOffset += size;
+            bytes -= size;
+        }
+    }
+
+    private ByteBuffer currentChunk() throws IOException {
+        if (this.current != null && this.current.hasRemaining()) {
+            return this.current;
+        }
+        if (this.current != null) {
+            this.freeChunks.add(this.current);
+            this.current = null;
+        }
+        this.readAhead();
+        ChunkRead read = this.chunks.poll();
+        assert read != null;
+        this.current = this.waitChunk(read.future);
+        this.readAhead();
+        return this.current;
+    }
+
+    private void readAhead() {
+        while (this.chunks.size() < this.depth &&
+               this.readAheadOffset < this.fileLength()) {
+            long offset = this.readAheadOffset;
+            int size = (int) Math.min(this.bufferCapacity(),
+                                      this.fileLength() - offset);
+            ByteBuffer chunk = this.freeChunks.poll();
+            if (chunk == null) {
+                chunk = ByteBuffer.allocate(this.bufferCapacity());
+            }
+            chunk.clear();
+            chunk.limit(size);
+            ChunkRead read = new ChunkRead(chunk, offset);
+            this.executor.execute(read.future);
+            this.chunks.add(read);
+            this.readAheadOffset += size;
+        }
+    }
+
+    private ByteBuffer read(ByteBuffer chunk, long offset) throws IOException {
+        long position = offset;
+        while (chunk.hasRemaining()) {
+            int read = this.channel.read(chunk, position);
+            if (read < 0) {
+                throw new EOFException(String.format(
+                          "Reach the end of file '%s' at %s",
+                          this.path, position));
+            }
+            position += read;
+        }
+        chunk.flip();
+        this.stat.recordChunk(chunk.limit());
+        return chunk;
+    }
+
+    private ByteBuffer waitChunk(Future<ByteBuffer> future)
+                                 throws IOException {
+        try {
+            if (future.isDone()) {
+                return future.get();
+            }
+            long start = System.nanoTime();
+            ByteBuffer chunk = future.get();
+            long stall = System.nanoTime() - start;
+            this.stallNanos += stall;
+            this.stat.recordStall(stall);
+            return chunk;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new ComputerException("Failed to read ahead file '%s'",
+                                        cause, this.path);
+        } catch (InterruptedException e) {
+            throw new ComputerException("Interrupted while reading ahead " +
+                                        "file '%s'", e, this.path);
+        }
+    }
+
+    private void discardChunks() {
+        ChunkRead read;
+        while ((read = this.chunks.poll()) != null) {
+            /*
+             * The reads not started yet are cancelled and never read the
+             * channel, wait for the started ones finished to avoid closing
+             * the channel under them. Don't interrupt the reading thread,
+             * the interrupt closes the channel too.
+             */
+            if (read.cancelIfNotStarted()) {
+                continue;
+            }
+            try {
+                read.future.get();
+            } catch (CancellationException | ExecutionException ignored) {
+                // Ignore the chunk discarded
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ComputerException("Interrupted while discarding " +
+                                            "chunks of file '%s'",
+                                            e, this.path);
+            }
+        }
+        this.current = null;
+    }
+
+    /**
+     * The read of a chunk in the I/O thread, it is either started by the
+     * I/O thread or cancelled by the discarding, but not both.
+     */
+    private class ChunkRead implements Callable<ByteBuffer> {
+
+        private final ByteBuffer chunk;
+        private final long offset;
+        private final AtomicBoolean started;
+        private final FutureTask<ByteBuffer> future;
+
+        public ChunkRead(ByteBuffer chunk, long offset) {
+            this.chunk = chunk;
+            this.offset = offset;
+            this.started = new AtomicBoolean(false);
+            this.future = new FutureTask<>(this);
+        }
+
+        @Override
+        public ByteBuffer call() throws IOException {
+            if (!this.started.compareAndSet(false, true)) {
+                // It's cancelled before started
+                return null;
+            }
+            return ReadAheadFileInput.this.read(this.chunk, this.offset);
+        }
+
+        public boolean cancelIfNotStarted() {
+            if (!this.started.compareAndSet(false, true)) {
+                return false;
+            }
+            this.future.cancel(false);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.io;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.hugegraph.computer.core.util.JsonUtil;
+
+/**
+ * The statistics of the {@link ReadAheadFileInput} created by a
+ * {@link FileInputFactory}, the stall time is the time that the reading
+ * threads wait for the prefetched chunks. If the stall time is close to the
+ * compute time of a superstep, the superstep is I/O-bound, otherwise it's
+ * CPU-bound.
+ */
+public class ReadAheadStat {
+
+    private final transient LongAdder chunkAdder;
+    private final transient LongAdder bytesAdder;
+    private final transient LongAdder stallAdder;
+    private final transient LongAdder stallNanosAdder;
+
+    private long chunkCount;
+    private long chunkBytes;
+    private long stallCount;
+    private long stallMillis;
+
+    public ReadAheadStat() {
+        this.chunkAdder = new LongAdder();
+        this.bytesAdder = new LongAdder();
+        this.stallAdder = new LongAdder();
+        this.stallNanosAdder = new LongAdder();
+    }
+
+    public void recordChunk(int bytes) {
+        this.chunkAdder.increment();
+        this.bytesAdder.add(bytes);
+    }
+
+    public void recordStall(long nanos) {
+        this.stallAdder.increment();
+        this.stallNanosAdder.add(nanos);
+    }
+
+    /**
+     * Return the statistics recorded since last snapshot, and start to
+     * record from zero.
+     */
+    public ReadAheadStat snapshotAndReset() {
+        ReadAheadStat stat = new ReadAheadStat();
+        stat.chunkCount = this.chunkAdder.sumThenReset();
+        stat.chunkBytes = this.bytesAdder.sumThenReset();
+        stat.stallCount = this.stallAdder.sumThenReset();
+        stat.stallMillis = TimeUnit.NANOSECONDS.toMillis(
+                           this.stallNanosAdder.sumThenReset());
+        return stat;
+    }
+
+    public long chunkCount() {
+        return this.chunkCount;
+    }
+
+    public long chunkBytes() {
+        return this.chunkBytes;
+    }
+
+    public long stallCount() {
+        return this.stallCount;
+    }
+
+    public long stallMillis() {
+        return this.stallMillis;
+    }
+
+    @Override
+    public String toString() {
+        return JsonUtil.toJsonWithClass(this);
+    }
+}
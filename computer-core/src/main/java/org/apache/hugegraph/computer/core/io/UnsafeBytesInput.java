@@ -19,6 +19,7 @@ package org.apache.hugegraph.computer.core.io;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
 
 import org.apache.hugegraph.computer.core.common.Constants;
 import org.apache.hugegraph.computer.core.common.exception.ComputerException;
@@ -281,4 +282,12 @@ public class UnsafeBytesInput implements BytesInput {
     private int offset() {
         return Unsafe.ARRAY_BYTE_BASE_OFFSET + this.position;
     }
+
+    /**
+     * Free the memory of the direct or mapped buffer now instead of waiting
+     * for GC, the buffer can't be accessed any more after freed.
+     */
+    static void freeDirectBuffer(ByteBuffer buffer) {
+        UNSAFE.invokeCleaner(buffer);
+    }
 }
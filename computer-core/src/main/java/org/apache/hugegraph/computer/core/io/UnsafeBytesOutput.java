@@ -35,6 +35,9 @@ import sun.misc.Unsafe;
  */
 public class UnsafeBytesOutput implements BytesOutput {
 
+    // Some VMs reserve some header words in an array
+    public static final int MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+
     private static final sun.misc.Unsafe UNSAFE;
 
     private byte[] buffer;
@@ -237,8 +240,17 @@ public class UnsafeBytesOutput implements BytesOutput {
     }
 
     protected void require(int size) throws IOException {
-        if (this.position + size > this.buffer.length) {
-            byte[] newBuf = new byte[(this.buffer.length + size) << 1];
+        long required = (long) this.position + size;
+        if (required > this.buffer.length) {
+            if (required > MAX_BUFFER_SIZE) {
+                throw new ComputerException(
+                          "Unable to write %s bytes at position %s, the " +
+                          "buffer can't exceed %s bytes",
+                          size, this.position, MAX_BUFFER_SIZE);
+            }
+            long capacity = ((long) this.buffer.length + size) << 1;
+            byte[] newBuf = new byte[(int) Math.min(capacity,
+                                                    MAX_BUFFER_SIZE)];
             System.arraycopy(this.buffer, 0, newBuf, 0, this.position);
             this.buffer = newBuf;
         }
@@ -26,6 +26,7 @@ import org.apache.hugegraph.computer.core.aggregator.Aggregator;
 import org.apache.hugegraph.computer.core.aggregator.DefaultAggregator;
 import org.apache.hugegraph.computer.core.aggregator.MasterAggrManager;
 import org.apache.hugegraph.computer.core.bsp.Bsp4Master;
+import org.apache.hugegraph.computer.core.checkpoint.MasterCheckpointManager;
 import org.apache.hugegraph.computer.core.combiner.Combiner;
 import org.apache.hugegraph.computer.core.common.ComputerContext;
 import org.apache.hugegraph.computer.core.common.Constants;
@@ -34,6 +35,7 @@ import org.apache.hugegraph.computer.core.common.exception.ComputerException;
 import org.apache.hugegraph.computer.core.config.ComputerOptions;
 import org.apache.hugegraph.computer.core.config.Config;
 import org.apache.hugegraph.computer.core.graph.SuperstepStat;
+import org.apache.hugegraph.computer.core.graph.partition.PartitionOutputStat;
 import org.apache.hugegraph.computer.core.graph.value.Value;
 import org.apache.hugegraph.computer.core.graph.value.ValueType;
 import org.apache.hugegraph.computer.core.input.MasterInputManager;
@@ -206,10 +208,6 @@ public class MasterService implements Closeable {
             LOG.info("{} MasterService resume from superstep: {}",
                      this, superstep);
 
-            /*
-             * TODO: Get input splits from HugeGraph if resume from
-             * Constants.INPUT_SUPERSTEP.
-             */
             this.bsp4Master.masterResumeDone(superstep);
 
             /*
@@ -223,8 +221,7 @@ public class MasterService implements Closeable {
                 superstepStat = this.inputstep();
                 superstep++;
             } else {
-                // TODO: Get superstepStat from bsp service.
-                superstepStat = null;
+                superstepStat = this.resumestep(superstep);
             }
             watcher.stop();
             LOG.info("{} MasterService input step cost: {}",
@@ -235,6 +232,8 @@ public class MasterService implements Closeable {
 
             watcher.reset();
             watcher.start();
+            MasterCheckpointManager checkpointManager = this.managers.get(
+                                                    MasterCheckpointManager.NAME);
             // Step 3: Iteration computation of all supersteps.
             for (; superstepStat.active(); superstep++) {
                 LOG.info("{} MasterService superstep {} started",
@@ -255,6 +254,8 @@ public class MasterService implements Closeable {
                  * 8) All managers call afterSuperstep.
                  * 9) Master signals the workers with superstepStat, and workers
                  *    know whether to continue the next superstep iteration.
+                 * 10) Master waits the workers write checkpoint and marks it
+                 *    complete if need checkpoint at this superstep.
                  */
                 this.bsp4Master.waitWorkersStepPrepareDone(superstep);
                 this.managers.beforeSuperstep(this.config, superstep);
@@ -274,6 +275,11 @@ public class MasterService implements Closeable {
                 }
                 this.managers.afterSuperstep(this.config, superstep);
                 this.bsp4Master.masterStepDone(superstep, superstepStat);
+                if (superstepStat.active() &&
+                    checkpointManager.needCheckpoint(superstep)) {
+                    this.bsp4Master.waitWorkersCheckpointDone(superstep);
+                    checkpointManager.checkpoint(superstep, superstepStat);
+                }
 
                 LOG.info("{} MasterService superstep {} finished",
                          this, superstep);
@@ -286,6 +292,7 @@ public class MasterService implements Closeable {
             watcher.start();
             // Step 4: Output superstep for outputting results.
             this.outputstep();
+            checkpointManager.clear();
             watcher.stop();
             LOG.info("{} MasterService output step cost: {}",
                      this, TimeUtil.readableTime(watcher.getTime()));
@@ -314,6 +321,11 @@ public class MasterService implements Closeable {
         MasterRpcManager rpcManager = new MasterRpcManager();
         this.managers.add(rpcManager);
 
+        MasterCheckpointManager checkpointManager = new MasterCheckpointManager(
+                                                    this.context,
+                                                    aggregatorManager);
+        this.managers.add(checkpointManager);
+
         // Init managers
         this.managers.initAll(this.config);
 
@@ -331,12 +343,31 @@ public class MasterService implements Closeable {
         E.checkArgument(this.inited, "The %s has not been initialized", this);
     }
 
+    /**
+     * Resume from the superstep after the latest complete checkpoint if the
+     * checkpoint is enabled, otherwise start from inputstep.
+     */
     private int superstepToResume() {
-        /*
-         * TODO: determines which superstep to start from if failover is
-         * enabled.
-         */
-        return Constants.INPUT_SUPERSTEP;
+        MasterCheckpointManager manager = this.managers.get(
+                                          MasterCheckpointManager.NAME);
+        int superstep = manager.resumeSuperstep();
+        if (superstep == Constants.INPUT_SUPERSTEP) {
+            return Constants.INPUT_SUPERSTEP;
+        }
+        return superstep + 1;
+    }
+
+    /**
+     * Restore the aggregators and the superstep stat from the checkpoint of
+     * the superstep before the resumed superstep, and republish the stat to
+     * the workers like the superstep just finished.
+     */
+    private SuperstepStat resumestep(int superstep) {
+        MasterCheckpointManager manager = this.managers.get(
+                                          MasterCheckpointManager.NAME);
+        SuperstepStat superstepStat = manager.restore(superstep - 1);
+        this.bsp4Master.masterStepDone(superstep - 1, superstepStat);
+        return superstepStat;
     }
 
     /**
@@ -386,7 +417,18 @@ public class MasterService implements Closeable {
      */
     private void outputstep() {
         LOG.info("{} MasterService outputstep started", this);
-        this.bsp4Master.waitWorkersOutputDone();
+        List<PartitionOutputStat> outputStats =
+                                  this.bsp4Master.waitWorkersOutputDone();
+        long vertexCount = 0L;
+        for (PartitionOutputStat stat : outputStats) {
+            LOG.info("{} MasterService partition {} output {} vertices " +
+                     "in {}ms, throughput: {} vertices/s", this,
+                     stat.partitionId(), stat.vertexCount(),
+                     stat.outputTime(), stat.throughput());
+            vertexCount += stat.vertexCount();
+        }
+        LOG.info("{} MasterService output {} vertices of {} partitions",
+                 this, vertexCount, outputStats.size());
         // Merge output files of multiple partitions
         ComputerOutput output = this.config.createObject(
                                 ComputerOptions.OUTPUT_CLASS);
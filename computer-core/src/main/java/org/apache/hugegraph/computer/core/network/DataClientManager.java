@@ -24,7 +24,6 @@ import org.apache.hugegraph.computer.core.config.Config;
 import org.apache.hugegraph.computer.core.manager.Manager;
 import org.apache.hugegraph.computer.core.network.connection.ConnectionManager;
 import org.apache.hugegraph.computer.core.sender.QueuedMessageSender;
-import org.apache.hugegraph.util.E;
 import org.apache.hugegraph.util.Log;
 import org.slf4j.Logger;
 
@@ -36,11 +35,14 @@ public class DataClientManager implements Manager {
 
     private final ConnectionManager connManager;
     private final QueuedMessageSender sender;
+    private final int clientConnections;
 
     public DataClientManager(ConnectionManager connManager,
                              ComputerContext context) {
         this.connManager = connManager;
         this.sender = new QueuedMessageSender(context.config());
+        this.clientConnections = TransportConf.wrapConfig(context.config())
+                                              .clientConnections();
     }
 
     public QueuedMessageSender sender() {
@@ -54,8 +56,7 @@ public class DataClientManager implements Manager {
 
     @Override
     public void init(Config config) {
-        ClientHandler clientHandler = new DataClientHandler(
-                                      this.sender.notBusyNotifier());
+        ClientHandler clientHandler = new DataClientHandler();
         this.connManager.initClientManager(config, clientHandler);
         LOG.info("DataClientManager inited");
     }
@@ -77,10 +78,24 @@ public class DataClientManager implements Manager {
 
     public void connect(int workerId, String hostname, int dataPort) {
         try {
-            TransportClient client = this.connManager.getOrCreateClient(
-                                     hostname, dataPort);
-            LOG.info("Successfully connect to worker: {}({}:{})",
-                     workerId, hostname, dataPort);
+            TransportClient client;
+            if (this.clientConnections == 1) {
+                client = this.connManager.getOrCreateClient(hostname,
+                                                            dataPort);
+            } else {
+                TransportClient[] clients =
+                                  new TransportClient[this.clientConnections];
+                for (int i = 0; i < clients.length; i++) {
+                    ConnectionId connectionId = ConnectionId.parseConnectionId(
+                                                hostname, dataPort, i);
+                    clients[i] = this.connManager.getOrCreateClient(
+                                 connectionId);
+                }
+                client = new StripedTransportClient(clients);
+            }
+            LOG.info("Successfully connect to worker: {}({}:{}) with {} " +
+                     "connections", workerId, hostname, dataPort,
+                     this.clientConnections);
             this.sender.addWorkerClient(workerId, client);
         } catch (TransportException e) {
             throw new ComputerException(
@@ -91,18 +106,10 @@ public class DataClientManager implements Manager {
 
     private class DataClientHandler implements ClientHandler {
 
-        private final Runnable notBusyNotifier;
-
-        public DataClientHandler(Runnable notBusyNotifier) {
-            E.checkNotNull(notBusyNotifier,
-                           "The not-busy notifier can't be null");
-            this.notBusyNotifier = notBusyNotifier;
-        }
-
         @Override
         public void sendAvailable(ConnectionId connectionId) {
             LOG.debug("Channel for connectionId {} is available", connectionId);
-            this.notBusyNotifier.run();
+            DataClientManager.this.sender.sendAvailable(connectionId);
         }
 
         @Override
@@ -30,6 +30,25 @@ public interface MessageHandler extends TransportHandler {
      */
     void handle(MessageType messageType, int partition, NetworkBuffer buffer);
 
+    /**
+     * Notify the body of a data message is decompressed before handled,
+     * the compressed bytes are the length of the body on the wire.
+     */
+    default void onDecompressed(MessageType messageType, int partition,
+                                int compressedBytes, int rawBytes,
+                                long nanos) {
+        // pass
+    }
+
+    /**
+     * The free bytes of the buffers to receive data messages, it's
+     * advertised to each client by the ack of data message as the share of
+     * the client, -1 if unknown.
+     */
+    default long freeBufferBytes() {
+        return -1L;
+    }
+
     /**
      * Build a output path.
      */
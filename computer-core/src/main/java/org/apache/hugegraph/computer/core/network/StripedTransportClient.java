@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.network;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.hugegraph.computer.core.common.exception.TransportException;
+import org.apache.hugegraph.computer.core.network.connection.ConnectionManager;
+import org.apache.hugegraph.computer.core.network.message.MessageType;
+import org.apache.hugegraph.util.E;
+
+/**
+ * The client sends buffers to a worker over multiple connections, the
+ * partitions are striped across the connections, so the buffers of a
+ * partition are always sent by the same connection in order. The session
+ * of each connection is started and finished together.
+ * The clients are created by {@link ConnectionManager} with the connection
+ * ids of different client index, they should be closed by it too.
+ */
+public class StripedTransportClient implements TransportClient {
+
+    private final TransportClient[] clients;
+
+    public StripedTransportClient(TransportClient[] clients) {
+        E.checkArgument(clients.length > 0,
+                        "The clients of striped client can't be empty");
+        this.clients = clients;
+    }
+
+    public TransportClient[] clients() {
+        return this.clients;
+    }
+
+    public TransportClient client(int partition) {
+        assert partition >= 0;
+        return this.clients[partition % this.clients.length];
+    }
+
+    @Override
+    public void startSession() throws TransportException {
+        for (TransportClient client : this.clients) {
+            client.startSession();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> startSessionAsync()
+                                   throws TransportException {
+        CompletableFuture<?>[] futures =
+                               new CompletableFuture<?>[this.clients.length];
+        for (int i = 0; i < this.clients.length; i++) {
+            futures[i] = this.clients[i].startSessionAsync();
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    @Override
+    public boolean send(MessageType messageType, int partition,
+                        ByteBuffer buffer) throws TransportException {
+        return this.client(partition).send(messageType, partition, buffer);
+    }
+
+    @Override
+    public boolean send(MessageType messageType, int partition,
+                        ByteBuffer buffer, Runnable acked)
+                        throws TransportException {
+        return this.client(partition).send(messageType, partition, buffer,
+                                           acked);
+    }
+
+    @Override
+    public void finishSession() throws TransportException {
+        for (TransportClient client : this.clients) {
+            client.finishSession();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> finishSessionAsync()
+                                   throws TransportException {
+        CompletableFuture<?>[] futures =
+                               new CompletableFuture<?>[this.clients.length];
+        for (int i = 0; i < this.clients.length; i++) {
+            futures[i] = this.clients[i].finishSessionAsync();
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * The connection id of the first connection, the connection ids of
+     * the connections differ only in client index.
+     */
+    @Override
+    public ConnectionId connectionId() {
+        return this.clients[0].connectionId();
+    }
+
+    @Override
+    public InetSocketAddress remoteAddress() {
+        return this.clients[0].remoteAddress();
+    }
+
+    @Override
+    public boolean active() {
+        for (TransportClient client : this.clients) {
+            if (!client.active()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean sessionActive() {
+        for (TransportClient client : this.clients) {
+            if (!client.sessionActive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        for (TransportClient client : this.clients) {
+            client.close();
+        }
+    }
+}
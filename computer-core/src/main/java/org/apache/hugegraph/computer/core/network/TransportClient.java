@@ -52,6 +52,24 @@ public interface TransportClient {
     boolean send(MessageType messageType, int partition, ByteBuffer buffer)
                  throws TransportException;
 
+    /**
+     * Send the buffer to the server like
+     * {@link #send(MessageType, int, ByteBuffer)}, the acked callback is
+     * called after the buffer is acked by the server, then the buffer can
+     * be reused. The callback is ignored if it's null or unable to send.
+     * The default implementation calls the callback once the buffer is
+     * sent, the asynchronous implementation should override it.
+     */
+    default boolean send(MessageType messageType, int partition,
+                         ByteBuffer buffer, Runnable acked)
+                         throws TransportException {
+        boolean sent = this.send(messageType, partition, buffer);
+        if (sent && acked != null) {
+            acked.run();
+        }
+        return sent;
+    }
+
     /**
      * This method is called after an iteration. It will block the caller to
      * make sure the buffers sent be received by target workers.
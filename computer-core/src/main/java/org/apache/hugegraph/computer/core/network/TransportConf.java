@@ -61,6 +61,10 @@ public class TransportConf {
                this.maxTransportThreads());
     }
 
+    public int clientConnections() {
+        return this.config.get(ComputerOptions.TRANSPORT_CLIENT_CONNECTIONS);
+    }
+
     public int clientThreads() {
         return Math.min(
                this.config.get(ComputerOptions.TRANSPORT_CLIENT_THREADS),
@@ -80,6 +84,14 @@ public class TransportConf {
         return this.config.get(ComputerOptions.TRANSPORT_RECV_FILE_MODE);
     }
 
+    public String compressionCodec() {
+        return this.config.get(ComputerOptions.TRANSPORT_COMPRESSION_CODEC);
+    }
+
+    public boolean localShortCircuit() {
+        return this.config.get(ComputerOptions.TRANSPORT_LOCAL_SHORT_CIRCUIT);
+    }
+
     /**
      * IO mode: nio or epoll
      */
@@ -194,6 +206,24 @@ public class TransportConf {
         return minPendingReqs;
     }
 
+    public boolean adaptiveFlowControl() {
+        return this.config.get(
+                    ComputerOptions.TRANSPORT_ADAPTIVE_FLOW_CONTROL);
+    }
+
+    public int maxFlowWindow() {
+        int maxFlowWindow = this.config.get(
+                            ComputerOptions.TRANSPORT_MAX_FLOW_WINDOW);
+
+        int maxPendingRequests = this.maxPendingRequests();
+
+        E.checkArgument(maxFlowWindow >= maxPendingRequests,
+                        "The max_flow_window(%s) must be greater than or " +
+                        "equal to the max_pending_requests(%s).",
+                        maxFlowWindow, maxPendingRequests);
+        return maxFlowWindow;
+    }
+
     public long minAckInterval() {
         return this.config.get(ComputerOptions.TRANSPORT_MIN_ACK_INTERVAL);
     }
@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hugegraph.computer.core.network.buffer;
+
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.hugegraph.computer.core.common.exception.ComputerException;
+import org.apache.hugegraph.util.E;
+
+/**
+ * The pool of direct buffers whose sizes are power of two, the total bytes
+ * of the buffers allocated by the pool can't exceed the capacity. If the
+ * capacity is reached, the free buffers of other sizes are freed, and if
+ * it's still not enough, a heap buffer which is not pooled is returned.
+ * The buffer must be returned by {@link #release(ByteBuffer)} after used.
+ */
+public class DirectBufferPool {
+
+    private static final int MIN_SIZE_BITS = 12;
+    private static final int MAX_SIZE_BITS = 30;
+
+    private static final sun.misc.Unsafe UNSAFE;
+
+    static {
+        try {
+            Field field = sun.misc.Unsafe.class.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            UNSAFE = (sun.misc.Unsafe) field.get(null);
+        } catch (Exception e) {
+            throw new ComputerException("Failed to get unsafe", e);
+        }
+    }
+
+    private final long capacity;
+    // The free buffers of size 2^i are in freeBuffers[i]
+    private final Queue<ByteBuffer>[] freeBuffers;
+    private final AtomicLong allocatedBytes;
+    private final AtomicLong usedBytes;
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    @SuppressWarnings("unchecked")
+    public DirectBufferPool(long capacity) {
+        E.checkArgument(capacity > 0L,
+                        "The capacity of buffer pool must be > 0, " +
+                        "but got %s", capacity);
+        this.capacity = capacity;
+        this.freeBuffers = new Queue[MAX_SIZE_BITS + 1];
+        for (int i = MIN_SIZE_BITS; i <= MAX_SIZE_BITS; i++) {
+            this.freeBuffers[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.allocatedBytes = new AtomicLong();
+        this.usedBytes = new AtomicLong();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+    }
+
+    /**
+     * Get a buffer whose position is 0 and limit is size from the pool.
+     */
+    public ByteBuffer allocate(int size) {
+        E.checkArgument(size >= 0, "The size must be >= 0, but got %s", size);
+        int bits = sizeBits(size);
+        if (bits > MAX_SIZE_BITS) {
+            this.misses.increment();
+            return ByteBuffer.allocate(size);
+        }
+        ByteBuffer buffer = this.freeBuffers[bits].poll();
+        if (buffer != null) {
+            this.hits.increment();
+        } else {
+            this.misses.increment();
+            int bufferSize = 1 << bits;
+            if (!this.reserve(bufferSize)) {
+                // Exceed the capacity, the heap buffer isn't pooled
+                return ByteBuffer.allocate(size);
+            }
+            buffer = ByteBuffer.allocateDirect(bufferSize);
+        }
+        this.usedBytes.addAndGet(buffer.capacity());
+        buffer.clear();
+        buffer.limit(size);
+        return buffer;
+    }
+
+    /**
+     * Return the buffer got from {@link #allocate(int)} to the pool, the
+     * heap buffer which is not pooled is ignored.
+     */
+    public void release(ByteBuffer buffer) {
+        if (!buffer.isDirect()) {
+            return;
+        }
+        int capacity = buffer.capacity();
+        assert Integer.bitCount(capacity) == 1 : capacity;
+        this.usedBytes.addAndGet(-capacity);
+        this.freeBuffers[sizeBits(capacity)].offer(buffer);
+    }
+
+    /**
+     * Free all the buffers in the pool, the buffers in use are freed by GC
+     * after released.
+     */
+    public void close() {
+        for (int i = MIN_SIZE_BITS; i <= MAX_SIZE_BITS; i++) {
+            this.freeAll(i);
+        }
+    }
+
+    public long capacity() {
+        return this.capacity;
+    }
+
+    public long allocatedBytes() {
+        return this.allocatedBytes.get();
+    }
+
+    public long usedBytes() {
+        return this.usedBytes.get();
+    }
+
+    public long hitCount() {
+        return this.hits.sum();
+    }
+
+    public long missCount() {
+        return this.misses.sum();
+    }
+
+    public double hitRate() {
+        long hits = this.hitCount();
+        long total = hits + this.missCount();
+        return total == 0L ? 0.0D : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DirectBufferPool{capacity=%s, allocated=%s, " +
+                             "used=%s, hitRate=%.4f}", this.capacity,
+                             this.allocatedBytes(), this.usedBytes(),
+                             this.hitRate());
+    }
+
+    private boolean reserve(int size) {
+        if (this.tryReserve(size)) {
+            return true;
+        }
+        // Free the unused buffers from the largest size to make room
+        for (int i = MAX_SIZE_BITS; i >= MIN_SIZE_BITS; i--) {
+            this.freeAll(i);
+            if (this.tryReserve(size)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean tryReserve(int size) {
+        while (true) {
+            long allocated = this.allocatedBytes.get();
+            if (allocated + size > this.capacity) {
+                return false;
+            }
+            if (this.allocatedBytes.compareAndSet(allocated,
+                                                  allocated + size)) {
+                return true;
+            }
+        }
+    }
+
+    private void freeAll(int bits) {
+        ByteBuffer buffer;
+        while ((buffer = this.freeBuffers[bits].poll()) != null) {
+            this.allocatedBytes.addAndGet(-buffer.capacity());
+            // Free the direct memory now instead of waiting for GC
+            UNSAFE.invokeCleaner(buffer);
+        }
+    }
+
+    private static int sizeBits(int size) {
+        if (size <= (1 << MIN_SIZE_BITS)) {
+            return MIN_SIZE_BITS;
+        }
+        return Integer.SIZE - Integer.numberOfLeadingZeros(size - 1);
+    }
+}
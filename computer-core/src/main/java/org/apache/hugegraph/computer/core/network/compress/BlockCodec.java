@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.network.compress;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The codec to compress the body of data messages. The codecs except the
+ * built-in ones are loaded by {@link java.util.ServiceLoader}, so they must
+ * be registered in META-INF/services and have a public no-arg constructor.
+ * A codec is shared by all the sessions, it must be thread-safe.
+ */
+public interface BlockCodec {
+
+    /**
+     * The name negotiated between the client and the server.
+     */
+    String name();
+
+    /**
+     * Compress the remaining bytes of src into the remaining of dest.
+     * @return the compressed length, or -1 if the compressed bytes can't
+     * fit in dest, the positions of src and dest are undefined in this case.
+     */
+    int compress(ByteBuffer src, ByteBuffer dest);
+
+    /**
+     * Decompress the remaining bytes of src into dest, the remaining of dest
+     * must be exactly the decompressed length.
+     */
+    void decompress(ByteBuffer src, ByteBuffer dest);
+}
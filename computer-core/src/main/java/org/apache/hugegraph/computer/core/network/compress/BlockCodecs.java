@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.network.compress;
+
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.hugegraph.computer.core.common.exception.ComputerException;
+import org.apache.hugegraph.util.Log;
+import org.slf4j.Logger;
+
+/**
+ * The registry of the block codecs, include the built-in codecs and the
+ * codecs provided by {@link ServiceLoader}.
+ */
+public final class BlockCodecs {
+
+    private static final Logger LOG = Log.logger(BlockCodecs.class);
+
+    public static final String NONE = "none";
+
+    private static final Map<String, BlockCodec> CODECS =
+                                                 new ConcurrentHashMap<>();
+
+    static {
+        register(new DeflateCodec());
+        for (BlockCodec codec : ServiceLoader.load(BlockCodec.class)) {
+            register(codec);
+        }
+    }
+
+    private BlockCodecs() {
+        // pass
+    }
+
+    public static void register(BlockCodec codec) {
+        BlockCodec old = CODECS.putIfAbsent(codec.name(), codec);
+        if (old != null && old.getClass() != codec.getClass()) {
+            LOG.warn("Ignore block codec {} since the name '{}' is " +
+                     "registered by {}", codec.getClass().getName(),
+                     codec.name(), old.getClass().getName());
+        }
+    }
+
+    /**
+     * Return the codec of the name, or null if the name is 'none' or the
+     * codec is not found.
+     */
+    public static BlockCodec find(String name) {
+        if (name == null || NONE.equals(name)) {
+            return null;
+        }
+        return CODECS.get(name);
+    }
+
+    /**
+     * Return the codec of the name, or null if the name is 'none'.
+     */
+    public static BlockCodec get(String name) {
+        BlockCodec codec = find(name);
+        if (codec == null && !NONE.equals(name)) {
+            throw new ComputerException("Can't find block codec '%s', " +
+                                        "the available codecs are %s",
+                                        name, CODECS.keySet());
+        }
+        return codec;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.network.compress;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.apache.hugegraph.computer.core.common.exception.ComputerException;
+
+/**
+ * The codec only depends on JDK, the level is BEST_SPEED because the codec
+ * runs in the send and receive path of each data message.
+ */
+public class DeflateCodec implements BlockCodec {
+
+    public static final String NAME = "deflate";
+
+    private static final ThreadLocal<Deflater> DEFLATERS =
+            ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+    private static final ThreadLocal<Inflater> INFLATERS =
+            ThreadLocal.withInitial(Inflater::new);
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int compress(ByteBuffer src, ByteBuffer dest) {
+        Deflater deflater = DEFLATERS.get();
+        int start = dest.position();
+        try {
+            deflater.setInput(src);
+            deflater.finish();
+            while (!deflater.finished()) {
+                if (!dest.hasRemaining()) {
+                    return -1;
+                }
+                deflater.deflate(dest);
+            }
+            return dest.position() - start;
+        } finally {
+            // Reset to not reference the src buffer any more
+            deflater.reset();
+        }
+    }
+
+    @Override
+    public void decompress(ByteBuffer src, ByteBuffer dest) {
+        Inflater inflater = INFLATERS.get();
+        try {
+            inflater.setInput(src);
+            while (dest.hasRemaining()) {
+                if (inflater.inflate(dest) == 0 &&
+                    (inflater.finished() || inflater.needsInput() ||
+                     inflater.needsDictionary())) {
+                    throw new ComputerException(
+                              "The deflate block is shorter than expected, " +
+                              "%s bytes are missing", dest.remaining());
+                }
+            }
+            if (!inflater.finished()) {
+                // The end of block may be reached without output
+                int extra = inflater.inflate(new byte[1]);
+                if (extra > 0 || !inflater.finished()) {
+                    throw new ComputerException(
+                              "The deflate block is longer than expected " +
+                              "%s bytes", dest.position());
+                }
+            }
+            if (inflater.getRemaining() > 0) {
+                throw new ComputerException(
+                          "The deflate block has %s unexpected trailing " +
+                          "bytes", inflater.getRemaining());
+            }
+        } catch (DataFormatException e) {
+            throw new ComputerException("Failed to decompress deflate block",
+                                        e);
+        } finally {
+            inflater.reset();
+        }
+    }
+}
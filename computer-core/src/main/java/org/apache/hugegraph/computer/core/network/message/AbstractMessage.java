@@ -107,12 +107,10 @@ public abstract class AbstractMessage implements Message {
         NetworkBuffer networkBuffer = this.encodeBody(buf);
         int bodyEnd = buf.writerIndex();
 
-        int bodyLength;
+        // The body may be written partly into buf, like the block header
+        int bodyLength = bodyEnd - bodyStart;
         if (networkBuffer != null) {
-            assert bodyStart == bodyEnd;
-            bodyLength = networkBuffer.length();
-        } else {
-            bodyLength = bodyEnd - bodyStart;
+            bodyLength += networkBuffer.length();
         }
 
         int lastWriteIndex = buf.writerIndex();
@@ -142,7 +140,8 @@ public abstract class AbstractMessage implements Message {
 
     /**
      * Only serializes the body of this message by writing
-     * into the given ByteBuf or return the body buffer.
+     * into the given ByteBuf or return the body buffer, or both if the
+     * returned body buffer follows the bytes written into the ByteBuf.
      */
     protected NetworkBuffer encodeBody(ByteBuf buf) {
         return this.body();
@@ -17,16 +17,41 @@
 
 package org.apache.hugegraph.computer.core.network.message;
 
+import org.apache.hugegraph.computer.core.network.TransportUtil;
+import org.apache.hugegraph.computer.core.network.buffer.NetworkBuffer;
+
 import io.netty.buffer.ByteBuf;
 
 public class AckMessage extends AbstractMessage implements ResponseMessage {
 
+    /*
+     * The compression codec accepted by the server, only the ack of start
+     * message carries it, null if not compress
+     */
+    private final String codec;
+    /*
+     * The free buffer bytes of the server, only the ack of data message
+     * carries it, -1 if unknown
+     */
+    private final long freeBytes;
+
     public AckMessage(int ackId) {
-        super(ackId);
+        this(ackId, 0);
     }
 
     public AckMessage(int ackId, int partition) {
+        this(ackId, partition, null);
+    }
+
+    public AckMessage(int ackId, int partition, String codec) {
+        this(ackId, partition, codec, -1L);
+    }
+
+    public AckMessage(int ackId, int partition, String codec,
+                      long freeBytes) {
         super(ackId, partition);
+        this.codec = codec;
+        this.freeBytes = freeBytes;
     }
 
     @Override
@@ -34,11 +59,37 @@ public class AckMessage extends AbstractMessage implements ResponseMessage {
         return MessageType.ACK;
     }
 
+    public String codec() {
+        return this.codec;
+    }
+
+    public long freeBytes() {
+        return this.freeBytes;
+    }
+
+    @Override
+    protected NetworkBuffer encodeBody(ByteBuf buf) {
+        if (this.codec != null) {
+            TransportUtil.writeString(buf, this.codec);
+        } else if (this.freeBytes >= 0L) {
+            buf.writeLong(this.freeBytes);
+        }
+        return null;
+    }
+
     public static AckMessage parseFrom(ByteBuf buf) {
         int ackId = buf.readInt();
         int partition = buf.readInt();
-        // Skip body-length
-        buf.skipBytes(Integer.BYTES);
-        return new AckMessage(ackId, partition);
+        int bodyLength = buf.readInt();
+        String codec = null;
+        long freeBytes = -1L;
+        if (bodyLength > 0) {
+            if (ackId == START_SEQ) {
+                codec = TransportUtil.readString(buf);
+            } else {
+                freeBytes = buf.readLong();
+            }
+        }
+        return new AckMessage(ackId, partition, codec, freeBytes);
     }
 }
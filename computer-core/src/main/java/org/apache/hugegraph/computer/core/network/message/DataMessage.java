@@ -26,15 +26,37 @@ import io.netty.buffer.ByteBuf;
 
 public class DataMessage extends AbstractMessage implements RequestMessage {
 
+    /*
+     * The body starts with a block header if a compression codec is
+     * negotiated in the session: compressed(1) raw-length(4)
+     */
+    public static final int BLOCK_HEADER_LENGTH = 1 + 4;
+
+    private static final int NO_BLOCK_HEADER = -1;
+
     private final MessageType type;
+    private final boolean compressed;
+    private final int rawLength;
 
     public DataMessage(MessageType type, int requestId,
                        int partition, NetworkBuffer data) {
+        this(type, requestId, partition, data, false, NO_BLOCK_HEADER);
+    }
+
+    /**
+     * The data message with block header, the data is compressed from
+     * rawLength bytes if compressed is true.
+     */
+    public DataMessage(MessageType type, int requestId, int partition,
+                       NetworkBuffer data, boolean compressed,
+                       int rawLength) {
         super(requestId, partition, data);
         E.checkArgument(requestId > 0,
                         "The data requestId must be > 0, but got %s",
                         requestId);
         this.type = type;
+        this.compressed = compressed;
+        this.rawLength = rawLength;
     }
 
     @Override
@@ -42,6 +64,15 @@ public class DataMessage extends AbstractMessage implements RequestMessage {
         return this.type;
     }
 
+    @Override
+    protected NetworkBuffer encodeBody(ByteBuf buf) {
+        if (this.rawLength != NO_BLOCK_HEADER) {
+            buf.writeBoolean(this.compressed);
+            buf.writeInt(this.rawLength);
+        }
+        return this.body();
+    }
+
     /**
      * Decoding uses the given ByteBuf as our data.
      */
@@ -17,14 +17,25 @@
 
 package org.apache.hugegraph.computer.core.network.message;
 
+import org.apache.hugegraph.computer.core.network.TransportUtil;
+import org.apache.hugegraph.computer.core.network.buffer.NetworkBuffer;
+
 import io.netty.buffer.ByteBuf;
 
 public class StartMessage extends AbstractMessage implements RequestMessage {
 
     public static final StartMessage INSTANCE = new StartMessage();
 
+    // The compression codec proposed by the client, null if not compress
+    private final String codec;
+
     public StartMessage() {
+        this(null);
+    }
+
+    public StartMessage(String codec) {
         super(START_SEQ);
+        this.codec = codec;
     }
 
     @Override
@@ -32,13 +43,27 @@ public class StartMessage extends AbstractMessage implements RequestMessage {
         return MessageType.START;
     }
 
+    public String codec() {
+        return this.codec;
+    }
+
+    @Override
+    protected NetworkBuffer encodeBody(ByteBuf buf) {
+        if (this.codec != null) {
+            TransportUtil.writeString(buf, this.codec);
+        }
+        return null;
+    }
+
     public static StartMessage parseFrom(ByteBuf buf) {
         int sequenceNumber = buf.readInt();
         assert sequenceNumber == START_SEQ;
         int partition = buf.readInt();
         assert partition == 0;
         int bodyLength = buf.readInt();
-        assert bodyLength == 0;
-        return INSTANCE;
+        if (bodyLength == 0) {
+            return INSTANCE;
+        }
+        return new StartMessage(TransportUtil.readString(buf));
     }
 }
@@ -77,7 +77,8 @@ public class NettyClientHandler extends AbstractNettyHandler {
                                      Channel channel, AckMessage ackMessage) {
         int ackId = ackMessage.ackId();
         assert ackId > AbstractMessage.UNKNOWN_SEQ;
-        this.session().onRecvAck(ackId);
+        this.session().onRecvAck(ackId, ackMessage.codec(),
+                                 ackMessage.freeBytes());
         this.client.checkAndNotifySendAvailable();
     }
 
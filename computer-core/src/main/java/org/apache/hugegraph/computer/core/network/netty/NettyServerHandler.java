@@ -24,7 +24,9 @@ import org.apache.hugegraph.computer.core.network.ConnectionId;
 import org.apache.hugegraph.computer.core.network.MessageHandler;
 import org.apache.hugegraph.computer.core.network.TransportUtil;
 import org.apache.hugegraph.computer.core.network.buffer.FileRegionBuffer;
+import org.apache.hugegraph.computer.core.network.buffer.NettyBuffer;
 import org.apache.hugegraph.computer.core.network.buffer.NetworkBuffer;
+import org.apache.hugegraph.computer.core.network.compress.BlockCodec;
 import org.apache.hugegraph.computer.core.network.message.AbstractMessage;
 import org.apache.hugegraph.computer.core.network.message.AckMessage;
 import org.apache.hugegraph.computer.core.network.message.DataMessage;
@@ -32,6 +34,7 @@ import org.apache.hugegraph.computer.core.network.message.FinishMessage;
 import org.apache.hugegraph.computer.core.network.message.StartMessage;
 import org.apache.hugegraph.computer.core.network.session.ServerSession;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
@@ -61,7 +64,8 @@ public class NettyServerHandler extends AbstractNettyHandler {
                                        Channel channel,
                                        StartMessage startMessage) {
         this.serverSession.onRecvStateStart();
-        this.ackStartMessage(ctx);
+        String codec = this.serverSession.acceptCodec(startMessage.codec());
+        this.ackStartMessage(ctx, codec);
     }
 
     @Override
@@ -83,9 +87,20 @@ public class NettyServerHandler extends AbstractNettyHandler {
         try {
             int requestId = dataMessage.requestId();
             this.serverSession.onRecvData(requestId);
+            BlockCodec codec = this.serverSession.codec();
             if (body instanceof FileRegionBuffer) {
                 this.processFileRegionBuffer(ctx, channel, dataMessage,
                                              (FileRegionBuffer) body);
+            } else if (codec != null) {
+                NetworkBuffer block = this.decodeBlock(ctx, dataMessage,
+                                                       codec);
+                try {
+                    this.handler.handle(dataMessage.type(),
+                                        dataMessage.partition(), block);
+                } finally {
+                    block.release();
+                }
+                this.serverSession.onHandledData(requestId);
             } else {
                 this.handler.handle(dataMessage.type(), dataMessage.partition(),
                                     dataMessage.body());
@@ -96,6 +111,40 @@ public class NettyServerHandler extends AbstractNettyHandler {
         }
     }
 
+    /**
+     * Strip the block header from the body, and decompress the body into a
+     * pooled buffer if it's compressed. The returned buffer needs release.
+     */
+    private NetworkBuffer decodeBlock(ChannelHandlerContext ctx,
+                                      DataMessage dataMessage,
+                                      BlockCodec codec) {
+        ByteBuf body = dataMessage.body().nettyByteBuf();
+        boolean compressed = body.readBoolean();
+        int rawLength = body.readInt();
+        if (!compressed) {
+            // The retainedSlice() of a duplicated pooled slice is mis-indexed
+            ByteBuf raw = body.slice();
+            raw.retain();
+            return new NettyBuffer(raw);
+        }
+
+        int compressedLength = body.readableBytes();
+        long start = System.nanoTime();
+        ByteBuf raw = ctx.alloc().directBuffer(rawLength);
+        try {
+            codec.decompress(body.nioBuffer(), raw.nioBuffer(0, rawLength));
+            raw.writerIndex(rawLength);
+        } catch (Throwable e) {
+            raw.release();
+            throw e;
+        }
+        this.handler.onDecompressed(dataMessage.type(),
+                                    dataMessage.partition(),
+                                    compressedLength, rawLength,
+                                    System.nanoTime() - start);
+        return new NettyBuffer(raw);
+    }
+
     private void processFileRegionBuffer(ChannelHandlerContext ctx,
                                          Channel channel,
                                          DataMessage dataMessage,
@@ -141,8 +190,9 @@ public class NettyServerHandler extends AbstractNettyHandler {
               "Server does not support processAckMessage()");
     }
 
-    private void ackStartMessage(ChannelHandlerContext ctx) {
-        AckMessage startAck = new AckMessage(AbstractMessage.START_SEQ);
+    private void ackStartMessage(ChannelHandlerContext ctx, String codec) {
+        AckMessage startAck = new AckMessage(AbstractMessage.START_SEQ, 0,
+                                             codec);
         ctx.writeAndFlush(startAck).addListener(this.listenerOnWrite);
         this.serverSession.completeStateStart();
 
@@ -177,7 +227,8 @@ public class NettyServerHandler extends AbstractNettyHandler {
     }
 
     private void ackDataMessage(ChannelHandlerContext ctx, int ackId) {
-        AckMessage ackMessage = new AckMessage(ackId);
+        long freeBytes = this.handler.freeBufferBytes();
+        AckMessage ackMessage = new AckMessage(ackId, 0, null, freeBytes);
         ctx.writeAndFlush(ackMessage).addListener(this.listenerOnWrite);
         this.serverSession.onDataAckSent(ackId);
     }
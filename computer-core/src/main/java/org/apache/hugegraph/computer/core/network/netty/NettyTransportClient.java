@@ -145,6 +145,17 @@ public class NettyTransportClient implements TransportClient {
         return true;
     }
 
+    @Override
+    public boolean send(MessageType messageType, int partition,
+                        ByteBuffer buffer, Runnable acked)
+                        throws TransportException {
+        if (!this.checkSendAvailable()) {
+            return false;
+        }
+        this.session.sendAsync(messageType, partition, buffer, acked);
+        return true;
+    }
+
     @Override
     public CompletableFuture<Void> finishSessionAsync() {
         return this.session.finishAsync();
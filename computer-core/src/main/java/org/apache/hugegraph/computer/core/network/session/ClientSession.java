@@ -18,7 +18,9 @@
 package org.apache.hugegraph.computer.core.network.session;
 
 import java.nio.ByteBuffer;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -31,18 +33,24 @@ import org.apache.hugegraph.computer.core.common.exception.ComputerException;
 import org.apache.hugegraph.computer.core.common.exception.TransportException;
 import org.apache.hugegraph.computer.core.network.TransportConf;
 import org.apache.hugegraph.computer.core.network.TransportState;
+import org.apache.hugegraph.computer.core.network.buffer.NettyBuffer;
 import org.apache.hugegraph.computer.core.network.buffer.NetworkBuffer;
 import org.apache.hugegraph.computer.core.network.buffer.NioBuffer;
+import org.apache.hugegraph.computer.core.network.compress.BlockCodec;
+import org.apache.hugegraph.computer.core.network.compress.BlockCodecs;
 import org.apache.hugegraph.computer.core.network.message.AbstractMessage;
 import org.apache.hugegraph.computer.core.network.message.DataMessage;
 import org.apache.hugegraph.computer.core.network.message.FinishMessage;
 import org.apache.hugegraph.computer.core.network.message.Message;
 import org.apache.hugegraph.computer.core.network.message.MessageType;
 import org.apache.hugegraph.computer.core.network.message.StartMessage;
+import org.apache.hugegraph.computer.core.network.netty.BufAllocatorFactory;
 import org.apache.hugegraph.util.E;
 import org.apache.hugegraph.util.Log;
 import org.slf4j.Logger;
 
+import io.netty.buffer.ByteBuf;
+
 public class ClientSession extends TransportSession {
 
     private static final Logger LOG = Log.logger(ClientSession.class);
@@ -52,9 +60,27 @@ public class ClientSession extends TransportSession {
 
     private final Lock lock;
     private volatile boolean flowBlocking;
+    // The adaptive flow window, null if the window is fixed
+    private final FlowWindow flowWindow;
+    // The send time of the data messages waiting for ack, by request id
+    private final long[] sendTimes;
+    private final int sendTimesMask;
     private final AtomicReference<CompletableFuture<Void>> startedFutureRef;
     private final AtomicReference<CompletableFuture<Void>> finishedFutureRef;
     private final Function<Message, Future<Void>> sendFunction;
+    // The callbacks of the data messages waiting for ack, in request order
+    private final Queue<PendingAck> pendingAcks;
+    // The codec proposed to the server and the one accepted by the server
+    private final BlockCodec proposedCodec;
+    private volatile BlockCodec codec;
+
+    // The stat of compression in the current session
+    private long rawBytes;
+    private long compressedBytes;
+    private long compressNanos;
+    // The stat of flow control in the current session
+    private long blockedNanos;
+    private long blockedSince;
 
     public ClientSession(TransportConf conf,
                          Function<Message, Future<Void>> sendFunction) {
@@ -63,14 +89,37 @@ public class ClientSession extends TransportSession {
         this.minPendingRequests = this.conf.minPendingRequests();
         this.lock = new ReentrantLock();
         this.flowBlocking = false;
+        if (this.conf.adaptiveFlowControl()) {
+            int maxFlowWindow = this.conf.maxFlowWindow();
+            long rttTolerance = TimeUnit.MILLISECONDS.toNanos(
+                                this.conf.minAckInterval());
+            this.flowWindow = new FlowWindow(this.minPendingRequests,
+                                             this.maxPendingRequests,
+                                             maxFlowWindow, rttTolerance);
+            // Keep the send time until the message acked, power of 2 size
+            int size = Integer.highestOneBit(maxFlowWindow) << 3;
+            this.sendTimes = new long[size];
+            this.sendTimesMask = size - 1;
+        } else {
+            this.flowWindow = null;
+            this.sendTimes = null;
+            this.sendTimesMask = 0;
+        }
         this.startedFutureRef = new AtomicReference<>();
         this.finishedFutureRef = new AtomicReference<>();
         this.sendFunction = sendFunction;
+        this.pendingAcks = new ConcurrentLinkedQueue<>();
+        this.proposedCodec = BlockCodecs.get(this.conf.compressionCodec());
+        this.codec = null;
     }
 
     @Override
     protected void stateReady() {
         this.flowBlocking = false;
+        this.blockedSince = 0L;
+        this.codec = null;
+        // The data messages won't be acked any more
+        this.completePendingAcks(Integer.MAX_VALUE);
         super.stateReady();
     }
 
@@ -116,7 +165,9 @@ public class ClientSession extends TransportSession {
 
         this.stateStartSent();
         try {
-            this.sendFunction.apply(StartMessage.INSTANCE);
+            this.sendFunction.apply(this.proposedCodec == null ?
+                                    StartMessage.INSTANCE :
+                                    new StartMessage(this.proposedCodec.name()));
         } catch (Throwable e) {
             this.stateReady();
             startedFuture.cancel(false);
@@ -152,6 +203,7 @@ public class ClientSession extends TransportSession {
         E.checkArgument(success, "The finishedFutureRef value must be null " +
                                  "at finishAsync()");
 
+        this.logAndResetStat();
         int finishId = this.genFinishId();
         this.stateFinishSent(finishId);
         try {
@@ -169,36 +221,137 @@ public class ClientSession extends TransportSession {
 
     public synchronized void sendAsync(MessageType messageType, int partition,
                                        ByteBuffer buffer) {
+        this.sendAsync(messageType, partition, buffer, null);
+    }
+
+    /**
+     * Send the buffer asynchronously, the acked callback is called when
+     * the data message is acked by the server.
+     */
+    public synchronized void sendAsync(MessageType messageType, int partition,
+                                       ByteBuffer buffer, Runnable acked) {
         E.checkArgument(this.state == TransportState.ESTABLISHED,
                         "The state must be ESTABLISHED instead of %s " +
                         "at sendAsync()", this.state);
         int requestId = this.nextRequestId();
+        if (acked != null) {
+            this.pendingAcks.add(new PendingAck(requestId, acked));
+        }
 
-        NetworkBuffer networkBuffer = new NioBuffer(buffer);
-        DataMessage dataMessage = new DataMessage(messageType, requestId,
-                                                  partition, networkBuffer);
+        if (this.flowWindow != null) {
+            this.onDataSent(requestId, buffer.remaining());
+        }
+
+        DataMessage dataMessage;
+        BlockCodec codec = this.codec;
+        if (codec == null) {
+            NetworkBuffer networkBuffer = new NioBuffer(buffer);
+            dataMessage = new DataMessage(messageType, requestId,
+                                          partition, networkBuffer);
+        } else {
+            dataMessage = this.compress(codec, messageType, requestId,
+                                        partition, buffer);
+        }
 
         this.sendFunction.apply(dataMessage);
 
         this.updateFlowBlocking();
     }
 
+    /**
+     * Compress the buffer into a pooled buffer, the block header marks the
+     * body not compressed if the compressed one isn't smaller than the raw.
+     */
+    private DataMessage compress(BlockCodec codec, MessageType messageType,
+                                 int requestId, int partition,
+                                 ByteBuffer buffer) {
+        int rawLength = buffer.remaining();
+        if (rawLength > 1) {
+            long start = System.nanoTime();
+            ByteBuf compressed = BufAllocatorFactory.createBufAllocator()
+                                                    .directBuffer(rawLength - 1);
+            int length = codec.compress(buffer.duplicate(),
+                                        compressed.nioBuffer(0, rawLength - 1));
+            this.compressNanos += System.nanoTime() - start;
+            if (length >= 0) {
+                compressed.writerIndex(length);
+                this.rawBytes += rawLength;
+                this.compressedBytes += length;
+                return new DataMessage(messageType, requestId, partition,
+                                       new NettyBuffer(compressed), true,
+                                       rawLength);
+            }
+            compressed.release();
+        }
+        this.rawBytes += rawLength;
+        this.compressedBytes += rawLength;
+        return new DataMessage(messageType, requestId, partition,
+                               new NioBuffer(buffer), false, rawLength);
+    }
+
+    private void onDataSent(int requestId, int bytes) {
+        this.lock.lock();
+        try {
+            this.sendTimes[requestId & this.sendTimesMask] = System.nanoTime();
+            this.flowWindow.onSent(bytes);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private synchronized void logAndResetStat() {
+        if (this.rawBytes > 0L) {
+            LOG.info("Compressed {} bytes to {} bytes by codec '{}' in {}ms",
+                     this.rawBytes, this.compressedBytes, this.codec.name(),
+                     TimeUnit.NANOSECONDS.toMillis(this.compressNanos));
+        }
+        this.rawBytes = 0L;
+        this.compressedBytes = 0L;
+        this.compressNanos = 0L;
+
+        this.lock.lock();
+        try {
+            if (this.flowWindow != null) {
+                LOG.info("The flow window is {}, the smoothed rtt is {}us, " +
+                         "blocked {}ms by flow control", this.flowWindow(),
+                         TimeUnit.NANOSECONDS.toMicros(this.smoothedRtt()),
+                         TimeUnit.NANOSECONDS.toMillis(this.blockedTime()));
+            }
+            this.blockedNanos = 0L;
+            if (this.blockedSince != 0L) {
+                this.blockedSince = System.nanoTime();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
     public void onRecvAck(int ackId) {
+        this.onRecvAck(ackId, null, -1L);
+    }
+
+    /**
+     * The codec is the compression codec accepted by the server, it's only
+     * carried by the ack of start message. The freeBytes is the free buffer
+     * bytes of the server, it's carried by the ack of data message, -1 if
+     * unknown.
+     */
+    public void onRecvAck(int ackId, String codec, long freeBytes) {
         switch (this.state) {
             case START_SENT:
                 if (ackId == AbstractMessage.START_SEQ) {
-                    this.onRecvStartAck();
+                    this.onRecvStartAck(codec);
                     break;
                 }
             case FINISH_SENT:
                 if (ackId == this.finishId) {
                     this.onRecvFinishAck();
                 } else {
-                    this.onRecvDataAck(ackId);
+                    this.onRecvDataAck(ackId, freeBytes);
                 }
                 break;
             case ESTABLISHED:
-                this.onRecvDataAck(ackId);
+                this.onRecvDataAck(ackId, freeBytes);
                 break;
             default:
                 throw new ComputerException("Receive one ack message, but " +
@@ -207,12 +360,17 @@ public class ClientSession extends TransportSession {
         }
     }
 
-    private void onRecvStartAck() {
+    private void onRecvStartAck(String codec) {
         E.checkArgument(this.state == TransportState.START_SENT,
                         "The state must be START_SENT instead of %s " +
                         "at completeStateStart()", this.state);
 
         this.maxAckId = AbstractMessage.START_SEQ;
+        // Not compress if the server rejected the proposed codec
+        if (this.proposedCodec != null &&
+            this.proposedCodec.name().equals(codec)) {
+            this.codec = this.proposedCodec;
+        }
 
         this.stateEstablished();
 
@@ -247,29 +405,139 @@ public class ClientSession extends TransportSession {
         }
     }
 
-    private void onRecvDataAck(int ackId) {
-        if (ackId > this.maxAckId) {
-            this.maxAckId = ackId;
+    private void onRecvDataAck(int ackId, long freeBytes) {
+        this.lock.lock();
+        try {
+            if (ackId > this.maxAckId) {
+                if (this.flowWindow != null) {
+                    long now = System.nanoTime();
+                    long sendTime = this.sendTimes[ackId & this.sendTimesMask];
+                    this.flowWindow.onAcked(ackId - this.maxAckId,
+                                            now - sendTime, freeBytes, now);
+                }
+                this.maxAckId = ackId;
+            }
+        } finally {
+            this.lock.unlock();
         }
+        // The ack of a request means all the previous requests are handled
+        this.completePendingAcks(ackId);
         this.updateFlowBlocking();
     }
 
+    private void completePendingAcks(int ackId) {
+        PendingAck pending;
+        while ((pending = this.pendingAcks.peek()) != null &&
+               pending.requestId <= ackId) {
+            this.pendingAcks.poll();
+            try {
+                pending.acked.run();
+            } catch (Throwable e) {
+                LOG.warn("Failed to call the acked callback of request {}",
+                         pending.requestId, e);
+            }
+        }
+    }
+
+    public BlockCodec codec() {
+        return this.codec;
+    }
+
     public boolean flowBlocking() {
         return this.flowBlocking;
     }
 
+    /**
+     * @return the max number of data messages waiting for ack
+     */
+    public int flowWindow() {
+        this.lock.lock();
+        try {
+            if (this.flowWindow == null) {
+                return this.maxPendingRequests;
+            }
+            return this.flowWindow.window();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return the smoothed round-trip time of data messages in nanos, 0 if
+     * unknown or the flow window is fixed
+     */
+    public long smoothedRtt() {
+        this.lock.lock();
+        try {
+            if (this.flowWindow == null) {
+                return 0L;
+            }
+            return this.flowWindow.smoothedRtt();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return the time blocked by flow control in the current session in
+     * nanos
+     */
+    public long blockedTime() {
+        this.lock.lock();
+        try {
+            long blockedTime = this.blockedNanos;
+            if (this.blockedSince != 0L) {
+                blockedTime += System.nanoTime() - this.blockedSince;
+            }
+            return blockedTime;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
     private void updateFlowBlocking() {
         this.lock.lock();
         try {
             int pendingRequests = this.maxRequestId - this.maxAckId;
 
-            if (pendingRequests >= this.maxPendingRequests) {
-                this.flowBlocking = true;
-            } else if (pendingRequests < this.minPendingRequests) {
-                this.flowBlocking = false;
+            int maxPending = this.maxPendingRequests;
+            int minPending = this.minPendingRequests;
+            if (this.flowWindow != null) {
+                // Keep the gap between the high and low water marks
+                maxPending = this.flowWindow.window();
+                minPending = Math.max(maxPending - this.maxPendingRequests +
+                                      this.minPendingRequests, 1);
+            }
+
+            boolean blocking = this.flowBlocking;
+            if (pendingRequests >= maxPending) {
+                blocking = true;
+            } else if (pendingRequests < minPending) {
+                blocking = false;
+            }
+            if (blocking != this.flowBlocking) {
+                long now = System.nanoTime();
+                if (blocking) {
+                    this.blockedSince = now;
+                } else if (this.blockedSince != 0L) {
+                    this.blockedNanos += now - this.blockedSince;
+                    this.blockedSince = 0L;
+                }
+                this.flowBlocking = blocking;
             }
         } finally {
             this.lock.unlock();
         }
     }
+
+    private static class PendingAck {
+
+        private final int requestId;
+        private final Runnable acked;
+
+        public PendingAck(int requestId, Runnable acked) {
+            this.requestId = requestId;
+            this.acked = acked;
+        }
+    }
 }
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.network.session;
+
+import org.apache.hugegraph.util.E;
+
+/**
+ * The adaptive flow control window of client session, it's the max number
+ * of data messages waiting for ack. The window grows by one message each
+ * round trip, and it's halved at most once per round trip when the ack
+ * round-trip time rises to more than twice the min one, which means the
+ * messages are queued in the network or the server. The window is also
+ * limited by the free buffer bytes advertised by the server.
+ * It's not thread safe, the caller should hold the lock of session.
+ */
+class FlowWindow {
+
+    // The gain of the moving averages is 1/8
+    private static final int GAIN_SHIFT = 3;
+
+    private final int minWindow;
+    private final int maxWindow;
+    // The rise of round-trip time under it is ignored, like the ack delay
+    private final long rttTolerance;
+
+    private double window;
+    private long minRtt;
+    private long smoothedRtt;
+    private long lastDecreaseTime;
+    private long avgMessageBytes;
+    private long freeBytes;
+
+    public FlowWindow(int minWindow, int initWindow, int maxWindow,
+                      long rttTolerance) {
+        E.checkArgument(minWindow > 0 && minWindow <= initWindow &&
+                        initWindow <= maxWindow,
+                        "The flow window must be satisfied " +
+                        "0 < min(%s) <= init(%s) <= max(%s)",
+                        minWindow, initWindow, maxWindow);
+        this.minWindow = minWindow;
+        this.maxWindow = maxWindow;
+        this.rttTolerance = rttTolerance;
+        this.window = initWindow;
+        this.minRtt = Long.MAX_VALUE;
+        this.smoothedRtt = 0L;
+        this.lastDecreaseTime = 0L;
+        this.avgMessageBytes = 0L;
+        this.freeBytes = -1L;
+    }
+
+    public void onSent(int bytes) {
+        if (this.avgMessageBytes == 0L) {
+            this.avgMessageBytes = bytes;
+        } else {
+            this.avgMessageBytes += (bytes - this.avgMessageBytes) >>
+                                    GAIN_SHIFT;
+        }
+    }
+
+    /**
+     * Update the window by the ack of the acked messages.
+     * @param acked the number of messages acked by the ack
+     * @param rtt the round-trip time of the last acked message in nanos
+     * @param freeBytes the free buffer bytes of the server, -1 if unknown
+     * @param now the time received the ack in nanos
+     */
+    public void onAcked(int acked, long rtt, long freeBytes, long now) {
+        this.freeBytes = freeBytes;
+        if (rtt > 0L) {
+            this.minRtt = Math.min(this.minRtt, rtt);
+            if (this.smoothedRtt == 0L) {
+                this.smoothedRtt = rtt;
+            } else {
+                this.smoothedRtt += (rtt - this.smoothedRtt) >> GAIN_SHIFT;
+            }
+            long queuedRtt = rtt - this.minRtt;
+            if (queuedRtt > this.minRtt && queuedRtt > this.rttTolerance &&
+                now - this.lastDecreaseTime >= this.smoothedRtt) {
+                this.window = Math.max(this.window / 2, this.minWindow);
+                this.lastDecreaseTime = now;
+                return;
+            }
+        }
+        this.window = Math.min(this.window + (double) acked / this.window,
+                               this.maxWindow);
+    }
+
+    public int window() {
+        int window = (int) this.window;
+        if (this.freeBytes >= 0L && this.avgMessageBytes > 0L) {
+            long buffered = this.freeBytes / this.avgMessageBytes;
+            window = (int) Math.min(window,
+                                    Math.max(buffered, this.minWindow));
+        }
+        return window;
+    }
+
+    public long smoothedRtt() {
+        return this.smoothedRtt;
+    }
+
+    public long minRtt() {
+        return this.minRtt == Long.MAX_VALUE ? 0L : this.minRtt;
+    }
+}
@@ -19,6 +19,8 @@ package org.apache.hugegraph.computer.core.network.session;
 
 import org.apache.hugegraph.computer.core.network.TransportConf;
 import org.apache.hugegraph.computer.core.network.TransportState;
+import org.apache.hugegraph.computer.core.network.compress.BlockCodec;
+import org.apache.hugegraph.computer.core.network.compress.BlockCodecs;
 import org.apache.hugegraph.computer.core.network.message.AbstractMessage;
 import org.apache.hugegraph.util.E;
 
@@ -26,16 +28,20 @@ public class ServerSession extends TransportSession {
 
     private final long minAckInterval;
     private volatile int maxHandledId;
+    // The compression codec accepted in the current session
+    private volatile BlockCodec codec;
 
     public ServerSession(TransportConf conf) {
         super(conf);
         this.minAckInterval = this.conf().minAckInterval();
         this.maxHandledId = AbstractMessage.UNKNOWN_SEQ;
+        this.codec = null;
     }
 
     @Override
     protected void stateReady() {
         this.maxHandledId = AbstractMessage.UNKNOWN_SEQ;
+        this.codec = null;
         super.stateReady();
     }
 
@@ -66,6 +72,28 @@ public class ServerSession extends TransportSession {
         this.state = TransportState.START_RECV;
     }
 
+    /**
+     * Accept the codec proposed by the client if the server can find it and
+     * the body is received into memory.
+     * @return the name of the accepted codec, null if not compress
+     */
+    public String acceptCodec(String proposedCodec) {
+        E.checkArgument(this.state == TransportState.START_RECV,
+                        "The state must be START_RECV instead of %s " +
+                        "at acceptCodec()", this.state);
+
+        BlockCodec codec = null;
+        if (proposedCodec != null && !this.conf.recvBufferFileMode()) {
+            codec = BlockCodecs.find(proposedCodec);
+        }
+        this.codec = codec;
+        return codec == null ? null : codec.name();
+    }
+
+    public BlockCodec codec() {
+        return this.codec;
+    }
+
     public boolean onRecvStateFinish(int finishId) {
         E.checkArgument(this.state == TransportState.ESTABLISHED,
                         "The state must be ESTABLISHED instead of %s " +
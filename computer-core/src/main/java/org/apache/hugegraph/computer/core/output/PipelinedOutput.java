@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.output;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hugegraph.computer.core.common.exception.ComputerException;
+import org.apache.hugegraph.computer.core.config.Config;
+import org.apache.hugegraph.computer.core.graph.GraphFactory;
+import org.apache.hugegraph.computer.core.graph.edge.Edge;
+import org.apache.hugegraph.computer.core.graph.edge.Edges;
+import org.apache.hugegraph.computer.core.graph.properties.Properties;
+import org.apache.hugegraph.computer.core.graph.vertex.Vertex;
+import org.apache.hugegraph.util.E;
+
+/**
+ * The output writes the vertices to the wrapped output in another thread, so
+ * that reading the vertices of partition is overlapped with writing them to
+ * the output system. The vertex passed to {@link #write(Vertex)} is copied
+ * because the partition reuses the vertex object.
+ */
+public class PipelinedOutput implements ComputerOutput {
+
+    private static final int QUEUE_BATCHES = 4;
+    private static final long OFFER_TIMEOUT = 100L;
+
+    private static final List<Vertex> END = new ArrayList<>(0);
+
+    private final GraphFactory graphFactory;
+    private final ComputerOutput output;
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final BlockingQueue<List<Vertex>> queue;
+
+    private boolean withProperties;
+    private boolean withEdges;
+    private List<Vertex> batch;
+    private Future<?> writeFuture;
+
+    public PipelinedOutput(GraphFactory graphFactory, ComputerOutput output,
+                           ExecutorService executor, int bufferSize) {
+        E.checkArgument(bufferSize > 0,
+                        "The buffer size of pipelined output must be > 0, " +
+                        "but got %s", bufferSize);
+        this.graphFactory = graphFactory;
+        this.output = output;
+        this.executor = executor;
+        this.batchSize = Math.max(bufferSize / QUEUE_BATCHES, 1);
+        this.queue = new ArrayBlockingQueue<>(QUEUE_BATCHES);
+    }
+
+    @Override
+    public void init(Config config, int partition) {
+        this.output.init(config, partition);
+        this.withProperties = config.outputVertexProperties();
+        this.withEdges = config.outputVertexAdjacentEdges();
+        this.batch = new ArrayList<>(this.batchSize);
+        this.writeFuture = this.executor.submit(this::writeBatches);
+    }
+
+    @Override
+    public void write(Vertex vertex) {
+        this.batch.add(this.copy(vertex));
+        if (this.batch.size() >= this.batchSize) {
+            this.put(this.batch);
+            this.batch = new ArrayList<>(this.batchSize);
+        }
+    }
+
+    @Override
+    public void mergePartitions(Config config) {
+        this.output.mergePartitions(config);
+    }
+
+    @Override
+    public void close() {
+        if (!this.batch.isEmpty()) {
+            this.put(this.batch);
+        }
+        this.put(END);
+        this.waitWriteDone();
+        this.output.close();
+    }
+
+    @Override
+    public String name() {
+        return this.output.name();
+    }
+
+    private Void writeBatches() throws InterruptedException {
+        while (true) {
+            List<Vertex> vertices = this.queue.take();
+            if (vertices == END) {
+                return null;
+            }
+            for (Vertex vertex : vertices) {
+                this.output.write(vertex);
+            }
+        }
+    }
+
+    private void put(List<Vertex> vertices) {
+        try {
+            while (!this.queue.offer(vertices, OFFER_TIMEOUT,
+                                     TimeUnit.MILLISECONDS)) {
+                if (this.writeFuture.isDone()) {
+                    // Throw the exception of writing if exists
+                    this.waitWriteDone();
+                    throw new ComputerException(
+                              "The writing of output '%s' exited unexpectedly",
+                              this.output.name());
+                }
+            }
+        } catch (InterruptedException e) {
+            throw new ComputerException(
+                      "Interrupted while putting vertices to output '%s'",
+                      e, this.output.name());
+        }
+    }
+
+    private void waitWriteDone() {
+        try {
+            this.writeFuture.get();
+        } catch (ExecutionException e) {
+            throw new ComputerException("Failed to write vertices to " +
+                                        "output '%s'", e.getCause(),
+                                        this.output.name());
+        } catch (InterruptedException e) {
+            throw new ComputerException(
+                      "Interrupted while waiting output '%s' written",
+                      e, this.output.name());
+        }
+    }
+
+    private Vertex copy(Vertex vertex) {
+        Vertex copy = this.graphFactory.createVertex();
+        copy.label(vertex.label());
+        copy.id(vertex.id());
+        copy.value(vertex.value().copy());
+        if (!vertex.active()) {
+            copy.inactivate();
+        }
+        if (this.withProperties) {
+            Properties properties = this.graphFactory.createProperties();
+            properties.putAll(vertex.properties().get());
+            copy.properties(properties);
+        }
+        if (this.withEdges) {
+            // The edges may be read lazily into reused objects, copy them
+            Edges edges = this.graphFactory.createEdges(vertex.numEdges());
+            for (Edge edge : vertex.edges()) {
+                edges.add(edge.copy());
+            }
+            copy.edges(edges);
+        }
+        return copy;
+    }
+}
@@ -21,11 +21,14 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.hugegraph.computer.core.common.exception.ComputerException;
+import org.apache.hugegraph.computer.core.io.ByteBufInput;
 import org.apache.hugegraph.computer.core.io.RandomAccessInput;
-import org.apache.hugegraph.computer.core.io.UnsafeBytesInput;
+import org.apache.hugegraph.computer.core.network.buffer.NettyBuffer;
 import org.apache.hugegraph.computer.core.network.buffer.NetworkBuffer;
 import org.apache.hugegraph.concurrent.BarrierEvent;
 
+import io.netty.buffer.Unpooled;
+
 public class MessageRecvBuffers {
 
     /*
@@ -37,7 +40,11 @@ public class MessageRecvBuffers {
     private final long bytesLimit;
     private long totalBytes;
 
-    private final List<byte[]> buffers;
+    /*
+     * The buffers are retained until they are sorted, they are released
+     * in releaseBuffers().
+     */
+    private final List<NetworkBuffer> buffers;
     private final BarrierEvent sortFinished;
     private final long waitSortedTimeout;
 
@@ -50,27 +57,38 @@ public class MessageRecvBuffers {
     }
 
     public void addBuffer(NetworkBuffer data) {
-        /*
-         * TODO: don't not use copy, add a new class
-         *       RandomAccessInput(NetworkBuffer)
-         */
-        byte[] bytes = data.copyToByteArray();
-        this.buffers.add(bytes);
-        this.totalBytes += bytes.length;
+        NetworkBuffer buffer;
+        if (data instanceof NettyBuffer) {
+            // Read the received ByteBuf directly without copying
+            buffer = data.retain();
+        } else {
+            /*
+             * The other buffers may be reused by the owner after handled,
+             * like the buffer of local worker, copy it.
+             */
+            buffer = new NettyBuffer(Unpooled.wrappedBuffer(
+                                     data.copyToByteArray()));
+        }
+        this.buffers.add(buffer);
+        this.totalBytes += buffer.length();
     }
 
     public boolean full() {
         return this.totalBytes >= this.bytesLimit;
     }
 
+    public long freeBytes() {
+        return Math.max(this.bytesLimit - this.totalBytes, 0L);
+    }
+
     /**
      * Get all the buffers.
      */
     public List<RandomAccessInput> buffers() {
-        // Transfer byte[] list to BytesInput list
+        // Transfer buffer list to input list, share the data of buffers
         List<RandomAccessInput> inputs = new ArrayList<>(this.buffers.size());
-        for (byte[] buffer : this.buffers) {
-            inputs.add(new UnsafeBytesInput(buffer));
+        for (NetworkBuffer buffer : this.buffers) {
+            inputs.add(new ByteBufInput(buffer.nettyByteBuf()));
         }
         return inputs;
     }
@@ -80,13 +98,24 @@ public class MessageRecvBuffers {
      */
     public void prepareSort() {
         // Reset buffers and totalBytes to prepare a new sorting
-        this.buffers.clear();
-        this.totalBytes = 0L;
+        this.releaseBuffers();
 
         // Reset event to prepare a new sorting
         this.sortFinished.reset();
     }
 
+    /**
+     * Release the buffers, it should be called after the buffers are sorted
+     * and the inputs of them are not used any more.
+     */
+    public void releaseBuffers() {
+        for (NetworkBuffer buffer : this.buffers) {
+            buffer.release();
+        }
+        this.buffers.clear();
+        this.totalBytes = 0L;
+    }
+
     /**
      * Wait the buffers to be sorted.
      */
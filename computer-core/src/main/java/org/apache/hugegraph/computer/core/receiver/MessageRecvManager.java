@@ -17,6 +17,7 @@
 
 package org.apache.hugegraph.computer.core.receiver;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -33,6 +34,7 @@ import org.apache.hugegraph.computer.core.config.Config;
 import org.apache.hugegraph.computer.core.manager.Manager;
 import org.apache.hugegraph.computer.core.network.ConnectionId;
 import org.apache.hugegraph.computer.core.network.MessageHandler;
+import org.apache.hugegraph.computer.core.network.TransportConf;
 import org.apache.hugegraph.computer.core.network.buffer.NetworkBuffer;
 import org.apache.hugegraph.computer.core.network.message.MessageType;
 import org.apache.hugegraph.computer.core.receiver.edge.EdgeMessageRecvPartitions;
@@ -63,9 +65,12 @@ public class MessageRecvManager implements Manager, MessageHandler {
     private ComputeMessageRecvPartitions messagePartitions;
 
     private int workerCount;
+    private int clientConnections;
     private int expectedFinishMessages;
     private CompletableFuture<Void> finishMessagesFuture;
     private AtomicInteger finishMessagesCount;
+    // The client channels sharing the free buffer bytes
+    private final AtomicInteger activeChannels;
     private SnapshotManager snapshotManager;
 
     private long waitFinishMessagesTimeout;
@@ -79,6 +84,7 @@ public class MessageRecvManager implements Manager, MessageHandler {
         this.sortManager = sortManager;
         this.superstep = Constants.INPUT_SUPERSTEP;
         this.finishMessagesCount = new AtomicInteger();
+        this.activeChannels = new AtomicInteger();
     }
 
     @Override
@@ -100,8 +106,12 @@ public class MessageRecvManager implements Manager, MessageHandler {
                                                             this.sortManager,
                                                             this.snapshotManager);
         this.workerCount = config.get(ComputerOptions.JOB_WORKERS_COUNT);
+        // Each connection from the workers sends a finish-message
+        this.clientConnections = TransportConf.wrapConfig(config)
+                                              .clientConnections();
         // One for vertex and one for edge.
-        this.expectedFinishMessages = this.workerCount * 2;
+        this.expectedFinishMessages = this.workerCount *
+                                      this.clientConnections * 2;
         this.finishMessagesFuture = new CompletableFuture<>();
         this.finishMessagesCount.set(this.expectedFinishMessages);
 
@@ -117,7 +127,8 @@ public class MessageRecvManager implements Manager, MessageHandler {
                                                                   fileGenerator,
                                                                   this.sortManager,
                                                                   this.snapshotManager);
-        this.expectedFinishMessages = this.workerCount;
+        this.expectedFinishMessages = this.workerCount *
+                                      this.clientConnections;
         this.finishMessagesFuture = new CompletableFuture<>();
         this.finishMessagesCount.set(this.expectedFinishMessages);
 
@@ -143,12 +154,12 @@ public class MessageRecvManager implements Manager, MessageHandler {
 
     @Override
     public void onChannelActive(ConnectionId connectionId) {
-        // pass
+        this.activeChannels.incrementAndGet();
     }
 
     @Override
     public void onChannelInactive(ConnectionId connectionId) {
-        // pass
+        this.activeChannels.decrementAndGet();
     }
 
     @Override
@@ -192,6 +203,53 @@ public class MessageRecvManager implements Manager, MessageHandler {
         }
     }
 
+    @Override
+    public void onDecompressed(MessageType messageType, int partition,
+                               int compressedBytes, int rawBytes,
+                               long nanos) {
+        switch (messageType) {
+            case VERTEX:
+                this.vertexPartitions.addCodecStat(partition, rawBytes,
+                                                   compressedBytes, nanos);
+                break;
+            case EDGE:
+                this.edgePartitions.addCodecStat(partition, rawBytes,
+                                                 compressedBytes, nanos);
+                break;
+            case MSG:
+                this.messagePartitions.addCodecStat(partition, rawBytes,
+                                                    compressedBytes, nanos);
+                break;
+            default:
+                throw new ComputerException(
+                          "Unable handle decompressed stat with type '%s'",
+                          messageType.name());
+        }
+    }
+
+    @Override
+    public long freeBufferBytes() {
+        long freeBytes = -1L;
+        MessageRecvPartitions<?>[] groups = {this.vertexPartitions,
+                                             this.edgePartitions,
+                                             this.messagePartitions};
+        for (MessageRecvPartitions<?> partitions : groups) {
+            if (partitions == null) {
+                continue;
+            }
+            long groupFreeBytes = partitions.freeBytes();
+            if (groupFreeBytes >= 0L &&
+                (freeBytes < 0L || groupFreeBytes < freeBytes)) {
+                freeBytes = groupFreeBytes;
+            }
+        }
+        if (freeBytes < 0L) {
+            return freeBytes;
+        }
+        // Each client is advertised its share of the free bytes
+        return freeBytes / Math.max(this.activeChannels.get(), 1);
+    }
+
     @Override
     public String genOutputPath(MessageType messageType, int partition) {
         switch (messageType) {
@@ -222,6 +280,19 @@ public class MessageRecvManager implements Manager, MessageHandler {
         }
     }
 
+    /**
+     * Finish receiving the vertices and edges at inputstep without waiting
+     * the finish-messages, used when the worker loads the vertices and
+     * edges from snapshot by itself rather than receives them from workers.
+     */
+    public void finishInputLocally() {
+        E.checkState(this.superstep == Constants.INPUT_SUPERSTEP,
+                     "Can't finish input locally at superstep %s",
+                     this.superstep);
+        this.finishMessagesCount.set(0);
+        this.finishMessagesFuture.complete(null);
+    }
+
     /**
      * Get the Iterator<KeyStore.Entry> of each partition.
      */
@@ -247,6 +318,50 @@ public class MessageRecvManager implements Manager, MessageHandler {
         return partitions.iterators();
     }
 
+    /**
+     * Flush the messages received at current superstep to files and return
+     * the files of each partition, used to checkpoint the messages which
+     * will be computed at next superstep.
+     */
+    public Map<Integer, List<String>> messageFiles() {
+        E.checkState(this.messagePartitions != null,
+                     "The messagePartitions can't be null");
+        return this.messagePartitions.flushOutputFiles();
+    }
+
+    /**
+     * Prepare to receive the messages restored from checkpoint as if they
+     * were received at the superstep, the restored message files are added
+     * by {@link #handle} with FileRegionBuffer.
+     */
+    public void restoreMessages(int superstep) {
+        SuperstepFileGenerator fileGenerator = new SuperstepFileGenerator(
+                                               this.fileManager, superstep);
+        this.messagePartitions = new ComputeMessageRecvPartitions(this.context,
+                                                                  fileGenerator,
+                                                                  this.sortManager,
+                                                                  this.snapshotManager);
+        this.superstep = superstep;
+    }
+
+    /**
+     * Get the received bytes of vertices of each partition at inputstep.
+     */
+    public Map<Integer, MessageStat> vertexStats() {
+        E.checkState(this.vertexPartitions != null,
+                     "The vertexPartitions can't be null");
+        return this.vertexPartitions.messageStats();
+    }
+
+    /**
+     * Get the received bytes of edges of each partition at inputstep.
+     */
+    public Map<Integer, MessageStat> edgeStats() {
+        E.checkState(this.edgePartitions != null,
+                     "The edgePartitions can't be null");
+        return this.edgePartitions.messageStats();
+    }
+
     public Map<Integer, MessageStat> messageStats() {
         this.waitReceivedAllMessages();
         E.checkState(this.messagePartitions != null,
@@ -19,6 +19,8 @@ package org.apache.hugegraph.computer.core.receiver;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.hugegraph.computer.core.common.exception.ComputerException;
@@ -57,7 +59,9 @@ public abstract class MessageRecvPartition {
     private final boolean withSubKv;
     private final int mergeFileNum;
     private long totalBytes;
+    private final MessageStat codecStat;
     private final boolean useFileRegion;
+    private final boolean mergeInMemory;
 
     private final AtomicReference<Throwable> exception;
 
@@ -65,6 +69,15 @@ public abstract class MessageRecvPartition {
                                 SuperstepFileGenerator fileGenerator,
                                 SortManager sortManager,
                                 boolean withSubKv) {
+        this(config, fileGenerator, sortManager, withSubKv,
+             config.get(ComputerOptions.WORKER_RECEIVED_MERGE_IN_MEMORY));
+    }
+
+    public MessageRecvPartition(Config config,
+                                SuperstepFileGenerator fileGenerator,
+                                SortManager sortManager,
+                                boolean withSubKv,
+                                boolean mergeInMemory) {
         this.fileGenerator = fileGenerator;
         this.sortManager = sortManager;
         this.withSubKv = withSubKv;
@@ -73,9 +86,12 @@ public abstract class MessageRecvPartition {
 
         long waitSortTimeout = config.get(
                                ComputerOptions.WORKER_WAIT_SORT_TIMEOUT);
-        this.mergeFileNum = config.get(ComputerOptions.HGKV_MERGE_FILES_NUM);
+        // At least 2 files are merged at one time to reduce the files
+        this.mergeFileNum = Math.max(config.get(
+                            ComputerOptions.HGKV_MERGE_FILES_NUM), 2);
         this.useFileRegion = config.get(
                              ComputerOptions.TRANSPORT_RECV_FILE_MODE);
+        this.mergeInMemory = mergeInMemory;
         if (!this.useFileRegion) {
             this.recvBuffers = new MessageRecvBuffers(buffersLimit,
                                                       waitSortTimeout);
@@ -85,6 +101,7 @@ public abstract class MessageRecvPartition {
 
         this.outputFiles = new ArrayList<>();
         this.totalBytes = 0L;
+        this.codecStat = new MessageStat();
         this.exception = new AtomicReference<>();
     }
 
@@ -109,10 +126,11 @@ public abstract class MessageRecvPartition {
     }
 
     public synchronized PeekableIterator<KvEntry> iterator() {
-        /*
-         * TODO: create iterator directly from buffers if there is no
-         *       outputFiles.
-         */
+        if (!this.useFileRegion && this.mergeInMemory &&
+            this.outputFiles.isEmpty()) {
+            // None of the buffers spilled, merge them without the files
+            return this.mergeBuffersInMemory();
+        }
         if (!this.useFileRegion) {
             this.flushAllBuffersAndWaitSorted();
         }
@@ -120,7 +138,25 @@ public abstract class MessageRecvPartition {
         if (this.outputFiles.size() == 0) {
             return PeekableIterator.emptyIterator();
         }
-        return this.sortManager.iterator(this.outputFiles, this.withSubKv);
+        if (this.outputFiles.size() == 1) {
+            return this.sortManager.iterator(this.outputFiles, this.withSubKv);
+        }
+        // Merge the last level of files while iterating, not write to file
+        return this.sortManager.mergeInputs(this.outputFiles, this.withSubKv,
+                                            this.outerSortFlusher());
+    }
+
+    /**
+     * The free bytes of the receive buffers, -1 if the messages are
+     * received to files. It's not synchronized to avoid blocking the caller
+     * while adding buffer is waiting sorted, so the value is approximate.
+     */
+    public long freeBytes() {
+        MessageRecvBuffers recvBuffers = this.recvBuffers;
+        if (this.useFileRegion || recvBuffers == null) {
+            return -1L;
+        }
+        return recvBuffers.freeBytes();
     }
 
     public synchronized long totalBytes() {
@@ -131,11 +167,47 @@ public abstract class MessageRecvPartition {
         return this.outputFiles;
     }
 
+    /**
+     * Flush the received buffers to files and return all the files, the
+     * partition can still be iterated after this method called, the
+     * messages are read from the files.
+     */
+    public synchronized List<String> flushOutputFiles() {
+        if (!this.useFileRegion) {
+            this.flushAllBuffersAndWaitSorted();
+        }
+        return new ArrayList<>(this.outputFiles);
+    }
+
+    public synchronized void addCodecStat(long rawBytes,
+                                          long compressedBytes,
+                                          long nanos) {
+        this.codecStat.increaseCodec(rawBytes, compressedBytes, nanos);
+    }
+
     public synchronized MessageStat messageStat() {
         // TODO: count the message received
-        return new MessageStat(0L, this.totalBytes);
+        MessageStat stat = new MessageStat(0L, this.totalBytes);
+        stat.increase(this.codecStat);
+        return stat;
+    }
+
+    /**
+     * The snapshot of input vertex and edge partitions is made of the output
+     * files, so don't merge their buffers in memory if write the snapshot,
+     * unless the snapshot is made of the built partitions.
+     */
+    protected static boolean inputMergeInMemory(Config config) {
+        boolean writeReceived = config.get(ComputerOptions.SNAPSHOT_WRITE) &&
+                                !config.get(ComputerOptions.SNAPSHOT_PARTITION_LAYOUT);
+        return config.get(ComputerOptions.WORKER_RECEIVED_MERGE_IN_MEMORY) &&
+               !writeReceived;
     }
 
+    /**
+     * Create a new flusher for each merging, the flushers can't be shared
+     * by the merges running in parallel.
+     */
     protected abstract OuterSortFlusher outerSortFlusher();
 
     protected abstract String type();
@@ -154,9 +226,37 @@ public abstract class MessageRecvPartition {
             this.flushSortBuffersAsync();
             this.sortBuffers.waitSorted();
         }
+        // All the buffers have been sorted to files
+        this.sortBuffers.releaseBuffers();
         this.checkException();
     }
 
+    /**
+     * Merge the receive buffers in memory, the sortBuffers must be empty
+     * because no buffers have been sorted to file. The entries are merged
+     * lazily from the received buffers, so the buffers are released when
+     * the returned iterator is closed.
+     * After this method be called, can not call
+     * {@link #addBuffer(NetworkBuffer)} any more.
+     */
+    private PeekableIterator<KvEntry> mergeBuffersInMemory() {
+        assert this.sortBuffers.totalBytes() == 0L;
+        if (this.recvBuffers.totalBytes() == 0L) {
+            return PeekableIterator.emptyIterator();
+        }
+        MessageRecvBuffers buffers = this.recvBuffers;
+        PeekableIterator<KvEntry> merged;
+        try {
+            merged = this.sortManager.mergeBuffers(buffers.buffers(),
+                                                   this.withSubKv,
+                                                   this.outerSortFlusher());
+        } catch (RuntimeException e) {
+            buffers.releaseBuffers();
+            throw e;
+        }
+        return new BuffersMergedIterator(merged, buffers);
+    }
+
     private void flushSortBuffersAsync() {
         String path = this.genOutputPath();
         this.mergeBuffersAsync(this.sortBuffers, path);
@@ -189,36 +289,68 @@ public abstract class MessageRecvPartition {
     }
 
     /**
-     * Merge outputFiles if needed, like merge 10000 files into 100 files.
+     * Merge outputFiles level by level until the number of files is not
+     * more than mergeFileNum, like merge 10000 files into 1000 files and
+     * then 100 files with mergeFileNum 100. The merges of a level run in
+     * parallel by the sort executor.
      */
     private void mergeOutputFilesIfNeeded() {
-        if (this.outputFiles.size() <= 1) {
-            return;
+        while (this.outputFiles.size() > this.mergeFileNum) {
+            List<List<String>> groups = mergeGroups(this.outputFiles,
+                                                    this.mergeFileNum);
+            List<String> newOutputs = new ArrayList<>(groups.size());
+            List<String> mergedInputs = new ArrayList<>();
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (List<String> group : groups) {
+                if (group.size() == 1) {
+                    newOutputs.add(group.get(0));
+                    continue;
+                }
+                String output = this.genOutputPath();
+                futures.add(this.sortManager.mergeInputs(
+                                             group, output, this.withSubKv,
+                                             this.outerSortFlusher()));
+                newOutputs.add(output);
+                mergedInputs.addAll(group);
+            }
+            this.waitMerged(futures);
+            FileUtil.deleteFilesQuietly(mergedInputs);
+            this.outputFiles = newOutputs;
         }
-
-        /*
-         * TODO Restore genOutputFileNames(sqrt(outputFiles.size()))
-         *  after add Sorter#iterator() of subkv
-         */
-        int mergeFileNum = this.mergeFileNum;
-        mergeFileNum = 1;
-        List<String> newOutputs = this.genOutputFileNames(mergeFileNum);
-        this.sortManager.mergeInputs(this.outputFiles, newOutputs,
-                                     this.withSubKv, this.outerSortFlusher());
-        FileUtil.deleteFilesQuietly(this.outputFiles);
-        this.outputFiles = newOutputs;
     }
 
-    public String genOutputPath() {
-        return this.fileGenerator.nextPath(this.type());
+    /**
+     * Divide the files into the least groups with at most mergeFileNum
+     * files each, the sizes of the groups differ by 1 at most.
+     */
+    protected static List<List<String>> mergeGroups(List<String> files,
+                                                    int mergeFileNum) {
+        int groupNum = (files.size() + mergeFileNum - 1) / mergeFileNum;
+        List<List<String>> groups = new ArrayList<>(groupNum);
+        int from = 0;
+        for (int i = 0; i < groupNum; i++) {
+            int size = (files.size() - from) / (groupNum - i);
+            groups.add(files.subList(from, from + size));
+            from += size;
+        }
+        return groups;
     }
 
-    private List<String> genOutputFileNames(int targetSize) {
-        List<String> files = new ArrayList<>(targetSize);
-        for (int i = 0; i < targetSize; i++) {
-            files.add(this.genOutputPath());
+    private void waitMerged(List<CompletableFuture<Void>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                             .get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw new ComputerException(cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            throw new ComputerException("Interrupted while waiting %s " +
+                                        "files merged", e, futures.size());
         }
-        return files;
+    }
+
+    public String genOutputPath() {
+        return this.fileGenerator.nextPath(this.type());
     }
 
     private void checkException() {
@@ -227,4 +359,50 @@ public abstract class MessageRecvPartition {
             throw new ComputerException(t.getMessage(), t);
         }
     }
+
+    /**
+     * The iterator of entries merged from the received buffers, which
+     * releases the buffers after closed.
+     */
+    private static class BuffersMergedIterator
+                   implements PeekableIterator<KvEntry> {
+
+        private final PeekableIterator<KvEntry> merged;
+        private final MessageRecvBuffers buffers;
+
+        public BuffersMergedIterator(PeekableIterator<KvEntry> merged,
+                                     MessageRecvBuffers buffers) {
+            this.merged = merged;
+            this.buffers = buffers;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.merged.hasNext();
+        }
+
+        @Override
+        public KvEntry next() {
+            return this.merged.next();
+        }
+
+        @Override
+        public KvEntry peek() {
+            return this.merged.peek();
+        }
+
+        @Override
+        public Object metadata(String s, Object... objects) {
+            return this.merged.metadata(s, objects);
+        }
+
+        @Override
+        public void close() throws Exception {
+            try {
+                this.merged.close();
+            } finally {
+                this.buffers.releaseBuffers();
+            }
+        }
+    }
 }
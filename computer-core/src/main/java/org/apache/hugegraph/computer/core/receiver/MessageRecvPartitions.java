@@ -64,6 +64,12 @@ public abstract class MessageRecvPartitions<P extends MessageRecvPartition> {
         partition.addBuffer(buffer);
     }
 
+    public void addCodecStat(int partitionId, long rawBytes,
+                             long compressedBytes, long nanos) {
+        P partition = this.partition(partitionId);
+        partition.addCodecStat(rawBytes, compressedBytes, nanos);
+    }
+
     public String genOutputPath(int partitionId) {
         P partition = this.partition(partitionId);
         String path = partition.genOutputPath();
@@ -98,6 +104,39 @@ public abstract class MessageRecvPartitions<P extends MessageRecvPartition> {
         return entries;
     }
 
+    /**
+     * Flush the received buffers of each partition to files, and return the
+     * files of each partition.
+     */
+    public Map<Integer, List<String>> flushOutputFiles() {
+        Map<Integer, List<String>> files = new HashMap<>();
+        for (Map.Entry<Integer, P> entry : this.partitions.entrySet()) {
+            files.put(entry.getKey(), entry.getValue().flushOutputFiles());
+        }
+        return files;
+    }
+
+    /**
+     * The sum of free bytes of the receive buffers of partitions, -1 if
+     * unknown.
+     */
+    public long freeBytes() {
+        long freeBytes = 0L;
+        synchronized (this.partitions) {
+            if (this.partitions.isEmpty()) {
+                return -1L;
+            }
+            for (P partition : this.partitions.values()) {
+                long partitionFreeBytes = partition.freeBytes();
+                if (partitionFreeBytes < 0L) {
+                    return -1L;
+                }
+                freeBytes += partitionFreeBytes;
+            }
+        }
+        return freeBytes;
+    }
+
     public Map<Integer, MessageStat> messageStats() {
         Map<Integer, MessageStat> entries = new HashMap<>();
         for (Map.Entry<Integer, P> entry : this.partitions.entrySet()) {
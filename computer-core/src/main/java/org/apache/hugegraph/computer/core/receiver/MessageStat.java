@@ -25,6 +25,11 @@ public class MessageStat {
     private long messageCount;
     private long messageBytes;
 
+    // The raw bytes, compressed bytes and codec time of the compressed bodies
+    private long codecRawBytes;
+    private long codecBytes;
+    private long codecNanos;
+
     public MessageStat() {
         this(0L, 0L);
     }
@@ -32,6 +37,9 @@ public class MessageStat {
     public MessageStat(long messageCount, long messageBytes) {
         this.messageCount = messageCount;
         this.messageBytes = messageBytes;
+        this.codecRawBytes = 0L;
+        this.codecBytes = 0L;
+        this.codecNanos = 0L;
     }
 
     public long messageCount() {
@@ -42,8 +50,40 @@ public class MessageStat {
         return this.messageBytes;
     }
 
+    public long codecRawBytes() {
+        return this.codecRawBytes;
+    }
+
+    public long codecBytes() {
+        return this.codecBytes;
+    }
+
+    public long codecNanos() {
+        return this.codecNanos;
+    }
+
+    /**
+     * The compressed bytes divided by the raw bytes, 1.0 if nothing is
+     * compressed.
+     */
+    public double compressionRatio() {
+        if (this.codecRawBytes == 0L) {
+            return 1.0D;
+        }
+        return (double) this.codecBytes / this.codecRawBytes;
+    }
+
+    public void increaseCodec(long rawBytes, long compressedBytes,
+                              long nanos) {
+        this.codecRawBytes += rawBytes;
+        this.codecBytes += compressedBytes;
+        this.codecNanos += nanos;
+    }
+
     public void increase(MessageStat other) {
         this.messageCount += other.messageCount;
         this.messageBytes += other.messageBytes;
+        this.increaseCodec(other.codecRawBytes, other.codecBytes,
+                           other.codecNanos);
     }
 }
@@ -33,25 +33,26 @@ public class EdgeMessageRecvPartition extends MessageRecvPartition {
 
     private static final String TYPE = MessageType.EDGE.name().toLowerCase();
 
-    private final OuterSortFlusher flusher;
+    private final ComputerContext context;
+    private final int flushThreshold;
 
     public EdgeMessageRecvPartition(ComputerContext context,
                                     SuperstepFileGenerator fileGenerator,
                                     SortManager sortManager) {
-        super(context.config(), fileGenerator, sortManager, true);
+        super(context.config(), fileGenerator, sortManager, true,
+              inputMergeInMemory(context.config()));
 
+        this.context = context;
         Config config = context.config();
-        int flushThreshold = config.get(
-                             ComputerOptions.INPUT_MAX_EDGES_IN_ONE_VERTEX);
-        PointerCombiner combiner = new EdgeValueCombiner(context);
-
-        this.flusher = new CombineSubKvOuterSortFlusher(combiner,
-                                                        flushThreshold);
+        this.flushThreshold = config.get(
+                              ComputerOptions.INPUT_MAX_EDGES_IN_ONE_VERTEX);
     }
 
     @Override
     protected OuterSortFlusher outerSortFlusher() {
-        return this.flusher;
+        PointerCombiner combiner = new EdgeValueCombiner(this.context);
+        return new CombineSubKvOuterSortFlusher(combiner,
+                                                this.flushThreshold);
     }
 
     @Override
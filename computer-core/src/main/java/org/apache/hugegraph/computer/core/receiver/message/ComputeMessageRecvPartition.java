@@ -36,27 +36,29 @@ public class ComputeMessageRecvPartition extends MessageRecvPartition {
 
     private static final String TYPE = MessageType.MSG.name().toLowerCase();
 
-    private final OuterSortFlusher flusher;
+    private final ComputerContext context;
+    private final boolean combine;
 
     public ComputeMessageRecvPartition(ComputerContext context,
                                        SuperstepFileGenerator fileGenerator,
                                        SortManager sortManager) {
         super(context.config(), fileGenerator, sortManager, false);
+        this.context = context;
         Config config = context.config();
         Combiner<Value> combiner = config.createObject(
                                    ComputerOptions.WORKER_COMBINER_CLASS,
                                    false);
-        if (combiner == null) {
-            this.flusher = new KvOuterSortFlusher();
-        } else {
-            PointerCombiner pointerCombiner = new MessageValueCombiner(context);
-            this.flusher = new CombineKvOuterSortFlusher(pointerCombiner);
-        }
+        this.combine = combiner != null;
     }
 
     @Override
     protected OuterSortFlusher outerSortFlusher() {
-        return this.flusher;
+        if (!this.combine) {
+            return new KvOuterSortFlusher();
+        }
+        PointerCombiner pointerCombiner = new MessageValueCombiner(
+                                          this.context);
+        return new CombineKvOuterSortFlusher(pointerCombiner);
     }
 
     @Override
@@ -31,21 +31,21 @@ public class VertexMessageRecvPartition extends MessageRecvPartition {
 
     private static final String TYPE = MessageType.VERTEX.name().toLowerCase();
 
-    private final OuterSortFlusher flusher;
+    private final ComputerContext context;
 
     public VertexMessageRecvPartition(ComputerContext context,
                                       SuperstepFileGenerator fileGenerator,
                                       SortManager sortManager) {
-        super(context.config(), fileGenerator, sortManager, false);
+        super(context.config(), fileGenerator, sortManager, false,
+              inputMergeInMemory(context.config()));
 
-        PointerCombiner combiner = new VertexValueCombiner(context);
-
-        this.flusher = new CombineKvOuterSortFlusher(combiner);
+        this.context = context;
     }
 
     @Override
     protected OuterSortFlusher outerSortFlusher() {
-        return this.flusher;
+        PointerCombiner combiner = new VertexValueCombiner(this.context);
+        return new CombineKvOuterSortFlusher(combiner);
     }
 
     @Override
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.sender;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.apache.hugegraph.util.E;
+
+/**
+ * The message queue based on a locked blocking queue, the send thread is
+ * notified every time a message is put.
+ */
+class BlockingMessageQueue implements MessageQueue {
+
+    private final BlockingQueue<QueuedMessage> queue;
+    private final Runnable notEmptyNotifier;
+
+    public BlockingMessageQueue(Runnable notEmptyNotifier, int capacity) {
+        E.checkArgumentNotNull(notEmptyNotifier,
+                               "The callback to notify that a queue is " +
+                               "not empty can't be null");
+        this.queue = new LinkedBlockingQueue<>(capacity);
+        this.notEmptyNotifier = notEmptyNotifier;
+    }
+
+    @Override
+    public void put(QueuedMessage message) throws InterruptedException {
+        this.queue.put(message);
+        this.notEmptyNotifier.run();
+    }
+
+    @Override
+    public QueuedMessage peek() {
+        return this.queue.peek();
+    }
+
+    @Override
+    public QueuedMessage take() throws InterruptedException {
+        return this.queue.take();
+    }
+
+    @Override
+    public int size() {
+        return this.queue.size();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.sender;
+
+import java.io.IOException;
+
+import org.apache.hugegraph.computer.core.combiner.Combiner;
+import org.apache.hugegraph.computer.core.graph.id.BytesId;
+import org.apache.hugegraph.computer.core.graph.value.Value;
+import org.apache.hugegraph.computer.core.io.GraphComputeOutput;
+import org.apache.hugegraph.util.E;
+
+/**
+ * The open addressing hash table keyed by long target id, the messages with
+ * the same target id are combined on insert. It's used to pre-aggregate the
+ * messages before they are written to the send buffer, so that only one
+ * message for each target id is serialized, sorted and sent.
+ * It's not a public class, need package access
+ */
+class MessageCombineTable {
+
+    private final Combiner<Value> combiner;
+    private final int maxSize;
+    private final int mask;
+    private final long[] keys;
+    // The value objects are reused after flushed
+    private final Value[] values;
+    private final boolean[] used;
+    // The used slots in insertion order, to flush and clear quickly
+    private final int[] slots;
+    private int size;
+
+    public MessageCombineTable(Combiner<Value> combiner, int maxSize) {
+        E.checkArgument(maxSize > 0,
+                        "The max size of combine table must be > 0, " +
+                        "but got %s", maxSize);
+        this.combiner = combiner;
+        this.maxSize = maxSize;
+        // Keep the load factor <= 0.5
+        int capacity = Integer.highestOneBit(maxSize) << 2;
+        this.mask = capacity - 1;
+        this.keys = new long[capacity];
+        this.values = new Value[capacity];
+        this.used = new boolean[capacity];
+        this.slots = new int[maxSize];
+        this.size = 0;
+    }
+
+    /**
+     * Combine the value into the table, the value is copied when a new
+     * target id is inserted, so that the caller can reuse it.
+     * @return true if it's a new target id
+     */
+    public boolean put(long key, Value value) {
+        int slot = hash(key) & this.mask;
+        while (this.used[slot]) {
+            if (this.keys[slot] == key) {
+                Value old = this.values[slot];
+                this.combiner.combine(old, value, old);
+                return false;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        assert this.size < this.maxSize;
+        this.used[slot] = true;
+        this.keys[slot] = key;
+        if (this.values[slot] == null) {
+            this.values[slot] = value.copy();
+        } else {
+            this.values[slot].assign(value);
+        }
+        this.slots[this.size++] = slot;
+        return true;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public boolean full() {
+        return this.size >= this.maxSize;
+    }
+
+    /**
+     * Write the combined messages to the output and clear the table.
+     */
+    public void flush(GraphComputeOutput output) throws IOException {
+        for (int i = 0; i < this.size; i++) {
+            int slot = this.slots[i];
+            output.writeMessage(BytesId.of(this.keys[slot]),
+                                this.values[slot]);
+            this.used[slot] = false;
+        }
+        this.size = 0;
+    }
+
+    private static int hash(long key) {
+        // The finalizer of MurmurHash3
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
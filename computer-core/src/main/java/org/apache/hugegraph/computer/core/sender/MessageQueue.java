@@ -17,42 +17,24 @@
 
 package org.apache.hugegraph.computer.core.sender;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
-
-import org.apache.hugegraph.util.E;
-
 /**
+ * The queue of the messages to be sent to a worker, the messages are put by
+ * multiple threads and consumed by the send thread of the worker. The queue
+ * notifies the send thread when a message is put and the send thread may be
+ * waiting for it.
  * It's not a public class, need package access
  */
-class MessageQueue {
-
-    private final BlockingQueue<QueuedMessage> queue;
-    private final Runnable notEmptyNotifier;
+interface MessageQueue {
 
-    public MessageQueue(Runnable notEmptyNotifier) {
-        E.checkArgumentNotNull(notEmptyNotifier,
-                               "The callback to notify that a queue is " +
-                               "not empty can't be null");
-        // TODO: replace with disruptor queue
-        this.queue = new LinkedBlockingQueue<>(128);
-        this.notEmptyNotifier = notEmptyNotifier;
-    }
+    void put(QueuedMessage message) throws InterruptedException;
 
-    public void put(QueuedMessage message) throws InterruptedException {
-        this.queue.put(message);
-        /*
-         * TODO: Try to optimize, don't signal every time when the queue
-         * is not empty
-         */
-        this.notEmptyNotifier.run();
-    }
+    /**
+     * Return the message at the head without removing it, or null if the
+     * queue is empty
+     */
+    QueuedMessage peek();
 
-    public QueuedMessage peek() {
-        return this.queue.peek();
-    }
+    QueuedMessage take() throws InterruptedException;
 
-    public QueuedMessage take() throws InterruptedException {
-        return this.queue.take();
-    }
+    int size();
 }
@@ -18,6 +18,10 @@
 package org.apache.hugegraph.computer.core.sender;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -40,7 +44,11 @@ import org.apache.hugegraph.computer.core.graph.partition.Partitioner;
 import org.apache.hugegraph.computer.core.graph.value.Value;
 import org.apache.hugegraph.computer.core.graph.vertex.Vertex;
 import org.apache.hugegraph.computer.core.manager.Manager;
+import org.apache.hugegraph.computer.core.network.MessageHandler;
 import org.apache.hugegraph.computer.core.network.TransportConf;
+import org.apache.hugegraph.computer.core.network.buffer.FileRegionBuffer;
+import org.apache.hugegraph.computer.core.network.buffer.NetworkBuffer;
+import org.apache.hugegraph.computer.core.network.buffer.NioBuffer;
 import org.apache.hugegraph.computer.core.network.message.MessageType;
 import org.apache.hugegraph.computer.core.receiver.MessageStat;
 import org.apache.hugegraph.computer.core.sort.sorting.SortManager;
@@ -60,6 +68,10 @@ public class MessageSendManager implements Manager {
     private final AtomicReference<Throwable> exception;
     private final TransportConf transportConf;
 
+    // The buffers to local worker are handled by it directly if not null
+    private MessageHandler localHandler;
+    private int localWorkerId;
+
     public MessageSendManager(ComputerContext context, SortManager sortManager,
                               MessageSender sender) {
         this.buffers = new MessageSendBuffers(context);
@@ -70,6 +82,8 @@ public class MessageSendManager implements Manager {
         this.sortManager = sortManager;
         this.sender = sender;
         this.exception = new AtomicReference<>();
+        this.localHandler = null;
+        this.localWorkerId = -1;
     }
 
     @Override
@@ -168,12 +182,33 @@ public class MessageSendManager implements Manager {
         this.sendControlMessageToWorkers(workerIds, MessageType.FINISH);
         LOG.info("Finish sending message(type={},count={},bytes={})",
                  type, stat.messageCount(), stat.messageBytes());
+        if (this.sortManager.bufferPool() != null) {
+            LOG.info("The buffer pool of sorted buffers: {}",
+                     this.sortManager.bufferPool());
+        }
     }
 
     public MessageStat messageStat(int partitionId) {
         return this.buffers.messageStat(partitionId);
     }
 
+    /**
+     * Set the handler of local worker, the sorted buffers to the partitions
+     * of local worker are passed to the handler directly instead of sending
+     * through the transport client. The control messages are still sent by
+     * the client, so that the local session is started and finished in
+     * the same way as the remote sessions.
+     */
+    public void setLocalHandler(int localWorkerId, MessageHandler handler) {
+        if (!this.transportConf.localShortCircuit()) {
+            return;
+        }
+        this.localWorkerId = localWorkerId;
+        this.localHandler = handler;
+        LOG.info("The buffers to local worker {} are handled directly",
+                 localWorkerId);
+    }
+
     public void clearBuffer() {
         this.buffers.clear();
     }
@@ -195,16 +230,17 @@ public class MessageSendManager implements Manager {
                                    WriteBuffers buffer) {
         int workerId = this.partitioner.workerId(partitionId);
         return this.sortManager.sort(type, buffer).thenAccept(sortedBuffer -> {
-            // The following code is also executed in sort thread
-            buffer.finishSorting();
-            // Each target worker has a buffer queue
-            QueuedMessage message = new QueuedMessage(partitionId, type,
-                                                      sortedBuffer);
+            /*
+             * The following code is also executed in sort thread. The
+             * sorting is finished after the sorted buffer is handled or
+             * queued, because finishSend() only waits the sorting of the
+             * last buffers, and the sorting of the last buffer of the
+             * partition waits the previous sorting finished.
+             */
             try {
-                this.sender.send(workerId, message);
-            } catch (InterruptedException e) {
-                throw new ComputerException("Interrupted when waiting to " +
-                                            "put buffer into queue");
+                this.handleOrSend(workerId, partitionId, type, sortedBuffer);
+            } finally {
+                buffer.finishSorting();
             }
         }).whenComplete((r, e) -> {
             if (e != null) {
@@ -216,6 +252,66 @@ public class MessageSendManager implements Manager {
         });
     }
 
+    private void handleOrSend(int workerId, int partitionId,
+                              MessageType type, ByteBuffer sortedBuffer) {
+        if (workerId == this.localWorkerId && this.localHandler != null) {
+            /*
+             * The buffer is handled before the sending future completed,
+             * so it's always handled before the FINISH message.
+             */
+            this.handleLocal(partitionId, type, sortedBuffer);
+            return;
+        }
+        // Each target worker has a buffer queue
+        QueuedMessage message = new QueuedMessage(
+                                partitionId, type, sortedBuffer, () -> {
+            this.sortManager.releaseBuffer(sortedBuffer);
+        });
+        try {
+            this.sender.send(workerId, message);
+        } catch (InterruptedException e) {
+            throw new ComputerException("Interrupted when waiting to " +
+                                        "put buffer into queue");
+        }
+    }
+
+    private void handleLocal(int partitionId, MessageType type,
+                             ByteBuffer sortedBuffer) {
+        try {
+            NetworkBuffer buffer;
+            if (this.transportConf.recvBufferFileMode()) {
+                buffer = this.writeLocalFile(partitionId, type, sortedBuffer);
+            } else {
+                buffer = new NioBuffer(sortedBuffer);
+            }
+            this.localHandler.handle(type, partitionId, buffer);
+        } finally {
+            // The handler has copied or written the buffer
+            this.sortManager.releaseBuffer(sortedBuffer);
+        }
+    }
+
+    private NetworkBuffer writeLocalFile(int partitionId, MessageType type,
+                                         ByteBuffer sortedBuffer) {
+        // Write the buffer to file like the receiving from socket
+        String path = this.localHandler.genOutputPath(type, partitionId);
+        try (FileChannel channel = FileChannel.open(
+                                   Paths.get(path),
+                                   StandardOpenOption.CREATE,
+                                   StandardOpenOption.WRITE,
+                                   StandardOpenOption.TRUNCATE_EXISTING)) {
+            int length = sortedBuffer.remaining();
+            while (sortedBuffer.hasRemaining()) {
+                channel.write(sortedBuffer);
+            }
+            return new FileRegionBuffer(length, path);
+        } catch (IOException e) {
+            throw new ComputerException("Failed to write buffer of " +
+                                        "partition %s to file '%s'",
+                                        e, partitionId, path);
+        }
+    }
+
     private MessageStat sortAndSendLastBuffer(
                         Map<Integer, MessageSendPartition> all,
                         MessageType type) {
@@ -252,6 +348,12 @@ public class MessageSendManager implements Manager {
             throw new ComputerException("Failed to wait for sorting task " +
                                         "to finished", e);
         }
+        // The previous sorting may be unfinished if the last buffer is empty
+        for (MessageSendPartition partition : all.values()) {
+            for (WriteBuffers buffer : partition.buffers()) {
+                buffer.waitSorted();
+            }
+        }
 
         return messageWritten;
     }
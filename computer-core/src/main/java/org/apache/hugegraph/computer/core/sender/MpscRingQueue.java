@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.sender;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.hugegraph.util.E;
+
+/**
+ * A bounded lock-free queue for multiple producers and a single consumer.
+ * Each slot has a sequence number, a producer claims a slot by CAS on the
+ * tail and publishes the element by setting the sequence of the slot, so
+ * that the consumer only reads the published elements in the order the
+ * slots were claimed. The producers spin and then park when the queue is
+ * full, the consumer does the same when it takes from an empty queue.
+ */
+public class MpscRingQueue<T> {
+
+    private static final int SPIN_TIMES = 64;
+    // Park at most 2^20ns(about 1ms) each time
+    private static final int MAX_PARK_SHIFT = 20;
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<T> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail;
+    // Only updated by the consumer, volatile to be read by the producers
+    private volatile long head;
+
+    public MpscRingQueue(int capacity) {
+        // The published sequence collides with the next round if it's 1
+        E.checkArgument(capacity > 1 && (capacity & (capacity - 1)) == 0,
+                        "The capacity of ring queue must be power of 2 " +
+                        "and > 1, but got %s", capacity);
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            this.sequences.set(i, i);
+        }
+        this.tail = new AtomicLong(0L);
+        this.head = 0L;
+    }
+
+    /**
+     * Put the element, wait if the queue is full.
+     * @return true if the consumer has reached the slot of the element,
+     * which means the consumer may be waiting for it and needs a wakeup.
+     */
+    public boolean put(T element) throws InterruptedException {
+        E.checkArgumentNotNull(element, "The element can't be null");
+        int times = 0;
+        while (true) {
+            long position = this.tail.get();
+            int index = this.index(position);
+            long diff = this.sequences.get(index) - position;
+            if (diff == 0L) {
+                if (this.tail.compareAndSet(position, position + 1L)) {
+                    this.elements.set(index, element);
+                    this.sequences.set(index, position + 1L);
+                    return this.head == position;
+                }
+            } else if (diff < 0L) {
+                // The queue is full, wait the consumer to take
+                backoff(++times);
+            }
+        }
+    }
+
+    /**
+     * Return the element at the head, or null if the queue is empty.
+     * Only the consumer can call it.
+     */
+    public T peek() {
+        long position = this.head;
+        int index = this.index(position);
+        if (this.sequences.get(index) != position + 1L) {
+            return null;
+        }
+        return this.elements.get(index);
+    }
+
+    /**
+     * Remove and return the element at the head, or null if the queue is
+     * empty. Only the consumer can call it.
+     */
+    public T poll() {
+        long position = this.head;
+        int index = this.index(position);
+        if (this.sequences.get(index) != position + 1L) {
+            return null;
+        }
+        T element = this.elements.get(index);
+        this.elements.set(index, null);
+        // Free the slot for the producer of next round
+        this.sequences.set(index, position + this.capacity);
+        this.head = position + 1L;
+        return element;
+    }
+
+    /**
+     * Remove and return the element at the head, wait if the queue is
+     * empty. Only the consumer can call it.
+     */
+    public T take() throws InterruptedException {
+        int times = 0;
+        T element;
+        while ((element = this.poll()) == null) {
+            backoff(++times);
+        }
+        return element;
+    }
+
+    /**
+     * The number of the claimed slots, include the ones not published yet.
+     */
+    public int size() {
+        long size = this.tail.get() - this.head;
+        return (int) Math.max(0L, Math.min(size, this.capacity));
+    }
+
+    public int capacity() {
+        return this.capacity;
+    }
+
+    private int index(long position) {
+        return (int) (position & this.mask);
+    }
+
+    private static void backoff(int times) throws InterruptedException {
+        if (times <= SPIN_TIMES) {
+            Thread.onSpinWait();
+        } else {
+            int shift = Math.min(times - SPIN_TIMES, MAX_PARK_SHIFT);
+            LockSupport.parkNanos(1L << shift);
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+}
@@ -26,11 +26,19 @@ public class QueuedMessage {
     private final int partitionId;
     private final MessageType type;
     private final ByteBuffer buffer;
+    // Called after the buffer acked by the target worker, may be null
+    private final Runnable releaser;
 
     public QueuedMessage(int partitionId, MessageType type, ByteBuffer buffer) {
+        this(partitionId, type, buffer, null);
+    }
+
+    public QueuedMessage(int partitionId, MessageType type, ByteBuffer buffer,
+                         Runnable releaser) {
         this.partitionId = partitionId;
         this.type = type;
         this.buffer = buffer;
+        this.releaser = releaser;
     }
 
     public int partitionId() {
@@ -44,4 +52,8 @@ public class QueuedMessage {
     public ByteBuffer buffer() {
         return this.buffer;
     }
+
+    public Runnable releaser() {
+        return this.releaser;
+    }
 }
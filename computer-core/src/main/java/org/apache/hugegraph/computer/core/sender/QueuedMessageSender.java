@@ -17,14 +17,20 @@
 
 package org.apache.hugegraph.computer.core.sender;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.apache.hugegraph.computer.core.common.Constants;
 import org.apache.hugegraph.computer.core.common.exception.ComputerException;
 import org.apache.hugegraph.computer.core.common.exception.TransportException;
 import org.apache.hugegraph.computer.core.config.ComputerOptions;
 import org.apache.hugegraph.computer.core.config.Config;
 import org.apache.hugegraph.computer.core.network.ConnectionId;
+import org.apache.hugegraph.computer.core.network.StripedTransportClient;
 import org.apache.hugegraph.computer.core.network.TransportClient;
 import org.apache.hugegraph.computer.core.network.message.MessageType;
 import org.apache.hugegraph.concurrent.BarrierEvent;
@@ -36,36 +42,52 @@ public class QueuedMessageSender implements MessageSender {
 
     public static final Logger LOG = Log.logger(QueuedMessageSender.class);
 
-    private static final String NAME = "send-executor";
+    private static final String PREFIX = "send-executor-";
 
     // Each target worker has a WorkerChannel
     private final WorkerChannel[] channels;
-    // The thread used to send vertex/message, only one is enough
-    private final Thread sendExecutor;
-    private final BarrierEvent anyQueueNotEmptyEvent;
-    private final BarrierEvent anyClientNotBusyEvent;
+    // Each sender sends messages of a fixed group of channels
+    private final Sender[] senders;
+    // The threads used to send vertex/message, one for each sender
+    private final Thread[] sendExecutors;
+    private final String queueType;
 
     public QueuedMessageSender(Config config) {
         int workerCount = config.get(ComputerOptions.JOB_WORKERS_COUNT);
+        int threadNum = Math.min(config.get(
+                                 ComputerOptions.WORKER_SEND_THREAD_NUMS),
+                                 workerCount);
         // NOTE: the workerId start from 1
         this.channels = new WorkerChannel[workerCount];
-        // TODO: pass send-executor in and share executor with others
-        this.sendExecutor = new Thread(new Sender(), NAME);
-        this.anyQueueNotEmptyEvent = new BarrierEvent();
-        this.anyClientNotBusyEvent = new BarrierEvent();
+        this.senders = new Sender[threadNum];
+        this.sendExecutors = new Thread[threadNum];
+        this.queueType = config.get(ComputerOptions.WORKER_SEND_QUEUE_TYPE);
+        for (int i = 0; i < threadNum; i++) {
+            this.senders[i] = new Sender();
+            this.sendExecutors[i] = new Thread(this.senders[i], PREFIX + i);
+        }
     }
 
     public void init() {
         for (WorkerChannel channel : this.channels) {
             E.checkNotNull(channel, "channel");
         }
-        this.sendExecutor.start();
+        for (int i = 0; i < this.channels.length; i++) {
+            this.senders[senderId(i)].channels.add(this.channels[i]);
+        }
+        for (Thread sendExecutor : this.sendExecutors) {
+            sendExecutor.start();
+        }
     }
 
     public void close() {
-        this.sendExecutor.interrupt();
+        for (Thread sendExecutor : this.sendExecutors) {
+            sendExecutor.interrupt();
+        }
         try {
-            this.sendExecutor.join();
+            for (Thread sendExecutor : this.sendExecutors) {
+                sendExecutor.join();
+            }
         } catch (InterruptedException e) {
             throw new ComputerException("Interrupted when waiting for " +
                                         "send-executor to stop", e);
@@ -73,8 +95,9 @@ public class QueuedMessageSender implements MessageSender {
     }
 
     public void addWorkerClient(int workerId, TransportClient client) {
-        MessageQueue queue = new MessageQueue(
-                             this.anyQueueNotEmptyEvent::signal);
+        Sender sender = this.senders[senderId(channelId(workerId))];
+        MessageQueue queue = this.createQueue(
+                             sender.anyQueueNotEmptyEvent::signal);
         WorkerChannel channel = new WorkerChannel(workerId, queue, client);
         this.channels[channelId(workerId)] = channel;
         LOG.info("Add client {} for worker {}",
@@ -93,7 +116,7 @@ public class QueuedMessageSender implements MessageSender {
          * Control message just need message type is enough,
          * partitionId = -1 and buffer = null represents a meaningless value
          */
-        channel.queue.put(new QueuedMessage(-1, type, null));
+        channel.put(new QueuedMessage(-1, type, null));
         return future;
     }
 
@@ -101,28 +124,44 @@ public class QueuedMessageSender implements MessageSender {
     public void send(int workerId, QueuedMessage message)
                      throws InterruptedException {
         WorkerChannel channel = this.channels[channelId(workerId)];
-        channel.queue.put(message);
+        channel.put(message);
     }
 
     @Override
     public void transportExceptionCaught(TransportException cause, ConnectionId connectionId) {
         for (WorkerChannel channel : this.channels) {
-            if (channel.client.connectionId().equals(connectionId)) {
+            if (channel.connectedTo(connectionId)) {
                 channel.futureRef.get().completeExceptionally(cause);
             }
         }
     }
 
-    public Runnable notBusyNotifier() {
-        /*
-         * DataClientHandler.sendAvailable() will call it when client
-         * is available
-         */
-        return this.anyClientNotBusyEvent::signal;
+    /**
+     * Called by DataClientHandler.sendAvailable() when the client connected
+     * to the connectionId is available, only the sender of the channel is
+     * waked up.
+     */
+    public void sendAvailable(ConnectionId connectionId) {
+        for (int i = 0; i < this.channels.length; i++) {
+            WorkerChannel channel = this.channels[i];
+            if (channel != null && channel.connectedTo(connectionId)) {
+                this.senders[senderId(i)].anyClientNotBusyEvent.signal();
+            }
+        }
     }
 
     private class Sender implements Runnable {
 
+        private final List<WorkerChannel> channels;
+        private final BarrierEvent anyQueueNotEmptyEvent;
+        private final BarrierEvent anyClientNotBusyEvent;
+
+        public Sender() {
+            this.channels = new ArrayList<>();
+            this.anyQueueNotEmptyEvent = new BarrierEvent();
+            this.anyClientNotBusyEvent = new BarrierEvent();
+        }
+
         @Override
         public void run() {
             LOG.info("The send-executor is running");
@@ -131,7 +170,12 @@ public class QueuedMessageSender implements MessageSender {
                 try {
                     int emptyQueueCount = 0;
                     int busyClientCount = 0;
-                    for (WorkerChannel channel : channels) {
+                    /*
+                     * Send at most one message of each channel in a round,
+                     * so that a channel with a burst of messages can't
+                     * starve the others
+                     */
+                    for (WorkerChannel channel : this.channels) {
                         QueuedMessage message = channel.queue.peek();
                         if (message == null) {
                             ++emptyQueueCount;
@@ -144,7 +188,7 @@ public class QueuedMessageSender implements MessageSender {
                             ++busyClientCount;
                         }
                     }
-                    int channelCount = channels.length;
+                    int channelCount = this.channels.size();
                     /*
                      * If all queues are empty, let send thread wait
                      * until any queue is available
@@ -152,7 +196,7 @@ public class QueuedMessageSender implements MessageSender {
                     if (emptyQueueCount >= channelCount) {
                         LOG.debug("The send executor was blocked " +
                                   "to wait any queue not empty");
-                        QueuedMessageSender.this.waitAnyQueueNotEmpty();
+                        this.waitAnyQueueNotEmpty();
                     }
                     /*
                      * If all clients are busy, let send thread wait
@@ -161,7 +205,7 @@ public class QueuedMessageSender implements MessageSender {
                     if (busyClientCount >= channelCount) {
                         LOG.debug("The send executor was blocked " +
                                   "to wait any client not busy");
-                        QueuedMessageSender.this.waitAnyClientNotBusy();
+                        this.waitAnyClientNotBusy();
                     }
                 } catch (InterruptedException e) {
                     // Reset interrupted flag
@@ -179,29 +223,29 @@ public class QueuedMessageSender implements MessageSender {
             }
             LOG.info("The send-executor is terminated");
         }
-    }
 
-    private void waitAnyQueueNotEmpty() {
-        try {
-            this.anyQueueNotEmptyEvent.await();
-        } catch (InterruptedException e) {
-            // Reset interrupted flag
-            Thread.currentThread().interrupt();
-        } finally {
-            this.anyQueueNotEmptyEvent.reset();
+        private void waitAnyQueueNotEmpty() {
+            try {
+                this.anyQueueNotEmptyEvent.await();
+            } catch (InterruptedException e) {
+                // Reset interrupted flag
+                Thread.currentThread().interrupt();
+            } finally {
+                this.anyQueueNotEmptyEvent.reset();
+            }
         }
-    }
 
-    private void waitAnyClientNotBusy() {
-        try {
-            this.anyClientNotBusyEvent.await();
-        } catch (InterruptedException e) {
-            // Reset interrupted flag
-            Thread.currentThread().interrupt();
-            throw new ComputerException("Interrupted when waiting any client " +
-                                        "not busy");
-        } finally {
-            this.anyClientNotBusyEvent.reset();
+        private void waitAnyClientNotBusy() {
+            try {
+                this.anyClientNotBusyEvent.await();
+            } catch (InterruptedException e) {
+                // Reset interrupted flag
+                Thread.currentThread().interrupt();
+                throw new ComputerException("Interrupted when waiting any " +
+                                            "client not busy");
+            } finally {
+                this.anyClientNotBusyEvent.reset();
+            }
         }
     }
 
@@ -215,11 +259,29 @@ public class QueuedMessageSender implements MessageSender {
         return count;
     }
 
+    private MessageQueue createQueue(Runnable notEmptyNotifier) {
+        switch (this.queueType) {
+            case "BLOCKING":
+                return new BlockingMessageQueue(notEmptyNotifier,
+                                                Constants.QUEUE_CAPACITY);
+            case "RING":
+                return new RingMessageQueue(notEmptyNotifier,
+                                            Constants.QUEUE_CAPACITY);
+            default:
+                throw new ComputerException("Unexpected send queue type '%s'",
+                                            this.queueType);
+        }
+    }
+
     private static int channelId(int workerId) {
         assert workerId > 0;
         return workerId - 1;
     }
 
+    private int senderId(int channelId) {
+        return channelId % this.senders.length;
+    }
+
     private static class WorkerChannel {
 
         private final int workerId;
@@ -229,12 +291,46 @@ public class QueuedMessageSender implements MessageSender {
         private final TransportClient client;
         private final AtomicReference<CompletableFuture<Void>> futureRef;
 
+        // The stat of sending in the current superstep
+        private final AtomicInteger maxQueueSize;
+        private long sentCount;
+        private long blockedTime;
+        private long blockedSince;
+
         public WorkerChannel(int workerId, MessageQueue queue,
                              TransportClient client) {
             this.workerId = workerId;
             this.queue = queue;
             this.client = client;
             this.futureRef = new AtomicReference<>();
+            this.maxQueueSize = new AtomicInteger();
+            this.sentCount = 0L;
+            this.blockedTime = 0L;
+            this.blockedSince = 0L;
+        }
+
+        public void put(QueuedMessage message) throws InterruptedException {
+            this.queue.put(message);
+            int size = this.queue.size();
+            this.maxQueueSize.accumulateAndGet(size, Math::max);
+        }
+
+        /**
+         * Whether the client of channel or any of its striped clients is
+         * connected by the connection id.
+         */
+        public boolean connectedTo(ConnectionId connectionId) {
+            if (this.client instanceof StripedTransportClient) {
+                StripedTransportClient striped =
+                                       (StripedTransportClient) this.client;
+                for (TransportClient client : striped.clients()) {
+                    if (client.connectionId().equals(connectionId)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            return this.client.connectionId().equals(connectionId);
         }
 
         public CompletableFuture<Void> newFuture() {
@@ -261,13 +357,42 @@ public class QueuedMessageSender implements MessageSender {
                     this.sendStartMessage();
                     return true;
                 case FINISH:
+                    this.logAndResetStat();
                     this.sendFinishMessage();
                     return true;
                 default:
-                    return this.sendDataMessage(message);
+                    boolean sent = this.sendDataMessage(message);
+                    this.updateStat(sent);
+                    return sent;
+            }
+        }
+
+        /**
+         * The blocked time is the time that the message of the channel
+         * waits for the busy client.
+         */
+        private void updateStat(boolean sent) {
+            long now = System.nanoTime();
+            if (sent) {
+                this.sentCount++;
+                if (this.blockedSince != 0L) {
+                    this.blockedTime += now - this.blockedSince;
+                    this.blockedSince = 0L;
+                }
+            } else if (this.blockedSince == 0L) {
+                this.blockedSince = now;
             }
         }
 
+        private void logAndResetStat() {
+            LOG.info("Sent {} messages to {}, the max queue size is {}, " +
+                     "blocked {}ms by busy client", this.sentCount, this,
+                     this.maxQueueSize.getAndSet(0),
+                     TimeUnit.NANOSECONDS.toMillis(this.blockedTime));
+            this.sentCount = 0L;
+            this.blockedTime = 0L;
+        }
+
         public void sendStartMessage() throws TransportException {
             this.client.startSessionAsync().whenComplete((r, e) -> {
                 CompletableFuture<Void> future = this.futureRef.get();
@@ -301,7 +426,7 @@ public class QueuedMessageSender implements MessageSender {
         public boolean sendDataMessage(QueuedMessage message)
                                        throws TransportException {
             return this.client.send(message.type(), message.partitionId(),
-                                    message.buffer());
+                                    message.buffer(), message.releaser());
         }
 
         @Override
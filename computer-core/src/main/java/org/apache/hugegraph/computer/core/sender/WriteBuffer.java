@@ -19,8 +19,12 @@ package org.apache.hugegraph.computer.core.sender;
 
 import java.io.IOException;
 
+import org.apache.hugegraph.computer.core.combiner.Combiner;
 import org.apache.hugegraph.computer.core.common.ComputerContext;
+import org.apache.hugegraph.computer.core.config.ComputerOptions;
+import org.apache.hugegraph.computer.core.config.Config;
 import org.apache.hugegraph.computer.core.graph.id.Id;
+import org.apache.hugegraph.computer.core.graph.id.IdType;
 import org.apache.hugegraph.computer.core.graph.value.Value;
 import org.apache.hugegraph.computer.core.graph.vertex.Vertex;
 import org.apache.hugegraph.computer.core.io.BytesOutput;
@@ -42,6 +46,8 @@ class WriteBuffer {
     private final int threshold;
     private final BytesOutput bytesOutput;
     private final GraphComputeOutput graphOutput;
+    // Combine the messages with long target id before written if not null
+    private final MessageCombineTable combineTable;
     private long writeCount;
 
     public WriteBuffer(ComputerContext context, int threshold, int capacity) {
@@ -50,6 +56,7 @@ class WriteBuffer {
         this.bytesOutput = IOFactory.createBytesOutput(capacity);
         EntryOutput entryOutput = new EntryOutputImpl(this.bytesOutput);
         this.graphOutput = new StreamGraphOutput(context, entryOutput);
+        this.combineTable = createCombineTable(context.config());
         this.writeCount = 0L;
     }
 
@@ -58,7 +65,8 @@ class WriteBuffer {
     }
 
     public boolean isEmpty() {
-        return this.bytesOutput.position() == 0L;
+        return this.bytesOutput.position() == 0L &&
+               (this.combineTable == null || this.combineTable.isEmpty());
     }
 
     public long numBytes() {
@@ -90,6 +98,37 @@ class WriteBuffer {
 
     public void writeMessage(Id targetId, Value value) throws IOException {
         this.writeCount++;
+        if (this.combineTable != null && targetId.idType() == IdType.LONG) {
+            this.combineTable.put((Long) targetId.asObject(), value);
+            if (this.combineTable.full()) {
+                this.flushCombined();
+            }
+            return;
+        }
         this.graphOutput.writeMessage(targetId, value);
     }
+
+    /**
+     * Write the messages combined in the table to the buffer, it must be
+     * called before the buffer is sorted.
+     */
+    public void flushCombined() throws IOException {
+        if (this.combineTable != null && !this.combineTable.isEmpty()) {
+            this.combineTable.flush(this.graphOutput);
+        }
+    }
+
+    private static MessageCombineTable createCombineTable(Config config) {
+        int maxSize = config.get(ComputerOptions.WORKER_SENDER_COMBINE_SIZE);
+        if (maxSize == 0) {
+            return null;
+        }
+        Combiner<Value> combiner = config.createObject(
+                                   ComputerOptions.WORKER_COMBINER_CLASS,
+                                   false);
+        if (combiner == null) {
+            return null;
+        }
+        return new MessageCombineTable(combiner, maxSize);
+    }
 }
@@ -99,13 +99,12 @@ public class WriteBuffers {
      */
     public synchronized void prepareSorting() {
         // Ensure last sorting task finished
-        while (!this.sortingBuffer.isEmpty()) {
-            try {
-                this.wait();
-            } catch (InterruptedException e) {
-                throw new ComputerException("Interrupted when waiting " +
-                                            "sorting buffer empty");
-            }
+        this.waitSorted();
+        try {
+            this.writingBuffer.flushCombined();
+        } catch (IOException e) {
+            throw new ComputerException("Failed to flush combined messages",
+                                        e);
         }
         // Record total message bytes
         this.totalCount += this.writingBuffer.writeCount();
@@ -116,6 +115,21 @@ public class WriteBuffers {
         this.sortingBuffer = temp;
     }
 
+    /**
+     * Wait the last sorting task finished, the sorted buffer has been
+     * handled or queued to send when the task finished.
+     */
+    public synchronized void waitSorted() {
+        while (!this.sortingBuffer.isEmpty()) {
+            try {
+                this.wait();
+            } catch (InterruptedException e) {
+                throw new ComputerException("Interrupted when waiting " +
+                                            "sorting buffer empty");
+            }
+        }
+    }
+
     public synchronized void finishSorting() {
         try {
             this.sortingBuffer.clear();
@@ -17,45 +17,78 @@
 
 package org.apache.hugegraph.computer.core.snapshot;
 
-import io.minio.BucketExistsArgs;
-import io.minio.DownloadObjectArgs;
-import io.minio.ListObjectsArgs;
-import io.minio.MakeBucketArgs;
-import io.minio.MinioClient;
-import io.minio.RemoveObjectsArgs;
-import io.minio.Result;
-import io.minio.UploadObjectArgs;
-import io.minio.messages.DeleteError;
-import io.minio.messages.DeleteObject;
-import io.minio.messages.Item;
-import org.apache.commons.lang.StringUtils;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.io.FileUtils;
 import org.apache.hugegraph.computer.core.common.ComputerContext;
+import org.apache.hugegraph.computer.core.common.Constants;
 import org.apache.hugegraph.computer.core.common.ContainerInfo;
 import org.apache.hugegraph.computer.core.common.exception.ComputerException;
 import org.apache.hugegraph.computer.core.config.ComputerOptions;
+import org.apache.hugegraph.computer.core.compute.ComputeManager;
 import org.apache.hugegraph.computer.core.config.Config;
+import org.apache.hugegraph.computer.core.graph.partition.PartitionStat;
 import org.apache.hugegraph.computer.core.graph.partition.Partitioner;
+import org.apache.hugegraph.computer.core.io.BufferedFileInput;
+import org.apache.hugegraph.computer.core.io.BufferedFileOutput;
+import org.apache.hugegraph.computer.core.io.RandomAccessInput;
 import org.apache.hugegraph.computer.core.manager.Manager;
 import org.apache.hugegraph.computer.core.network.buffer.FileRegionBuffer;
 import org.apache.hugegraph.computer.core.network.message.MessageType;
 import org.apache.hugegraph.computer.core.receiver.MessageRecvManager;
-import org.apache.hugegraph.computer.core.sender.MessageSendManager;
+import org.apache.hugegraph.computer.core.worker.WorkerStat;
+import org.apache.hugegraph.util.Bytes;
+import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.ExecutorUtil;
 import org.apache.hugegraph.util.Log;
 import org.slf4j.Logger;
 
-import java.io.File;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Locale;
-
+/**
+ * The snapshot of input vertex and edge partitions is made of the sorted
+ * output files of the partitions. The files of a partition are saved as
+ * objects named by their checksums, and a manifest object lists the files
+ * with their checksums, so the unchanged files are skipped when the
+ * snapshot is written again. The manifest is written after all the files,
+ * so a snapshot without manifest is incomplete. If
+ * {@link ComputerOptions#SNAPSHOT_PARTITION_LAYOUT} is enabled, the snapshot
+ * is made of the files of partitions built at the end of inputstep and
+ * their stats instead, which are restored directly when loading.
+ */
 public class SnapshotManager implements Manager {
 
     private static final Logger LOG = Log.logger(SnapshotManager.class);
     public static final String NAME = "worker_snapshot";
 
-    private final MessageSendManager sendManager;
+    private static final String MANIFEST = "manifest";
+    private static final String PARTITION = "PARTITION";
+    private static final String PARTITION_STAT = "partition_stat";
+    private static final String CHECKSUM_ALGORITHM = "MD5";
+    private static final int CHECKSUM_BUFFER_SIZE = 64 * 1024;
+    private static final MessageType[] INPUT_TYPES = {MessageType.VERTEX,
+                                                      MessageType.EDGE};
+
     private final MessageRecvManager recvManager;
 
     private final ContainerInfo workerInfo;
@@ -63,17 +96,18 @@ public class SnapshotManager implements Manager {
     private final int partitionCount;
     private final boolean loadSnapshot;
     private final boolean writeSnapshot;
+    private final boolean partitionLayout;
     private final String snapshotName;
 
-    private MinioClient minioClient;
-    private String bucketName;
+    private SnapshotStore store;
+    private ExecutorService transferExecutor;
 
-    public SnapshotManager(ComputerContext context, MessageSendManager sendManager,
-                           MessageRecvManager recvManager, ContainerInfo workerInfo) {
+    public SnapshotManager(ComputerContext context, MessageRecvManager recvManager,
+                           ContainerInfo workerInfo) {
         this.loadSnapshot = context.config().get(ComputerOptions.SNAPSHOT_LOAD);
         this.writeSnapshot = context.config().get(ComputerOptions.SNAPSHOT_WRITE);
+        this.partitionLayout = context.config().get(ComputerOptions.SNAPSHOT_PARTITION_LAYOUT);
 
-        this.sendManager = sendManager;
         this.recvManager = recvManager;
         this.recvManager.setSnapshotManager(this);
 
@@ -90,36 +124,25 @@ public class SnapshotManager implements Manager {
 
     @Override
     public void init(Config config) {
-        String endpoint = config.get(ComputerOptions.SNAPSHOT_MINIO_ENDPOINT);
-        this.bucketName = config.get(ComputerOptions.SNAPSHOT_MINIO_BUCKET_NAME);
-
-        if (StringUtils.isNotEmpty(endpoint) && StringUtils.isNotEmpty(this.bucketName)) {
-            String accessKey = config.get(ComputerOptions.SNAPSHOT_MINIO_ACCESS_KEY);
-            String secretKey = config.get(ComputerOptions.SNAPSHOT_MINIO_SECRET_KEY);
-            this.minioClient = MinioClient.builder()
-                                          .endpoint(endpoint)
-                                          .credentials(accessKey, secretKey)
-                                          .build();
-
-            try {
-                boolean bucketExist = this.minioClient.bucketExists(
-                        BucketExistsArgs.builder()
-                                        .bucket(this.bucketName)
-                                        .build());
-                if (!bucketExist) {
-                    this.minioClient.makeBucket(MakeBucketArgs.builder()
-                                                              .bucket(this.bucketName)
-                                                              .build());
-                }
-            } catch (Exception e) {
-                throw new ComputerException("Failed to initialize bucket %s", this.bucketName, e);
-            }
+        this.partitioner.init(config);
+        if (!this.loadSnapshot && !this.writeSnapshot) {
+            return;
         }
+        this.store = config.createObject(ComputerOptions.SNAPSHOT_STORE_CLASS);
+        this.store.init(config);
+        int threads = config.get(ComputerOptions.SNAPSHOT_TRANSFER_THREADS);
+        this.transferExecutor = ExecutorUtil.newFixedThreadPool(threads,
+                                                                "snapshot-transfer-%s");
     }
 
     @Override
     public void close(Config config) {
-        // pass
+        if (this.transferExecutor != null) {
+            this.transferExecutor.shutdown();
+        }
+        if (this.store != null) {
+            this.store.close();
+        }
     }
 
     public boolean loadSnapshot() {
@@ -130,142 +153,372 @@ public class SnapshotManager implements Manager {
         return this.writeSnapshot;
     }
 
+    /**
+     * Whether to load the built partitions from snapshot instead of the
+     * received vertex and edge files.
+     */
+    public boolean loadPartitionLayout() {
+        return this.loadSnapshot && this.partitionLayout;
+    }
+
+    /**
+     * Whether to write the partitions built at inputstep to snapshot.
+     */
+    public boolean writePartitionLayout() {
+        return this.writeSnapshot && this.partitionLayout && !this.loadSnapshot;
+    }
+
     public void upload(MessageType messageType, int partitionId, List<String> outputFiles) {
         if (this.loadSnapshot()) {
             LOG.info("No later {} snapshots have to be uploaded",
                       messageType.name().toLowerCase(Locale.ROOT));
             return;
         }
-        this.uploadObjects(messageType, partitionId, outputFiles);
+        if (this.partitionLayout) {
+            // The built partitions are uploaded instead at the end of inputstep
+            return;
+        }
+        String dirName = this.generateObjectDirName(messageType.name(), partitionId);
+        this.uploadOutputs(dirName, outputFiles);
     }
 
-    public void load() {
-        int id = this.workerInfo.id();
-        for (int partitionId = 0; partitionId < this.partitionCount; partitionId++) {
-            if (this.partitioner.workerId(partitionId) == id) {
-                // TODO: Do not need to send control message to all workers
-                this.sendManager.startSend(MessageType.VERTEX);
-                this.downloadObjects(MessageType.VERTEX, partitionId);
-                this.sendManager.finishSend(MessageType.VERTEX);
-
-                this.sendManager.startSend(MessageType.EDGE);
-                this.downloadObjects(MessageType.EDGE, partitionId);
-                this.sendManager.finishSend(MessageType.EDGE);
+    /**
+     * Save the partitions built at inputstep and their stats to snapshot,
+     * the partitions are saved to the local directory first, and the
+     * directory is deleted after uploaded.
+     */
+    public void uploadPartitions(ComputeManager computeManager, WorkerStat workerStat,
+                                 File dir) {
+        E.checkState(this.store != null, "The snapshot manager isn't initialized to write");
+        try {
+            Map<Integer, File> dirs = computeManager.checkpoint(dir);
+            for (PartitionStat stat : workerStat) {
+                File partitionDir = dirs.get(stat.partitionId());
+                E.checkState(partitionDir != null,
+                             "The partition %s isn't built", stat.partitionId());
+                writeStat(stat, new File(partitionDir, PARTITION_STAT));
+                String dirName = this.generateObjectDirName(PARTITION, stat.partitionId());
+                this.uploadOutputs(dirName,
+                                   Collections.singletonList(partitionDir.getPath()));
             }
+        } finally {
+            FileUtils.deleteQuietly(dir);
         }
     }
 
-    private void uploadObjects(MessageType messageType, int partitionId,
-                               List<String> outputFiles) {
-        String dirName = this.generateObjectDirName(messageType, partitionId);
-
+    /**
+     * Load the partitions of this worker built at inputstep from snapshot
+     * into the compute manager, and return their stats, so the vertices
+     * and edges needn't to be received, merged and built again. The
+     * partitions are downloaded to the local directory in parallel, and
+     * the directory is deleted after the partitions are restored.
+     */
+    public WorkerStat loadPartitions(ComputeManager computeManager, File dir) {
+        E.checkState(this.store != null, "The snapshot manager isn't initialized to load");
+        int id = this.workerInfo.id();
+        Map<Integer, File> dirs = new TreeMap<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
         try {
-            this.clearObjectsIfExist(dirName);
-        } catch (Exception e) {
-            throw new ComputerException("Failed to clear out-dated snapshots from %s", dirName, e);
-        }
+            for (int partitionId = 0; partitionId < this.partitionCount; partitionId++) {
+                if (this.partitioner.workerId(partitionId) != id) {
+                    continue;
+                }
+                String dirName = this.generateObjectDirName(PARTITION, partitionId);
+                List<ManifestEntry> entries = this.downloadManifest(dirName);
+                if (entries.isEmpty()) {
+                    continue;
+                }
+                File partitionDir = new File(dir, String.valueOf(partitionId));
+                dirs.put(partitionId, partitionDir);
+                futures.add(CompletableFuture.runAsync(() -> {
+                    this.downloadOutput(dirName, entries, partitionDir.getPath());
+                }, this.transferExecutor));
+            }
+            waitTransferred(futures, "load partition snapshots");
 
-        LOG.info("Upload {} snapshots for partition {}",
-                  messageType.name().toLowerCase(Locale.ROOT), partitionId);
-        for (String outputFile : outputFiles) {
-            String objectName = dirName + new File(outputFile).getName();
-            this.uploadObject(outputFile, objectName);
+            computeManager.restore(dirs, Constants.INPUT_SUPERSTEP);
+            WorkerStat workerStat = new WorkerStat(id);
+            for (File partitionDir : dirs.values()) {
+                workerStat.add(readStat(new File(partitionDir, PARTITION_STAT)));
+            }
+            LOG.info("Load {} partitions from snapshot", dirs.size());
+            return workerStat;
+        } finally {
+            FileUtils.deleteQuietly(dir);
         }
     }
 
-    private void downloadObjects(MessageType messageType, int partitionId) {
-        LOG.info("Load {} snapshots for partition {}",
-                  messageType.name().toLowerCase(Locale.ROOT), partitionId);
-        String dirName = this.generateObjectDirName(messageType, partitionId);
+    /**
+     * Download the snapshot files of the partitions of this worker in
+     * parallel, and pass the files to the receive manager directly. The
+     * workers load the snapshot by themselves, so the receive manager is
+     * finished without the control messages between workers.
+     */
+    public void load() {
+        E.checkState(this.store != null, "The snapshot manager isn't initialized to load");
+        int id = this.workerInfo.id();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int partitionId = 0; partitionId < this.partitionCount; partitionId++) {
+            if (this.partitioner.workerId(partitionId) != id) {
+                continue;
+            }
+            for (MessageType messageType : INPUT_TYPES) {
+                futures.addAll(this.downloadObjects(messageType, partitionId));
+            }
+        }
+        waitTransferred(futures, "load snapshots");
+        this.recvManager.finishInputLocally();
+    }
 
-        try {
-            Iterable<Result<Item>> snapshotFiles = this.minioClient.listObjects(
-                    ListObjectsArgs.builder()
-                                   .bucket(this.bucketName)
-                                   .prefix(dirName)
-                                   .build());
-
-            if (!snapshotFiles.iterator().hasNext()) {
-                throw new ComputerException("Empty snapshot directory %s", dirName);
+    private void uploadOutputs(String dirName, List<String> outputFiles) {
+        Set<String> existedKeys = new HashSet<>(this.store.list(dirName));
+        String manifestKey = dirName + MANIFEST;
+
+        List<ManifestEntry> entries = this.manifestEntries(outputFiles);
+        Set<String> referredKeys = new HashSet<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (ManifestEntry entry : entries) {
+            String key = dirName + entry.checksum;
+            if (!referredKeys.add(key) || existedKeys.contains(key)) {
+                // The file is unchanged or same as another file
+                continue;
             }
+            futures.add(CompletableFuture.runAsync(() -> {
+                this.store.upload(entry.file, key);
+            }, this.transferExecutor));
+        }
+        waitTransferred(futures, "upload snapshots to " + dirName);
+        this.uploadManifest(entries, manifestKey);
 
-            for (Result<Item> result : snapshotFiles) {
-                Item item = result.get();
-                int size = (int) item.size();
-                String objectName = item.objectName();
+        existedKeys.removeAll(referredKeys);
+        existedKeys.remove(manifestKey);
+        this.store.delete(existedKeys);
 
-                String outputPath = this.recvManager.genOutputPath(messageType, partitionId);
-                this.downloadObject(objectName, outputPath);
+        LOG.info("Upload snapshots to {}: {} of {} files uploaded, {} out-dated " +
+                 "files deleted", dirName, futures.size(), entries.size(),
+                 existedKeys.size());
+    }
 
-                FileRegionBuffer fileRegionBuffer = new FileRegionBuffer(size, outputPath);
-                this.recvManager.handle(messageType, partitionId, fileRegionBuffer);
+    private List<ManifestEntry> manifestEntries(List<String> outputFiles) {
+        List<CompletableFuture<ManifestEntry>> futures = new ArrayList<>();
+        for (int i = 0; i < outputFiles.size(); i++) {
+            File output = new File(outputFiles.get(i));
+            if (!output.isDirectory()) {
+                futures.add(this.manifestEntryAsync(String.valueOf(i), output));
+                continue;
+            }
+            // The sorted output may be a directory of several files
+            File[] files = output.listFiles();
+            E.checkState(files != null, "Can't list the output dir %s", output);
+            Arrays.sort(files);
+            for (File file : files) {
+                String path = i + "/" + file.getName();
+                futures.add(this.manifestEntryAsync(path, file));
             }
-        } catch (Exception e) {
-            throw new ComputerException("Failed to download snapshots from %s", dirName, e);
         }
+        waitTransferred(new ArrayList<>(futures), "compute checksums of snapshots");
+        List<ManifestEntry> entries = new ArrayList<>(futures.size());
+        for (CompletableFuture<ManifestEntry> future : futures) {
+            entries.add(future.join());
+        }
+        return entries;
     }
 
-    private void uploadObject(String fileName, String objectName) {
+    private CompletableFuture<ManifestEntry> manifestEntryAsync(String path, File file) {
+        return CompletableFuture.supplyAsync(() -> {
+            return new ManifestEntry(path, file.length(), checksum(file), file);
+        }, this.transferExecutor);
+    }
+
+    private void uploadManifest(List<ManifestEntry> entries, String manifestKey) {
+        List<String> lines = new ArrayList<>(entries.size());
+        for (ManifestEntry entry : entries) {
+            lines.add(entry.toLine());
+        }
+        File manifest = null;
         try {
-            this.minioClient.uploadObject(UploadObjectArgs.builder()
-                                                          .bucket(this.bucketName)
-                                                          .object(objectName)
-                                                          .filename(fileName)
-                                                          .build());
-        } catch (Exception e) {
-            throw new ComputerException("Failed to upload snapshot %s to %s",
-                                         fileName, objectName, e);
+            manifest = Files.createTempFile(MANIFEST, null).toFile();
+            FileUtils.writeLines(manifest, StandardCharsets.UTF_8.name(), lines);
+            this.store.upload(manifest, manifestKey);
+        } catch (IOException e) {
+            throw new ComputerException("Failed to write snapshot manifest %s", e, manifestKey);
+        } finally {
+            FileUtils.deleteQuietly(manifest);
         }
     }
 
-    private void downloadObject(String objectName, String outputPath) {
+    private List<ManifestEntry> downloadManifest(String dirName) {
+        List<String> keys = this.store.list(dirName);
+        String manifestKey = dirName + MANIFEST;
+        if (!keys.contains(manifestKey)) {
+            if (!keys.isEmpty()) {
+                throw new ComputerException("The snapshot %s is incomplete, the manifest " +
+                                            "isn't found", dirName);
+            }
+            // The partition has no vertex or edge when writing snapshot
+            return new ArrayList<>();
+        }
+        File manifest = null;
         try {
-            this.minioClient.downloadObject(DownloadObjectArgs.builder()
-                                                              .bucket(this.bucketName)
-                                                              .object(objectName)
-                                                              .filename(outputPath)
-                                                              .build());
-        } catch (Exception e) {
-            throw new ComputerException("Failed to download snapshot from %s to %s",
-                                         objectName, outputPath, e);
+            manifest = Files.createTempFile(MANIFEST, null).toFile();
+            this.store.download(manifestKey, manifest);
+            List<ManifestEntry> entries = new ArrayList<>();
+            for (String line : FileUtils.readLines(manifest, StandardCharsets.UTF_8)) {
+                entries.add(ManifestEntry.parse(line));
+            }
+            return entries;
+        } catch (IOException e) {
+            throw new ComputerException("Failed to read snapshot manifest %s", e, manifestKey);
+        } finally {
+            FileUtils.deleteQuietly(manifest);
         }
     }
 
-    private void clearObjectsIfExist(String dirName) throws Exception {
-        List<DeleteObject> objects = new LinkedList<>();
-        Iterable<Result<Item>> snapshotFiles = this.minioClient.listObjects(
-                ListObjectsArgs.builder()
-                               .bucket(this.bucketName)
-                               .prefix(dirName)
-                               .build());
-        if (!snapshotFiles.iterator().hasNext()) {
-            return;
+    private List<CompletableFuture<Void>> downloadObjects(MessageType messageType,
+                                                          int partitionId) {
+        String dirName = this.generateObjectDirName(messageType.name(), partitionId);
+        List<ManifestEntry> entries = this.downloadManifest(dirName);
+        LOG.info("Load {} snapshots for partition {}: {} files",
+                  messageType.name().toLowerCase(Locale.ROOT), partitionId, entries.size());
+
+        // Group the files of the same output, keep the order of the outputs
+        Map<String, List<ManifestEntry>> outputs = new LinkedHashMap<>();
+        for (ManifestEntry entry : entries) {
+            outputs.computeIfAbsent(entry.output(), k -> new ArrayList<>())
+                   .add(entry);
         }
 
-        LOG.info("Clear out-dated snapshots from {} first", dirName);
-        for (Result<Item> result : snapshotFiles) {
-            Item item = result.get();
-            objects.add(new DeleteObject(item.objectName()));
+        List<CompletableFuture<Void>> futures = new ArrayList<>(outputs.size());
+        for (List<ManifestEntry> files : outputs.values()) {
+            String outputPath = this.recvManager.genOutputPath(messageType, partitionId);
+            futures.add(CompletableFuture.runAsync(() -> {
+                long size = this.downloadOutput(dirName, files, outputPath);
+                FileRegionBuffer buffer = new FileRegionBuffer((int) size, outputPath);
+                this.recvManager.handle(messageType, partitionId, buffer);
+            }, this.transferExecutor));
         }
-        Iterable<Result<DeleteError>> results =
-                minioClient.removeObjects(RemoveObjectsArgs.builder()
-                                                           .bucket(this.bucketName)
-                                                           .objects(objects)
-                                                           .build());
-        for (Result<DeleteError> result : results) {
-            DeleteError error = result.get();
-            throw new ComputerException("Failed to delete snapshot %s, error message: %s",
-                                         error.objectName(), error.message());
+        return futures;
+    }
+
+    private long downloadOutput(String dirName, List<ManifestEntry> files,
+                                String outputPath) {
+        long size = 0L;
+        for (ManifestEntry entry : files) {
+            File file = entry.isDirectoryFile() ?
+                        new File(outputPath, entry.fileName()) :
+                        new File(outputPath);
+            this.store.download(dirName + entry.checksum, file);
+            if (file.length() != entry.size) {
+                throw new ComputerException("The size of snapshot file %s is %s, but " +
+                                            "expect %s", file, file.length(), entry.size);
+            }
+            String checksum = checksum(file);
+            if (!checksum.equals(entry.checksum)) {
+                throw new ComputerException("The checksum of snapshot file %s is %s, but " +
+                                            "expect %s", file, checksum, entry.checksum);
+            }
+            size += file.length();
         }
+        return size;
     }
 
-    private String generateObjectDirName(MessageType messageType, int partitionId) {
+    private String generateObjectDirName(String type, int partitionId) {
         // dir name: {SNAPSHOT_NAME}/{PARTITIONER}/{PARTITION_COUNT}/VERTEX/{PARTITION_ID}/
         Path path = Paths.get(this.snapshotName,
                               this.partitioner.getClass().getSimpleName(),
                               String.valueOf(this.partitionCount),
-                              messageType.name(),
+                              type,
                               String.valueOf(partitionId));
         return path + "/";
     }
+
+    private static void writeStat(PartitionStat stat, File file) {
+        try (BufferedFileOutput out = new BufferedFileOutput(file)) {
+            stat.write(out);
+        } catch (IOException e) {
+            throw new ComputerException("Failed to write partition stat to %s", e, file);
+        }
+    }
+
+    private static PartitionStat readStat(File file) {
+        PartitionStat stat = new PartitionStat();
+        try (RandomAccessInput in = new BufferedFileInput(file)) {
+            stat.read(in);
+        } catch (IOException e) {
+            throw new ComputerException("Failed to read partition stat from %s", e, file);
+        }
+        return stat;
+    }
+
+    private static String checksum(File file) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(CHECKSUM_ALGORITHM);
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file.toPath()),
+                                                        digest)) {
+                byte[] buffer = new byte[CHECKSUM_BUFFER_SIZE];
+                while (in.read(buffer) != -1) {
+                    // The digest is updated while reading
+                }
+            }
+            return Bytes.toHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new ComputerException("Failed to compute checksum of %s", e, file);
+        }
+    }
+
+    private static void waitTransferred(List<? extends CompletableFuture<?>> futures,
+                                        String action) {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+        } catch (ExecutionException e) {
+            throw new ComputerException("Failed to %s", e.getCause(), action);
+        } catch (InterruptedException e) {
+            throw new ComputerException("Interrupted while trying to %s", e, action);
+        }
+    }
+
+    /**
+     * A line of manifest, the path is the index of output file, or the index
+     * and the file name if the output is a directory, like "0" or
+     * "1/hgkv_0.hgkv".
+     */
+    private static class ManifestEntry {
+
+        private final String path;
+        private final long size;
+        private final String checksum;
+        private final File file;
+
+        public ManifestEntry(String path, long size, String checksum, File file) {
+            this.path = path;
+            this.size = size;
+            this.checksum = checksum;
+            this.file = file;
+        }
+
+        public String output() {
+            int index = this.path.indexOf('/');
+            return index < 0 ? this.path : this.path.substring(0, index);
+        }
+
+        public boolean isDirectoryFile() {
+            return this.path.indexOf('/') >= 0;
+        }
+
+        public String fileName() {
+            return this.path.substring(this.path.indexOf('/') + 1);
+        }
+
+        public String toLine() {
+            return this.checksum + " " + this.size + " " + this.path;
+        }
+
+        public static ManifestEntry parse(String line) {
+            String[] parts = line.split(" ", 3);
+            if (parts.length != 3) {
+                throw new ComputerException("Invalid snapshot manifest line '%s'", line);
+            }
+            return new ManifestEntry(parts[2], Long.parseLong(parts[1]), parts[0], null);
+        }
+    }
 }
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.snapshot;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.hugegraph.computer.core.config.Config;
+
+/**
+ * The store to save the snapshot files of input vertex and edge partitions,
+ * the files are identified by the keys like "name/HashPartitioner/8/VERTEX/1/
+ * manifest", the '/' in key separates the levels of directories. The methods
+ * may be called by multiple threads concurrently.
+ */
+public interface SnapshotStore {
+
+    void init(Config config);
+
+    /**
+     * Save the local file to the store with the key, the file is visible by
+     * the key only after it's saved completely.
+     */
+    void upload(File file, String key);
+
+    /**
+     * Save the object of the key in store to the local file, the parent
+     * directory of the file will be created if not exists.
+     */
+    void download(String key, File file);
+
+    /**
+     * List the keys of all objects under the directory, the directory must
+     * end with '/'. Return empty list if the directory not exists.
+     */
+    List<String> list(String directory);
+
+    /**
+     * Delete the objects of the keys, the not exist keys are ignored.
+     */
+    void delete(Collection<String> keys);
+
+    void close();
+}
@@ -20,9 +20,9 @@ package org.apache.hugegraph.computer.core.sort;
 import java.io.IOException;
 import java.util.List;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import org.apache.hugegraph.computer.core.config.Config;
+import org.apache.hugegraph.computer.core.io.FileInputFactory;
 import org.apache.hugegraph.computer.core.io.RandomAccessInput;
 import org.apache.hugegraph.computer.core.sort.flusher.InnerSortFlusher;
 import org.apache.hugegraph.computer.core.sort.flusher.OuterSortFlusher;
@@ -30,7 +30,6 @@ import org.apache.hugegraph.computer.core.sort.flusher.PeekableIterator;
 import org.apache.hugegraph.computer.core.store.EntryIterator;
 import org.apache.hugegraph.computer.core.store.KvEntryFileWriter;
 import org.apache.hugegraph.computer.core.store.buffer.KvEntriesInput;
-import org.apache.hugegraph.computer.core.store.buffer.KvEntriesWithFirstSubKvInput;
 import org.apache.hugegraph.computer.core.store.entry.KvEntry;
 import org.apache.hugegraph.computer.core.store.file.bufferfile.BufferFileEntryBuilder;
 import org.apache.hugegraph.computer.core.store.file.bufferfile.BufferFileEntryReader;
@@ -41,9 +40,11 @@ import org.apache.hugegraph.computer.core.store.file.select.SelectedFiles;
 
 public class BufferFileSorter implements Sorter {
 
+    private final FileInputFactory inputFactory;
     private final DefaultSorter sorter;
 
-    public BufferFileSorter(Config config) {
+    public BufferFileSorter(Config config, FileInputFactory inputFactory) {
+        this.inputFactory = inputFactory;
         this.sorter = new DefaultSorter(config);
     }
 
@@ -59,32 +60,29 @@ public class BufferFileSorter implements Sorter {
     public void mergeBuffers(List<RandomAccessInput> inputs,
                              OuterSortFlusher flusher, String output,
                              boolean withSubKv) throws Exception {
-        List<EntryIterator> entries;
-        if (withSubKv) {
-            entries = inputs.stream()
-                            .map(KvEntriesWithFirstSubKvInput::new)
-                            .collect(Collectors.toList());
-        } else {
-            entries = inputs.stream()
-                            .map(KvEntriesInput::new)
-                            .collect(Collectors.toList());
-        }
+        List<EntryIterator> entries = DefaultSorter.bufferEntries(inputs,
+                                                                  withSubKv);
         try (KvEntryFileWriter writer = new BufferFileEntryBuilder(output)) {
             this.sorter.mergeBuffers(entries, writer, flusher);
         }
     }
 
+    @Override
+    public PeekableIterator<KvEntry> mergeBuffers(List<RandomAccessInput> inputs,
+                                                  OuterSortFlusher flusher,
+                                                  boolean withSubKv)
+                                                  throws Exception {
+        List<EntryIterator> entries = DefaultSorter.bufferEntries(inputs,
+                                                                  withSubKv);
+        return this.sorter.mergeBuffers(entries, flusher, withSubKv);
+    }
+
     @Override
     public void mergeInputs(List<String> inputs, OuterSortFlusher flusher,
                             List<String> outputs, boolean withSubKv)
                             throws Exception {
-        Function<String, EntryIterator> fileToInput;
+        Function<String, EntryIterator> fileToInput = this.fileToInput(withSubKv);
         Function<String, KvEntryFileWriter> fileToWriter;
-        if (withSubKv) {
-            fileToInput = o -> new BufferFileSubEntryReader(o).iterator();
-        } else {
-            fileToInput = o -> new BufferFileEntryReader(o).iterator();
-        }
         fileToWriter = BufferFileEntryBuilder::new;
 
         InputFilesSelector selector = new DisperseEvenlySelector();
@@ -93,13 +91,33 @@ public class BufferFileSorter implements Sorter {
         this.sorter.mergeFile(selectResult, fileToInput, fileToWriter, flusher);
     }
 
+    @Override
+    public PeekableIterator<KvEntry> mergeInputs(List<String> inputs,
+                                                 OuterSortFlusher flusher,
+                                                 boolean withSubKv)
+                                                 throws Exception {
+        return this.sorter.mergeInputs(inputs, this.fileToInput(withSubKv),
+                                       flusher, withSubKv);
+    }
+
     @Override
     public PeekableIterator<KvEntry> iterator(List<String> inputs,
                                               boolean withSubKv)
                                               throws IOException {
         Function<String, EntryIterator> fileToEntries = input -> {
-            return new BufferFileEntryReader(input, withSubKv).iterator();
+            return new BufferFileEntryReader(input, this.inputFactory,
+                                             withSubKv).iterator();
         };
         return this.sorter.iterator(inputs, fileToEntries);
     }
+
+    private Function<String, EntryIterator> fileToInput(boolean withSubKv) {
+        if (withSubKv) {
+            return o -> new BufferFileSubEntryReader(o, this.inputFactory)
+                        .iterator();
+        } else {
+            return o -> new BufferFileEntryReader(o, this.inputFactory, false)
+                        .iterator();
+        }
+    }
 }
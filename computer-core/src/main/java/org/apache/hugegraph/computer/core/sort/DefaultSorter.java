@@ -22,7 +22,10 @@ import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.apache.hugegraph.computer.core.config.ComputerOptions;
 import org.apache.hugegraph.computer.core.config.Config;
+import org.apache.hugegraph.computer.core.io.RandomAccessInput;
+import org.apache.hugegraph.computer.core.sort.flusher.FlushedEntriesIterator;
 import org.apache.hugegraph.computer.core.sort.flusher.InnerSortFlusher;
 import org.apache.hugegraph.computer.core.sort.flusher.OuterSortFlusher;
 import org.apache.hugegraph.computer.core.sort.flusher.PeekableIterator;
@@ -32,24 +35,28 @@ import org.apache.hugegraph.computer.core.sort.merge.FileMergerImpl;
 import org.apache.hugegraph.computer.core.sort.sorter.InputSorter;
 import org.apache.hugegraph.computer.core.sort.sorter.InputsSorter;
 import org.apache.hugegraph.computer.core.sort.sorter.InputsSorterImpl;
-import org.apache.hugegraph.computer.core.sort.sorter.JavaInputSorter;
+import org.apache.hugegraph.computer.core.sort.sorting.SortingFactory;
 import org.apache.hugegraph.computer.core.store.EntryIterator;
 import org.apache.hugegraph.computer.core.store.KvEntryFileWriter;
+import org.apache.hugegraph.computer.core.store.buffer.KvEntriesInput;
+import org.apache.hugegraph.computer.core.store.buffer.KvEntriesWithFirstSubKvInput;
 import org.apache.hugegraph.computer.core.store.entry.KvEntry;
 import org.apache.hugegraph.computer.core.store.file.select.SelectedFiles;
 
 public class DefaultSorter {
 
     private final Config config;
+    private final InputSorter inputSorter;
 
     public DefaultSorter(Config config) {
         this.config = config;
+        this.inputSorter = SortingFactory.createInputSorter(
+                           config.get(ComputerOptions.SORT_INPUT_SORTER));
     }
 
     public void sortBuffer(EntryIterator entries, InnerSortFlusher flusher)
                            throws Exception {
-        InputSorter sorter = new JavaInputSorter();
-        flusher.flush(sorter.sort(entries));
+        flusher.flush(this.inputSorter.sort(entries));
     }
 
     public void mergeBuffers(List<EntryIterator> entries,
@@ -60,6 +67,15 @@ public class DefaultSorter {
         flusher.flush(result, writer);
     }
 
+    public PeekableIterator<KvEntry> mergeBuffers(List<EntryIterator> entries,
+                                                  OuterSortFlusher flusher,
+                                                  boolean withSubKv)
+                                                  throws IOException {
+        InputsSorter sorter = new InputsSorterImpl();
+        return new FlushedEntriesIterator(sorter.sort(entries), flusher,
+                                          withSubKv);
+    }
+
     public void mergeFile(List<SelectedFiles> selectedFiles,
                           Function<String, EntryIterator> fileToEntries,
                           Function<String, KvEntryFileWriter> fileToWriter,
@@ -71,6 +87,15 @@ public class DefaultSorter {
         }
     }
 
+    public PeekableIterator<KvEntry> mergeInputs(
+           List<String> inputs, Function<String, EntryIterator> fileToEntries,
+           OuterSortFlusher flusher, boolean withSubKv) throws IOException {
+        List<EntryIterator> entries = inputs.stream()
+                                            .map(fileToEntries)
+                                            .collect(Collectors.toList());
+        return this.mergeBuffers(entries, flusher, withSubKv);
+    }
+
     public PeekableIterator<KvEntry> iterator(
            List<String> inputs, Function<String, EntryIterator> fileToEntries)
            throws IOException {
@@ -80,4 +105,18 @@ public class DefaultSorter {
         InputsSorterImpl sorter = new InputsSorterImpl();
         return PeekableIteratorAdaptor.of(sorter.sort(entries));
     }
+
+    public static List<EntryIterator> bufferEntries(
+                                      List<RandomAccessInput> inputs,
+                                      boolean withSubKv) {
+        if (withSubKv) {
+            return inputs.stream()
+                         .map(KvEntriesWithFirstSubKvInput::new)
+                         .collect(Collectors.toList());
+        } else {
+            return inputs.stream()
+                         .map(KvEntriesInput::new)
+                         .collect(Collectors.toList());
+        }
+    }
 }
@@ -20,9 +20,9 @@ package org.apache.hugegraph.computer.core.sort;
 import java.io.IOException;
 import java.util.List;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import org.apache.hugegraph.computer.core.config.Config;
+import org.apache.hugegraph.computer.core.io.FileInputFactory;
 import org.apache.hugegraph.computer.core.io.RandomAccessInput;
 import org.apache.hugegraph.computer.core.sort.flusher.InnerSortFlusher;
 import org.apache.hugegraph.computer.core.sort.flusher.OuterSortFlusher;
@@ -30,7 +30,6 @@ import org.apache.hugegraph.computer.core.sort.flusher.PeekableIterator;
 import org.apache.hugegraph.computer.core.store.EntryIterator;
 import org.apache.hugegraph.computer.core.store.KvEntryFileWriter;
 import org.apache.hugegraph.computer.core.store.buffer.KvEntriesInput;
-import org.apache.hugegraph.computer.core.store.buffer.KvEntriesWithFirstSubKvInput;
 import org.apache.hugegraph.computer.core.store.entry.KvEntry;
 import org.apache.hugegraph.computer.core.store.file.hgkvfile.builder.HgkvDirBuilderImpl;
 import org.apache.hugegraph.computer.core.store.file.hgkvfile.reader.HgkvDir4SubKvReaderImpl;
@@ -42,10 +41,12 @@ import org.apache.hugegraph.computer.core.store.file.select.SelectedFiles;
 public class HgkvFileSorter implements Sorter {
 
     private final Config config;
+    private final FileInputFactory inputFactory;
     private final DefaultSorter sorter;
 
-    public HgkvFileSorter(Config config) {
+    public HgkvFileSorter(Config config, FileInputFactory inputFactory) {
         this.config = config;
+        this.inputFactory = inputFactory;
         this.sorter = new DefaultSorter(config);
     }
 
@@ -61,33 +62,30 @@ public class HgkvFileSorter implements Sorter {
     public void mergeBuffers(List<RandomAccessInput> inputs,
                              OuterSortFlusher flusher, String output,
                              boolean withSubKv) throws Exception {
-        List<EntryIterator> entries;
-        if (withSubKv) {
-            entries = inputs.stream()
-                            .map(KvEntriesWithFirstSubKvInput::new)
-                            .collect(Collectors.toList());
-        } else {
-            entries = inputs.stream()
-                            .map(KvEntriesInput::new)
-                            .collect(Collectors.toList());
-        }
+        List<EntryIterator> entries = DefaultSorter.bufferEntries(inputs,
+                                                                  withSubKv);
         try (KvEntryFileWriter writer = new HgkvDirBuilderImpl(this.config,
                                                                output)) {
             this.sorter.mergeBuffers(entries, writer, flusher);
         }
     }
 
+    @Override
+    public PeekableIterator<KvEntry> mergeBuffers(List<RandomAccessInput> inputs,
+                                                  OuterSortFlusher flusher,
+                                                  boolean withSubKv)
+                                                  throws Exception {
+        List<EntryIterator> entries = DefaultSorter.bufferEntries(inputs,
+                                                                  withSubKv);
+        return this.sorter.mergeBuffers(entries, flusher, withSubKv);
+    }
+
     @Override
     public void mergeInputs(List<String> inputs, OuterSortFlusher flusher,
                             List<String> outputs, boolean withSubKv)
                             throws Exception {
-        Function<String, EntryIterator> fileToInput;
+        Function<String, EntryIterator> fileToInput = this.fileToInput(withSubKv);
         Function<String, KvEntryFileWriter> fileToWriter;
-        if (withSubKv) {
-            fileToInput = o -> new HgkvDir4SubKvReaderImpl(o).iterator();
-        } else {
-            fileToInput = o -> new HgkvDirReaderImpl(o).iterator();
-        }
         fileToWriter = path -> new HgkvDirBuilderImpl(this.config, path);
 
         InputFilesSelector selector = new DisperseEvenlySelector();
@@ -96,13 +94,33 @@ public class HgkvFileSorter implements Sorter {
         this.sorter.mergeFile(selectResult, fileToInput, fileToWriter, flusher);
     }
 
+    @Override
+    public PeekableIterator<KvEntry> mergeInputs(List<String> inputs,
+                                                 OuterSortFlusher flusher,
+                                                 boolean withSubKv)
+                                                 throws Exception {
+        return this.sorter.mergeInputs(inputs, this.fileToInput(withSubKv),
+                                       flusher, withSubKv);
+    }
+
     @Override
     public PeekableIterator<KvEntry> iterator(List<String> inputs,
                                               boolean withSubKv)
                                               throws IOException {
         Function<String, EntryIterator> fileToEntries = input -> {
-            return new HgkvDirReaderImpl(input, false, withSubKv).iterator();
+            return new HgkvDirReaderImpl(input, this.inputFactory, false,
+                                         withSubKv).iterator();
         };
         return this.sorter.iterator(inputs, fileToEntries);
     }
+
+    private Function<String, EntryIterator> fileToInput(boolean withSubKv) {
+        if (withSubKv) {
+            return o -> new HgkvDir4SubKvReaderImpl(o, this.inputFactory, true)
+                        .iterator();
+        } else {
+            return o -> new HgkvDirReaderImpl(o, this.inputFactory, true,
+                                              false).iterator();
+        }
+    }
 }
@@ -71,6 +71,19 @@ public interface Sorter {
                        OuterSortFlusher flusher, String output,
                        boolean withSubKv) throws Exception;
 
+    /**
+     * Merge the buffers by increasing order of key in memory, and get the
+     * iterator of the merged <key, value> pairs. The formats of the input
+     * buffers are same as {@link #mergeBuffers}. The pairs are merged lazily,
+     * so the input buffers can't be released until the iterator is closed.
+     * @param inputBuffers The input buffer list.
+     * @param flusher The flusher for the same key.
+     * @param withSubKv True if need sort subKv.
+     */
+    PeekableIterator<KvEntry> mergeBuffers(List<RandomAccessInput> inputBuffers,
+                                           OuterSortFlusher flusher,
+                                           boolean withSubKv) throws Exception;
+
     /**
      * Merge the n inputs into m outputs.
      * 'n' is size of inputs, 'm' is size of outputs.
@@ -103,6 +116,19 @@ public interface Sorter {
     void mergeInputs(List<String> inputs, OuterSortFlusher flusher,
                      List<String> outputs, boolean withSubKv) throws Exception;
 
+    /**
+     * Merge the inputs by increasing order of key, and get the iterator of
+     * the merged <key, value> pairs. The pairs are flushed by the flusher
+     * lazily while iterating instead of written to file. The formats of the
+     * input files are same as {@link #mergeInputs}.
+     * @param inputs The input file list.
+     * @param flusher The flusher for the same key.
+     * @param withSubKv True if need sort subKv.
+     */
+    PeekableIterator<KvEntry> mergeInputs(List<String> inputs,
+                                          OuterSortFlusher flusher,
+                                          boolean withSubKv) throws Exception;
+
     /**
      * Get the iterator of <key, value> pair by increasing order of key.
      */
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.sort.flusher;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+import org.apache.hugegraph.computer.core.common.Constants;
+import org.apache.hugegraph.computer.core.common.exception.ComputerException;
+import org.apache.hugegraph.computer.core.store.EntryIterator;
+import org.apache.hugegraph.computer.core.store.buffer.KvEntriesInput;
+import org.apache.hugegraph.computer.core.store.buffer.KvEntriesOutput;
+import org.apache.hugegraph.computer.core.store.entry.KvEntry;
+import org.apache.hugegraph.util.Bytes;
+
+/**
+ * Iterate the entries flushed by an {@link OuterSortFlusher} from the sorted
+ * entries lazily, instead of writing them to file. The sorted entries are
+ * flushed key by key into a batch buffer until the buffer reaches the batch
+ * size, and a new buffer is used for each batch, so the entries got from
+ * this iterator are still valid after the next batch is flushed.
+ */
+public class FlushedEntriesIterator implements PeekableIterator<KvEntry> {
+
+    private static final int BATCH_SIZE = (int) Bytes.MB;
+
+    private final EntryIterator sorted;
+    private final OuterSortFlusher flusher;
+    private final boolean withSubKv;
+
+    private KvEntry nextSorted;
+    private KvEntriesInput batch;
+    private KvEntry next;
+
+    public FlushedEntriesIterator(EntryIterator sorted,
+                                  OuterSortFlusher flusher,
+                                  boolean withSubKv) {
+        this.sorted = sorted;
+        this.flusher = flusher;
+        this.withSubKv = withSubKv;
+        this.nextSorted = sorted.hasNext() ? sorted.next() : null;
+        this.batch = null;
+        this.next = null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.peek() != null;
+    }
+
+    @Override
+    public KvEntry next() {
+        KvEntry next = this.peek();
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        this.next = null;
+        return next;
+    }
+
+    @Override
+    public KvEntry peek() {
+        if (this.next == null) {
+            if (this.batch == null || !this.batch.hasNext()) {
+                this.flushBatch();
+            }
+            if (this.batch != null && this.batch.hasNext()) {
+                this.next = this.batch.next();
+            }
+        }
+        return this.next;
+    }
+
+    @Override
+    public void close() throws Exception {
+        this.sorted.close();
+    }
+
+    @Override
+    public Object metadata(String s, Object... objects) {
+        return this.sorted.metadata(s, objects);
+    }
+
+    private void flushBatch() {
+        if (this.nextSorted == null) {
+            this.batch = null;
+            return;
+        }
+        KvEntriesOutput output = new KvEntriesOutput(Constants.BIG_BUF_SIZE);
+        try {
+            while (this.nextSorted != null && output.position() < BATCH_SIZE) {
+                this.flusher.flush(new SameKeyEntries(), output);
+            }
+        } catch (IOException e) {
+            throw new ComputerException("Failed to flush sorted entries", e);
+        }
+        this.batch = new KvEntriesInput(output.toInput(), false,
+                                        this.withSubKv);
+    }
+
+    /**
+     * The sorted entries with the same key as the first one, all the entries
+     * of a key are passed to the flusher at once to be combined.
+     */
+    private class SameKeyEntries implements EntryIterator {
+
+        private final KvEntry first;
+
+        public SameKeyEntries() {
+            this.first = FlushedEntriesIterator.this.nextSorted;
+        }
+
+        @Override
+        public boolean hasNext() {
+            KvEntry nextSorted = FlushedEntriesIterator.this.nextSorted;
+            return nextSorted != null &&
+                   (nextSorted == this.first ||
+                    nextSorted.key().compareTo(this.first.key()) == 0);
+        }
+
+        @Override
+        public KvEntry next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            EntryIterator sorted = FlushedEntriesIterator.this.sorted;
+            KvEntry current = FlushedEntriesIterator.this.nextSorted;
+            FlushedEntriesIterator.this.nextSorted = sorted.hasNext() ?
+                                                     sorted.next() : null;
+            return current;
+        }
+
+        @Override
+        public void close() throws Exception {
+            // pass
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.sort.sorter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.hugegraph.computer.core.store.entry.KvEntry;
+import org.apache.hugegraph.computer.core.store.entry.Pointer;
+
+/**
+ * Sort the entries by the normalized prefixes of their keys. The prefix is
+ * a non-negative long composed of the key length and the leading bytes of
+ * the key, it's ordered in the same way as {@link Pointer#compareTo}, which
+ * compares the length first and then the unsigned bytes. The prefixes are
+ * radix sorted with the indexes of the entries in primitive arrays, and the
+ * full keys are compared only for the entries with equal prefixes. The sort
+ * is stable like {@link JavaInputSorter}.
+ */
+public class RadixInputSorter implements InputSorter {
+
+    private static final int PREFIX_BYTES = 6;
+    private static final int LENGTH_BITS = 15;
+    private static final long MAX_LENGTH = (1L << LENGTH_BITS) - 1L;
+
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int RADIX_MASK = RADIX - 1;
+    private static final int RADIX_PASSES = Long.SIZE / RADIX_BITS;
+
+    private static final ThreadLocal<SortArrays> SORT_LOCAL =
+                         ThreadLocal.withInitial(SortArrays::new);
+
+    @Override
+    public Iterator<KvEntry> sort(Iterator<KvEntry> entries)
+                             throws IOException {
+        SortArrays arrays = SORT_LOCAL.get();
+        int size = 0;
+        while (entries.hasNext()) {
+            KvEntry entry = entries.next();
+            arrays.ensureCapacity(size + 1);
+            arrays.entries[size] = entry;
+            arrays.prefixes[size] = prefix(entry.key());
+            arrays.indexes[size] = size;
+            size++;
+        }
+
+        radixSort(arrays, size);
+        sortEqualPrefixes(arrays, size);
+        return new SortedIterator(arrays, size);
+    }
+
+    /**
+     * The key length takes the high bits, and the leading bytes of the key
+     * take the low bits. The keys longer than MAX_LENGTH share one prefix
+     * without any bytes, they are ordered by comparing the full keys.
+     */
+    static long prefix(Pointer key) throws IOException {
+        long length = key.length();
+        if (length >= MAX_LENGTH) {
+            return MAX_LENGTH << (PREFIX_BYTES * Byte.SIZE);
+        }
+        byte[] bytes = key.bytes();
+        long prefix = length;
+        for (int i = 0; i < PREFIX_BYTES; i++) {
+            prefix <<= Byte.SIZE;
+            if (i < length) {
+                prefix |= bytes[i] & 0xFF;
+            }
+        }
+        return prefix;
+    }
+
+    /**
+     * Whether the prefix is composed of all bytes of the key, the keys with
+     * such prefix are equal if the prefixes are equal.
+     */
+    private static boolean fullPrefix(long prefix) {
+        return (prefix >>> (PREFIX_BYTES * Byte.SIZE)) <= PREFIX_BYTES;
+    }
+
+    /**
+     * LSD radix sort the prefixes with the indexes, the passes of which all
+     * the digits are equal are skipped.
+     */
+    private static void radixSort(SortArrays arrays, int size) {
+        long[] prefixes = arrays.prefixes;
+        int[] indexes = arrays.indexes;
+        long[] prefixesBuffer = arrays.prefixesBuffer;
+        int[] indexesBuffer = arrays.indexesBuffer;
+        int[] counts = arrays.counts;
+
+        if (size <= 1) {
+            return;
+        }
+        for (int pass = 0; pass < RADIX_PASSES; pass++) {
+            int shift = pass * RADIX_BITS;
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < size; i++) {
+                counts[(int) (prefixes[i] >>> shift) & RADIX_MASK]++;
+            }
+            if (counts[(int) (prefixes[0] >>> shift) & RADIX_MASK] == size) {
+                continue;
+            }
+            int offset = 0;
+            for (int digit = 0; digit < RADIX; digit++) {
+                int count = counts[digit];
+                counts[digit] = offset;
+                offset += count;
+            }
+            for (int i = 0; i < size; i++) {
+                int digit = (int) (prefixes[i] >>> shift) & RADIX_MASK;
+                int position = counts[digit]++;
+                prefixesBuffer[position] = prefixes[i];
+                indexesBuffer[position] = indexes[i];
+            }
+
+            long[] prefixesTemp = prefixes;
+            prefixes = prefixesBuffer;
+            prefixesBuffer = prefixesTemp;
+            int[] indexesTemp = indexes;
+            indexes = indexesBuffer;
+            indexesBuffer = indexesTemp;
+        }
+
+        arrays.prefixes = prefixes;
+        arrays.indexes = indexes;
+        arrays.prefixesBuffer = prefixesBuffer;
+        arrays.indexesBuffer = indexesBuffer;
+    }
+
+    private static void sortEqualPrefixes(SortArrays arrays, int size) {
+        long[] prefixes = arrays.prefixes;
+        int start = 0;
+        while (start < size) {
+            int end = start + 1;
+            while (end < size && prefixes[end] == prefixes[start]) {
+                end++;
+            }
+            if (end - start > 1 && !fullPrefix(prefixes[start])) {
+                arrays.sortByKeys(start, end);
+            }
+            start = end;
+        }
+    }
+
+    private static class SortArrays {
+
+        private static final int INIT_CAPACITY = 64;
+
+        private KvEntry[] entries;
+        private long[] prefixes;
+        private int[] indexes;
+        private long[] prefixesBuffer;
+        private int[] indexesBuffer;
+        private KvEntry[] ties;
+        private final int[] counts;
+
+        public SortArrays() {
+            this.entries = new KvEntry[INIT_CAPACITY];
+            this.prefixes = new long[INIT_CAPACITY];
+            this.indexes = new int[INIT_CAPACITY];
+            this.prefixesBuffer = new long[INIT_CAPACITY];
+            this.indexesBuffer = new int[INIT_CAPACITY];
+            this.ties = new KvEntry[INIT_CAPACITY];
+            this.counts = new int[RADIX];
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity <= this.entries.length) {
+                return;
+            }
+            int newCapacity = Math.max(capacity, this.entries.length << 1);
+            this.entries = Arrays.copyOf(this.entries, newCapacity);
+            this.prefixes = Arrays.copyOf(this.prefixes, newCapacity);
+            this.indexes = Arrays.copyOf(this.indexes, newCapacity);
+            this.prefixesBuffer = new long[newCapacity];
+            this.indexesBuffer = new int[newCapacity];
+            this.ties = new KvEntry[newCapacity];
+        }
+
+        private void sortByKeys(int start, int end) {
+            int length = end - start;
+            for (int i = 0; i < length; i++) {
+                this.ties[i] = this.entries[this.indexes[start + i]];
+            }
+            // The merge sort of objects is stable
+            Arrays.sort(this.ties, 0, length, KvEntry::compareTo);
+            /*
+             * The indexes of the run are ascending since the radix sort is
+             * stable, put the sorted entries to the slots of them in order.
+             */
+            for (int i = 0; i < length; i++) {
+                this.entries[this.indexes[start + i]] = this.ties[i];
+                this.ties[i] = null;
+            }
+        }
+    }
+
+    private static class SortedIterator implements Iterator<KvEntry> {
+
+        private final SortArrays arrays;
+        private final int size;
+        private int position;
+
+        public SortedIterator(SortArrays arrays, int size) {
+            this.arrays = arrays;
+            this.size = size;
+            this.position = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.position < this.size;
+        }
+
+        @Override
+        public KvEntry next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int index = this.arrays.indexes[this.position];
+            KvEntry entry = this.arrays.entries[index];
+            this.arrays.entries[index] = null;
+            this.position++;
+            return entry;
+        }
+    }
+}
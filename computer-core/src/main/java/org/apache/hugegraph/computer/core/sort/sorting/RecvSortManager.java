@@ -20,14 +20,15 @@ package org.apache.hugegraph.computer.core.sort.sorting;
 import org.apache.hugegraph.computer.core.common.ComputerContext;
 import org.apache.hugegraph.computer.core.config.ComputerOptions;
 import org.apache.hugegraph.computer.core.config.Config;
+import org.apache.hugegraph.computer.core.store.FileManager;
 
 public class RecvSortManager extends SortManager {
 
     private static final String NAME = "recv_sort";
     private static final String PREFIX = "recv-sort-executor-%s";
 
-    public RecvSortManager(ComputerContext context) {
-        super(context);
+    public RecvSortManager(ComputerContext context, FileManager fileManager) {
+        super(context, fileManager);
     }
 
     @Override
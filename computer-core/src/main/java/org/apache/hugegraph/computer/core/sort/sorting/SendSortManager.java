@@ -18,14 +18,15 @@
 package org.apache.hugegraph.computer.core.sort.sorting;
 
 import org.apache.hugegraph.computer.core.common.ComputerContext;
+import org.apache.hugegraph.computer.core.store.FileManager;
 
 public class SendSortManager extends SortManager {
 
     private static final String NAME = "send_sort";
     private static final String PREFIX = "send-sort-executor-%s";
 
-    public SendSortManager(ComputerContext context) {
-        super(context);
+    public SendSortManager(ComputerContext context, FileManager fileManager) {
+        super(context, fileManager);
     }
 
     @Override
@@ -36,10 +36,12 @@ import org.apache.hugegraph.computer.core.config.ComputerOptions;
 import org.apache.hugegraph.computer.core.config.Config;
 import org.apache.hugegraph.computer.core.graph.value.Value;
 import org.apache.hugegraph.computer.core.io.BytesOutput;
+import org.apache.hugegraph.computer.core.io.FileInputFactory;
 import org.apache.hugegraph.computer.core.io.IOFactory;
 import org.apache.hugegraph.computer.core.io.RandomAccessInput;
 import org.apache.hugegraph.computer.core.io.RandomAccessOutput;
 import org.apache.hugegraph.computer.core.manager.Manager;
+import org.apache.hugegraph.computer.core.network.buffer.DirectBufferPool;
 import org.apache.hugegraph.computer.core.network.message.MessageType;
 import org.apache.hugegraph.computer.core.sender.WriteBuffers;
 import org.apache.hugegraph.computer.core.sort.BufferFileSorter;
@@ -51,23 +53,34 @@ import org.apache.hugegraph.computer.core.sort.flusher.InnerSortFlusher;
 import org.apache.hugegraph.computer.core.sort.flusher.KvInnerSortFlusher;
 import org.apache.hugegraph.computer.core.sort.flusher.OuterSortFlusher;
 import org.apache.hugegraph.computer.core.sort.flusher.PeekableIterator;
+import org.apache.hugegraph.computer.core.store.FileManager;
 import org.apache.hugegraph.computer.core.store.entry.KvEntry;
+import org.apache.hugegraph.util.E;
 import org.apache.hugegraph.util.ExecutorUtil;
 import org.apache.hugegraph.util.Log;
 import org.slf4j.Logger;
 
+import com.google.common.collect.ImmutableList;
+
 public abstract class SortManager implements Manager {
 
     public static final Logger LOG = Log.logger(SortManager.class);
 
     private final ComputerContext context;
+    private final FileManager fileManager;
     private final ExecutorService sortExecutor;
-    private final Sorter sorter;
+    // Created at init() to read files by the input factory of file manager
+    private Sorter sorter;
     private final int capacity;
     private final int flushThreshold;
+    // The pool of sorted buffers, null if not enabled
+    private final DirectBufferPool bufferPool;
+    // The output of sorting is reused by each sort thread if pooled
+    private final ThreadLocal<BytesOutput> sortOutput;
 
-    public SortManager(ComputerContext context) {
+    public SortManager(ComputerContext context, FileManager fileManager) {
         this.context = context;
+        this.fileManager = fileManager;
         Config config = context.config();
         if (this.threadNum(config) != 0) {
             this.sortExecutor = ExecutorUtil.newFixedThreadPool(
@@ -75,15 +88,21 @@ public abstract class SortManager implements Manager {
         } else {
             this.sortExecutor = null;
         }
-        if (config.get(ComputerOptions.TRANSPORT_RECV_FILE_MODE)) {
-            this.sorter = new BufferFileSorter(config);
-        } else {
-            this.sorter = new HgkvFileSorter(config);
-        }
+        this.sorter = null;
         this.capacity = config.get(
                         ComputerOptions.WORKER_WRITE_BUFFER_INIT_CAPACITY);
         this.flushThreshold = config.get(
                               ComputerOptions.INPUT_MAX_EDGES_IN_ONE_VERTEX);
+        long poolSize = config.get(
+                        ComputerOptions.WORKER_SEND_BUFFER_POOL_SIZE);
+        if (poolSize > 0L) {
+            this.bufferPool = new DirectBufferPool(poolSize);
+        } else {
+            this.bufferPool = null;
+        }
+        this.sortOutput = ThreadLocal.withInitial(() -> {
+            return IOFactory.createBytesOutput(this.capacity);
+        });
     }
 
     @Override
@@ -97,11 +116,24 @@ public abstract class SortManager implements Manager {
 
     @Override
     public void init(Config config) {
-        // pass
+        FileInputFactory inputFactory = this.fileManager.inputFactory();
+        E.checkState(inputFactory != null,
+                     "The file manager must be initialized before %s",
+                     this.name());
+        if (config.get(ComputerOptions.TRANSPORT_RECV_FILE_MODE)) {
+            this.sorter = new BufferFileSorter(config, inputFactory);
+        } else {
+            this.sorter = new HgkvFileSorter(config, inputFactory);
+        }
     }
 
     @Override
     public void close(Config config) {
+        if (this.bufferPool != null) {
+            LOG.info("Close sort manager with buffer pool {}",
+                     this.bufferPool);
+            this.bufferPool.close();
+        }
         if (this.sortExecutor == null) {
             return;
         }
@@ -118,12 +150,17 @@ public abstract class SortManager implements Manager {
                                               WriteBuffers buffer) {
         return CompletableFuture.supplyAsync(() -> {
             RandomAccessInput bufferForRead = buffer.wrapForRead();
-            // TODO：This ByteBuffer should be allocated from the off-heap
-            BytesOutput output = IOFactory.createBytesOutput(this.capacity);
+            BytesOutput output;
+            if (this.bufferPool != null) {
+                output = this.sortOutput.get();
+            } else {
+                output = IOFactory.createBytesOutput(this.capacity);
+            }
             InnerSortFlusher flusher = this.createSortFlusher(
                                        type, output,
                                        this.flushThreshold);
             try {
+                output.seek(0L);
                 this.sorter.sortBuffer(bufferForRead, flusher,
                                        type == MessageType.EDGE);
             } catch (Exception e) {
@@ -131,10 +168,33 @@ public abstract class SortManager implements Manager {
                                             "message", e, type.name());
             }
 
-            return ByteBuffer.wrap(output.buffer(), 0, (int) output.position());
+            int length = (int) output.position();
+            if (this.bufferPool == null) {
+                return ByteBuffer.wrap(output.buffer(), 0, length);
+            }
+            // Copy to the pooled buffer, the sort output is reused
+            ByteBuffer sorted = this.bufferPool.allocate(length);
+            sorted.put(output.buffer(), 0, length);
+            sorted.flip();
+            return sorted;
         }, this.sortExecutor);
     }
 
+    /**
+     * Return the buffer got from {@link #sort(MessageType, WriteBuffers)}
+     * to the pool after it's sent, it's unnecessary to call if the pool is
+     * not enabled.
+     */
+    public void releaseBuffer(ByteBuffer buffer) {
+        if (this.bufferPool != null) {
+            this.bufferPool.release(buffer);
+        }
+    }
+
+    public DirectBufferPool bufferPool() {
+        return this.bufferPool;
+    }
+
     public CompletableFuture<Void> mergeBuffers(List<RandomAccessInput> inputs,
                                                 String path,
                                                 boolean withSubKv,
@@ -153,6 +213,21 @@ public abstract class SortManager implements Manager {
         }, this.sortExecutor);
     }
 
+    public PeekableIterator<KvEntry> mergeBuffers(
+                                     List<RandomAccessInput> inputs,
+                                     boolean withSubKv,
+                                     OuterSortFlusher flusher) {
+        if (withSubKv) {
+            flusher.sources(inputs.size());
+        }
+        try {
+            return this.sorter.mergeBuffers(inputs, flusher, withSubKv);
+        } catch (Exception e) {
+            throw new ComputerException("Failed to merge %s buffers in memory",
+                                        e, inputs.size());
+        }
+    }
+
     public void mergeInputs(List<String> inputs, List<String> outputs,
                             boolean withSubKv, OuterSortFlusher flusher) {
         if (withSubKv) {
@@ -167,6 +242,30 @@ public abstract class SortManager implements Manager {
         }
     }
 
+    public CompletableFuture<Void> mergeInputs(List<String> inputs,
+                                               String output,
+                                               boolean withSubKv,
+                                               OuterSortFlusher flusher) {
+        return CompletableFuture.runAsync(() -> {
+            this.mergeInputs(inputs, ImmutableList.of(output), withSubKv,
+                             flusher);
+        }, this.sortExecutor);
+    }
+
+    public PeekableIterator<KvEntry> mergeInputs(List<String> inputs,
+                                                 boolean withSubKv,
+                                                 OuterSortFlusher flusher) {
+        if (withSubKv) {
+            flusher.sources(inputs.size());
+        }
+        try {
+            return this.sorter.mergeInputs(inputs, flusher, withSubKv);
+        } catch (Exception e) {
+            throw new ComputerException("Failed to merge %s files lazily",
+                                        e, inputs.size());
+        }
+    }
+
     public PeekableIterator<KvEntry> iterator(List<String> outputs,
                                               boolean withSubKv) {
         try {
@@ -21,6 +21,9 @@ import java.util.Iterator;
 import java.util.List;
 
 import org.apache.hugegraph.computer.core.common.exception.ComputerException;
+import org.apache.hugegraph.computer.core.sort.sorter.InputSorter;
+import org.apache.hugegraph.computer.core.sort.sorter.JavaInputSorter;
+import org.apache.hugegraph.computer.core.sort.sorter.RadixInputSorter;
 
 public class SortingFactory {
 
@@ -45,6 +48,18 @@ public class SortingFactory {
         return createSorting(inputs, MODE);
     }
 
+    public static InputSorter createInputSorter(String sorter) {
+        switch (sorter) {
+            case "JAVA":
+                return new JavaInputSorter();
+            case "RADIX":
+                return new RadixInputSorter();
+            default:
+                throw new ComputerException("Can't create input sorter " +
+                                            "for '%s'", sorter);
+        }
+    }
+
     private static <T> InputsSorting<T> createLoserTreeSorting(
                                         List<? extends Iterator<T>> inputs) {
         return new LoserTreeInputsSorting<>(inputs);
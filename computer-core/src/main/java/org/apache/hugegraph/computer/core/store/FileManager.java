@@ -21,13 +21,18 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.hugegraph.computer.core.common.Constants;
 import org.apache.hugegraph.computer.core.common.exception.ComputerException;
 import org.apache.hugegraph.computer.core.config.ComputerOptions;
 import org.apache.hugegraph.computer.core.config.Config;
+import org.apache.hugegraph.computer.core.io.FileInputFactory;
 import org.apache.hugegraph.computer.core.manager.Manager;
+import org.apache.hugegraph.util.ExecutorUtil;
 import org.apache.hugegraph.util.Log;
 import org.slf4j.Logger;
 
@@ -36,13 +41,19 @@ public class FileManager implements FileGenerator, Manager {
     private static final Logger LOG = Log.logger(FileManager.class);
 
     public static final String NAME = "data_dir";
+    private static final String READ_AHEAD_PREFIX = "read-ahead-%s";
 
     private List<String> dirs;
     private AtomicInteger sequence;
+    // The I/O threads shared by the file inputs to read ahead, may be null
+    private ExecutorService readAheadExecutor;
+    private FileInputFactory inputFactory;
 
     public FileManager() {
         this.dirs = new ArrayList<>();
         this.sequence = new AtomicInteger();
+        this.readAheadExecutor = null;
+        this.inputFactory = null;
     }
 
     @Override
@@ -79,15 +90,44 @@ public class FileManager implements FileGenerator, Manager {
          * same dir.
          */
         Collections.shuffle(this.dirs);
+
+        if (!config.get(ComputerOptions.WORKER_MMAP_FILE_INPUT) &&
+            config.get(ComputerOptions.WORKER_READ_AHEAD_DEPTH) > 0) {
+            this.readAheadExecutor = ExecutorUtil.newFixedThreadPool(
+                                     config.get(ComputerOptions
+                                                .WORKER_READ_AHEAD_THREADS),
+                                     READ_AHEAD_PREFIX);
+        }
+        this.inputFactory = new FileInputFactory(config,
+                                                 this.readAheadExecutor);
     }
 
     @Override
     public void close(Config config) {
+        if (this.readAheadExecutor != null) {
+            this.readAheadExecutor.shutdown();
+            try {
+                this.readAheadExecutor.awaitTermination(
+                                       Constants.SHUTDOWN_TIMEOUT,
+                                       TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                LOG.warn("Interrupted when waiting read ahead executor " +
+                         "terminated");
+            }
+        }
         for (String dir : this.dirs) {
             FileUtils.deleteQuietly(new File(dir));
         }
     }
 
+    /**
+     * The factory of the inputs of the files in the directories, it's
+     * available after initialized.
+     */
+    public FileInputFactory inputFactory() {
+        return this.inputFactory;
+    }
+
     @Override
     public String nextDirectory() {
         int index = this.sequence.incrementAndGet();
@@ -28,11 +28,14 @@ import org.apache.hugegraph.computer.core.store.entry.KvEntry;
 public class KvEntriesInput implements EntryIterator {
 
     private final RandomAccessInput input;
+    private final boolean useInlinePointer;
     private final boolean withSubKv;
     private final RandomAccessInput userAccessInput;
 
-    public KvEntriesInput(RandomAccessInput input, boolean withSubKv) {
+    public KvEntriesInput(RandomAccessInput input, boolean useInlinePointer,
+                          boolean withSubKv) {
         this.input = input;
+        this.useInlinePointer = useInlinePointer;
         this.withSubKv = withSubKv;
         try {
             this.userAccessInput = this.input.duplicate();
@@ -41,6 +44,10 @@ public class KvEntriesInput implements EntryIterator {
         }
     }
 
+    public KvEntriesInput(RandomAccessInput input, boolean withSubKv) {
+        this(input, true, withSubKv);
+    }
+
     public KvEntriesInput(RandomAccessInput input) {
         this(input, false);
     }
@@ -57,7 +64,8 @@ public class KvEntriesInput implements EntryIterator {
     @Override
     public KvEntry next() {
         return EntriesUtil.kvEntryFromInput(this.input, this.userAccessInput,
-                                            true, this.withSubKv);
+                                            this.useInlinePointer,
+                                            this.withSubKv);
     }
 
     @Override
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hugegraph.computer.core.store.buffer;
+
+import java.io.IOException;
+
+import org.apache.hugegraph.computer.core.io.BytesOutput;
+import org.apache.hugegraph.computer.core.io.IOFactory;
+import org.apache.hugegraph.computer.core.io.RandomAccessInput;
+import org.apache.hugegraph.computer.core.store.KvEntryFileWriter;
+import org.apache.hugegraph.computer.core.store.entry.KvEntry;
+
+/**
+ * Write the entries to a buffer in memory in the same format as
+ * {@link KvEntriesInput} reads, it's used to merge buffers without
+ * writing a file.
+ */
+public class KvEntriesOutput implements KvEntryFileWriter {
+
+    private final BytesOutput output;
+
+    public KvEntriesOutput(int capacity) {
+        this.output = IOFactory.createBytesOutput(capacity);
+    }
+
+    @Override
+    public void write(KvEntry entry) throws IOException {
+        entry.key().write(this.output);
+        entry.value().write(this.output);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        // pass
+    }
+
+    @Override
+    public void close() throws IOException {
+        // pass
+    }
+
+    public long position() {
+        return this.output.position();
+    }
+
+    public RandomAccessInput toInput() {
+        return IOFactory.createBytesInput(this.output.buffer(),
+                                          (int) this.output.position());
+    }
+}
@@ -21,7 +21,7 @@ import java.io.File;
 import java.io.IOException;
 
 import org.apache.hugegraph.computer.core.common.exception.ComputerException;
-import org.apache.hugegraph.computer.core.io.IOFactory;
+import org.apache.hugegraph.computer.core.io.FileInputFactory;
 import org.apache.hugegraph.computer.core.io.RandomAccessInput;
 import org.apache.hugegraph.computer.core.store.EntryIterator;
 import org.apache.hugegraph.computer.core.store.KvEntryFileReader;
@@ -31,13 +31,20 @@ import org.apache.hugegraph.computer.core.store.entry.KvEntry;
 public class BufferFileEntryReader implements KvEntryFileReader {
 
     private final File file;
+    private final FileInputFactory inputFactory;
     private final boolean withSubKv;
 
-    public BufferFileEntryReader(String path, boolean withSubKv) {
+    public BufferFileEntryReader(String path, FileInputFactory inputFactory,
+                                 boolean withSubKv) {
         this.file = new File(path);
+        this.inputFactory = inputFactory;
         this.withSubKv = withSubKv;
     }
 
+    public BufferFileEntryReader(String path, boolean withSubKv) {
+        this(path, new FileInputFactory(), withSubKv);
+    }
+
     public BufferFileEntryReader(String path) {
         this(path, false);
     }
@@ -54,8 +61,8 @@ public class BufferFileEntryReader implements KvEntryFileReader {
 
         public EntryIter() {
             try {
-                this.input = IOFactory.createFileInput(
-                                       BufferFileEntryReader.this.file);
+                this.input = BufferFileEntryReader.this.inputFactory
+                             .createFileInput(BufferFileEntryReader.this.file);
                 this.userAccessInput = this.input.duplicate();
             } catch (IOException e) {
                 throw new ComputerException(e.getMessage(), e);
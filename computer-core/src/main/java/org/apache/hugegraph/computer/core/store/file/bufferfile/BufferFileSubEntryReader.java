@@ -21,7 +21,7 @@ import java.io.File;
 import java.io.IOException;
 
 import org.apache.hugegraph.computer.core.common.exception.ComputerException;
-import org.apache.hugegraph.computer.core.io.IOFactory;
+import org.apache.hugegraph.computer.core.io.FileInputFactory;
 import org.apache.hugegraph.computer.core.io.RandomAccessInput;
 import org.apache.hugegraph.computer.core.store.EntryIterator;
 import org.apache.hugegraph.computer.core.store.KvEntryFileReader;
@@ -31,9 +31,16 @@ import org.apache.hugegraph.computer.core.store.entry.KvEntry;
 public class BufferFileSubEntryReader implements KvEntryFileReader {
 
     private final File file;
+    private final FileInputFactory inputFactory;
 
-    public BufferFileSubEntryReader(String path) {
+    public BufferFileSubEntryReader(String path,
+                                    FileInputFactory inputFactory) {
         this.file = new File(path);
+        this.inputFactory = inputFactory;
+    }
+
+    public BufferFileSubEntryReader(String path) {
+        this(path, new FileInputFactory());
     }
 
     @Override
@@ -48,8 +55,8 @@ public class BufferFileSubEntryReader implements KvEntryFileReader {
 
         public EntryIter() {
             try {
-                this.input = IOFactory.createFileInput(
-                             BufferFileSubEntryReader.this.file);
+                this.input = BufferFileSubEntryReader.this.inputFactory
+                             .createFileInput(BufferFileSubEntryReader.this.file);
                 this.userAccessInput = this.input.duplicate();
             } catch (IOException e) {
                 throw new ComputerException(e.getMessage(), e);
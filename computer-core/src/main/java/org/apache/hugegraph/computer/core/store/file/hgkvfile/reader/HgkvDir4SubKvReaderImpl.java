@@ -17,6 +17,7 @@
 
 package org.apache.hugegraph.computer.core.store.file.hgkvfile.reader;
 
+import org.apache.hugegraph.computer.core.io.FileInputFactory;
 import org.apache.hugegraph.computer.core.store.EntryIterator;
 import org.apache.hugegraph.computer.core.store.KvEntryFileReader;
 import org.apache.hugegraph.computer.core.store.entry.EntriesUtil;
@@ -28,8 +29,14 @@ public class HgkvDir4SubKvReaderImpl implements KvEntryFileReader {
 
     private final KvEntryFileReader reader;
 
+    public HgkvDir4SubKvReaderImpl(String path, FileInputFactory inputFactory,
+                                   boolean useInlinePointer) {
+        this.reader = new HgkvDirReaderImpl(path, inputFactory,
+                                            useInlinePointer, true);
+    }
+
     public HgkvDir4SubKvReaderImpl(String path, boolean useInlinePointer) {
-        this.reader = new HgkvDirReaderImpl(path, useInlinePointer, true);
+        this(path, new FileInputFactory(), useInlinePointer);
     }
 
     public HgkvDir4SubKvReaderImpl(String path) {
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.NoSuchElementException;
 
 import org.apache.hugegraph.computer.core.common.exception.ComputerException;
+import org.apache.hugegraph.computer.core.io.FileInputFactory;
 import org.apache.hugegraph.computer.core.store.EntryIterator;
 import org.apache.hugegraph.computer.core.store.KvEntryFileReader;
 import org.apache.hugegraph.computer.core.store.entry.KvEntry;
@@ -33,13 +34,15 @@ import org.apache.hugegraph.computer.core.store.file.hgkvfile.HgkvFile;
 public class HgkvDirReaderImpl implements KvEntryFileReader {
 
     private final HgkvDir hgkvDir;
+    private final FileInputFactory inputFactory;
     private final boolean useInlinePointer;
     private final boolean withSubKv;
 
-    public HgkvDirReaderImpl(String path, boolean useInlinePointer,
-                             boolean withSubKv) {
+    public HgkvDirReaderImpl(String path, FileInputFactory inputFactory,
+                             boolean useInlinePointer, boolean withSubKv) {
         try {
             this.hgkvDir = HgkvDirImpl.open(path);
+            this.inputFactory = inputFactory;
             this.useInlinePointer = useInlinePointer;
             this.withSubKv = withSubKv;
         } catch (IOException e) {
@@ -47,6 +50,11 @@ public class HgkvDirReaderImpl implements KvEntryFileReader {
         }
     }
 
+    public HgkvDirReaderImpl(String path, boolean useInlinePointer,
+                             boolean withSubKv) {
+        this(path, new FileInputFactory(), useInlinePointer, withSubKv);
+    }
+
     public HgkvDirReaderImpl(String path, boolean withSubKv) {
         this(path, true, withSubKv);
     }
@@ -58,7 +66,8 @@ public class HgkvDirReaderImpl implements KvEntryFileReader {
     @Override
     public EntryIterator iterator() {
         try {
-            return new HgkvDirEntryIter(this.hgkvDir, this.useInlinePointer,
+            return new HgkvDirEntryIter(this.hgkvDir, this.inputFactory,
+                                        this.useInlinePointer,
                                         this.withSubKv);
         } catch (IOException e) {
             throw new ComputerException(e.getMessage(), e);
@@ -68,6 +77,7 @@ public class HgkvDirReaderImpl implements KvEntryFileReader {
     private static class HgkvDirEntryIter implements EntryIterator {
 
         private final List<HgkvFile> segments;
+        private final FileInputFactory inputFactory;
         private final List<EntryIterator> segmentsIters;
         private int segmentIndex;
         private long numEntries;
@@ -75,10 +85,12 @@ public class HgkvDirReaderImpl implements KvEntryFileReader {
         private final boolean useInlinePointer;
         private final boolean withSubKv;
 
-        public HgkvDirEntryIter(HgkvDir hgkvDir, boolean useInlinePointer,
-                                boolean withSubKv)
+        public HgkvDirEntryIter(HgkvDir hgkvDir,
+                                FileInputFactory inputFactory,
+                                boolean useInlinePointer, boolean withSubKv)
                                 throws IOException {
             this.segments = hgkvDir.segments();
+            this.inputFactory = inputFactory;
             this.segmentsIters = new ArrayList<>();
             this.segmentIndex = 0;
             this.numEntries = hgkvDir.numEntries();
@@ -122,8 +134,8 @@ public class HgkvDirReaderImpl implements KvEntryFileReader {
         private EntryIterator nextKeyIter() throws Exception {
             HgkvFile segment = this.segments.get(this.segmentIndex++);
             KvEntryFileReader reader = new HgkvFileReaderImpl(
-                                       segment.path(), this.useInlinePointer,
-                                       this.withSubKv);
+                                       segment.path(), this.inputFactory,
+                                       this.useInlinePointer, this.withSubKv);
             EntryIterator iterator = reader.iterator();
             this.segmentsIters.add(iterator);
             return iterator;
@@ -22,7 +22,7 @@ import java.io.IOException;
 import java.util.NoSuchElementException;
 
 import org.apache.hugegraph.computer.core.common.exception.ComputerException;
-import org.apache.hugegraph.computer.core.io.IOFactory;
+import org.apache.hugegraph.computer.core.io.FileInputFactory;
 import org.apache.hugegraph.computer.core.io.RandomAccessInput;
 import org.apache.hugegraph.computer.core.store.EntryIterator;
 import org.apache.hugegraph.computer.core.store.KvEntryFileReader;
@@ -34,17 +34,25 @@ import org.apache.hugegraph.computer.core.store.file.hgkvfile.HgkvFileImpl;
 public class HgkvFileReaderImpl implements KvEntryFileReader {
 
     private final HgkvFile hgkvFile;
+    private final FileInputFactory inputFactory;
     private final boolean useInlinePointer;
     private final boolean withSubKv;
 
-    public HgkvFileReaderImpl(String path, boolean useInlinePointer,
-                              boolean withSubKv)
+    public HgkvFileReaderImpl(String path, FileInputFactory inputFactory,
+                              boolean useInlinePointer, boolean withSubKv)
                               throws IOException {
         this.hgkvFile = HgkvFileImpl.open(path);
+        this.inputFactory = inputFactory;
         this.useInlinePointer = useInlinePointer;
         this.withSubKv = withSubKv;
     }
 
+    public HgkvFileReaderImpl(String path, boolean useInlinePointer,
+                              boolean withSubKv)
+                              throws IOException {
+        this(path, new FileInputFactory(), useInlinePointer, withSubKv);
+    }
+
     public HgkvFileReaderImpl(String path, boolean withSubKv)
                               throws IOException {
         this(path, true, withSubKv);
@@ -52,8 +60,8 @@ public class HgkvFileReaderImpl implements KvEntryFileReader {
 
     @Override
     public EntryIterator iterator() {
-        return new EntryIter(this.hgkvFile, this.useInlinePointer,
-                             this.withSubKv);
+        return new EntryIter(this.hgkvFile, this.inputFactory,
+                             this.useInlinePointer, this.withSubKv);
     }
 
     private static class EntryIter implements EntryIterator {
@@ -65,13 +73,13 @@ public class HgkvFileReaderImpl implements KvEntryFileReader {
         private final boolean useInlinePointer;
         private final boolean withSubKv;
 
-        public EntryIter(HgkvFile hgkvFile, boolean useInlinePointer,
-                         boolean withSubKv) {
+        public EntryIter(HgkvFile hgkvFile, FileInputFactory inputFactory,
+                         boolean useInlinePointer, boolean withSubKv) {
             this.file = hgkvFile;
             this.numEntries = this.file.numEntries();
             File file = new File(this.file.path());
             try {
-                this.input = IOFactory.createFileInput(file);
+                this.input = inputFactory.createFileInput(file);
                 this.userAccessInput = this.input.duplicate();
             } catch (IOException e) {
                 throw new ComputerException(e.getMessage(), e);
@@ -18,6 +18,7 @@
 package org.apache.hugegraph.computer.core.worker;
 
 import java.io.Closeable;
+import java.io.File;
 import java.net.InetSocketAddress;
 import java.util.HashMap;
 import java.util.List;
@@ -26,6 +27,7 @@ import java.util.Map;
 import org.apache.hugegraph.computer.core.aggregator.Aggregator;
 import org.apache.hugegraph.computer.core.aggregator.WorkerAggrManager;
 import org.apache.hugegraph.computer.core.bsp.Bsp4Worker;
+import org.apache.hugegraph.computer.core.checkpoint.WorkerCheckpointManager;
 import org.apache.hugegraph.computer.core.combiner.Combiner;
 import org.apache.hugegraph.computer.core.common.ComputerContext;
 import org.apache.hugegraph.computer.core.common.Constants;
@@ -36,6 +38,7 @@ import org.apache.hugegraph.computer.core.config.Config;
 import org.apache.hugegraph.computer.core.graph.SuperstepStat;
 import org.apache.hugegraph.computer.core.graph.edge.Edge;
 import org.apache.hugegraph.computer.core.graph.id.Id;
+import org.apache.hugegraph.computer.core.graph.partition.PartitionOutputStat;
 import org.apache.hugegraph.computer.core.graph.value.Value;
 import org.apache.hugegraph.computer.core.graph.vertex.Vertex;
 import org.apache.hugegraph.computer.core.input.WorkerInputManager;
@@ -61,6 +64,8 @@ public class WorkerService implements Closeable {
 
     private static final Logger LOG = Log.logger(WorkerService.class);
 
+    private static final String SNAPSHOT_DIR = "snapshot";
+
     private volatile boolean inited;
     private volatile boolean closed;
 
@@ -146,6 +151,10 @@ public class WorkerService implements Closeable {
     private void connectToWorkers() {
         List<ContainerInfo> workers = this.bsp4Worker.waitMasterAllInitDone();
         DataClientManager dm = this.managers.get(DataClientManager.NAME);
+        MessageSendManager sendManager = this.managers.get(
+                                         MessageSendManager.NAME);
+        sendManager.setLocalHandler(this.workerInfo.id(),
+                                    this.managers.get(MessageRecvManager.NAME));
         for (ContainerInfo worker : workers) {
             this.workers.put(worker.id(), worker);
             dm.connect(worker.id(), worker.hostname(), worker.dataPort());
@@ -238,16 +247,16 @@ public class WorkerService implements Closeable {
         LOG.info("{} WorkerService execute", this);
         this.checkInited();
 
-        // TODO: determine superstep if fail over is enabled.
         int superstep = this.bsp4Worker.waitMasterResumeDone();
         SuperstepStat superstepStat;
         if (superstep == Constants.INPUT_SUPERSTEP) {
             superstepStat = this.inputstep();
             superstep++;
         } else {
-            // TODO: Get superstepStat from bsp service.
-            superstepStat = null;
+            superstepStat = this.resumestep(superstep);
         }
+        WorkerCheckpointManager checkpointManager = this.managers.get(
+                                                    WorkerCheckpointManager.NAME);
 
         /*
          * The master determine whether to execute the next superstep. The
@@ -293,6 +302,11 @@ public class WorkerService implements Closeable {
             LOG.info("End computation of superstep {}", superstep);
 
             superstepStat = this.bsp4Worker.waitMasterStepDone(superstep);
+            if (superstepStat.active() &&
+                checkpointManager.needCheckpoint(superstep)) {
+                checkpointManager.checkpoint(superstep, this.computeManager);
+                this.bsp4Worker.workerCheckpointDone(superstep);
+            }
             superstep++;
         }
         this.outputstep();
@@ -322,7 +336,7 @@ public class WorkerService implements Closeable {
         FileManager fileManager = new FileManager();
         this.managers.add(fileManager);
 
-        SortManager recvSortManager = new RecvSortManager(this.context);
+        SortManager recvSortManager = new RecvSortManager(this.context, fileManager);
         this.managers.add(recvSortManager);
 
         MessageRecvManager recvManager = new MessageRecvManager(this.context,
@@ -336,15 +350,19 @@ public class WorkerService implements Closeable {
         DataClientManager clientManager = new DataClientManager(connManager, this.context);
         this.managers.add(clientManager);
 
-        SortManager sendSortManager = new SendSortManager(this.context);
+        SortManager sendSortManager = new SendSortManager(this.context, fileManager);
         this.managers.add(sendSortManager);
 
         MessageSendManager sendManager = new MessageSendManager(this.context, sendSortManager,
                                                                 clientManager.sender());
         this.managers.add(sendManager);
-        SnapshotManager snapshotManager = new SnapshotManager(this.context, sendManager,
-                                                              recvManager, this.workerInfo);
+        SnapshotManager snapshotManager = new SnapshotManager(this.context, recvManager,
+                                                              this.workerInfo);
         this.managers.add(snapshotManager);
+        WorkerCheckpointManager checkpointManager = new WorkerCheckpointManager(
+                                                    fileManager, recvManager,
+                                                    this.workerInfo);
+        this.managers.add(checkpointManager);
         WorkerInputManager inputManager = new WorkerInputManager(this.context, sendManager,
                                                                  snapshotManager);
         inputManager.service(rpcManager.inputSplitService());
@@ -373,12 +391,27 @@ public class WorkerService implements Closeable {
     private SuperstepStat inputstep() {
         LOG.info("{} WorkerService inputstep started", this);
         WorkerInputManager manager = this.managers.get(WorkerInputManager.NAME);
-        manager.loadGraph();
+        SnapshotManager snapshotManager = this.managers.get(SnapshotManager.NAME);
+        FileManager fileManager = this.managers.get(FileManager.NAME);
+        if (!snapshotManager.loadPartitionLayout()) {
+            manager.loadGraph();
+        }
 
         this.bsp4Worker.workerInputDone();
         this.bsp4Worker.waitMasterInputDone();
 
-        WorkerStat workerStat = this.computeManager.input();
+        WorkerStat workerStat;
+        if (snapshotManager.loadPartitionLayout()) {
+            // The partitions are built already, needn't merge and build them
+            File dir = new File(fileManager.randomDirectory(SNAPSHOT_DIR));
+            workerStat = snapshotManager.loadPartitions(this.computeManager, dir);
+        } else {
+            workerStat = this.computeManager.input();
+            if (snapshotManager.writePartitionLayout()) {
+                File dir = new File(fileManager.randomDirectory(SNAPSHOT_DIR));
+                snapshotManager.uploadPartitions(this.computeManager, workerStat, dir);
+            }
+        }
 
         this.bsp4Worker.workerStepDone(Constants.INPUT_SUPERSTEP, workerStat);
         SuperstepStat superstepStat = this.bsp4Worker.waitMasterStepDone(Constants.INPUT_SUPERSTEP);
@@ -387,14 +420,32 @@ public class WorkerService implements Closeable {
         return superstepStat;
     }
 
+    /**
+     * Restore the partitions and the received messages from the checkpoint
+     * of the superstep before the resumed superstep, the restoring is
+     * overlapped with waiting the superstep stat republished by master.
+     */
+    private SuperstepStat resumestep(int superstep) {
+        LOG.info("{} WorkerService resume from superstep {}", this, superstep);
+        WorkerCheckpointManager manager = this.managers.get(
+                                          WorkerCheckpointManager.NAME);
+        manager.restoreAsync(superstep - 1, this.computeManager);
+        SuperstepStat superstepStat = this.bsp4Worker.waitMasterStepDone(
+                                      superstep - 1);
+        manager.waitRestored();
+        LOG.info("{} WorkerService resumed from superstep {}", this,
+                 superstep);
+        return superstepStat;
+    }
+
     /**
      * Write results back parallel to HugeGraph and signal the master. Be
      * called after all superstep iteration finished. After this, this worker
      * can exit successfully.
      */
     private void outputstep() {
-        this.computeManager.output();
-        this.bsp4Worker.workerOutputDone();
+        List<PartitionOutputStat> outputStats = this.computeManager.output();
+        this.bsp4Worker.workerOutputDone(outputStats);
         LOG.info("{} WorkerService outputstep finished", this);
     }
 
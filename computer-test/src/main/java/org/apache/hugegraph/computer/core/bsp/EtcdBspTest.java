@@ -26,6 +26,7 @@ import org.apache.hugegraph.computer.core.common.ContainerInfo;
 import org.apache.hugegraph.computer.core.config.ComputerOptions;
 import org.apache.hugegraph.computer.core.config.Config;
 import org.apache.hugegraph.computer.core.graph.SuperstepStat;
+import org.apache.hugegraph.computer.core.graph.partition.PartitionOutputStat;
 import org.apache.hugegraph.computer.core.graph.partition.PartitionStat;
 import org.apache.hugegraph.computer.core.worker.WorkerStat;
 import org.apache.hugegraph.computer.suite.unit.UnitTestBase;
@@ -34,6 +35,8 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableList;
+
 public class EtcdBspTest extends UnitTestBase {
 
     private Bsp4Master bsp4Master;
@@ -172,14 +175,19 @@ public class EtcdBspTest extends UnitTestBase {
     @Test
     public void testOutput() throws InterruptedException {
         CountDownLatch countDownLatch = new CountDownLatch(2);
+        List<PartitionOutputStat> outputStats = ImmutableList.of(
+                new PartitionOutputStat(0, 100L, 200L, 10L),
+                new PartitionOutputStat(1, 200L, 400L, 20L));
         this.executorService.submit(() -> {
-            this.bsp4Master.waitWorkersOutputDone();
+            List<PartitionOutputStat> result =
+                                      this.bsp4Master.waitWorkersOutputDone();
             this.bsp4Master.clean();
+            Assert.assertEquals(outputStats, result);
+            Assert.assertEquals(10000L, result.get(0).throughput());
             countDownLatch.countDown();
-
         });
         this.executorService.submit(() -> {
-            this.bsp4Worker.workerOutputDone();
+            this.bsp4Worker.workerOutputDone(outputStats);
             countDownLatch.countDown();
         });
         countDownLatch.await();
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.checkpoint;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.hugegraph.computer.core.config.ComputerOptions;
+import org.apache.hugegraph.computer.core.config.Config;
+import org.apache.hugegraph.computer.suite.unit.UnitTestBase;
+import org.apache.hugegraph.testutil.Assert;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LocalCheckpointStoreTest extends UnitTestBase {
+
+    private File root;
+    private File local;
+    private LocalCheckpointStore store;
+
+    @Before
+    public void setup() {
+        this.root = new File("checkpoint-" + UUID.randomUUID());
+        this.local = new File("checkpoint-local-" + UUID.randomUUID());
+        Config config = UnitTestBase.updateWithRequiredOptions(
+                ComputerOptions.CHECKPOINT_LOCAL_DIR, this.root.getPath()
+        );
+        this.store = new LocalCheckpointStore();
+        this.store.init(config);
+    }
+
+    @After
+    public void teardown() {
+        this.store.close();
+        FileUtils.deleteQuietly(this.root);
+        FileUtils.deleteQuietly(this.local);
+    }
+
+    @Test
+    public void testUploadAndDownload() throws IOException {
+        File file = this.writeLocalFile("source", "value");
+        String key = CheckpointKeys.partition("job", 3, 1) + "status";
+        this.store.upload(file, key);
+
+        File target = new File(this.local, "target/status");
+        this.store.download(key, target);
+        Assert.assertEquals("value", FileUtils.readFileToString(
+                                     target, StandardCharsets.UTF_8));
+
+        // Overwrite the existing object
+        file = this.writeLocalFile("source", "value2");
+        this.store.upload(file, key);
+        this.store.download(key, target);
+        Assert.assertEquals("value2", FileUtils.readFileToString(
+                                      target, StandardCharsets.UTF_8));
+
+        Assert.assertThrows(RuntimeException.class, () -> {
+            this.store.download("job/3/not_exists", target);
+        });
+    }
+
+    @Test
+    public void testListAndDelete() throws IOException {
+        File file = this.writeLocalFile("source", "value");
+        String partition0 = CheckpointKeys.partition("job", 1, 0) + "value";
+        String message0 = CheckpointKeys.message("job", 1, 0) + "file1";
+        String complete1 = CheckpointKeys.complete("job", 1);
+        String master2 = CheckpointKeys.master("job", 2);
+        for (String key : Arrays.asList(partition0, message0, complete1,
+                                        master2)) {
+            this.store.upload(file, key);
+        }
+
+        Assert.assertEquals(Collections.singletonList(partition0),
+                            this.store.list(CheckpointKeys.partition("job",
+                                                                     1, 0)));
+        List<String> keys = this.store.list(CheckpointKeys.job("job"));
+        Collections.sort(keys);
+        List<String> expected = Arrays.asList(partition0, message0,
+                                              complete1, master2);
+        Collections.sort(expected);
+        Assert.assertEquals(expected, keys);
+        Assert.assertEquals(Collections.emptyList(),
+                            this.store.list(CheckpointKeys.job("job2")));
+
+        this.store.delete(CheckpointKeys.superstep("job", 1));
+        Assert.assertEquals(Collections.singletonList(master2),
+                            this.store.list(CheckpointKeys.job("job")));
+    }
+
+    @Test
+    public void testCheckpointKeys() {
+        Assert.assertEquals("job/5/partition/2/",
+                            CheckpointKeys.partition("job", 5, 2));
+        Assert.assertEquals("job/5/message/2/",
+                            CheckpointKeys.message("job", 5, 2));
+        Assert.assertEquals(5, CheckpointKeys.superstepOf(
+                               "job", CheckpointKeys.master("job", 5)));
+        Assert.assertEquals(-1, CheckpointKeys.superstepOf(
+                                "job", "job2/5/master"));
+        Assert.assertEquals(-1, CheckpointKeys.superstepOf(
+                                "job", "job/x/master"));
+        Assert.assertTrue(CheckpointKeys.isComplete(
+                          "job", CheckpointKeys.complete("job", 5)));
+        Assert.assertFalse(CheckpointKeys.isComplete(
+                           "job", CheckpointKeys.master("job", 5)));
+        Assert.assertEquals("value", CheckpointKeys.fileName(
+                                     "job/5/partition/2/value"));
+    }
+
+    private File writeLocalFile(String name, String content)
+                                throws IOException {
+        File file = new File(this.local, name);
+        FileUtils.writeStringToFile(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+}
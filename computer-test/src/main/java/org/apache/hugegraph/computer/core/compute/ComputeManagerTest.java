@@ -17,12 +17,22 @@
 
 package org.apache.hugegraph.computer.core.compute;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.UUID;
 import java.util.function.Consumer;
 
+import org.apache.commons.io.FileUtils;
+import org.apache.hugegraph.computer.core.checkpoint.WorkerCheckpointManager;
 import org.apache.hugegraph.computer.core.common.Constants;
+import org.apache.hugegraph.computer.core.common.ContainerInfo;
 import org.apache.hugegraph.computer.core.config.ComputerOptions;
 import org.apache.hugegraph.computer.core.config.Config;
 import org.apache.hugegraph.computer.core.config.EdgeFrequency;
@@ -31,6 +41,8 @@ import org.apache.hugegraph.computer.core.graph.edge.Edge;
 import org.apache.hugegraph.computer.core.graph.edge.Edges;
 import org.apache.hugegraph.computer.core.graph.id.BytesId;
 import org.apache.hugegraph.computer.core.graph.id.Id;
+import org.apache.hugegraph.computer.core.graph.partition.PartitionOutputStat;
+import org.apache.hugegraph.computer.core.graph.partition.PartitionStat;
 import org.apache.hugegraph.computer.core.graph.properties.Properties;
 import org.apache.hugegraph.computer.core.graph.value.IdList;
 import org.apache.hugegraph.computer.core.graph.value.IdListList;
@@ -47,17 +59,21 @@ import org.apache.hugegraph.computer.core.network.message.MessageType;
 import org.apache.hugegraph.computer.core.receiver.MessageRecvManager;
 import org.apache.hugegraph.computer.core.receiver.ReceiverUtil;
 import org.apache.hugegraph.computer.core.sender.MessageSendManager;
+import org.apache.hugegraph.computer.core.snapshot.LocalSnapshotStore;
 import org.apache.hugegraph.computer.core.snapshot.SnapshotManager;
 import org.apache.hugegraph.computer.core.sort.sorting.SendSortManager;
 import org.apache.hugegraph.computer.core.sort.sorting.SortManager;
 import org.apache.hugegraph.computer.core.store.FileManager;
 import org.apache.hugegraph.computer.core.store.entry.EntryOutput;
 import org.apache.hugegraph.computer.core.store.entry.EntryOutputImpl;
+import org.apache.hugegraph.computer.core.worker.WorkerStat;
 import org.apache.hugegraph.computer.suite.unit.UnitTestBase;
+import org.apache.hugegraph.testutil.Assert;
 import org.apache.hugegraph.testutil.Whitebox;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 public class ComputeManagerTest extends UnitTestBase {
 
@@ -70,7 +86,11 @@ public class ComputeManagerTest extends UnitTestBase {
 
     @Before
     public void setup() {
-        this.config = UnitTestBase.updateWithRequiredOptions(
+        this.initManagers();
+    }
+
+    private void initManagers(Object... extraOptions) {
+        Object[] options = new Object[] {
                 ComputerOptions.JOB_ID, "local_001",
                 ComputerOptions.JOB_WORKERS_COUNT, "1",
                 ComputerOptions.JOB_PARTITIONS_COUNT, "2",
@@ -89,12 +109,17 @@ public class ComputeManagerTest extends UnitTestBase {
                 MockComputation.class.getName(),
                 ComputerOptions.INPUT_EDGE_FREQ, "SINGLE",
                 ComputerOptions.TRANSPORT_RECV_FILE_MODE, "false"
-        );
+        };
+        Object[] allOptions = Arrays.copyOf(options, options.length +
+                                                     extraOptions.length);
+        System.arraycopy(extraOptions, 0, allOptions, options.length,
+                         extraOptions.length);
+        this.config = UnitTestBase.updateWithRequiredOptions(allOptions);
 
         this.managers = new Managers();
         FileManager fileManager = new FileManager();
         this.managers.add(fileManager);
-        SortManager sortManager = new SendSortManager(context());
+        SortManager sortManager = new SendSortManager(context(), fileManager);
         this.managers.add(sortManager);
 
         MessageSendManager sendManager = new MessageSendManager(
@@ -106,7 +131,6 @@ public class ComputeManagerTest extends UnitTestBase {
                                                                    sortManager);
         this.managers.add(receiveManager);
         SnapshotManager snapshotManager = new SnapshotManager(context(),
-                                                              null,
                                                               receiveManager,
                                                               null);
         this.managers.add(snapshotManager);
@@ -124,13 +148,74 @@ public class ComputeManagerTest extends UnitTestBase {
 
     @Test
     public void testProcess() throws IOException {
+        this.process();
+    }
+
+    @Test
+    public void testProcessWithMemoryPartition() throws IOException {
+        this.managers.closeAll(this.config);
+        this.initManagers(ComputerOptions.WORKER_PARTITION_STORE_TYPE, "MEMORY");
+
+        this.process();
+
+        Map<Integer, GraphPartition> partitions = Whitebox.getInternalState(
+                                                  this.computeManager,
+                                                  "partitions");
+        Assert.assertEquals(2, partitions.size());
+        for (GraphPartition partition : partitions.values()) {
+            Assert.assertTrue(partition instanceof MemoryGraphPartition);
+        }
+    }
+
+    @Test
+    public void testProcessWithMemoryPartitionExceedLimit()
+                                                     throws IOException {
+        this.managers.closeAll(this.config);
+        this.initManagers(ComputerOptions.WORKER_PARTITION_STORE_TYPE, "MEMORY",
+                  ComputerOptions.WORKER_MEMORY_PARTITIONS_BYTES_LIMIT, "1");
+
+        this.process();
+
+        Map<Integer, GraphPartition> partitions = Whitebox.getInternalState(
+                                                  this.computeManager,
+                                                  "partitions");
+        Assert.assertEquals(2, partitions.size());
+        for (GraphPartition partition : partitions.values()) {
+            Assert.assertTrue(partition instanceof FileGraphPartition);
+        }
+    }
+
+    @Test
+    public void testProcessWithFixedValue() throws IOException {
+        this.managers.closeAll(this.config);
+        this.initManagers(ComputerOptions.WORKER_COMPUTATION_CLASS,
+                          MockFixedValueComputation.class.getName(),
+                          ComputerOptions.ALGORITHM_RESULT_CLASS,
+                          LongValue.class.getName());
+
+        this.process();
+
+        Map<Integer, GraphPartition> partitions = Whitebox.getInternalState(
+                                                  this.computeManager,
+                                                  "partitions");
+        for (GraphPartition partition : partitions.values()) {
+            Assert.assertTrue(Whitebox.getInternalState(partition,
+                                                        "fixedValue"));
+        }
+    }
+
+    @Test
+    public void testProcessWithInactiveVertices() throws IOException {
+        this.managers.closeAll(this.config);
+        this.initManagers(ComputerOptions.WORKER_COMPUTATION_CLASS,
+                          MockInactiveComputation.class.getName());
+
         MessageRecvManager receiveManager = this.managers.get(
                                             MessageRecvManager.NAME);
         receiveManager.onStarted(this.connectionId);
         add200VertexBuffer((NetworkBuffer buffer) -> {
             receiveManager.handle(MessageType.VERTEX, 0, buffer);
         });
-        // Partition 1 only has vertex.
         add200VertexBuffer((NetworkBuffer buffer) -> {
             receiveManager.handle(MessageType.VERTEX, 1, buffer);
         });
@@ -142,6 +227,302 @@ public class ComputeManagerTest extends UnitTestBase {
         receiveManager.onFinished(this.connectionId);
         this.computeManager.input();
 
+        // Superstep 0, all vertices are inactive after computation
+        receiveManager.beforeSuperstep(this.config, 0);
+        receiveManager.onStarted(this.connectionId);
+        addMessages((NetworkBuffer buffer) -> {
+            receiveManager.handle(MessageType.MSG, 0, buffer);
+        });
+        receiveManager.onFinished(this.connectionId);
+        WorkerStat stat = this.computeManager.compute(null, 0);
+        receiveManager.afterSuperstep(this.config, 0);
+        assertAllFinished(stat);
+
+        // Only the vertices received messages are computed
+        for (int superstep = 1; superstep <= 2; superstep++) {
+            this.computeManager.takeRecvedMessages();
+            receiveManager.beforeSuperstep(this.config, superstep);
+            receiveManager.onStarted(this.connectionId);
+            receiveManager.onFinished(this.connectionId);
+            stat = this.computeManager.compute(null, superstep);
+            receiveManager.afterSuperstep(this.config, superstep);
+            assertAllFinished(stat);
+        }
+
+        List<PartitionOutputStat> outputStats = this.computeManager.output();
+        Assert.assertEquals(2, outputStats.size());
+        for (PartitionOutputStat outputStat : outputStats) {
+            Assert.assertEquals(100L, outputStat.vertexCount());
+        }
+    }
+
+    @Test
+    public void testCheckpointAndRestore() throws IOException {
+        this.checkpointAndRestore();
+    }
+
+    @Test
+    public void testCheckpointAndRestoreWithMemoryPartition()
+                                                       throws IOException {
+        this.checkpointAndRestore(
+             ComputerOptions.WORKER_PARTITION_STORE_TYPE, "MEMORY");
+    }
+
+    @Test
+    public void testCheckpointAndRestoreWithFixedValue() throws IOException {
+        this.checkpointAndRestore(
+             ComputerOptions.WORKER_COMPUTATION_CLASS,
+             MockFixedValueComputation.class.getName(),
+             ComputerOptions.ALGORITHM_RESULT_CLASS,
+             LongValue.class.getName());
+    }
+
+    private void checkpointAndRestore(Object... extraOptions)
+                                      throws IOException {
+        String checkpointDir = "checkpoint-" + UUID.randomUUID();
+        Object[] options = Arrays.copyOf(extraOptions,
+                                         extraOptions.length + 6);
+        options[extraOptions.length] = ComputerOptions.CHECKPOINT_INTERVAL;
+        options[extraOptions.length + 1] = "1";
+        options[extraOptions.length + 2] = ComputerOptions.CHECKPOINT_LOCAL_DIR;
+        options[extraOptions.length + 3] = checkpointDir;
+        // The restoring must not wait for the transfers of its own thread
+        options[extraOptions.length + 4] =
+                ComputerOptions.CHECKPOINT_TRANSFER_THREADS;
+        options[extraOptions.length + 5] = "1";
+        this.managers.closeAll(this.config);
+        this.initManagers(options);
+
+        FileManager fileManager = this.managers.get(FileManager.NAME);
+        MessageRecvManager receiveManager = this.managers.get(
+                                            MessageRecvManager.NAME);
+        // The partitions 0 and 1 belong to the worker 1
+        WorkerCheckpointManager checkpointManager = new WorkerCheckpointManager(
+                                fileManager, receiveManager,
+                                new ContainerInfo(1, "localhost", 8081));
+        checkpointManager.init(this.config);
+        ComputeManager restored = new ComputeManager(0, context(),
+                                                     this.managers);
+        try {
+            receiveManager.onStarted(this.connectionId);
+            add200VertexBuffer((NetworkBuffer buffer) -> {
+                receiveManager.handle(MessageType.VERTEX, 0, buffer);
+            });
+            add200VertexBuffer((NetworkBuffer buffer) -> {
+                receiveManager.handle(MessageType.VERTEX, 1, buffer);
+            });
+            receiveManager.onFinished(this.connectionId);
+            receiveManager.onStarted(this.connectionId);
+            addSingleFreqEdgeBuffer((NetworkBuffer buffer) -> {
+                receiveManager.handle(MessageType.EDGE, 0, buffer);
+            });
+            receiveManager.onFinished(this.connectionId);
+            this.computeManager.input();
+
+            // Superstep 0, checkpoint after computed
+            receiveManager.beforeSuperstep(this.config, 0);
+            receiveManager.onStarted(this.connectionId);
+            addMessages((NetworkBuffer buffer) -> {
+                receiveManager.handle(MessageType.MSG, 0, buffer);
+            });
+            receiveManager.onFinished(this.connectionId);
+            this.computeManager.compute(null, 0);
+            receiveManager.afterSuperstep(this.config, 0);
+            Assert.assertTrue(checkpointManager.needCheckpoint(0));
+            Map<Integer, Long> messageBytes = bytesOf(
+                                              receiveManager.messageFiles());
+            checkpointManager.checkpoint(0, this.computeManager);
+
+            // Restore the partitions and messages
+            checkpointManager.restoreAsync(0, restored);
+            checkpointManager.waitRestored();
+            Assert.assertEquals(messageBytes,
+                                bytesOf(receiveManager.messageFiles()));
+            assertPartitionsEqual(this.computeManager, restored);
+
+            // Superstep 1 computed with the restored partitions
+            restored.takeRecvedMessages();
+            receiveManager.beforeSuperstep(this.config, 1);
+            receiveManager.onStarted(this.connectionId);
+            receiveManager.onFinished(this.connectionId);
+            restored.compute(null, 1);
+            receiveManager.afterSuperstep(this.config, 1);
+
+            List<PartitionOutputStat> outputStats = restored.output();
+            Assert.assertEquals(2, outputStats.size());
+            for (PartitionOutputStat outputStat : outputStats) {
+                Assert.assertEquals(100L, outputStat.vertexCount());
+            }
+        } finally {
+            restored.close();
+            checkpointManager.close(this.config);
+            FileUtils.deleteQuietly(new File(checkpointDir));
+        }
+    }
+
+    @Test
+    public void testSnapshotPartitionLayout() throws IOException {
+        this.snapshotPartitionLayout();
+    }
+
+    @Test
+    public void testSnapshotPartitionLayoutWithMemoryPartition()
+                                                 throws IOException {
+        this.snapshotPartitionLayout(
+             ComputerOptions.WORKER_PARTITION_STORE_TYPE, "MEMORY");
+    }
+
+    private void snapshotPartitionLayout(Object... extraOptions)
+                                         throws IOException {
+        String snapshotDir = "snapshot-" + UUID.randomUUID();
+        this.managers.closeAll(this.config);
+        this.initManagers(snapshotOptions(extraOptions, snapshotDir, false));
+
+        // The partitions 0 and 1 belong to the worker 1
+        ContainerInfo workerInfo = new ContainerInfo(1, "localhost", 8081);
+        ComputeManager built = this.computeManager;
+        try {
+            WorkerStat inputStat = this.input();
+            SnapshotManager writer = new SnapshotManager(
+                                     context(),
+                                     Mockito.mock(MessageRecvManager.class),
+                                     workerInfo);
+            writer.init(this.config);
+            Assert.assertTrue(writer.writePartitionLayout());
+            FileManager fileManager = this.managers.get(FileManager.NAME);
+            writer.uploadPartitions(built, inputStat, new File(
+                                    fileManager.randomDirectory("snapshot")));
+            writer.close(this.config);
+
+            // The received vertex and edge files aren't saved to snapshot
+            File snapshot = new File(snapshotDir, "layout/HashPartitioner/2");
+            Assert.assertFalse(new File(snapshot, "VERTEX").exists());
+            Assert.assertTrue(new File(snapshot, "PARTITION/0").exists());
+            Assert.assertTrue(new File(snapshot, "PARTITION/1").exists());
+
+            // Load the partitions without inputting them
+            this.managers.closeAll(this.config);
+            this.initManagers(snapshotOptions(extraOptions, snapshotDir,
+                                              true));
+            SnapshotManager loader = new SnapshotManager(
+                                     context(),
+                                     Mockito.mock(MessageRecvManager.class),
+                                     workerInfo);
+            loader.init(this.config);
+            Assert.assertTrue(loader.loadPartitionLayout());
+            fileManager = this.managers.get(FileManager.NAME);
+            WorkerStat loadedStat = loader.loadPartitions(
+                                    this.computeManager, new File(
+                                    fileManager.randomDirectory("snapshot")));
+            loader.close(this.config);
+
+            Assert.assertEquals(inputStat.size(), loadedStat.size());
+            for (int i = 0; i < inputStat.size(); i++) {
+                Assert.assertEquals(inputStat.get(i), loadedStat.get(i));
+            }
+            assertPartitionsEqual(built, this.computeManager);
+            this.computeAndOutput();
+        } finally {
+            built.close();
+            FileUtils.deleteQuietly(new File(snapshotDir));
+        }
+    }
+
+    private static Object[] snapshotOptions(Object[] extraOptions,
+                                            String snapshotDir,
+                                            boolean load) {
+        Object[] snapshotOptions = new Object[] {
+                ComputerOptions.SNAPSHOT_NAME, "layout",
+                ComputerOptions.SNAPSHOT_WRITE, String.valueOf(!load),
+                ComputerOptions.SNAPSHOT_LOAD, String.valueOf(load),
+                ComputerOptions.SNAPSHOT_PARTITION_LAYOUT, "true",
+                ComputerOptions.SNAPSHOT_STORE_CLASS,
+                LocalSnapshotStore.class.getName(),
+                ComputerOptions.SNAPSHOT_LOCAL_DIR, snapshotDir
+        };
+        Object[] options = Arrays.copyOf(extraOptions, extraOptions.length +
+                                                       snapshotOptions.length);
+        System.arraycopy(snapshotOptions, 0, options, extraOptions.length,
+                         snapshotOptions.length);
+        return options;
+    }
+
+    private static Map<Integer, Long> bytesOf(
+                                      Map<Integer, List<String>> files) {
+        Map<Integer, Long> bytes = new HashMap<>();
+        for (Map.Entry<Integer, List<String>> entry : files.entrySet()) {
+            long size = 0L;
+            for (String file : entry.getValue()) {
+                size += FileUtils.sizeOf(new File(file));
+            }
+            bytes.put(entry.getKey(), size);
+        }
+        return bytes;
+    }
+
+    private static void assertPartitionsEqual(ComputeManager expected,
+                                              ComputeManager actual) {
+        Map<Integer, GraphPartition> expectedPartitions =
+                                     Whitebox.getInternalState(expected,
+                                                               "partitions");
+        Map<Integer, GraphPartition> actualPartitions =
+                                     Whitebox.getInternalState(actual,
+                                                               "partitions");
+        Assert.assertEquals(expectedPartitions.keySet(),
+                            actualPartitions.keySet());
+        for (Integer id : expectedPartitions.keySet()) {
+            GraphPartition expectedPartition = expectedPartitions.get(id);
+            GraphPartition actualPartition = actualPartitions.get(id);
+            Assert.assertEquals(expectedPartition.getClass(),
+                                actualPartition.getClass());
+            Assert.assertEquals(expectedPartition.vertexCount,
+                                actualPartition.vertexCount);
+            Assert.assertEquals(expectedPartition.edgeCount,
+                                actualPartition.edgeCount);
+            BitSet expectedActive = Whitebox.getInternalState(
+                                    expectedPartition, "activeVertices");
+            BitSet actualActive = Whitebox.getInternalState(
+                                  actualPartition, "activeVertices");
+            Assert.assertEquals(expectedActive, actualActive);
+        }
+    }
+
+    private static void assertAllFinished(WorkerStat stat) {
+        Assert.assertEquals(2, stat.size());
+        for (PartitionStat partitionStat : stat) {
+            Assert.assertEquals(partitionStat.vertexCount(),
+                                partitionStat.finishedVertexCount());
+        }
+    }
+
+    private void process() throws IOException {
+        this.input();
+        this.computeAndOutput();
+    }
+
+    private WorkerStat input() throws IOException {
+        MessageRecvManager receiveManager = this.managers.get(
+                                            MessageRecvManager.NAME);
+        receiveManager.onStarted(this.connectionId);
+        add200VertexBuffer((NetworkBuffer buffer) -> {
+            receiveManager.handle(MessageType.VERTEX, 0, buffer);
+        });
+        // Partition 1 only has vertex.
+        add200VertexBuffer((NetworkBuffer buffer) -> {
+            receiveManager.handle(MessageType.VERTEX, 1, buffer);
+        });
+        receiveManager.onFinished(this.connectionId);
+        receiveManager.onStarted(this.connectionId);
+        addSingleFreqEdgeBuffer((NetworkBuffer buffer) -> {
+            receiveManager.handle(MessageType.EDGE, 0, buffer);
+        });
+        receiveManager.onFinished(this.connectionId);
+        return this.computeManager.input();
+    }
+
+    private void computeAndOutput() throws IOException {
+        MessageRecvManager receiveManager = this.managers.get(
+                                            MessageRecvManager.NAME);
         // Superstep 0
         receiveManager.beforeSuperstep(this.config, 0);
         receiveManager.onStarted(this.connectionId);
@@ -161,7 +542,11 @@ public class ComputeManagerTest extends UnitTestBase {
         receiveManager.afterSuperstep(this.config, 1);
 
         // Output
-        this.computeManager.output();
+        List<PartitionOutputStat> outputStats = this.computeManager.output();
+        Assert.assertEquals(2, outputStats.size());
+        for (PartitionOutputStat outputStat : outputStats) {
+            Assert.assertEquals(100L, outputStat.vertexCount());
+        }
     }
 
     private static void add200VertexBuffer(Consumer<NetworkBuffer> consumer)
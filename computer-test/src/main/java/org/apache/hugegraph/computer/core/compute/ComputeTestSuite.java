@@ -17,6 +17,7 @@
 
 package org.apache.hugegraph.computer.core.compute;
 
+import org.apache.hugegraph.computer.core.compute.input.CompactEdgesTest;
 import org.apache.hugegraph.computer.core.compute.input.EdgesInputTest;
 import org.apache.hugegraph.computer.core.compute.input.MessageInputTest;
 import org.apache.hugegraph.computer.core.compute.input.ResuablePointerTest;
@@ -26,9 +27,11 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
     EdgesInputTest.class,
+    CompactEdgesTest.class,
     ResuablePointerTest.class,
     MessageInputTest.class,
-    ComputeManagerTest.class
+    ComputeManagerTest.class,
+    FixedValueStoreTest.class
 })
 public class ComputeTestSuite {
 }
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.compute;
+
+import java.io.IOException;
+
+import org.apache.hugegraph.computer.core.graph.value.DoubleValue;
+import org.apache.hugegraph.computer.core.graph.value.IdList;
+import org.apache.hugegraph.computer.core.graph.value.IntValue;
+import org.apache.hugegraph.computer.core.graph.value.LongValue;
+import org.apache.hugegraph.testutil.Assert;
+import org.junit.Test;
+
+public class FixedValueStoreTest {
+
+    @Test
+    public void testSupported() {
+        Assert.assertTrue(FixedValueStore.supported(new DoubleValue()));
+        Assert.assertTrue(FixedValueStore.supported(new IntValue()));
+        Assert.assertFalse(FixedValueStore.supported(new IdList()));
+    }
+
+    @Test
+    public void testReadWrite() throws IOException {
+        FixedValueStore store = new FixedValueStore(8, 10L);
+        Assert.assertEquals(80L, store.bytes());
+        for (long i = 0L; i < 10L; i++) {
+            store.write(i, new LongValue(i));
+        }
+        // Update in place
+        store.write(5L, new LongValue(50L));
+
+        LongValue value = new LongValue();
+        for (long i = 0L; i < 10L; i++) {
+            store.read(i, value);
+            Assert.assertEquals(i == 5L ? 50L : i, value.value());
+        }
+    }
+
+    @Test
+    public void testInvalidValueSize() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new FixedValueStore(0, 10L);
+        }, e -> {
+            Assert.assertContains("The value size must be > 0",
+                                  e.getMessage());
+        });
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.compute;
+
+import java.util.Iterator;
+
+import org.apache.hugegraph.computer.core.graph.value.IdList;
+import org.apache.hugegraph.computer.core.graph.value.LongValue;
+import org.apache.hugegraph.computer.core.graph.vertex.Vertex;
+import org.apache.hugegraph.computer.core.worker.Computation;
+import org.apache.hugegraph.computer.core.worker.ComputationContext;
+import org.junit.Assert;
+
+/**
+ * The value of vertex is the id of the vertex plus the number of messages
+ * received, it's used to check the values of fixed size.
+ */
+public class MockFixedValueComputation implements Computation<IdList> {
+
+    @Override
+    public String name() {
+        return "MockFixedValueComputation";
+    }
+
+    @Override
+    public String category() {
+        return "Mock";
+    }
+
+    @Override
+    public void compute0(ComputationContext context, Vertex vertex) {
+        vertex.value(new LongValue((Long) vertex.id().asObject()));
+    }
+
+    @Override
+    public void compute(ComputationContext context, Vertex vertex,
+                        Iterator<IdList> messages) {
+        LongValue value = vertex.value();
+        Assert.assertTrue(value.value() >= (Long) vertex.id().asObject());
+        while (messages.hasNext()) {
+            messages.next();
+            value.value(value.value() + 1L);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.compute;
+
+import java.util.Iterator;
+
+import org.apache.hugegraph.computer.core.graph.value.IdList;
+import org.apache.hugegraph.computer.core.graph.value.IdListList;
+import org.apache.hugegraph.computer.core.graph.vertex.Vertex;
+import org.apache.hugegraph.computer.core.worker.Computation;
+import org.apache.hugegraph.computer.core.worker.ComputationContext;
+import org.junit.Assert;
+
+/**
+ * All vertices are inactive after computation, so only the vertices which
+ * received messages are computed at the following supersteps.
+ */
+public class MockInactiveComputation implements Computation<IdList> {
+
+    @Override
+    public String name() {
+        return "MockInactiveComputation";
+    }
+
+    @Override
+    public String category() {
+        return "Mock";
+    }
+
+    @Override
+    public void compute0(ComputationContext context, Vertex vertex) {
+        IdListList value = new IdListList();
+        IdList ids = new IdList();
+        ids.add(vertex.id());
+        value.add(ids);
+        vertex.value(value);
+        vertex.inactivate();
+    }
+
+    @Override
+    public void compute(ComputationContext context, Vertex vertex,
+                        Iterator<IdList> messages) {
+        // The inactive vertex without messages should be skipped
+        Assert.assertTrue(messages.hasNext());
+        IdListList value = vertex.value();
+        Assert.assertEquals(vertex.id(), value.get(0).get(0));
+        while (messages.hasNext()) {
+            value.add(messages.next().copy());
+        }
+        vertex.inactivate();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hugegraph.computer.core.compute.input;
+
+import java.io.IOException;
+
+import org.apache.hugegraph.computer.core.common.Constants;
+import org.apache.hugegraph.computer.core.graph.id.BytesId;
+import org.apache.hugegraph.computer.core.graph.id.Id;
+import org.apache.hugegraph.computer.core.io.BytesInput;
+import org.apache.hugegraph.computer.core.io.BytesOutput;
+import org.apache.hugegraph.computer.core.io.IOFactory;
+import org.apache.hugegraph.computer.core.store.entry.DefaultKvEntry;
+import org.apache.hugegraph.computer.core.store.entry.InlinePointer;
+import org.apache.hugegraph.computer.core.store.entry.KvEntry;
+import org.apache.hugegraph.testutil.Assert;
+import org.junit.Test;
+
+public class CompactEdgesTest {
+
+    private static final int INT_LEN = Constants.INT_LEN;
+
+    @Test
+    public void testEncodeDeltaIds() throws IOException {
+        long[] ids = {5L, 3L, -7L, Long.MAX_VALUE, Long.MIN_VALUE, 0L};
+        Id[] targets = new Id[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            targets[i] = BytesId.of(ids[i]);
+        }
+
+        CompactEdges compactEdges = new CompactEdges();
+        Assert.assertTrue(compactEdges.encodeDeltaIds(edgesEntry(targets, 0)));
+
+        BytesOutput output = IOFactory.createBytesOutput(100);
+        compactEdges.writeDeltaIds(output);
+        BytesInput input = IOFactory.createBytesInput(output.buffer(), 0,
+                                                      (int) output.position());
+        long previous = 0L;
+        for (long id : ids) {
+            previous = CompactEdges.readDeltaId(input, previous);
+            Assert.assertEquals(id, previous);
+        }
+        Assert.assertEquals(0L, input.available());
+    }
+
+    @Test
+    public void testEncodeDeltaIdsWithUnsupportedEdges() throws IOException {
+        CompactEdges compactEdges = new CompactEdges();
+        Id[] targets = {BytesId.of(1L), BytesId.of("2")};
+        Assert.assertFalse(compactEdges.encodeDeltaIds(edgesEntry(targets,
+                                                                  0)));
+
+        targets = new Id[]{BytesId.of(1L), BytesId.of(2L)};
+        Assert.assertFalse(compactEdges.encodeDeltaIds(edgesEntry(targets,
+                                                                  1)));
+    }
+
+    private static KvEntry edgesEntry(Id[] targets, int propertiesSize)
+                                      throws IOException {
+        BytesOutput value = IOFactory.createBytesOutput(100);
+        value.writeFixedInt(targets.length);
+        for (Id target : targets) {
+            long position = value.position();
+            value.writeFixedInt(0);
+            target.write(value);
+            value.writeFixedInt(position, (int) (value.position() -
+                                                 position - INT_LEN));
+
+            position = value.position();
+            value.writeFixedInt(0);
+            value.writeInt(propertiesSize);
+            value.writeFixedInt(position, (int) (value.position() -
+                                                 position - INT_LEN));
+        }
+        BytesOutput key = IOFactory.createBytesOutput(10);
+        BytesId.of(0L).write(key);
+        return new DefaultKvEntry(new InlinePointer(key.toByteArray()),
+                                  new InlinePointer(value.toByteArray()));
+    }
+}
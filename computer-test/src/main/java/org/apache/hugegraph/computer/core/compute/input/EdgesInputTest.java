@@ -21,8 +21,11 @@ import java.io.File;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.Iterator;
+import java.util.UUID;
 import java.util.function.Consumer;
 
+import org.apache.commons.io.FileUtils;
+
 import org.apache.hugegraph.computer.core.common.Constants;
 import org.apache.hugegraph.computer.core.common.exception.ComputerException;
 import org.apache.hugegraph.computer.core.compute.FileGraphPartition;
@@ -40,7 +43,9 @@ import org.apache.hugegraph.computer.core.graph.value.IdList;
 import org.apache.hugegraph.computer.core.graph.value.IdListList;
 import org.apache.hugegraph.computer.core.graph.value.LongValue;
 import org.apache.hugegraph.computer.core.graph.vertex.Vertex;
+import org.apache.hugegraph.computer.core.io.BufferedFileOutput;
 import org.apache.hugegraph.computer.core.io.BytesOutput;
+import org.apache.hugegraph.computer.core.io.FileInputFactory;
 import org.apache.hugegraph.computer.core.io.GraphComputeOutput;
 import org.apache.hugegraph.computer.core.io.IOFactory;
 import org.apache.hugegraph.computer.core.io.StreamGraphOutput;
@@ -58,6 +63,7 @@ import org.apache.hugegraph.computer.core.sort.sorting.SortManager;
 import org.apache.hugegraph.computer.core.store.FileManager;
 import org.apache.hugegraph.computer.core.store.entry.EntryOutput;
 import org.apache.hugegraph.computer.core.store.entry.EntryOutputImpl;
+import org.apache.hugegraph.computer.core.store.entry.KvEntry;
 import org.apache.hugegraph.computer.suite.unit.UnitTestBase;
 import org.apache.hugegraph.testutil.Assert;
 import org.apache.hugegraph.testutil.Whitebox;
@@ -91,6 +97,69 @@ public class EdgesInputTest extends UnitTestBase {
         this.testEdgeFreq(EdgeFrequency.MULTIPLE);
     }
 
+    @Test
+    public void testReuseEdges() throws IOException {
+        this.testEdgeFreq(EdgeFrequency.SINGLE, true);
+        this.teardown();
+        this.testEdgeFreq(EdgeFrequency.MULTIPLE, true);
+    }
+
+    @Test
+    public void testSingleWithoutProperties() throws IOException {
+        this.testEdgeFreq(EdgeFrequency.SINGLE, false, false);
+        this.teardown();
+        this.testEdgeFreq(EdgeFrequency.SINGLE, true, false);
+    }
+
+    @Test
+    public void testMmapFileInput() throws IOException {
+        this.testEdgeFreq(EdgeFrequency.SINGLE, false, true, true);
+        this.teardown();
+        this.testEdgeFreq(EdgeFrequency.MULTIPLE, true, true, true);
+    }
+
+    @Test
+    public void testLegacyLayout() throws IOException {
+        this.config = UnitTestBase.updateWithRequiredOptions(
+                ComputerOptions.INPUT_EDGE_FREQ, "SINGLE"
+        );
+        File edgeFile = File.createTempFile(UUID.randomUUID().toString(), "");
+        try {
+            // The legacy layout has no file header and no flag in batches
+            BufferedFileOutput output = new BufferedFileOutput(edgeFile);
+            for (long i = 2L; i < 10L; i += 2) {
+                ReusablePointer idPointer = idToReusablePointer(
+                                            BytesId.of(i));
+                idPointer.write(output);
+                BytesOutput value = IOFactory.createBytesOutput(
+                                    Constants.SMALL_BUF_SIZE);
+                value.writeFixedInt((int) i);
+                for (long j = 0L; j < i; j++) {
+                    BytesId.of(j).write(value);
+                    Properties properties = graphFactory().createProperties();
+                    properties.put("p1", new LongValue(i));
+                    properties.write(value);
+                }
+                output.writeFixedInt((int) value.position());
+                output.write(value.buffer(), 0, (int) value.position());
+            }
+            output.close();
+
+            EdgesInput edgesInput = new EdgesInput(
+                                    context(),
+                                    new FileInputFactory(this.config, null),
+                                    edgeFile);
+            edgesInput.init();
+            Assert.assertFalse(Whitebox.getInternalState(edgesInput,
+                                                         "compact"));
+            this.checkEdgesInput(edgesInput, EdgeFrequency.SINGLE, false,
+                                 true, 10L);
+            edgesInput.close();
+        } finally {
+            FileUtils.deleteQuietly(edgeFile);
+        }
+    }
+
     @Test
     public void testEmptyEdges() {
         EdgesInput.EmptyEdges edges = EdgesInput.EmptyEdges.instance();
@@ -105,7 +174,22 @@ public class EdgesInputTest extends UnitTestBase {
         });
     }
 
-    private void testEdgeFreq(EdgeFrequency freq)
+    private void testEdgeFreq(EdgeFrequency freq) throws IOException {
+        this.testEdgeFreq(freq, false);
+    }
+
+    private void testEdgeFreq(EdgeFrequency freq, boolean reuse)
+                              throws IOException {
+        this.testEdgeFreq(freq, reuse, true);
+    }
+
+    private void testEdgeFreq(EdgeFrequency freq, boolean reuse,
+                              boolean withProperties) throws IOException {
+        this.testEdgeFreq(freq, reuse, withProperties, false);
+    }
+
+    private void testEdgeFreq(EdgeFrequency freq, boolean reuse,
+                              boolean withProperties, boolean mmap)
                               throws IOException {
         this.config = UnitTestBase.updateWithRequiredOptions(
                 ComputerOptions.JOB_ID, "local_001",
@@ -122,12 +206,14 @@ public class EdgesInputTest extends UnitTestBase {
                 ComputerOptions.WORKER_WAIT_FINISH_MESSAGES_TIMEOUT, "1000",
                 ComputerOptions.INPUT_MAX_EDGES_IN_ONE_VERTEX, "10",
                 ComputerOptions.INPUT_EDGE_FREQ, freq.name(),
-                ComputerOptions.TRANSPORT_RECV_FILE_MODE, "false"
+                ComputerOptions.TRANSPORT_RECV_FILE_MODE, "false",
+                ComputerOptions.WORKER_REUSE_EDGES, String.valueOf(reuse),
+                ComputerOptions.WORKER_MMAP_FILE_INPUT, String.valueOf(mmap)
         );
         this.managers = new Managers();
         FileManager fileManager = new FileManager();
         this.managers.add(fileManager);
-        SortManager sortManager = new SendSortManager(context());
+        SortManager sortManager = new SendSortManager(context(), fileManager);
         this.managers.add(sortManager);
 
         MessageSendManager sendManager = new MessageSendManager(
@@ -139,7 +225,6 @@ public class EdgesInputTest extends UnitTestBase {
                                                                    sortManager);
         this.managers.add(receiveManager);
         SnapshotManager snapshotManager = new SnapshotManager(context(),
-                                                              null,
                                                               receiveManager,
                                                               null);
         this.managers.add(snapshotManager);
@@ -157,21 +242,41 @@ public class EdgesInputTest extends UnitTestBase {
         receiveManager.onStarted(connectionId);
         addEdgeBuffer((NetworkBuffer buffer) -> {
             receiveManager.handle(MessageType.EDGE, 0, buffer);
-        }, freq);
+        }, freq, withProperties);
 
         receiveManager.onFinished(connectionId);
-        Whitebox.invoke(partition.getClass(), new Class<?>[] {
-                                PeekableIterator.class, PeekableIterator.class},
-                        "input", partition,
-                        receiveManager.vertexPartitions().get(0),
-                        receiveManager.edgePartitions().get(0));
+        PeekableIterator<KvEntry> vertices = receiveManager.vertexPartitions()
+                                                           .get(0);
+        PeekableIterator<KvEntry> edges = receiveManager.edgePartitions()
+                                                        .get(0);
+        try {
+            Whitebox.invoke(partition.getClass(), new Class<?>[] {
+                                    PeekableIterator.class,
+                                    PeekableIterator.class},
+                            "input", partition, vertices, edges);
+        } finally {
+            // The received buffers are released after the iterators closed
+            closeIterator(vertices);
+            closeIterator(edges);
+        }
         File edgeFile = Whitebox.getInternalState(partition, "edgeFile");
-        EdgesInput edgesInput = new EdgesInput(context(), edgeFile);
+        EdgesInput edgesInput = new EdgesInput(context(),
+                                               fileManager.inputFactory(),
+                                               edgeFile);
         edgesInput.init();
-        this.checkEdgesInput(edgesInput, freq);
+        Assert.assertTrue(Whitebox.getInternalState(edgesInput, "compact"));
+        this.checkEdgesInput(edgesInput, freq, reuse, withProperties, 200L);
         edgesInput.close();
     }
 
+    private static void closeIterator(PeekableIterator<KvEntry> iterator) {
+        try {
+            iterator.close();
+        } catch (Exception e) {
+            throw new ComputerException("Failed to close iterator", e);
+        }
+    }
+
     private static void add200VertexBuffer(Consumer<NetworkBuffer> consumer)
                                            throws IOException {
         for (long i = 0L; i < 200L; i += 2) {
@@ -193,7 +298,9 @@ public class EdgesInputTest extends UnitTestBase {
     }
 
     private static void addEdgeBuffer(Consumer<NetworkBuffer> consumer,
-                                      EdgeFrequency freq) throws IOException {
+                                      EdgeFrequency freq,
+                                      boolean withProperties)
+                                      throws IOException {
         for (long i = 0L; i < 200L; i++) {
             Vertex vertex = graphFactory().createVertex();
             vertex.id(BytesId.of(i));
@@ -223,9 +330,11 @@ public class EdgesInputTest extends UnitTestBase {
                                   "Illegal edge frequency %s", freq);
                 }
 
-                Properties properties = graphFactory().createProperties();
-                properties.put("p1", new LongValue(i));
-                edge.properties(properties);
+                if (withProperties) {
+                    Properties properties = graphFactory().createProperties();
+                    properties.put("p1", new LongValue(i));
+                    edge.properties(properties);
+                }
                 edges.add(edge);
             }
             vertex.edges(edges);
@@ -245,18 +354,37 @@ public class EdgesInputTest extends UnitTestBase {
         return bytesOutput.toByteArray();
     }
 
-    private void checkEdgesInput(EdgesInput edgesInput, EdgeFrequency freq)
-                                 throws IOException {
+    private void checkEdgesInput(EdgesInput edgesInput, EdgeFrequency freq,
+                                 boolean reuse, boolean withProperties,
+                                 long vertexCount) throws IOException {
 
-        for (long i = 0L; i < 200L; i += 2) {
+        Edges prevEdges = null;
+        for (long i = 0L; i < vertexCount; i += 2) {
             Id id = BytesId.of(i);
             ReusablePointer idPointer = idToReusablePointer(id);
             Edges edges = edgesInput.edges(idPointer);
+            if (prevEdges != null) {
+                // The edges are read lazily, can be iterated later
+                int count = 0;
+                for (@SuppressWarnings("unused") Edge edge : prevEdges) {
+                    count++;
+                }
+                Assert.assertEquals(prevEdges.size(), count);
+            }
+            prevEdges = edges;
             Iterator<Edge> edgesIt = edges.iterator();
             Assert.assertEquals(i, edges.size());
+            Edge firstEdge = null;
+            Edge firstCopy = null;
             for (int j = 0; j < edges.size(); j++) {
                 Assert.assertTrue(edgesIt.hasNext());
                 Edge edge = edgesIt.next();
+                if (j == 0) {
+                    firstEdge = edge;
+                    firstCopy = edge.copy();
+                } else if (reuse) {
+                    Assert.assertSame(firstEdge, edge);
+                }
                 switch (freq) {
                     case SINGLE:
                         Assert.assertEquals(BytesId.of(j), edge.targetId());
@@ -276,6 +404,15 @@ public class EdgesInputTest extends UnitTestBase {
                 }
             }
             Assert.assertFalse(edgesIt.hasNext());
+            if (firstCopy != null) {
+                Assert.assertEquals(BytesId.of(0), firstCopy.targetId());
+                if (withProperties) {
+                    Assert.assertEquals(new LongValue(i),
+                                        firstCopy.property("p1"));
+                } else {
+                    Assert.assertEquals(0, firstCopy.properties().size());
+                }
+            }
         }
     }
 
@@ -84,7 +84,7 @@ public class MessageInputTest extends UnitTestBase {
         this.managers = new Managers();
         FileManager fileManager = new FileManager();
         this.managers.add(fileManager);
-        SortManager sortManager = new RecvSortManager(context());
+        SortManager sortManager = new RecvSortManager(context(), fileManager);
         this.managers.add(sortManager);
 
         MessageRecvManager receiveManager = new MessageRecvManager(context(),
@@ -92,7 +92,6 @@ public class MessageInputTest extends UnitTestBase {
                                                                    sortManager);
         this.managers.add(receiveManager);
         SnapshotManager snapshotManager = new SnapshotManager(context(),
-                                                              null,
                                                               receiveManager,
                                                               null);
         this.managers.add(snapshotManager);
@@ -108,7 +107,7 @@ public class MessageInputTest extends UnitTestBase {
     }
 
     @Test
-    public void testMessageInput() throws IOException {
+    public void testMessageInput() throws Exception {
         MessageRecvManager receiveManager = this.managers.get(
                                             MessageRecvManager.NAME);
         receiveManager.onStarted(this.connectionId);
@@ -125,6 +124,7 @@ public class MessageInputTest extends UnitTestBase {
         MessageInput<IdList> input = new MessageInput<>(context(), it);
         Map<Id, List<IdList>> expectedMessages = expectedMessages();
         checkMessages(expectedMessages, input);
+        input.close();
     }
 
     private void checkMessages(Map<Id, List<IdList>> expectedMessages,
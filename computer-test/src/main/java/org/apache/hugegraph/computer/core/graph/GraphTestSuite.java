@@ -23,6 +23,7 @@ import org.apache.hugegraph.computer.core.graph.id.BytesIdTest;
 import org.apache.hugegraph.computer.core.graph.id.IdFactoryTest;
 import org.apache.hugegraph.computer.core.graph.id.IdTypeTest;
 import org.apache.hugegraph.computer.core.graph.partition.HashPartitionerTest;
+import org.apache.hugegraph.computer.core.graph.partition.PartitionOutputStatTest;
 import org.apache.hugegraph.computer.core.graph.partition.PartitionStatTest;
 import org.apache.hugegraph.computer.core.graph.value.BooleanValueTest;
 import org.apache.hugegraph.computer.core.graph.value.DoubleValueTest;
@@ -59,6 +60,7 @@ import org.junit.runners.Suite;
     BuiltinGraphFactoryTest.class,
     ContainerInfoTest.class,
     PartitionStatTest.class,
+    PartitionOutputStatTest.class,
     HashPartitionerTest.class,
     SuperstepStatTest.class,
     DefaultEdgeTest.class,
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.graph.partition;
+
+import java.io.IOException;
+
+import org.apache.hugegraph.computer.suite.unit.UnitTestBase;
+import org.apache.hugegraph.testutil.Assert;
+import org.junit.Test;
+
+public class PartitionOutputStatTest {
+
+    @Test
+    public void testConstructor() {
+        PartitionOutputStat stat1 = new PartitionOutputStat();
+        Assert.assertEquals(0, stat1.partitionId());
+        Assert.assertEquals(0L, stat1.vertexCount());
+        Assert.assertEquals(0L, stat1.edgeCount());
+        Assert.assertEquals(0L, stat1.outputTime());
+
+        PartitionOutputStat stat2 = new PartitionOutputStat(1, 4L, 3L, 2L);
+        Assert.assertEquals(1, stat2.partitionId());
+        Assert.assertEquals(4L, stat2.vertexCount());
+        Assert.assertEquals(3L, stat2.edgeCount());
+        Assert.assertEquals(2L, stat2.outputTime());
+    }
+
+    @Test
+    public void testThroughput() {
+        PartitionOutputStat stat1 = new PartitionOutputStat(0, 500L, 0L,
+                                                            250L);
+        Assert.assertEquals(2000L, stat1.throughput());
+
+        // The output time less than 1ms is regarded as 1ms
+        PartitionOutputStat stat2 = new PartitionOutputStat(0, 5L, 0L, 0L);
+        Assert.assertEquals(5000L, stat2.throughput());
+    }
+
+    @Test
+    public void testReadWrite() throws IOException {
+        PartitionOutputStat stat = new PartitionOutputStat(1, 4L, 3L, 2L);
+        PartitionOutputStat statReadObj = new PartitionOutputStat();
+        UnitTestBase.assertEqualAfterWriteAndRead(stat, statReadObj);
+    }
+
+    @Test
+    public void testEquals() {
+        PartitionOutputStat stat1 = new PartitionOutputStat(1, 4L, 3L, 2L);
+        PartitionOutputStat stat2 = new PartitionOutputStat(1, 4L, 3L, 2L);
+        PartitionOutputStat stat3 = new PartitionOutputStat(1, 4L, 3L, 5L);
+        Assert.assertEquals(stat1, stat2);
+        Assert.assertNotEquals(stat1, stat3);
+        Assert.assertNotEquals(stat1, new Object());
+        Assert.assertEquals(Integer.hashCode(1), stat1.hashCode());
+    }
+
+    @Test
+    public void testToString() {
+        PartitionOutputStat stat = new PartitionOutputStat(1, 4L, 3L, 2L);
+        String str = "PartitionOutputStat{\"partitionId\":1," +
+                     "\"vertexCount\":4,\"edgeCount\":3,\"outputTime\":2}";
+        Assert.assertEquals(str, stat.toString());
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+
+import org.apache.hugegraph.testutil.Assert;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+public class ByteBufInputTest {
+
+    @Test
+    public void testPrimitives() throws IOException {
+        UnsafeBytesOutput output = new UnsafeBytesOutput(32);
+        output.writeInt(1);
+        output.writeLong(2L);
+        output.writeShort(3);
+        output.writeUTF("abc");
+        ByteBuf buf = Unpooled.wrappedBuffer(output.buffer(), 0,
+                                             (int) output.position());
+        try {
+            ByteBufInput input = new ByteBufInput(buf);
+            Assert.assertEquals(1, input.readInt());
+            Assert.assertEquals(2L, input.readLong());
+            Assert.assertEquals(3, input.readShort());
+            Assert.assertEquals("abc", input.readUTF());
+            Assert.assertEquals(0L, input.available());
+            Assert.assertThrows(EOFException.class, input::readInt, e -> {
+                Assert.assertContains("Only 0 bytes available",
+                                      e.getMessage());
+            });
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    public void testCompare() throws IOException {
+        byte[] bytes = "abcdefghijklmnopqrstuvwxyz".getBytes();
+        ByteBuf buf = Unpooled.wrappedBuffer(bytes);
+        try {
+            ByteBufInput input = new ByteBufInput(buf);
+            ByteBufInput other = input.duplicate();
+            Assert.assertEquals(0, input.compare(0L, 3L, other, 0L, 3L));
+            Assert.assertLt(0, input.compare(0L, 3L, other, 1L, 3L));
+            Assert.assertGt(0, input.compare(2L, 3L, other, 1L, 3L));
+            Assert.assertLt(0, input.compare(0L, 3L, other, 0L, 4L));
+
+            UnsafeBytesInput bytesInput = new UnsafeBytesInput(bytes);
+            bytesInput.seek(5L);
+            Assert.assertEquals(0, input.compare(1L, 4L, bytesInput,
+                                                 1L, 4L));
+            Assert.assertLt(0, input.compare(1L, 4L, bytesInput, 2L, 4L));
+            Assert.assertEquals(5L, bytesInput.position());
+        } finally {
+            buf.release();
+        }
+    }
+}
@@ -30,7 +30,10 @@ import org.junit.runners.Suite;
     UnsafeBytesTest.class,
     OptimizedUnsafeBytesTest.class,
     BufferedFileTest.class,
-    BufferedStreamTest.class
+    BufferedStreamTest.class,
+    MmapFileInputTest.class,
+    ByteBufInputTest.class,
+    ReadAheadFileInputTest.class
 })
 public class IOTestSuite {
 }
@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.io;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.util.UUID;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.hugegraph.computer.core.common.exception.ComputerException;
+import org.apache.hugegraph.computer.core.config.ComputerOptions;
+import org.apache.hugegraph.computer.core.config.Config;
+import org.apache.hugegraph.computer.suite.unit.UnitTestBase;
+import org.apache.hugegraph.testutil.Assert;
+import org.junit.Test;
+
+public class MmapFileInputTest {
+
+    // 16 bytes per segment, to make the values span the segments
+    private static final int SEGMENT_BITS = 4;
+
+    @Test
+    public void testConstructor() throws IOException {
+        File file = createTempFile();
+        try {
+            try (MmapFileInput input = new MmapFileInput(file)) {
+                Assert.assertEquals(0L, input.position());
+                Assert.assertEquals(0L, input.available());
+            }
+            Assert.assertThrows(IllegalArgumentException.class, () -> {
+                new MmapFileInput(file, 2);
+            }, e -> {
+                Assert.assertContains("The segment bits must be in [3, 30]",
+                                      e.getMessage());
+            });
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+    }
+
+    @Test
+    public void testPrimitives() throws IOException {
+        File file = createTempFile();
+        try {
+            try (BufferedFileOutput output = new BufferedFileOutput(file)) {
+                for (int i = 0; i < 100; i++) {
+                    output.writeBoolean(i % 2 == 0);
+                    output.writeByte(i);
+                    output.writeShort(i * 3);
+                    output.writeChar('a' + i);
+                    output.writeInt(i * 1000);
+                    output.writeLong(i * 1000000000L);
+                    output.writeFloat(i * 0.5F);
+                    output.writeDouble(i * 0.25D);
+                    output.writeUTF("value-" + i);
+                }
+            }
+            try (MmapFileInput input = new MmapFileInput(file,
+                                                         SEGMENT_BITS)) {
+                Assert.assertEquals(file.length(), input.available());
+                for (int i = 0; i < 100; i++) {
+                    Assert.assertEquals(i % 2 == 0, input.readBoolean());
+                    Assert.assertEquals((byte) i, input.readByte());
+                    Assert.assertEquals((short) (i * 3), input.readShort());
+                    Assert.assertEquals((char) ('a' + i), input.readChar());
+                    Assert.assertEquals(i * 1000, input.readInt());
+                    Assert.assertEquals(i * 1000000000L, input.readLong());
+                    Assert.assertEquals(i * 0.5F, input.readFloat(), 0.0F);
+                    Assert.assertEquals(i * 0.25D, input.readDouble(), 0.0D);
+                    Assert.assertEquals("value-" + i, input.readUTF());
+                }
+                Assert.assertEquals(0L, input.available());
+                Assert.assertThrows(EOFException.class, input::readInt);
+            }
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+    }
+
+    @Test
+    public void testReadFullyAndSeek() throws IOException {
+        File file = createTempFile();
+        byte[] bytes = UnitTestBase.randomBytes(100);
+        try {
+            try (BufferedFileOutput output = new BufferedFileOutput(file)) {
+                output.write(bytes);
+            }
+            try (MmapFileInput input = new MmapFileInput(file,
+                                                         SEGMENT_BITS)) {
+                byte[] read = new byte[bytes.length];
+                input.readFully(read);
+                Assert.assertArrayEquals(bytes, read);
+
+                input.seek(13L);
+                read = new byte[40];
+                input.readFully(read);
+                for (int i = 0; i < read.length; i++) {
+                    Assert.assertEquals(bytes[13 + i], read[i]);
+                }
+
+                Assert.assertEquals(53L, input.skip(7L));
+                Assert.assertEquals(bytes[60], input.readByte());
+                Assert.assertEquals(39, input.skipBytes(100));
+                Assert.assertEquals(100L, input.position());
+
+                input.seek(0L);
+                Assert.assertEquals(bytes[0], input.readByte());
+                Assert.assertThrows(EOFException.class, () -> {
+                    input.seek(101L);
+                }, e -> {
+                    Assert.assertContains("reach the end of file",
+                                          e.getMessage());
+                });
+                Assert.assertThrows(IllegalArgumentException.class, () -> {
+                    input.skip(100L);
+                }, e -> {
+                    Assert.assertContains("because don't have enough data",
+                                          e.getMessage());
+                });
+            }
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+    }
+
+    @Test
+    public void testDuplicateAndCompare() throws IOException {
+        File file = createTempFile();
+        try {
+            try (BufferedFileOutput output = new BufferedFileOutput(file)) {
+                output.write("abcdefghijklmnopqrstuvwxyz".getBytes());
+                output.write("abcdefghijklmnopqrstuvwxyz".getBytes());
+            }
+            try (MmapFileInput input = new MmapFileInput(file,
+                                                         SEGMENT_BITS)) {
+                input.seek(20L);
+                MmapFileInput duplicate = input.duplicate();
+                Assert.assertEquals(20L, duplicate.position());
+                Assert.assertEquals('u', duplicate.readByte());
+                duplicate.close();
+                // The input is still readable after duplicate closed
+                Assert.assertEquals('u', input.readByte());
+
+                try (BufferedFileInput other = new BufferedFileInput(file)) {
+                    Assert.assertEquals(0, input.compare(0L, 20L, other,
+                                                         26L, 20L));
+                    Assert.assertLt(0, input.compare(0L, 20L, other,
+                                                     1L, 20L));
+                    Assert.assertGt(0, input.compare(2L, 20L, other,
+                                                     1L, 20L));
+                    Assert.assertEquals(0L, other.position());
+                }
+
+                // The duplicate is still readable after the input closed
+                duplicate = input.duplicate();
+                input.close();
+                Assert.assertEquals('v', duplicate.readByte());
+                duplicate.close();
+            }
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+    }
+
+    @Test
+    public void testClosed() throws IOException {
+        File file = createTempFile();
+        try {
+            try (BufferedFileOutput output = new BufferedFileOutput(file)) {
+                output.writeLong(1L);
+            }
+            MmapFileInput input = new MmapFileInput(file);
+            input.close();
+            Assert.assertThrows(ComputerException.class, input::readLong,
+                                e -> {
+                Assert.assertContains("is closed", e.getMessage());
+            });
+            // Close again is allowed
+            input.close();
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+    }
+
+    @Test
+    public void testCreateByFileInputFactory() throws IOException {
+        File file = createTempFile();
+        try {
+            Config config = UnitTestBase.updateWithRequiredOptions(
+                ComputerOptions.WORKER_MMAP_FILE_INPUT, "true"
+            );
+            FileInputFactory factory = new FileInputFactory(config, null);
+            try (RandomAccessInput input = factory.createRawFileInput(file)) {
+                Assert.assertTrue(input instanceof MmapFileInput);
+            }
+            config = UnitTestBase.updateWithRequiredOptions(
+                ComputerOptions.WORKER_MMAP_FILE_INPUT, "false"
+            );
+            factory = new FileInputFactory(config, null);
+            try (RandomAccessInput input = factory.createRawFileInput(file)) {
+                Assert.assertTrue(input instanceof BufferedFileInput);
+            }
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+    }
+
+    private static File createTempFile() throws IOException {
+        return File.createTempFile(UUID.randomUUID().toString(), null);
+    }
+}
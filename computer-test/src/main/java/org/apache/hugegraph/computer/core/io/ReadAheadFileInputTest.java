@@ -0,0 +1,284 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.io;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.hugegraph.computer.core.config.ComputerOptions;
+import org.apache.hugegraph.computer.core.config.Config;
+import org.apache.hugegraph.computer.suite.unit.UnitTestBase;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.util.ExecutorUtil;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ReadAheadFileInputTest {
+
+    private static final int BUFFER_SIZE = 16;
+    private static final int DEPTH = 2;
+
+    private static ExecutorService executor;
+
+    @BeforeClass
+    public static void init() {
+        executor = ExecutorUtil.newFixedThreadPool(1, "read-ahead-test-%s");
+    }
+
+    @AfterClass
+    public static void clear() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConstructor() throws IOException {
+        File file = createTempFile();
+        try {
+            try (ReadAheadFileInput input = createInput(file)) {
+                Assert.assertEquals(0L, input.position());
+                Assert.assertEquals(0L, input.available());
+            }
+            Assert.assertThrows(IllegalArgumentException.class, () -> {
+                new ReadAheadFileInput(file, 1, DEPTH, executor,
+                                       new ReadAheadStat());
+            }, e -> {
+                Assert.assertContains("The parameter bufferSize must be >= 8",
+                                      e.getMessage());
+            });
+            Assert.assertThrows(IllegalArgumentException.class, () -> {
+                new ReadAheadFileInput(file, BUFFER_SIZE, 0, executor,
+                                       new ReadAheadStat());
+            }, e -> {
+                Assert.assertContains("The read ahead depth must be > 0",
+                                      e.getMessage());
+            });
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+    }
+
+    @Test
+    public void testPrimitives() throws IOException {
+        File file = createTempFile();
+        try {
+            try (BufferedFileOutput output = new BufferedFileOutput(file)) {
+                for (int i = 0; i < 1000; i++) {
+                    output.writeByte(i);
+                    output.writeInt(i * 1000);
+                    output.writeLong(i * 1000000000L);
+                    output.writeDouble(i * 0.25D);
+                    output.writeUTF("value-" + i);
+                }
+            }
+            ReadAheadStat readAheadStat = new ReadAheadStat();
+            try (ReadAheadFileInput input = createInput(file,
+                                                        readAheadStat)) {
+                for (int i = 0; i < 1000; i++) {
+                    Assert.assertEquals((byte) i, input.readByte());
+                    Assert.assertEquals(i * 1000, input.readInt());
+                    Assert.assertEquals(i * 1000000000L, input.readLong());
+                    Assert.assertEquals(i * 0.25D, input.readDouble(), 0.0D);
+                    Assert.assertEquals("value-" + i, input.readUTF());
+                }
+                Assert.assertEquals(0L, input.available());
+                Assert.assertThrows(IOException.class, input::readInt);
+            }
+            ReadAheadStat stat = readAheadStat.snapshotAndReset();
+            Assert.assertEquals(file.length(), stat.chunkBytes());
+            Assert.assertEquals((file.length() + BUFFER_SIZE - 1) /
+                                BUFFER_SIZE, stat.chunkCount());
+            Assert.assertGte(0L, stat.stallMillis());
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+    }
+
+    @Test
+    public void testReadFully() throws IOException {
+        File file = createTempFile();
+        byte[] bytes = UnitTestBase.randomBytes(1000);
+        try {
+            try (BufferedFileOutput output = new BufferedFileOutput(file)) {
+                output.write(bytes);
+            }
+            try (ReadAheadFileInput input = createInput(file)) {
+                byte[] read = new byte[bytes.length];
+                input.readFully(read, 0, 3);
+                input.readFully(read, 3, 100);
+                input.readFully(read, 103, bytes.length - 103);
+                Assert.assertArrayEquals(bytes, read);
+                Assert.assertThrows(EOFException.class, () -> {
+                    input.readFully(new byte[1]);
+                });
+            }
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+    }
+
+    @Test
+    public void testSeek() throws IOException {
+        File file = createTempFile();
+        try {
+            try (BufferedFileOutput output = new BufferedFileOutput(file)) {
+                for (int i = 0; i < 1000; i++) {
+                    output.writeInt(i);
+                }
+            }
+            try (ReadAheadFileInput input = createInput(file)) {
+                // Seek in the buffer
+                input.seek(8L);
+                Assert.assertEquals(2, input.readInt());
+                // Seek to the chunks read ahead
+                input.seek(36L);
+                Assert.assertEquals(9, input.readInt());
+                // Seek beyond the chunks read ahead
+                input.seek(2000L);
+                Assert.assertEquals(500, input.readInt());
+                // Seek back
+                input.seek(4L);
+                Assert.assertEquals(1, input.readInt());
+                input.skip(3984L);
+                Assert.assertEquals(998, input.readInt());
+                Assert.assertEquals(999, input.readInt());
+                input.seek(4000L);
+                Assert.assertEquals(0L, input.available());
+                Assert.assertThrows(EOFException.class, () -> {
+                    input.seek(4001L);
+                }, e -> {
+                    Assert.assertContains("reach the end of file",
+                                          e.getMessage());
+                });
+
+                input.seek(400L);
+                try (ReadAheadFileInput duplicate = input.duplicate()) {
+                    Assert.assertEquals(400L, duplicate.position());
+                    Assert.assertEquals(100, duplicate.readInt());
+                }
+                Assert.assertEquals(100, input.readInt());
+
+                try (BufferedFileInput other = new BufferedFileInput(file)) {
+                    Assert.assertEquals(0, input.compare(100L, 40L, other,
+                                                         100L, 40L));
+                    Assert.assertLt(0, input.compare(0L, 4L, other,
+                                                     4L, 4L));
+                }
+            }
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+    }
+
+    @Test
+    public void testCloseWithQueuedRead() throws IOException,
+                                                 InterruptedException,
+                                                 ExecutionException {
+        File file = createTempFile();
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            try (BufferedFileOutput output = new BufferedFileOutput(file)) {
+                output.write(UnitTestBase.randomBytes(1000));
+            }
+            ReadAheadStat readAheadStat = new ReadAheadStat();
+            ReadAheadFileInput input = createInput(file, readAheadStat);
+            // Block the I/O thread after the reads submitted by constructor
+            executor.execute(() -> {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            blocked.await();
+            long chunks = readAheadStat.snapshotAndReset().chunkCount();
+
+            // Take the next chunk and queue one more read behind the blocker
+            input.readFully(new byte[BUFFER_SIZE + 1]);
+            // The queued read is cancelled without waiting for it
+            input.close();
+            release.countDown();
+            executor.submit(() -> { }).get();
+
+            Assert.assertEquals(0L, readAheadStat.snapshotAndReset()
+                                                 .chunkCount());
+            Assert.assertEquals(DEPTH + 1L, chunks);
+        } finally {
+            release.countDown();
+            FileUtils.deleteQuietly(file);
+        }
+    }
+
+    @Test
+    public void testCreateByFileInputFactory() throws IOException {
+        File file = createTempFile();
+        try {
+            Config config = UnitTestBase.updateWithRequiredOptions(
+                ComputerOptions.WORKER_READ_AHEAD_DEPTH, "4"
+            );
+            FileInputFactory factory = new FileInputFactory(config, executor);
+            try (RandomAccessInput input = factory.createRawFileInput(file)) {
+                Assert.assertTrue(input instanceof ReadAheadFileInput);
+            }
+            Assert.assertThrows(IllegalArgumentException.class, () -> {
+                new FileInputFactory(config, null);
+            }, e -> {
+                Assert.assertContains("The executor can't be null",
+                                      e.getMessage());
+            });
+
+            Config mmapConfig = UnitTestBase.updateWithRequiredOptions(
+                ComputerOptions.WORKER_READ_AHEAD_DEPTH, "4",
+                ComputerOptions.WORKER_MMAP_FILE_INPUT, "true"
+            );
+            factory = new FileInputFactory(mmapConfig, null);
+            try (RandomAccessInput input = factory.createRawFileInput(file)) {
+                Assert.assertTrue(input instanceof MmapFileInput);
+            }
+        } finally {
+            UnitTestBase.updateWithRequiredOptions(
+                ComputerOptions.WORKER_READ_AHEAD_DEPTH, "0"
+            );
+            FileUtils.deleteQuietly(file);
+        }
+    }
+
+    private static ReadAheadFileInput createInput(File file)
+                                                  throws IOException {
+        return createInput(file, new ReadAheadStat());
+    }
+
+    private static ReadAheadFileInput createInput(File file,
+                                                  ReadAheadStat stat)
+                                                  throws IOException {
+        return new ReadAheadFileInput(file, BUFFER_SIZE, DEPTH, executor,
+                                      stat);
+    }
+
+    private static File createTempFile() throws IOException {
+        return File.createTempFile(UUID.randomUUID().toString(), null);
+    }
+}
@@ -27,6 +27,7 @@ import org.apache.hugegraph.computer.core.common.Constants;
 import org.apache.hugegraph.computer.core.common.exception.ComputerException;
 import org.apache.hugegraph.computer.suite.unit.UnitTestBase;
 import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.testutil.Whitebox;
 import org.junit.Test;
 
 @SuppressWarnings("resource")
@@ -46,6 +47,20 @@ public class UnsafeBytesTest {
         Assert.assertEquals(0, input.position());
     }
 
+    @Test
+    public void testExceedMaxBufferSize() {
+        UnsafeBytesOutput output = new UnsafeBytesOutput(SIZE);
+        // Pretend the buffer is almost full without allocating it
+        Whitebox.setInternalState(output, "position",
+                                  UnsafeBytesOutput.MAX_BUFFER_SIZE - 2);
+        Assert.assertThrows(ComputerException.class, () -> {
+            output.writeInt(1);
+        }, e -> {
+            Assert.assertContains("the buffer can't exceed",
+                                  e.getMessage());
+        });
+    }
+
     @Test
     public void testBoolean() throws IOException {
         UnsafeBytesOutput output = new UnsafeBytesOutput(SIZE);
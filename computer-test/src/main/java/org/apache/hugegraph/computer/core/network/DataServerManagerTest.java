@@ -51,13 +51,12 @@ public class DataServerManagerTest extends UnitTestBase {
         );
         FileManager fileManager = new FileManager();
         fileManager.init(config);
-        SortManager sortManager = new RecvSortManager(context());
+        SortManager sortManager = new RecvSortManager(context(), fileManager);
         sortManager.init(config);
         MessageRecvManager recvManager = new MessageRecvManager(context(),
                                                                 fileManager,
                                                                 sortManager);
         SnapshotManager snapshotManager = new SnapshotManager(context(),
-                                                              null,
                                                               recvManager,
                                                               null);
         recvManager.init(config);
@@ -17,13 +17,18 @@
 
 package org.apache.hugegraph.computer.core.network;
 
+import org.apache.hugegraph.computer.core.network.buffer.DirectBufferPoolTest;
 import org.apache.hugegraph.computer.core.network.buffer.NetworkBufferTest;
+import org.apache.hugegraph.computer.core.network.compress.DeflateCodecTest;
 import org.apache.hugegraph.computer.core.network.connection.ConnectionManagerTest;
 import org.apache.hugegraph.computer.core.network.netty.HeartbeatHandlerTest;
 import org.apache.hugegraph.computer.core.network.netty.NettyClientFactoryTest;
 import org.apache.hugegraph.computer.core.network.netty.NettyEncodeDecodeHandlerTest;
 import org.apache.hugegraph.computer.core.network.netty.NettyTransportClientTest;
+import org.apache.hugegraph.computer.core.network.netty.NettyTransportCompressionTest;
 import org.apache.hugegraph.computer.core.network.netty.NettyTransportServerTest;
+import org.apache.hugegraph.computer.core.network.netty.StripedTransportClientTest;
+import org.apache.hugegraph.computer.core.network.session.FlowWindowTest;
 import org.apache.hugegraph.computer.core.network.session.TransportSessionTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -38,8 +43,13 @@ import org.junit.runners.Suite;
     TransportSessionTest.class,
     NettyTransportClientTest.class,
     NettyEncodeDecodeHandlerTest.class,
+    NettyTransportCompressionTest.class,
+    StripedTransportClientTest.class,
     HeartbeatHandlerTest.class,
     NetworkBufferTest.class,
+    DirectBufferPoolTest.class,
+    DeflateCodecTest.class,
+    FlowWindowTest.class,
     DataServerManagerTest.class
 })
 public class NetworkTestSuite {
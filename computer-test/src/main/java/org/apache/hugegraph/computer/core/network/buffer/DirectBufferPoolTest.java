@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.network.buffer;
+
+import java.nio.ByteBuffer;
+
+import org.apache.hugegraph.testutil.Assert;
+import org.junit.Test;
+
+public class DirectBufferPoolTest {
+
+    @Test
+    public void testAllocateAndRelease() {
+        DirectBufferPool pool = new DirectBufferPool(1L << 20);
+        ByteBuffer buffer = pool.allocate(5000);
+        Assert.assertTrue(buffer.isDirect());
+        Assert.assertEquals(8192, buffer.capacity());
+        Assert.assertEquals(0, buffer.position());
+        Assert.assertEquals(5000, buffer.limit());
+        Assert.assertEquals(8192L, pool.allocatedBytes());
+        Assert.assertEquals(8192L, pool.usedBytes());
+        Assert.assertEquals(0L, pool.hitCount());
+        Assert.assertEquals(1L, pool.missCount());
+
+        pool.release(buffer);
+        Assert.assertEquals(8192L, pool.allocatedBytes());
+        Assert.assertEquals(0L, pool.usedBytes());
+
+        ByteBuffer buffer2 = pool.allocate(8000);
+        Assert.assertSame(buffer, buffer2);
+        Assert.assertEquals(8000, buffer2.limit());
+        Assert.assertEquals(1L, pool.hitCount());
+        Assert.assertEquals(0.5D, pool.hitRate(), 0.0D);
+
+        // The min size is 4KB
+        ByteBuffer buffer3 = pool.allocate(0);
+        Assert.assertEquals(4096, buffer3.capacity());
+        Assert.assertEquals(0, buffer3.limit());
+        Assert.assertEquals(12288L, pool.usedBytes());
+
+        pool.release(buffer2);
+        pool.release(buffer3);
+        Assert.assertEquals(0L, pool.usedBytes());
+        pool.close();
+        Assert.assertEquals(0L, pool.allocatedBytes());
+    }
+
+    @Test
+    public void testExceedCapacity() {
+        DirectBufferPool pool = new DirectBufferPool(16384L);
+        ByteBuffer buffer1 = pool.allocate(8192);
+        ByteBuffer buffer2 = pool.allocate(8192);
+        Assert.assertTrue(buffer1.isDirect());
+        Assert.assertTrue(buffer2.isDirect());
+
+        // Allocate a heap buffer if exceed the capacity
+        ByteBuffer buffer3 = pool.allocate(100);
+        Assert.assertFalse(buffer3.isDirect());
+        Assert.assertEquals(100, buffer3.limit());
+        Assert.assertEquals(16384L, pool.allocatedBytes());
+        pool.release(buffer3);
+        Assert.assertEquals(16384L, pool.usedBytes());
+
+        // Free the unused buffers of other size to make room
+        pool.release(buffer1);
+        pool.release(buffer2);
+        ByteBuffer buffer4 = pool.allocate(10000);
+        Assert.assertTrue(buffer4.isDirect());
+        Assert.assertEquals(16384, buffer4.capacity());
+        Assert.assertEquals(16384L, pool.allocatedBytes());
+        Assert.assertEquals(16384L, pool.usedBytes());
+        pool.release(buffer4);
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new DirectBufferPool(0L);
+        }, e -> {
+            Assert.assertContains("The capacity of buffer pool must be > 0",
+                                  e.getMessage());
+        });
+        pool.close();
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.network.compress;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.apache.hugegraph.computer.core.common.exception.ComputerException;
+import org.apache.hugegraph.testutil.Assert;
+import org.junit.Test;
+
+public class DeflateCodecTest {
+
+    @Test
+    public void testCompressAndDecompress() {
+        BlockCodec codec = BlockCodecs.get(DeflateCodec.NAME);
+        Assert.assertEquals(DeflateCodec.NAME, codec.name());
+
+        byte[] raw = new byte[4096];
+        for (int i = 0; i < raw.length; i++) {
+            raw[i] = (byte) (i % 16);
+        }
+        ByteBuffer compressed = ByteBuffer.allocateDirect(raw.length);
+        int length = codec.compress(ByteBuffer.wrap(raw), compressed);
+        Assert.assertGt(0, length);
+        Assert.assertLt(raw.length / 10, length);
+        Assert.assertEquals(length, compressed.position());
+
+        compressed.flip();
+        ByteBuffer decompressed = ByteBuffer.allocate(raw.length);
+        codec.decompress(compressed, decompressed);
+        Assert.assertArrayEquals(raw, decompressed.array());
+    }
+
+    @Test
+    public void testCompressWithSmallDest() {
+        BlockCodec codec = BlockCodecs.get(DeflateCodec.NAME);
+        byte[] raw = new byte[1024];
+        new Random(1L).nextBytes(raw);
+        // The random bytes can't be compressed smaller
+        ByteBuffer compressed = ByteBuffer.allocate(raw.length - 1);
+        Assert.assertEquals(-1, codec.compress(ByteBuffer.wrap(raw),
+                                               compressed));
+
+        // The codec can be reused after failure
+        byte[] raw2 = new byte[1024];
+        ByteBuffer compressed2 = ByteBuffer.allocate(raw2.length);
+        int length = codec.compress(ByteBuffer.wrap(raw2), compressed2);
+        compressed2.flip();
+        Assert.assertEquals(length, compressed2.remaining());
+        ByteBuffer decompressed = ByteBuffer.allocate(raw2.length);
+        codec.decompress(compressed2, decompressed);
+        Assert.assertArrayEquals(raw2, decompressed.array());
+    }
+
+    @Test
+    public void testDecompressWithUnexpectedLength() {
+        BlockCodec codec = BlockCodecs.get(DeflateCodec.NAME);
+        byte[] raw = new byte[1024];
+        ByteBuffer compressed = ByteBuffer.allocate(raw.length);
+        codec.compress(ByteBuffer.wrap(raw), compressed);
+        compressed.flip();
+
+        // Expect more bytes than the raw bytes
+        ByteBuffer decompressed = ByteBuffer.allocate(raw.length + 1);
+        Assert.assertThrows(ComputerException.class, () -> {
+            codec.decompress(compressed, decompressed);
+        }, e -> {
+            Assert.assertContains("shorter than expected",
+                                  e.getMessage());
+        });
+
+        // Expect less bytes than the raw bytes
+        compressed.rewind();
+        ByteBuffer shorter = ByteBuffer.allocate(raw.length - 1);
+        Assert.assertThrows(ComputerException.class, () -> {
+            codec.decompress(compressed, shorter);
+        }, e -> {
+            Assert.assertContains("longer than expected", e.getMessage());
+        });
+
+        // The block is followed by unexpected bytes
+        ByteBuffer trailing = ByteBuffer.allocate(compressed.limit() + 1);
+        compressed.rewind();
+        trailing.put(compressed).put((byte) 1).flip();
+        Assert.assertThrows(ComputerException.class, () -> {
+            codec.decompress(trailing, ByteBuffer.allocate(raw.length));
+        }, e -> {
+            Assert.assertContains("1 unexpected trailing bytes",
+                                  e.getMessage());
+        });
+
+        ByteBuffer invalid = ByteBuffer.wrap(new byte[]{1, 2, 3, 4});
+        Assert.assertThrows(ComputerException.class, () -> {
+            codec.decompress(invalid, ByteBuffer.allocate(8));
+        }, e -> {
+            Assert.assertContains("Failed to decompress", e.getMessage());
+        });
+    }
+
+    @Test
+    public void testFindCodec() {
+        Assert.assertNull(BlockCodecs.find(BlockCodecs.NONE));
+        Assert.assertNull(BlockCodecs.find(null));
+        Assert.assertNull(BlockCodecs.find("not-exist"));
+        Assert.assertNull(BlockCodecs.get(BlockCodecs.NONE));
+        Assert.assertInstanceOf(DeflateCodec.class,
+                                BlockCodecs.find(DeflateCodec.NAME));
+
+        Assert.assertThrows(ComputerException.class, () -> {
+            BlockCodecs.get("not-exist");
+        }, e -> {
+            Assert.assertContains("Can't find block codec 'not-exist'",
+                                  e.getMessage());
+        });
+    }
+}
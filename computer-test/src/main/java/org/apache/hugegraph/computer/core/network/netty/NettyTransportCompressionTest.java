@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.network.netty;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.apache.hugegraph.computer.core.config.ComputerOptions;
+import org.apache.hugegraph.computer.core.config.Config;
+import org.apache.hugegraph.computer.core.network.TransportConf;
+import org.apache.hugegraph.computer.core.network.TransportState;
+import org.apache.hugegraph.computer.core.network.buffer.NetworkBuffer;
+import org.apache.hugegraph.computer.core.network.compress.DeflateCodec;
+import org.apache.hugegraph.computer.core.network.message.MessageType;
+import org.apache.hugegraph.computer.core.network.session.ServerSession;
+import org.apache.hugegraph.computer.suite.unit.UnitTestBase;
+import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.testutil.Whitebox;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class NettyTransportCompressionTest extends AbstractNetworkTest {
+
+    @Override
+    protected void initOption() {
+        super.updateOption(ComputerOptions.TRANSPORT_COMPRESSION_CODEC,
+                           DeflateCodec.NAME);
+        super.updateOption(ComputerOptions.TRANSPORT_RECV_FILE_MODE, false);
+    }
+
+    @After
+    public void resetOption() {
+        // The options are shared by the network tests
+        super.updateOption(ComputerOptions.TRANSPORT_COMPRESSION_CODEC,
+                           ComputerOptions.TRANSPORT_COMPRESSION_CODEC
+                                          .defaultValue());
+        super.updateOption(ComputerOptions.TRANSPORT_RECV_FILE_MODE,
+                           ComputerOptions.TRANSPORT_RECV_FILE_MODE
+                                          .defaultValue());
+    }
+
+    @Test
+    public void testNegotiateCodec() throws IOException {
+        NettyTransportClient client = (NettyTransportClient) this.oneClient();
+        Assert.assertNull(client.clientSession().codec());
+
+        client.startSession();
+        Assert.assertEquals(DeflateCodec.NAME,
+                            client.clientSession().codec().name());
+
+        client.finishSession();
+        Assert.assertNull(client.clientSession().codec());
+    }
+
+    @Test
+    public void testSendCompressed() throws IOException {
+        NettyTransportClient client = (NettyTransportClient) this.oneClient();
+        byte[] compressible = new byte[8192];
+        for (int i = 0; i < compressible.length; i++) {
+            compressible[i] = (byte) (i % 8);
+        }
+        // Too short to be compressed smaller
+        byte[] incompressible = new byte[]{1, 2, 3};
+
+        Mockito.doAnswer(invocationOnMock -> {
+            MessageType type = invocationOnMock.getArgument(0);
+            NetworkBuffer buffer = invocationOnMock.getArgument(2);
+            byte[] expected = type == MessageType.VERTEX ?
+                              compressible : incompressible;
+            Assert.assertArrayEquals(expected, buffer.copyToByteArray());
+            return null;
+        }).when(serverHandler).handle(Mockito.any(), Mockito.eq(1),
+                                      Mockito.any());
+
+        client.startSession();
+        client.send(MessageType.VERTEX, 1, ByteBuffer.wrap(compressible));
+        client.send(MessageType.EDGE, 1, ByteBuffer.wrap(incompressible));
+        client.finishSession();
+
+        Mockito.verify(serverHandler, Mockito.times(2))
+               .handle(Mockito.any(), Mockito.eq(1), Mockito.any());
+        // Only the compressible body is decompressed
+        Mockito.verify(serverHandler, Mockito.times(1))
+               .onDecompressed(Mockito.eq(MessageType.VERTEX), Mockito.eq(1),
+                               Mockito.intThat(bytes -> bytes > 0 &&
+                                                        bytes < 8192),
+                               Mockito.eq(8192), Mockito.anyLong());
+        Mockito.verify(serverHandler, Mockito.never())
+               .onDecompressed(Mockito.eq(MessageType.EDGE), Mockito.anyInt(),
+                               Mockito.anyInt(), Mockito.anyInt(),
+                               Mockito.anyLong());
+    }
+
+    @Test
+    public void testRejectCodecWithFileMode() {
+        ServerSession session = new ServerSession(conf);
+        Whitebox.setInternalState(session, "state", TransportState.START_RECV);
+        Assert.assertEquals(DeflateCodec.NAME,
+                            session.acceptCodec(DeflateCodec.NAME));
+        Assert.assertNull(session.acceptCodec("not-exist"));
+        Assert.assertNull(session.acceptCodec(null));
+
+        Config fileModeConfig = UnitTestBase.updateWithRequiredOptions(
+                ComputerOptions.TRANSPORT_RECV_FILE_MODE, "true"
+        );
+        ServerSession fileModeSession = new ServerSession(
+                                        TransportConf.wrapConfig(
+                                        fileModeConfig));
+        Whitebox.setInternalState(fileModeSession, "state",
+                                  TransportState.START_RECV);
+        Assert.assertNull(fileModeSession.acceptCodec(DeflateCodec.NAME));
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.network.netty;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.hugegraph.computer.core.config.ComputerOptions;
+import org.apache.hugegraph.computer.core.network.ConnectionId;
+import org.apache.hugegraph.computer.core.network.StripedTransportClient;
+import org.apache.hugegraph.computer.core.network.TransportClient;
+import org.apache.hugegraph.computer.core.network.buffer.NetworkBuffer;
+import org.apache.hugegraph.computer.core.network.message.MessageType;
+import org.apache.hugegraph.testutil.Assert;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class StripedTransportClientTest extends AbstractNetworkTest {
+
+    private static final int CONNECTIONS = 3;
+    private static final int PARTITIONS = 8;
+    private static final long WAIT_FINISHED = 5000L;
+
+    @Override
+    protected void initOption() {
+        super.updateOption(ComputerOptions.TRANSPORT_RECV_FILE_MODE, false);
+    }
+
+    @After
+    public void resetOption() {
+        // The options are shared by the network tests
+        super.updateOption(ComputerOptions.TRANSPORT_RECV_FILE_MODE,
+                           ComputerOptions.TRANSPORT_RECV_FILE_MODE
+                                          .defaultValue());
+    }
+
+    private StripedTransportClient stripedClient() throws IOException {
+        TransportClient[] clients = new TransportClient[CONNECTIONS];
+        for (int i = 0; i < CONNECTIONS; i++) {
+            ConnectionId connectionId = ConnectionId.parseConnectionId(
+                                        host, port, i);
+            clients[i] = connectionManager.getOrCreateClient(connectionId);
+            Assert.assertEquals(i, clients[i].connectionId().clientIndex());
+        }
+        return new StripedTransportClient(clients);
+    }
+
+    @Test
+    public void testConstruct() throws IOException {
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new StripedTransportClient(new TransportClient[0]);
+        }, e -> {
+            Assert.assertContains("can't be empty", e.getMessage());
+        });
+
+        StripedTransportClient client = this.stripedClient();
+        Assert.assertEquals(CONNECTIONS, client.clients().length);
+        Assert.assertTrue(client.active());
+        Assert.assertFalse(client.sessionActive());
+        Assert.assertEquals(client.clients()[0].connectionId(),
+                            client.connectionId());
+        for (int partition = 0; partition < PARTITIONS; partition++) {
+            Assert.assertSame(client.clients()[partition % CONNECTIONS],
+                              client.client(partition));
+        }
+    }
+
+    @Test
+    public void testSendInOrderOfPartition() throws IOException {
+        StripedTransportClient client = this.stripedClient();
+
+        Map<Integer, List<Integer>> received = new ConcurrentHashMap<>();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        Mockito.doAnswer(invocationOnMock -> {
+            int partition = invocationOnMock.getArgument(1);
+            NetworkBuffer buffer = invocationOnMock.getArgument(2);
+            ByteBuffer data = buffer.nioByteBuffer();
+            Assert.assertEquals(partition, data.getInt());
+            received.computeIfAbsent(partition,
+                                     k -> new CopyOnWriteArrayList<>())
+                    .add(data.getInt());
+            threads.add(Thread.currentThread().getName());
+            return null;
+        }).when(serverHandler).handle(Mockito.any(), Mockito.anyInt(),
+                                      Mockito.any());
+
+        client.startSession();
+        Assert.assertTrue(client.sessionActive());
+        int count = 20;
+        for (int i = 0; i < count; i++) {
+            for (int partition = 0; partition < PARTITIONS; partition++) {
+                ByteBuffer buffer = ByteBuffer.allocate(8);
+                buffer.putInt(partition).putInt(i).flip();
+                while (!client.send(MessageType.MSG, partition, buffer)) {
+                    Thread.yield();
+                }
+            }
+        }
+        client.finishSession();
+        Assert.assertFalse(client.sessionActive());
+
+        /*
+         * Each connection is started and finished, the server calls
+         * onFinished() after responding the finish ack, so wait for it
+         */
+        Mockito.verify(serverHandler, Mockito.times(CONNECTIONS))
+               .onStarted(Mockito.any());
+        Mockito.verify(serverHandler, Mockito.timeout(WAIT_FINISHED)
+                                             .times(CONNECTIONS))
+               .onFinished(Mockito.any());
+
+        Assert.assertEquals(PARTITIONS, received.size());
+        for (List<Integer> sequences : received.values()) {
+            Assert.assertEquals(count, sequences.size());
+            for (int i = 0; i < count; i++) {
+                Assert.assertEquals(i, (int) sequences.get(i));
+            }
+        }
+        // The connections are decoded by different server threads
+        Assert.assertEquals(Math.min(CONNECTIONS, conf.serverThreads()),
+                            threads.size());
+    }
+}
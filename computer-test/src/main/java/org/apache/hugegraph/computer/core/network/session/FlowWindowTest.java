@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.network.session;
+
+import java.nio.ByteBuffer;
+
+import org.apache.hugegraph.computer.core.config.ComputerOptions;
+import org.apache.hugegraph.computer.core.config.Config;
+import org.apache.hugegraph.computer.core.network.TransportConf;
+import org.apache.hugegraph.computer.core.network.message.AbstractMessage;
+import org.apache.hugegraph.computer.core.network.message.MessageType;
+import org.apache.hugegraph.computer.suite.unit.UnitTestBase;
+import org.apache.hugegraph.testutil.Assert;
+import org.junit.Test;
+
+public class FlowWindowTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    public void testConstruct() {
+        FlowWindow window = new FlowWindow(2, 4, 8, MS);
+        Assert.assertEquals(4, window.window());
+        Assert.assertEquals(0L, window.smoothedRtt());
+        Assert.assertEquals(0L, window.minRtt());
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new FlowWindow(0, 4, 8, MS);
+        }, e -> {
+            Assert.assertContains("The flow window must be satisfied",
+                                  e.getMessage());
+        });
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new FlowWindow(2, 9, 8, MS);
+        }, e -> {
+            Assert.assertContains("The flow window must be satisfied",
+                                  e.getMessage());
+        });
+    }
+
+    @Test
+    public void testIncreaseEachRoundTrip() {
+        FlowWindow window = new FlowWindow(2, 4, 8, MS);
+        long now = 0L;
+        // Ack all the messages of the window grows it by one
+        for (int i = 0; i < 4; i++) {
+            now += MS;
+            window.onAcked(1, MS, -1L, now);
+        }
+        Assert.assertEquals(4, window.window());
+        now += MS;
+        window.onAcked(1, MS, -1L, now);
+        Assert.assertEquals(5, window.window());
+        Assert.assertEquals(MS, window.smoothedRtt());
+        Assert.assertEquals(MS, window.minRtt());
+
+        // Not grow more than the max window
+        for (int i = 0; i < 100; i++) {
+            now += MS;
+            window.onAcked(8, MS, -1L, now);
+        }
+        Assert.assertEquals(8, window.window());
+    }
+
+    @Test
+    public void testDecreaseOnRisingRtt() {
+        FlowWindow window = new FlowWindow(2, 8, 8, MS);
+        long now = 10 * MS;
+        window.onAcked(1, 2 * MS, -1L, now);
+        Assert.assertEquals(8, window.window());
+
+        // The rise of rtt under the tolerance is ignored
+        now += MS;
+        window.onAcked(1, 3 * MS, -1L, now);
+        Assert.assertEquals(8, window.window());
+
+        now += MS;
+        window.onAcked(1, 10 * MS, -1L, now);
+        Assert.assertEquals(4, window.window());
+
+        // Halved at most once per round trip
+        now += MS;
+        window.onAcked(1, 10 * MS, -1L, now);
+        Assert.assertEquals(4, window.window());
+
+        now += 10 * MS;
+        window.onAcked(1, 10 * MS, -1L, now);
+        Assert.assertEquals(2, window.window());
+
+        // Not less than the min window
+        now += 10 * MS;
+        window.onAcked(1, 10 * MS, -1L, now);
+        Assert.assertEquals(2, window.window());
+    }
+
+    @Test
+    public void testLimitByFreeBytes() {
+        FlowWindow window = new FlowWindow(2, 8, 8, MS);
+        window.onAcked(1, MS, 1024L, MS);
+        // Unknown message bytes
+        Assert.assertEquals(8, window.window());
+
+        window.onSent(256);
+        Assert.assertEquals(4, window.window());
+
+        window.onAcked(1, MS, 0L, 2 * MS);
+        Assert.assertEquals(2, window.window());
+
+        window.onAcked(1, MS, -1L, 3 * MS);
+        Assert.assertEquals(8, window.window());
+    }
+
+    @Test
+    public void testClientSessionWithAdaptiveWindow() {
+        Config config = UnitTestBase.updateWithRequiredOptions(
+            ComputerOptions.TRANSPORT_ADAPTIVE_FLOW_CONTROL, "true",
+            ComputerOptions.TRANSPORT_MAX_PENDING_REQUESTS, "8",
+            ComputerOptions.TRANSPORT_MIN_PENDING_REQUESTS, "6",
+            ComputerOptions.TRANSPORT_MAX_FLOW_WINDOW, "16"
+        );
+        TransportConf conf = TransportConf.wrapConfig(config);
+        ClientSession session = new ClientSession(conf, message -> null);
+        Assert.assertEquals(8, session.flowWindow());
+        Assert.assertEquals(0L, session.blockedTime());
+
+        session.startAsync();
+        session.onRecvAck(AbstractMessage.START_SEQ);
+
+        for (int i = 0; i < 8; i++) {
+            session.sendAsync(MessageType.MSG, 1, ByteBuffer.allocate(100));
+        }
+        Assert.assertTrue(session.flowBlocking());
+
+        // The window grows after all the messages of the window acked
+        session.onRecvAck(AbstractMessage.START_SEQ + 8, null, -1L);
+        Assert.assertFalse(session.flowBlocking());
+        Assert.assertEquals(9, session.flowWindow());
+        Assert.assertGt(0L, session.smoothedRtt());
+        Assert.assertGt(0L, session.blockedTime());
+
+        for (int i = 0; i < 8; i++) {
+            session.sendAsync(MessageType.MSG, 1, ByteBuffer.allocate(100));
+        }
+        Assert.assertFalse(session.flowBlocking());
+        session.sendAsync(MessageType.MSG, 1, ByteBuffer.allocate(100));
+        Assert.assertTrue(session.flowBlocking());
+
+        // The window is limited by the free bytes of server
+        session.onRecvAck(AbstractMessage.START_SEQ + 10, null, 100L);
+        Assert.assertEquals(6, session.flowWindow());
+        Assert.assertTrue(session.flowBlocking());
+
+        session.onRecvAck(AbstractMessage.START_SEQ + 16, null, 10000L);
+        Assert.assertFalse(session.flowBlocking());
+        Assert.assertGte(9, session.flowWindow());
+    }
+
+    @Test
+    public void testClientSessionWithFixedWindow() {
+        Config config = UnitTestBase.updateWithRequiredOptions(
+            ComputerOptions.TRANSPORT_MAX_PENDING_REQUESTS, "8",
+            ComputerOptions.TRANSPORT_MAX_FLOW_WINDOW, "4"
+        );
+        TransportConf conf = TransportConf.wrapConfig(config);
+        ClientSession session = new ClientSession(conf, message -> null);
+        Assert.assertEquals(8, session.flowWindow());
+        Assert.assertEquals(0L, session.smoothedRtt());
+
+        Config adaptiveConfig = UnitTestBase.updateWithRequiredOptions(
+            ComputerOptions.TRANSPORT_ADAPTIVE_FLOW_CONTROL, "true",
+            ComputerOptions.TRANSPORT_MAX_PENDING_REQUESTS, "8",
+            ComputerOptions.TRANSPORT_MAX_FLOW_WINDOW, "4"
+        );
+        TransportConf adaptiveConf = TransportConf.wrapConfig(adaptiveConfig);
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new ClientSession(adaptiveConf, message -> null);
+        }, e -> {
+            Assert.assertContains("The max_flow_window(4) must be greater",
+                                  e.getMessage());
+        });
+    }
+}
@@ -37,6 +37,8 @@ import org.apache.hugegraph.util.Log;
 import org.junit.Test;
 import org.slf4j.Logger;
 
+import com.google.common.collect.ImmutableList;
+
 public class TransportSessionTest extends AbstractNetworkTest {
 
     private static final Logger LOG = Log.logger(TransportSessionTest.class);
@@ -106,6 +108,44 @@ public class TransportSessionTest extends AbstractNetworkTest {
         executorService.shutdown();
     }
 
+    @Test
+    public void testSendAsyncWithAcked() throws TransportException,
+                                                InterruptedException {
+        ScheduledExecutorService executorService =
+        ExecutorUtil.newScheduledThreadPool(1, TASK_SCHEDULER);
+
+        ClientSession clientSession = new ClientSession(conf, message -> null);
+        this.syncStartWithAutoComplete(executorService, clientSession);
+
+        List<Integer> acked = new CopyOnWriteArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            int index = i;
+            clientSession.sendAsync(MessageType.MSG, 1,
+                                    ByteBuffer.allocate(4),
+                                    () -> acked.add(index));
+        }
+        clientSession.sendAsync(MessageType.MSG, 1, ByteBuffer.allocate(4),
+                                null);
+        Assert.assertEquals(0, acked.size());
+
+        // The ack of request 2 means the request 1 and 2 are handled
+        clientSession.onRecvAck(AbstractMessage.START_SEQ + 2);
+        Assert.assertEquals(2, acked.size());
+        clientSession.onRecvAck(AbstractMessage.START_SEQ + 1);
+        Assert.assertEquals(2, acked.size());
+
+        clientSession.sendAsync(MessageType.MSG, 1, ByteBuffer.allocate(4),
+                                () -> acked.add(5));
+
+        // All the callbacks are called when finished
+        int finishId = AbstractMessage.START_SEQ + 6;
+        this.syncFinishWithAutoComplete(executorService, clientSession,
+                                        finishId);
+        Assert.assertEquals(ImmutableList.of(1, 2, 3, 5), acked);
+
+        executorService.shutdown();
+    }
+
     @Test
     public void testStartWithException() throws InterruptedException,
                                                 TransportException {
@@ -17,6 +17,8 @@
 
 package org.apache.hugegraph.computer.core.receiver;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -25,10 +27,15 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.hugegraph.computer.core.common.exception.ComputerException;
 import org.apache.hugegraph.computer.core.io.RandomAccessInput;
+import org.apache.hugegraph.computer.core.network.buffer.NettyBuffer;
 import org.apache.hugegraph.computer.core.network.buffer.NetworkBuffer;
+import org.apache.hugegraph.computer.core.network.buffer.NioBuffer;
 import org.apache.hugegraph.testutil.Assert;
 import org.junit.Test;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
 public class MessageRecvBuffersTest {
 
     private static final long WAIT_TIMEOUT = 100L; //ms
@@ -174,6 +181,42 @@ public class MessageRecvBuffersTest {
         Assert.assertTrue(success.get());
     }
 
+    @Test
+    public void testRetainAndReleaseBuffers() throws IOException {
+        MessageRecvBuffers buffers = new MessageRecvBuffers(1024L,
+                                                            WAIT_TIMEOUT);
+        ByteBuf buf = Unpooled.directBuffer(8);
+        buf.writeIntLE(1).writeIntLE(2);
+        buf.readIntLE();
+
+        buffers.addBuffer(new NettyBuffer(buf));
+        // Released by the network handler after handled
+        buf.release();
+        Assert.assertEquals(1, buf.refCnt());
+        Assert.assertEquals(4L, buffers.totalBytes());
+
+        // Read the ByteBuf directly
+        List<RandomAccessInput> inputs = buffers.buffers();
+        Assert.assertEquals(1, inputs.size());
+        Assert.assertEquals(4L, inputs.get(0).available());
+        Assert.assertEquals(2, inputs.get(0).readInt());
+
+        buffers.prepareSort();
+        Assert.assertEquals(0, buf.refCnt());
+        Assert.assertEquals(0L, buffers.totalBytes());
+
+        // The buffers which are not NettyBuffer are copied
+        ByteBuffer byteBuffer = ByteBuffer.wrap(new byte[]{1, 2, 3, 4});
+        buffers.addBuffer(new NioBuffer(byteBuffer));
+        byteBuffer.put(0, (byte) 0);
+        inputs = buffers.buffers();
+        Assert.assertEquals(1, inputs.get(0).readByte());
+
+        buffers.releaseBuffers();
+        Assert.assertEquals(0, buffers.buffers().size());
+        Assert.assertEquals(0L, buffers.totalBytes());
+    }
+
     public static void addMockBufferToBuffers(MessageRecvBuffers buffers,
                                               int mockBufferLength) {
         ReceiverUtil.consumeBuffer(new byte[mockBufferLength],
@@ -17,7 +17,6 @@
 
 package org.apache.hugegraph.computer.core.receiver;
 
-import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.Map;
 
@@ -70,10 +69,10 @@ public class MessageRecvManagerTest extends UnitTestBase {
         );
         this.fileManager = new FileManager();
         this.fileManager.init(this.config);
-        this.sortManager = new RecvSortManager(context());
+        this.sortManager = new RecvSortManager(context(), this.fileManager);
         this.sortManager.init(this.config);
         this.receiveManager = new MessageRecvManager(context(), this.fileManager, this.sortManager);
-        this.snapshotManager = new SnapshotManager(context(), null, receiveManager, null);
+        this.snapshotManager = new SnapshotManager(context(), receiveManager, null);
         this.receiveManager.init(this.config);
         this.connectionId = new ConnectionId(new InetSocketAddress("localhost", 8081), 0);
     }
@@ -86,7 +85,7 @@ public class MessageRecvManagerTest extends UnitTestBase {
     }
 
     @Test
-    public void testVertexAndEdgeMessage() throws IOException {
+    public void testVertexAndEdgeMessage() throws Exception {
         // Send vertex messages
         this.receiveManager.onStarted(this.connectionId);
         this.receiveManager.onFinished(this.connectionId);
@@ -110,24 +109,58 @@ public class MessageRecvManagerTest extends UnitTestBase {
         Assert.assertEquals(1, edgePartitions.size());
         VertexMessageRecvPartitionTest.checkPartitionIterator(vertexPartitions.get(0));
         EdgeMessageRecvPartitionTest.checkTenEdges(edgePartitions.get(0));
+        vertexPartitions.get(0).close();
+        edgePartitions.get(0).close();
     }
 
     @Test
-    public void testComputeMessage() throws IOException {
+    public void testFreeBufferBytes() {
+        // Unknown before any partition receives buffers
+        Assert.assertEquals(-1L, this.receiveManager.freeBufferBytes());
+
+        ReceiverUtil.consumeBuffer(new byte[10], (NetworkBuffer buffer) -> {
+            this.receiveManager.handle(MessageType.VERTEX, 0, buffer);
+        });
+        Assert.assertEquals(90L, this.receiveManager.freeBufferBytes());
+
+        // The free bytes are shared by the active client channels
+        ConnectionId connectionId2 = new ConnectionId(
+                                     new InetSocketAddress("localhost", 8081),
+                                     1);
+        this.receiveManager.onChannelActive(this.connectionId);
+        this.receiveManager.onChannelActive(connectionId2);
+        Assert.assertEquals(45L, this.receiveManager.freeBufferBytes());
+
+        this.receiveManager.onChannelInactive(connectionId2);
+        Assert.assertEquals(90L, this.receiveManager.freeBufferBytes());
+        this.receiveManager.onChannelInactive(this.connectionId);
+    }
+
+    @Test
+    public void testComputeMessage() throws Exception {
         // Superstep 0
         this.receiveManager.beforeSuperstep(this.config, 0);
         ComputeMessageRecvPartitionTest.addTwentyCombineMessageBuffer((NetworkBuffer buffer) -> {
             this.receiveManager.handle(MessageType.MSG, 0, buffer);
         });
+        this.receiveManager.onDecompressed(MessageType.MSG, 0, 10, 40, 5L);
+        this.receiveManager.onDecompressed(MessageType.MSG, 0, 20, 40, 7L);
         this.receiveManager.onFinished(this.connectionId);
 
         this.receiveManager.waitReceivedAllMessages();
         this.receiveManager.afterSuperstep(this.config, 0);
 
+        MessageStat stat = this.receiveManager.messageStats().get(0);
+        Assert.assertEquals(80L, stat.codecRawBytes());
+        Assert.assertEquals(30L, stat.codecBytes());
+        Assert.assertEquals(12L, stat.codecNanos());
+        Assert.assertEquals(0.375D, stat.compressionRatio(), 0.0D);
+
         Map<Integer, PeekableIterator<KvEntry>> messagePartitions =
                 this.receiveManager.messagePartitions();
         Assert.assertEquals(1, messagePartitions.size());
         ComputeMessageRecvPartitionTest.checkTenCombineMessages(messagePartitions.get(0));
+        messagePartitions.get(0).close();
     }
 
     @Test
@@ -20,9 +20,13 @@ package org.apache.hugegraph.computer.core.receiver;
 import org.apache.hugegraph.computer.core.receiver.edge.EdgeMessageRecvPartitionTest;
 import org.apache.hugegraph.computer.core.receiver.message.ComputeMessageRecvPartitionTest;
 import org.apache.hugegraph.computer.core.receiver.vertex.VertexMessageRecvPartitionTest;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
+import io.netty.util.ResourceLeakDetector;
+
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
     MessageRecvManagerTest.class,
@@ -32,4 +36,19 @@ import org.junit.runners.Suite;
     ComputeMessageRecvPartitionTest.class
 })
 public class ReceiverTestSuite {
+
+    private static ResourceLeakDetector.Level leakLevel;
+
+    @BeforeClass
+    public static void setup() {
+        // The receiver retains the received buffers, report if leaked
+        leakLevel = ResourceLeakDetector.getLevel();
+        ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+    }
+
+    @AfterClass
+    public static void clear() {
+        // Don't track the buffers of the suites run after this one
+        ResourceLeakDetector.setLevel(leakLevel);
+    }
 }
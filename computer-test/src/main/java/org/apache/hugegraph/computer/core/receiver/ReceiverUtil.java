@@ -18,6 +18,7 @@
 package org.apache.hugegraph.computer.core.receiver;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.function.Consumer;
 
 import org.apache.hugegraph.computer.core.common.Constants;
@@ -33,6 +34,7 @@ import org.apache.hugegraph.computer.core.network.buffer.NetworkBuffer;
 import org.apache.hugegraph.computer.core.store.entry.EntryOutput;
 import org.apache.hugegraph.computer.core.store.entry.EntryOutputImpl;
 import org.apache.hugegraph.computer.core.store.entry.Pointer;
+import org.apache.hugegraph.testutil.Assert;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
@@ -51,6 +53,16 @@ public class ReceiverUtil {
         }
     }
 
+    /**
+     * Check the buffers passed to the receiver are all released, the
+     * receiver retains the buffers until they are sorted.
+     */
+    public static void assertReleased(List<NetworkBuffer> buffers) {
+        for (NetworkBuffer buffer : buffers) {
+            Assert.assertEquals(0, buffer.referenceCount());
+        }
+    }
+
     public static Id readId(Pointer pointer) throws IOException {
         RandomAccessInput input = pointer.input();
         input.seek(pointer.offset());
@@ -77,7 +77,7 @@ public class EdgeMessageRecvPartitionTest extends UnitTestBase {
         FileUtils.deleteQuietly(new File("data_dir2"));
         this.fileManager = new FileManager();
         this.fileManager.init(this.config);
-        this.sortManager = new RecvSortManager(context());
+        this.sortManager = new RecvSortManager(context(), this.fileManager);
         this.sortManager.init(this.config);
         SuperstepFileGenerator fileGenerator = new SuperstepFileGenerator(
                                                this.fileManager,
@@ -93,32 +93,36 @@ public class EdgeMessageRecvPartitionTest extends UnitTestBase {
     }
 
     @Test
-    public void testEdgeMessageRecvPartition() throws IOException {
+    public void testEdgeMessageRecvPartition() throws Exception {
         Assert.assertEquals("edge", this.partition.type());
 
         addTenEdgeBuffer((NetworkBuffer buffer) -> {
             this.partition.addBuffer(buffer);
         });
 
-        checkTenEdges(this.partition.iterator());
+        PeekableIterator<KvEntry> it = this.partition.iterator();
+        checkTenEdges(it);
+        it.close();
 
         this.fileManager.close(this.config);
     }
 
     @Test
-    public void testOverwriteCombiner() throws IOException {
+    public void testOverwriteCombiner() throws Exception {
         Assert.assertEquals("edge", this.partition.type());
 
         addTenEdgeBuffer(this.partition::addBuffer);
         addTenEdgeBuffer(this.partition::addBuffer);
 
-        checkTenEdges(this.partition.iterator());
+        PeekableIterator<KvEntry> it = this.partition.iterator();
+        checkTenEdges(it);
+        it.close();
 
         this.fileManager.close(this.config);
     }
 
     @Test
-    public void testNotOverwritePropertiesCombiner() throws IOException {
+    public void testNotOverwritePropertiesCombiner() throws Exception {
         this.config = UnitTestBase.updateWithRequiredOptions(
             ComputerOptions.JOB_ID, "local_001",
             ComputerOptions.JOB_WORKERS_COUNT, "1",
@@ -143,7 +147,45 @@ public class EdgeMessageRecvPartitionTest extends UnitTestBase {
 
         addTenDuplicateEdgeBuffer(this.partition::addBuffer);
 
-        checkTenEdgesWithCombinedProperties(this.partition.iterator());
+        PeekableIterator<KvEntry> it = this.partition.iterator();
+        checkTenEdgesWithCombinedProperties(it);
+        it.close();
+    }
+
+    @Test
+    public void testNotOverwritePropertiesCombinerWithMultiLevelMerge()
+                throws Exception {
+        this.config = UnitTestBase.updateWithRequiredOptions(
+            ComputerOptions.JOB_ID, "local_001",
+            ComputerOptions.JOB_WORKERS_COUNT, "1",
+            ComputerOptions.JOB_PARTITIONS_COUNT, "1",
+            ComputerOptions.WORKER_DATA_DIRS, "[data_dir1, data_dir2]",
+            ComputerOptions.WORKER_RECEIVED_BUFFERS_BYTES_LIMIT, "20",
+            ComputerOptions.HGKV_MERGE_FILES_NUM, "3",
+            ComputerOptions.WORKER_EDGE_PROPERTIES_COMBINER_CLASS,
+            MergeNewPropertiesCombiner.class.getName(),
+            ComputerOptions.TRANSPORT_RECV_FILE_MODE, "false"
+        );
+        FileUtils.deleteQuietly(new File("data_dir1"));
+        FileUtils.deleteQuietly(new File("data_dir2"));
+        this.fileManager = new FileManager();
+        this.fileManager.init(this.config);
+        SuperstepFileGenerator fileGenerator = new SuperstepFileGenerator(
+                                               this.fileManager,
+                                               Constants.INPUT_SUPERSTEP);
+        this.partition = new EdgeMessageRecvPartition(context(), fileGenerator,
+                                                      this.sortManager);
+
+        addTenDuplicateEdgeBuffer(this.partition::addBuffer);
+        int files = this.partition.outputFiles().size();
+        Assert.assertGt(3, files);
+
+        // The last level of files are merged while iterating
+        PeekableIterator<KvEntry> it = this.partition.iterator();
+        Assert.assertGt(1, this.partition.outputFiles().size());
+        Assert.assertLte(3, this.partition.outputFiles().size());
+        checkTenEdgesWithCombinedProperties(it);
+        it.close();
     }
 
     public static void addTenEdgeBuffer(Consumer<NetworkBuffer> consumer)
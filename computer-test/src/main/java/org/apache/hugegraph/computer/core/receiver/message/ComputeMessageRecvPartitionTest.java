@@ -19,6 +19,8 @@ package org.apache.hugegraph.computer.core.receiver.message;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
 
 import org.apache.commons.io.FileUtils;
@@ -45,7 +47,7 @@ import org.junit.Test;
 public class ComputeMessageRecvPartitionTest extends UnitTestBase {
 
     @Test
-    public void testCombineMessageRecvPartition() throws IOException {
+    public void testCombineMessageRecvPartition() throws Exception {
         Config config = UnitTestBase.updateWithRequiredOptions(
                 ComputerOptions.JOB_ID, "local_001",
                 ComputerOptions.JOB_WORKERS_COUNT, "1",
@@ -64,7 +66,7 @@ public class ComputeMessageRecvPartitionTest extends UnitTestBase {
         FileUtils.deleteQuietly(new File("data_dir2"));
         FileManager fileManager = new FileManager();
         fileManager.init(config);
-        SortManager sortManager = new RecvSortManager(context());
+        SortManager sortManager = new RecvSortManager(context(), fileManager);
         sortManager.init(config);
         SuperstepFileGenerator fileGenerator = new SuperstepFileGenerator(
                                                fileManager, 0);
@@ -75,14 +77,60 @@ public class ComputeMessageRecvPartitionTest extends UnitTestBase {
 
         addTwentyCombineMessageBuffer(partition::addBuffer);
 
-        checkTenCombineMessages(partition.iterator());
+        PeekableIterator<KvEntry> it = partition.iterator();
+        checkTenCombineMessages(it);
+        it.close();
 
         fileManager.close(config);
         sortManager.close(config);
     }
 
     @Test
-    public void testNotCombineMessageRecvPartition() throws IOException {
+    public void testCombineMessageRecvPartitionInMemory() throws Exception {
+        Config config = UnitTestBase.updateWithRequiredOptions(
+                ComputerOptions.JOB_ID, "local_001",
+                ComputerOptions.JOB_WORKERS_COUNT, "1",
+                ComputerOptions.JOB_PARTITIONS_COUNT, "1",
+                ComputerOptions.WORKER_COMBINER_CLASS,
+                DoubleValueSumCombiner.class.getName(),
+                ComputerOptions.WORKER_DATA_DIRS, "[data_dir1, data_dir2]",
+                // Make sure all buffers within this limit.
+                ComputerOptions.WORKER_RECEIVED_BUFFERS_BYTES_LIMIT, "10000",
+                ComputerOptions.ALGORITHM_MESSAGE_CLASS,
+                DoubleValue.class.getName(),
+                ComputerOptions.TRANSPORT_RECV_FILE_MODE, "false"
+        );
+        FileUtils.deleteQuietly(new File("data_dir1"));
+        FileUtils.deleteQuietly(new File("data_dir2"));
+        FileManager fileManager = new FileManager();
+        fileManager.init(config);
+        SortManager sortManager = new RecvSortManager(context(), fileManager);
+        sortManager.init(config);
+        SuperstepFileGenerator fileGenerator = new SuperstepFileGenerator(
+                                               fileManager, 0);
+        ComputeMessageRecvPartition partition = new ComputeMessageRecvPartition(
+                                                context(), fileGenerator,
+                                                sortManager);
+
+        List<NetworkBuffer> buffers = new ArrayList<>();
+        addTwentyCombineMessageBuffer(buffer -> {
+            buffers.add(buffer);
+            partition.addBuffer(buffer);
+        });
+
+        PeekableIterator<KvEntry> iter = partition.iterator();
+        checkTenCombineMessages(iter);
+        Assert.assertEquals(0, partition.outputFiles().size());
+        // The buffers are merged lazily and released after iterator closed
+        iter.close();
+        ReceiverUtil.assertReleased(buffers);
+
+        fileManager.close(config);
+        sortManager.close(config);
+    }
+
+    @Test
+    public void testNotCombineMessageRecvPartition() throws Exception {
         Config config = UnitTestBase.updateWithRequiredOptions(
             ComputerOptions.JOB_ID, "local_001",
             ComputerOptions.JOB_WORKERS_COUNT, "1",
@@ -98,7 +146,7 @@ public class ComputeMessageRecvPartitionTest extends UnitTestBase {
         FileUtils.deleteQuietly(new File("data_dir2"));
         FileManager fileManager = new FileManager();
         fileManager.init(config);
-        SortManager sortManager = new RecvSortManager(context());
+        SortManager sortManager = new RecvSortManager(context(), fileManager);
         sortManager.init(config);
         SuperstepFileGenerator fileGenerator = new SuperstepFileGenerator(
                                                fileManager, 0);
@@ -107,9 +155,16 @@ public class ComputeMessageRecvPartitionTest extends UnitTestBase {
                                                 sortManager);
         Assert.assertEquals("msg", partition.type());
 
-        addTwentyDuplicateIdValueListMessageBuffer(partition::addBuffer);
+        List<NetworkBuffer> buffers = new ArrayList<>();
+        addTwentyDuplicateIdValueListMessageBuffer(buffer -> {
+            buffers.add(buffer);
+            partition.addBuffer(buffer);
+        });
 
-        checkIdValueListMessages(partition.iterator());
+        PeekableIterator<KvEntry> it = partition.iterator();
+        checkIdValueListMessages(it);
+        it.close();
+        ReceiverUtil.assertReleased(buffers);
 
         fileManager.close(config);
         sortManager.close(config);
@@ -19,6 +19,7 @@ package org.apache.hugegraph.computer.core.receiver.vertex;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 import java.util.function.Consumer;
 
 import org.apache.commons.io.FileUtils;
@@ -69,13 +70,14 @@ public class VertexMessageRecvPartitionTest extends UnitTestBase {
                 ComputerOptions.WORKER_DATA_DIRS, "[data_dir1, data_dir2]",
                 ComputerOptions.WORKER_RECEIVED_BUFFERS_BYTES_LIMIT, "20",
                 ComputerOptions.HGKV_MERGE_FILES_NUM, "5",
+                ComputerOptions.WORKER_RECEIVED_MERGE_IN_MEMORY, "false",
                 ComputerOptions.TRANSPORT_RECV_FILE_MODE, "false"
         );
         FileUtils.deleteQuietly(new File("data_dir1"));
         FileUtils.deleteQuietly(new File("data_dir2"));
         this.fileManager = new FileManager();
         this.fileManager.init(this.config);
-        this.sortManager = new RecvSortManager(context());
+        this.sortManager = new RecvSortManager(context(), this.fileManager);
         this.sortManager.init(this.config);
         SuperstepFileGenerator fileGenerator = new SuperstepFileGenerator(
                                                this.fileManager,
@@ -92,7 +94,7 @@ public class VertexMessageRecvPartitionTest extends UnitTestBase {
     }
 
     @Test
-    public void testVertexMessageRecvPartition() throws IOException {
+    public void testVertexMessageRecvPartition() throws Exception {
         Assert.assertEquals("vertex", this.partition.type());
         Assert.assertEquals(0L, this.partition.totalBytes());
         addTenVertexBuffer(this.partition::addBuffer);
@@ -100,10 +102,11 @@ public class VertexMessageRecvPartitionTest extends UnitTestBase {
         PeekableIterator<KvEntry> it = this.partition.iterator();
         checkPartitionIterator(it);
         Assert.assertFalse(it.hasNext());
+        it.close();
     }
 
     @Test
-    public void testOverwriteCombiner() throws IOException {
+    public void testOverwriteCombiner() throws Exception {
         this.config = UnitTestBase.updateWithRequiredOptions(
                 ComputerOptions.JOB_ID, "local_001",
                 ComputerOptions.JOB_WORKERS_COUNT, "1",
@@ -126,13 +129,15 @@ public class VertexMessageRecvPartitionTest extends UnitTestBase {
         addTenVertexBuffer(this.partition::addBuffer);
         addTenVertexBuffer(this.partition::addBuffer);
 
-        checkPartitionIterator(this.partition.iterator());
+        PeekableIterator<KvEntry> it = this.partition.iterator();
+        checkPartitionIterator(it);
+        it.close();
 
         this.fileManager.close(this.config);
     }
 
     @Test
-    public void testMergePropertiesCombiner() throws IOException {
+    public void testMergePropertiesCombiner() throws Exception {
         this.config = UnitTestBase.updateWithRequiredOptions(
                 ComputerOptions.JOB_ID, "local_001",
                 ComputerOptions.JOB_WORKERS_COUNT, "1",
@@ -157,7 +162,48 @@ public class VertexMessageRecvPartitionTest extends UnitTestBase {
 
         addTwentyDuplicateVertexBuffer(this.partition::addBuffer);
 
-        checkTenVertexWithMergedProperties(this.partition.iterator());
+        PeekableIterator<KvEntry> it = this.partition.iterator();
+        checkTenVertexWithMergedProperties(it);
+        it.close();
+
+        this.fileManager.close(this.config);
+    }
+
+    @Test
+    public void testMergePropertiesCombinerWithMultiLevelMerge()
+                throws Exception {
+        this.config = UnitTestBase.updateWithRequiredOptions(
+                ComputerOptions.JOB_ID, "local_001",
+                ComputerOptions.JOB_WORKERS_COUNT, "1",
+                ComputerOptions.JOB_PARTITIONS_COUNT, "1",
+                ComputerOptions.WORKER_DATA_DIRS, "[data_dir1, data_dir2]",
+                ComputerOptions.WORKER_RECEIVED_BUFFERS_BYTES_LIMIT, "20",
+                ComputerOptions.HGKV_MERGE_FILES_NUM, "3",
+                ComputerOptions.WORKER_VERTEX_PROPERTIES_COMBINER_CLASS,
+                MergeNewPropertiesCombiner.class.getName(),
+                ComputerOptions.TRANSPORT_RECV_FILE_MODE, "false"
+        );
+        FileUtils.deleteQuietly(new File("data_dir1"));
+        FileUtils.deleteQuietly(new File("data_dir2"));
+        this.fileManager = new FileManager();
+        this.fileManager.init(this.config);
+        SuperstepFileGenerator fileGenerator = new SuperstepFileGenerator(
+                                               this.fileManager,
+                                               Constants.INPUT_SUPERSTEP);
+        this.partition = new VertexMessageRecvPartition(context(),
+                                                        fileGenerator,
+                                                        this.sortManager);
+
+        addTwentyDuplicateVertexBuffer(this.partition::addBuffer);
+        Assert.assertGt(3, this.partition.outputFiles().size());
+
+        // Merge the files level by level, the last level merged lazily
+        PeekableIterator<KvEntry> it = this.partition.iterator();
+        List<String> outputFiles = this.partition.outputFiles();
+        Assert.assertGt(1, outputFiles.size());
+        Assert.assertLte(3, outputFiles.size());
+        checkTenVertexWithMergedProperties(it);
+        it.close();
 
         this.fileManager.close(this.config);
     }
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hugegraph.computer.core.sender;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import org.apache.hugegraph.computer.core.common.Constants;
+import org.apache.hugegraph.computer.core.network.message.MessageType;
+import org.apache.hugegraph.concurrent.BarrierEvent;
+import org.apache.hugegraph.util.E;
+import org.apache.hugegraph.util.Log;
+import org.slf4j.Logger;
+
+/**
+ * Compare the time of BlockingMessageQueue and RingMessageQueue to transfer
+ * the messages from multiple producer threads to one send thread, like
+ * QueuedMessageSender does. It's not a unit test, run it by main().
+ */
+public class MessageQueueBenchmark {
+
+    private static final Logger LOG = Log.logger(MessageQueueBenchmark.class);
+
+    private static final int[] PRODUCERS = {1, 4, 16, 64};
+    private static final int MESSAGES = 1 << 20;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws InterruptedException {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : MESSAGES;
+        for (int producers : PRODUCERS) {
+            // Warm up before timing
+            transfer(producers, messages, BlockingMessageQueue::new);
+            transfer(producers, messages, RingMessageQueue::new);
+
+            long blockingTime = 0L;
+            long ringTime = 0L;
+            for (int i = 0; i < ROUNDS; i++) {
+                blockingTime += transfer(producers, messages,
+                                         BlockingMessageQueue::new);
+                ringTime += transfer(producers, messages,
+                                     RingMessageQueue::new);
+            }
+            LOG.info("Transfer {} messages by {} producers takes {} ms with " +
+                     "BlockingMessageQueue, {} ms with RingMessageQueue",
+                     messages, producers, blockingTime / ROUNDS,
+                     ringTime / ROUNDS);
+        }
+    }
+
+    private static long transfer(int producers, int messages,
+                                 BiFunction<Runnable, Integer,
+                                            MessageQueue> factory)
+                                 throws InterruptedException {
+        BarrierEvent notEmptyEvent = new BarrierEvent();
+        MessageQueue queue = factory.apply(notEmptyEvent::signal,
+                                           Constants.QUEUE_CAPACITY);
+        int count = messages / producers;
+        QueuedMessage message = new QueuedMessage(0, MessageType.MSG,
+                                                  ByteBuffer.allocate(4));
+
+        long start = System.nanoTime();
+        Thread[] threads = new Thread[producers];
+        for (int i = 0; i < producers; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    for (int j = 0; j < count; j++) {
+                        queue.put(message);
+                    }
+                } catch (InterruptedException ignored) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "producer-" + i);
+            threads[i].start();
+        }
+        // The send thread waits for the event when the queue is empty
+        for (int taken = 0; taken < count * producers;) {
+            if (queue.peek() == null) {
+                notEmptyEvent.await(Constants.FUTURE_TIMEOUT);
+                notEmptyEvent.reset();
+                continue;
+            }
+            E.checkState(queue.take() == message,
+                         "Unexpected message taken");
+            taken++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
@@ -21,6 +21,7 @@ import java.nio.ByteBuffer;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.hugegraph.computer.core.common.Constants;
 import org.apache.hugegraph.computer.core.network.message.MessageType;
 import org.apache.hugegraph.testutil.Assert;
 import org.apache.hugegraph.testutil.Whitebox;
@@ -31,7 +32,9 @@ public class MessageQueueTest {
     @Test
     public void testPutAndTake() throws InterruptedException {
         AtomicInteger notifyCounter = new AtomicInteger();
-        MessageQueue queue = new MessageQueue(notifyCounter::incrementAndGet);
+        MessageQueue queue = new BlockingMessageQueue(
+                             notifyCounter::incrementAndGet,
+                             Constants.QUEUE_CAPACITY);
 
         QueuedMessage message1 = new QueuedMessage(1, MessageType.VERTEX,
                                                    ByteBuffer.allocate(4));
@@ -60,4 +63,39 @@ public class MessageQueueTest {
         queue.put(message1);
         Assert.assertEquals(3, notifyCounter.get());
     }
+
+    @Test
+    public void testPutAndTakeWithRingQueue() throws InterruptedException {
+        AtomicInteger notifyCounter = new AtomicInteger();
+        MessageQueue queue = new RingMessageQueue(
+                             notifyCounter::incrementAndGet,
+                             Constants.QUEUE_CAPACITY);
+
+        QueuedMessage message1 = new QueuedMessage(1, MessageType.VERTEX,
+                                                   ByteBuffer.allocate(4));
+        // Trigger notifier called since the queue is empty
+        queue.put(message1);
+        Assert.assertEquals(1, notifyCounter.get());
+
+        QueuedMessage message2 = new QueuedMessage(2, MessageType.EDGE,
+                                                   ByteBuffer.allocate(4));
+        // Not trigger notifier since message1 is not taken
+        queue.put(message2);
+        Assert.assertEquals(1, notifyCounter.get());
+        Assert.assertEquals(2, queue.size());
+
+        Assert.assertEquals(message1.partitionId(), queue.peek().partitionId());
+        Assert.assertEquals(2, queue.size());
+
+        Assert.assertEquals(message1.partitionId(), queue.take().partitionId());
+        Assert.assertEquals(1, queue.size());
+
+        Assert.assertEquals(message2.partitionId(), queue.take().partitionId());
+        Assert.assertEquals(0, queue.size());
+        Assert.assertNull(queue.peek());
+
+        // Trigger notifier called since all messages are taken
+        queue.put(message1);
+        Assert.assertEquals(2, notifyCounter.get());
+    }
 }
@@ -17,12 +17,238 @@
 
 package org.apache.hugegraph.computer.core.sender;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.hugegraph.computer.core.common.exception.TransportException;
+import org.apache.hugegraph.computer.core.config.ComputerOptions;
+import org.apache.hugegraph.computer.core.config.Config;
+import org.apache.hugegraph.computer.core.graph.id.BytesId;
+import org.apache.hugegraph.computer.core.graph.id.Id;
+import org.apache.hugegraph.computer.core.graph.vertex.Vertex;
+import org.apache.hugegraph.computer.core.manager.Managers;
+import org.apache.hugegraph.computer.core.network.ConnectionId;
+import org.apache.hugegraph.computer.core.network.buffer.DirectBufferPool;
+import org.apache.hugegraph.computer.core.network.message.MessageType;
+import org.apache.hugegraph.computer.core.receiver.MessageRecvManager;
+import org.apache.hugegraph.computer.core.receiver.MessageStat;
+import org.apache.hugegraph.computer.core.snapshot.SnapshotManager;
+import org.apache.hugegraph.computer.core.sort.flusher.PeekableIterator;
+import org.apache.hugegraph.computer.core.sort.sorting.SendSortManager;
+import org.apache.hugegraph.computer.core.sort.sorting.SortManager;
+import org.apache.hugegraph.computer.core.store.FileManager;
+import org.apache.hugegraph.computer.core.store.StoreTestUtil;
+import org.apache.hugegraph.computer.core.store.entry.KvEntry;
+import org.apache.hugegraph.computer.suite.unit.UnitTestBase;
+import org.apache.hugegraph.testutil.Assert;
+import org.junit.After;
 import org.junit.Test;
 
-public class MessageSendManagerTest {
+public class MessageSendManagerTest extends UnitTestBase {
+
+    private Config config;
+    private Managers managers;
+    private RecordingMessageSender sender;
+    private SortManager sortManager;
+
+    @After
+    public void teardown() {
+        if (this.managers != null) {
+            this.managers.closeAll(this.config);
+        }
+    }
 
     @Test
     public void test() {
         // TODO: Supplement
     }
+
+    @Test
+    public void testSendToLocalWorkerDirectly() throws Exception {
+        this.initManagers(false);
+        this.sendVertices();
+
+        // Only the buffers of partition 1 are sent to worker 2
+        Assert.assertFalse(this.sender.dataMessages.isEmpty());
+        for (QueuedMessage message : this.sender.dataMessages) {
+            Assert.assertEquals(1, message.partitionId());
+        }
+        // The control messages are sent to both workers
+        Assert.assertEquals(4, this.sender.controlMessages.size());
+
+        MessageRecvManager recvManager = this.managers.get(
+                                         MessageRecvManager.NAME);
+        Map<Integer, MessageStat> stats = recvManager.vertexStats();
+        Assert.assertEquals(1, stats.size());
+        Assert.assertTrue(stats.get(0).messageBytes() > 0L);
+        Map<Integer, PeekableIterator<KvEntry>> partitions =
+                     recvManager.vertexPartitions();
+        this.assertVertices(partitions.get(0));
+    }
+
+    @Test
+    public void testSendToLocalWorkerDirectlyWithFileMode()
+                throws Exception {
+        this.initManagers(true);
+        this.sendVertices();
+
+        for (QueuedMessage message : this.sender.dataMessages) {
+            Assert.assertEquals(1, message.partitionId());
+        }
+        MessageRecvManager recvManager = this.managers.get(
+                                         MessageRecvManager.NAME);
+        Map<Integer, PeekableIterator<KvEntry>> partitions =
+                     recvManager.vertexPartitions();
+        Assert.assertEquals(1, partitions.size());
+        this.assertVertices(partitions.get(0));
+    }
+
+    @Test
+    public void testSendToLocalWorkerWithShortCircuitDisabled()
+                throws Exception {
+        this.initManagers(false,
+                          ComputerOptions.TRANSPORT_LOCAL_SHORT_CIRCUIT,
+                          "false");
+        this.sendVertices();
+
+        boolean sentPartition0 = false;
+        for (QueuedMessage message : this.sender.dataMessages) {
+            if (message.partitionId() == 0) {
+                sentPartition0 = true;
+            }
+        }
+        Assert.assertTrue(sentPartition0);
+        MessageRecvManager recvManager = this.managers.get(
+                                         MessageRecvManager.NAME);
+        Assert.assertEquals(0, recvManager.vertexStats().size());
+    }
+
+    @Test
+    public void testSendWithBufferPool() throws Exception {
+        this.initManagers(false,
+                          ComputerOptions.WORKER_SEND_BUFFER_POOL_SIZE,
+                          "1048576");
+        this.sendVertices();
+
+        DirectBufferPool pool = this.sortManager.bufferPool();
+        Assert.assertNotNull(pool);
+        Assert.assertTrue(pool.allocatedBytes() > 0L);
+
+        // The buffers sent to remote are released after acked
+        Assert.assertFalse(this.sender.dataMessages.isEmpty());
+        Assert.assertTrue(pool.usedBytes() > 0L);
+        for (QueuedMessage message : this.sender.dataMessages) {
+            Assert.assertTrue(message.buffer().isDirect());
+            message.releaser().run();
+        }
+        Assert.assertEquals(0L, pool.usedBytes());
+
+        MessageRecvManager recvManager = this.managers.get(
+                                         MessageRecvManager.NAME);
+        Map<Integer, PeekableIterator<KvEntry>> partitions =
+                     recvManager.vertexPartitions();
+        this.assertVertices(partitions.get(0));
+    }
+
+    private void initManagers(boolean fileMode, Object... extraOptions) {
+        Object[] options = new Object[] {
+                ComputerOptions.JOB_ID, "local_001",
+                ComputerOptions.JOB_WORKERS_COUNT, "2",
+                ComputerOptions.JOB_PARTITIONS_COUNT, "2",
+                ComputerOptions.WORKER_DATA_DIRS, "[data_dir1, data_dir2]",
+                ComputerOptions.WORKER_RECEIVED_BUFFERS_BYTES_LIMIT, "10000",
+                ComputerOptions.WORKER_WRITE_BUFFER_THRESHOLD, "100",
+                ComputerOptions.WORKER_WRITE_BUFFER_INIT_CAPACITY, "100",
+                ComputerOptions.TRANSPORT_RECV_FILE_MODE,
+                String.valueOf(fileMode)
+        };
+        Object[] allOptions = new Object[options.length +
+                                         extraOptions.length];
+        System.arraycopy(options, 0, allOptions, 0, options.length);
+        System.arraycopy(extraOptions, 0, allOptions, options.length,
+                         extraOptions.length);
+        this.config = UnitTestBase.updateWithRequiredOptions(allOptions);
+
+        this.managers = new Managers();
+        FileManager fileManager = new FileManager();
+        this.managers.add(fileManager);
+        SortManager sortManager = new SendSortManager(context(), fileManager);
+        this.managers.add(sortManager);
+        this.sortManager = sortManager;
+        this.sender = new RecordingMessageSender();
+        MessageSendManager sendManager = new MessageSendManager(
+                                         context(), sortManager,
+                                         this.sender);
+        this.managers.add(sendManager);
+        MessageRecvManager recvManager = new MessageRecvManager(context(),
+                                                                fileManager,
+                                                                sortManager);
+        this.managers.add(recvManager);
+        SnapshotManager snapshotManager = new SnapshotManager(context(),
+                                                              recvManager,
+                                                              null);
+        this.managers.add(snapshotManager);
+        this.managers.initAll(this.config);
+
+        sendManager.setLocalHandler(1, recvManager);
+    }
+
+    private void sendVertices() {
+        MessageSendManager sendManager = this.managers.get(
+                                         MessageSendManager.NAME);
+        sendManager.startSend(MessageType.VERTEX);
+        for (long i = 0L; i < 100L; i++) {
+            Vertex vertex = graphFactory().createVertex();
+            vertex.id(BytesId.of(i));
+            vertex.properties(graphFactory().createProperties());
+            sendManager.sendVertex(vertex);
+        }
+        sendManager.finishSend(MessageType.VERTEX);
+    }
+
+    private void assertVertices(PeekableIterator<KvEntry> iterator)
+                                throws Exception {
+        // The vertices of partition 0 are sorted by id
+        Id previous = null;
+        int count = 0;
+        while (iterator.hasNext()) {
+            KvEntry entry = iterator.next();
+            Id id = StoreTestUtil.idFromPointer(entry.key());
+            if (previous != null) {
+                Assert.assertLt(0, previous.compareTo(id));
+            }
+            previous = id;
+            count++;
+        }
+        iterator.close();
+        Assert.assertTrue(count > 0);
+        Assert.assertTrue(count < 100);
+    }
+
+    private static class RecordingMessageSender implements MessageSender {
+
+        private final List<MessageType> controlMessages =
+                      new CopyOnWriteArrayList<>();
+        private final List<QueuedMessage> dataMessages =
+                      new CopyOnWriteArrayList<>();
+
+        @Override
+        public CompletableFuture<Void> send(int workerId, MessageType type) {
+            this.controlMessages.add(type);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public void send(int workerId, QueuedMessage message) {
+            this.dataMessages.add(message);
+        }
+
+        @Override
+        public void transportExceptionCaught(TransportException cause,
+                                             ConnectionId connectionId) {
+            // pass
+        }
+    }
 }
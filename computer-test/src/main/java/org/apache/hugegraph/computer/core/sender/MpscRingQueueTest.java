@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.sender;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.hugegraph.testutil.Assert;
+import org.junit.Test;
+
+public class MpscRingQueueTest {
+
+    @Test
+    public void testConstructor() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new MpscRingQueue<Integer>(1);
+        }, e -> {
+            Assert.assertContains("must be power of 2", e.getMessage());
+        });
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new MpscRingQueue<Integer>(3);
+        }, e -> {
+            Assert.assertContains("must be power of 2", e.getMessage());
+        });
+        Assert.assertEquals(4, new MpscRingQueue<Integer>(4).capacity());
+    }
+
+    @Test
+    public void testPutAndPoll() throws InterruptedException {
+        MpscRingQueue<Integer> queue = new MpscRingQueue<>(4);
+        Assert.assertNull(queue.peek());
+        Assert.assertNull(queue.poll());
+
+        // Return true since the consumer is waiting for the first element
+        Assert.assertTrue(queue.put(1));
+        Assert.assertFalse(queue.put(2));
+        Assert.assertFalse(queue.put(3));
+        Assert.assertFalse(queue.put(4));
+        Assert.assertEquals(4, queue.size());
+
+        Assert.assertEquals(1, queue.peek());
+        Assert.assertEquals(1, queue.poll());
+        Assert.assertEquals(2, queue.take());
+        Assert.assertEquals(2, queue.size());
+
+        // Reuse the slots freed by the consumer
+        Assert.assertFalse(queue.put(5));
+        Assert.assertEquals(3, queue.poll());
+        Assert.assertEquals(4, queue.poll());
+        Assert.assertEquals(5, queue.poll());
+        Assert.assertNull(queue.poll());
+        Assert.assertEquals(0, queue.size());
+
+        Assert.assertTrue(queue.put(6));
+        Assert.assertEquals(6, queue.poll());
+    }
+
+    @Test
+    public void testPutWithFullQueue() throws InterruptedException {
+        MpscRingQueue<Integer> queue = new MpscRingQueue<>(2);
+        queue.put(1);
+        queue.put(2);
+
+        CountDownLatch latch = new CountDownLatch(1);
+        Throwable[] exceptions = new Throwable[1];
+        Thread producer = new Thread(() -> {
+            try {
+                latch.countDown();
+                // Wait until the consumer takes an element
+                queue.put(3);
+            } catch (Throwable e) {
+                exceptions[0] = e;
+            }
+        });
+        producer.start();
+        latch.await();
+
+        Thread.sleep(50L);
+        Assert.assertTrue(producer.isAlive());
+        Assert.assertEquals(1, queue.take());
+        producer.join();
+
+        Assert.assertNull(exceptions[0]);
+        Assert.assertEquals(2, queue.take());
+        Assert.assertEquals(3, queue.take());
+    }
+
+    @Test
+    public void testPutWithInterrupted() throws InterruptedException {
+        MpscRingQueue<Integer> queue = new MpscRingQueue<>(2);
+        queue.put(1);
+        queue.put(2);
+
+        Throwable[] exceptions = new Throwable[1];
+        Thread producer = new Thread(() -> {
+            try {
+                queue.put(3);
+            } catch (Throwable e) {
+                exceptions[0] = e;
+            }
+        });
+        producer.start();
+        producer.interrupt();
+        producer.join();
+
+        Assert.assertInstanceOf(InterruptedException.class, exceptions[0]);
+        Assert.assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void testMultipleProducers() throws InterruptedException {
+        int producers = 8;
+        int count = 10000;
+        MpscRingQueue<Integer> queue = new MpscRingQueue<>(16);
+        Thread[] threads = new Thread[producers];
+        for (int i = 0; i < producers; i++) {
+            int producer = i;
+            threads[i] = new Thread(() -> {
+                try {
+                    for (int j = 0; j < count; j++) {
+                        queue.put(producer * count + j);
+                    }
+                } catch (InterruptedException ignored) {
+                    // Check the count of taken elements below
+                }
+            });
+            threads[i].start();
+        }
+
+        // The elements of each producer are taken in the order of put
+        int[] lastValues = new int[producers];
+        for (int i = 0; i < producers; i++) {
+            lastValues[i] = -1;
+        }
+        for (int i = 0; i < producers * count; i++) {
+            int value = queue.take();
+            int producer = value / count;
+            Assert.assertEquals(lastValues[producer] + 1, value % count);
+            lastValues[producer] = value % count;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertNull(queue.poll());
+    }
+}
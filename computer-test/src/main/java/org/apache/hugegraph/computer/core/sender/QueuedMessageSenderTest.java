@@ -54,14 +54,49 @@ public class QueuedMessageSenderTest extends UnitTestBase {
         sender.addWorkerClient(2, new MockTransportClient());
         sender.init();
 
-        Thread sendExecutor = Whitebox.getInternalState(sender, "sendExecutor");
-        Assert.assertTrue(ImmutableSet.of(Thread.State.NEW,
-                                          Thread.State.RUNNABLE,
-                                          Thread.State.WAITING)
-                                      .contains(sendExecutor.getState()));
+        Thread[] sendExecutors = Whitebox.getInternalState(sender,
+                                                           "sendExecutors");
+        Assert.assertEquals(1, sendExecutors.length);
+        for (Thread sendExecutor : sendExecutors) {
+            Assert.assertTrue(ImmutableSet.of(Thread.State.NEW,
+                                              Thread.State.RUNNABLE,
+                                              Thread.State.WAITING)
+                                          .contains(sendExecutor.getState()));
+        }
 
         sender.close();
-        Assert.assertTrue(ImmutableSet.of(Thread.State.TERMINATED)
-                                      .contains(sendExecutor.getState()));
+        for (Thread sendExecutor : sendExecutors) {
+            Assert.assertEquals(Thread.State.TERMINATED,
+                                sendExecutor.getState());
+        }
+    }
+
+    @Test
+    public void testInitAndCloseWithMultiThreads() {
+        Config config = UnitTestBase.updateWithRequiredOptions(
+                ComputerOptions.JOB_ID, "local_002",
+                ComputerOptions.JOB_WORKERS_COUNT, "2",
+                ComputerOptions.JOB_PARTITIONS_COUNT, "2",
+                ComputerOptions.WORKER_SEND_THREAD_NUMS, "4",
+                ComputerOptions.WORKER_COMPUTATION_CLASS,
+                MockComputation2.class.getName()
+        );
+        QueuedMessageSender sender = new QueuedMessageSender(config);
+        sender.addWorkerClient(1, new MockTransportClient());
+        sender.addWorkerClient(2, new MockTransportClient());
+        sender.init();
+
+        // The thread number is limited by the worker count
+        Thread[] sendExecutors = Whitebox.getInternalState(sender,
+                                                           "sendExecutors");
+        Assert.assertEquals(2, sendExecutors.length);
+        Assert.assertEquals("send-executor-0", sendExecutors[0].getName());
+        Assert.assertEquals("send-executor-1", sendExecutors[1].getName());
+
+        sender.close();
+        for (Thread sendExecutor : sendExecutors) {
+            Assert.assertEquals(Thread.State.TERMINATED,
+                                sendExecutor.getState());
+        }
     }
 }
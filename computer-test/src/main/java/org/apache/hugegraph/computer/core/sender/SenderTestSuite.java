@@ -25,6 +25,7 @@ import org.junit.runners.Suite;
     MessageSendBuffersTest.class,
     MessageSendManagerTest.class,
     MessageQueueTest.class,
+    MpscRingQueueTest.class,
     MultiQueueTest.class,
     QueuedMessageTest.class,
     QueuedMessageSenderTest.class,
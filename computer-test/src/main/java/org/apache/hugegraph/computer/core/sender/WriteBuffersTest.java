@@ -18,15 +18,23 @@
 package org.apache.hugegraph.computer.core.sender;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.hugegraph.computer.core.combiner.DoubleValueSumCombiner;
+
 import org.apache.hugegraph.computer.core.common.exception.ComputerException;
+import org.apache.hugegraph.computer.core.config.ComputerOptions;
 import org.apache.hugegraph.computer.core.graph.GraphFactory;
 import org.apache.hugegraph.computer.core.graph.id.BytesId;
+import org.apache.hugegraph.computer.core.graph.id.Id;
 import org.apache.hugegraph.computer.core.graph.properties.Properties;
 import org.apache.hugegraph.computer.core.graph.value.DoubleValue;
 import org.apache.hugegraph.computer.core.graph.value.IntValue;
 import org.apache.hugegraph.computer.core.graph.value.ListValue;
+import org.apache.hugegraph.computer.core.graph.value.Value;
 import org.apache.hugegraph.computer.core.graph.value.ValueType;
 import org.apache.hugegraph.computer.core.graph.vertex.Vertex;
 import org.apache.hugegraph.computer.core.io.RandomAccessInput;
@@ -257,4 +265,61 @@ public class WriteBuffersTest extends UnitTestBase {
             Assert.assertEquals(vertex, graphInput.readVertex());
         }
     }
+
+    @Test
+    public void testWriteMessageWithCombiner() throws IOException {
+        UnitTestBase.updateWithRequiredOptions(
+            ComputerOptions.WORKER_COMBINER_CLASS,
+            DoubleValueSumCombiner.class.getName(),
+            ComputerOptions.ALGORITHM_MESSAGE_CLASS,
+            DoubleValue.class.getName(),
+            ComputerOptions.WORKER_SENDER_COMBINE_SIZE, "16"
+        );
+        try {
+            WriteBuffers buffers = new WriteBuffers(context(), 1000, 1000);
+            DoubleValue value = new DoubleValue();
+            for (int i = 0; i < 100; i++) {
+                // The value object is reused by caller
+                value.value(1.0D);
+                buffers.writeMessage(BytesId.of(i % 10), value);
+            }
+            // The table is flushed when it's full
+            for (int i = 100; i < 120; i++) {
+                buffers.writeMessage(BytesId.of(i), new DoubleValue(3.0D));
+            }
+            buffers.writeMessage(BytesId.of("a"), new DoubleValue(2.0D));
+            Assert.assertFalse(buffers.isEmpty());
+            buffers.prepareSorting();
+            Assert.assertEquals(121L, buffers.messageWritten().messageCount());
+
+            Map<Id, Double> sums = new HashMap<>();
+            int count = 0;
+            try (RandomAccessInput input = buffers.wrapForRead()) {
+                EntryInput entryInput = new EntryInputImpl(input);
+                StreamGraphInput graphInput = new StreamGraphInput(
+                                              context(), entryInput);
+                while (input.available() > 0) {
+                    Pair<Id, Value> message = graphInput.readMessage();
+                    double messageValue = ((DoubleValue) message.getValue())
+                                          .doubleValue();
+                    sums.merge(message.getKey(), messageValue, Double::sum);
+                    count++;
+                }
+            }
+            // The messages to the same long id are combined before sort
+            Assert.assertEquals(31, count);
+            Assert.assertEquals(31, sums.size());
+            for (int i = 0; i < 10; i++) {
+                Assert.assertEquals(10.0D, sums.get(BytesId.of(i)), 0.0D);
+            }
+            for (int i = 100; i < 120; i++) {
+                Assert.assertEquals(3.0D, sums.get(BytesId.of(i)), 0.0D);
+            }
+            Assert.assertEquals(2.0D, sums.get(BytesId.of("a")), 0.0D);
+        } finally {
+            UnitTestBase.updateWithRequiredOptions(
+                ComputerOptions.WORKER_SENDER_COMBINE_SIZE, "0"
+            );
+        }
+    }
 }
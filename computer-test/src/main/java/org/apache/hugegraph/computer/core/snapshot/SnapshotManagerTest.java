@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.snapshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.hugegraph.computer.core.common.ContainerInfo;
+import org.apache.hugegraph.computer.core.common.exception.ComputerException;
+import org.apache.hugegraph.computer.core.config.ComputerOptions;
+import org.apache.hugegraph.computer.core.config.Config;
+import org.apache.hugegraph.computer.core.network.buffer.FileRegionBuffer;
+import org.apache.hugegraph.computer.core.network.message.MessageType;
+import org.apache.hugegraph.computer.core.receiver.MessageRecvManager;
+import org.apache.hugegraph.computer.suite.unit.UnitTestBase;
+import org.apache.hugegraph.testutil.Assert;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class SnapshotManagerTest extends UnitTestBase {
+
+    private static final String DIR_NAME = "test/HashPartitioner/2/VERTEX/0/";
+
+    private File root;
+    private File local;
+    private LocalSnapshotStore store;
+
+    @Before
+    public void setup() {
+        this.root = new File("snapshot-" + UUID.randomUUID());
+        this.local = new File("snapshot-local-" + UUID.randomUUID());
+        Config config = UnitTestBase.updateWithRequiredOptions(
+                ComputerOptions.SNAPSHOT_LOCAL_DIR, this.root.getPath()
+        );
+        this.store = new LocalSnapshotStore();
+        this.store.init(config);
+    }
+
+    @After
+    public void teardown() {
+        this.store.close();
+        FileUtils.deleteQuietly(this.root);
+        FileUtils.deleteQuietly(this.local);
+    }
+
+    @Test
+    public void testUploadIncrementally() throws IOException {
+        File file = this.writeLocalFile("file", "vertex-0");
+        File dir = new File(this.local, "dir");
+        this.writeLocalFile("dir/hgkv_0.hgkv", "vertex-1");
+        File changed = this.writeLocalFile("dir/hgkv_1.hgkv", "vertex-2");
+
+        SnapshotManager manager = this.snapshotManager(false, null);
+        manager.upload(MessageType.VERTEX, 0,
+                       Arrays.asList(file.getPath(), dir.getPath()));
+        List<String> keys = this.store.list(DIR_NAME);
+        Assert.assertEquals(4, keys.size());
+        Assert.assertTrue(keys.contains(DIR_NAME + "manifest"));
+
+        // The unchanged files are kept and the changed file is replaced
+        FileUtils.writeStringToFile(changed, "vertex-3",
+                                    StandardCharsets.UTF_8);
+        manager.upload(MessageType.VERTEX, 0,
+                       Arrays.asList(file.getPath(), dir.getPath()));
+        List<String> newKeys = this.store.list(DIR_NAME);
+        Assert.assertEquals(4, newKeys.size());
+        List<String> retainedKeys = new ArrayList<>(newKeys);
+        retainedKeys.retainAll(keys);
+        Assert.assertEquals(3, retainedKeys.size());
+        manager.close(context().config());
+    }
+
+    @Test
+    public void testUploadAndLoad() throws IOException {
+        File file = this.writeLocalFile("file", "vertex-0");
+        File dir = new File(this.local, "dir");
+        this.writeLocalFile("dir/hgkv_0.hgkv", "vertex-1");
+        this.writeLocalFile("dir/hgkv_1.hgkv", "vertex-2");
+
+        SnapshotManager writer = this.snapshotManager(false, null);
+        writer.upload(MessageType.VERTEX, 0,
+                      Arrays.asList(file.getPath(), dir.getPath()));
+        writer.close(context().config());
+
+        MessageRecvManager recvManager = this.mockRecvManager();
+        Map<String, Integer> handled = new HashMap<>();
+        Mockito.doAnswer(invocation -> {
+            FileRegionBuffer buffer = invocation.getArgument(2);
+            handled.put(buffer.path(), buffer.length());
+            return null;
+        }).when(recvManager).handle(Mockito.eq(MessageType.VERTEX),
+                                    Mockito.eq(0), Mockito.any());
+
+        SnapshotManager loader = this.snapshotManager(true, recvManager);
+        loader.load();
+        loader.close(context().config());
+
+        // The partition 1 and the edges of partition 0 are empty
+        Mockito.verify(recvManager, Mockito.times(2))
+               .handle(Mockito.any(), Mockito.anyInt(), Mockito.any());
+        Mockito.verify(recvManager).finishInputLocally();
+        Assert.assertEquals(2, handled.size());
+        for (Map.Entry<String, Integer> entry : handled.entrySet()) {
+            File output = new File(entry.getKey());
+            if (output.isDirectory()) {
+                Assert.assertEquals(16, (int) entry.getValue());
+                Assert.assertEquals("vertex-2", FileUtils.readFileToString(
+                                    new File(output, "hgkv_1.hgkv"),
+                                    StandardCharsets.UTF_8));
+            } else {
+                Assert.assertEquals(8, (int) entry.getValue());
+                Assert.assertEquals("vertex-0", FileUtils.readFileToString(
+                                    output, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    public void testLoadWithCorruptedSnapshot() throws IOException {
+        File file = this.writeLocalFile("file", "vertex-0");
+        SnapshotManager writer = this.snapshotManager(false, null);
+        writer.upload(MessageType.VERTEX, 0,
+                      Arrays.asList(file.getPath()));
+        writer.close(context().config());
+
+        // The content is changed with the same size
+        for (String key : this.store.list(DIR_NAME)) {
+            if (!key.endsWith("manifest")) {
+                FileUtils.writeStringToFile(new File(this.root, key),
+                                            "vertex-9",
+                                            StandardCharsets.UTF_8);
+            }
+        }
+        SnapshotManager loader = this.snapshotManager(true, null);
+        Assert.assertThrows(ComputerException.class, loader::load, e -> {
+            Assert.assertContains("The checksum of snapshot file",
+                                  e.getCause().getMessage());
+        });
+        loader.close(context().config());
+
+        // The snapshot without manifest is incomplete
+        this.store.delete(Arrays.asList(DIR_NAME + "manifest"));
+        SnapshotManager loader2 = this.snapshotManager(true, null);
+        Assert.assertThrows(ComputerException.class, loader2::load, e -> {
+            Assert.assertContains("is incomplete", e.getMessage());
+        });
+        loader2.close(context().config());
+    }
+
+    private SnapshotManager snapshotManager(boolean load,
+                                            MessageRecvManager recvManager) {
+        Config config = UnitTestBase.updateWithRequiredOptions(
+                ComputerOptions.JOB_WORKERS_COUNT, "1",
+                ComputerOptions.JOB_PARTITIONS_COUNT, "2",
+                ComputerOptions.SNAPSHOT_NAME, "test",
+                ComputerOptions.SNAPSHOT_WRITE, String.valueOf(!load),
+                ComputerOptions.SNAPSHOT_LOAD, String.valueOf(load),
+                ComputerOptions.SNAPSHOT_STORE_CLASS,
+                LocalSnapshotStore.class.getName(),
+                ComputerOptions.SNAPSHOT_LOCAL_DIR, this.root.getPath()
+        );
+        if (recvManager == null) {
+            recvManager = this.mockRecvManager();
+        }
+        SnapshotManager manager = new SnapshotManager(
+                                  context(), recvManager,
+                                  new ContainerInfo(1, "localhost", 8081));
+        manager.init(config);
+        return manager;
+    }
+
+    private MessageRecvManager mockRecvManager() {
+        MessageRecvManager recvManager = Mockito.mock(MessageRecvManager.class);
+        Mockito.when(recvManager.genOutputPath(Mockito.any(),
+                                               Mockito.anyInt()))
+               .thenAnswer(invocation -> {
+                   return new File(this.local, "output-" + UUID.randomUUID())
+                          .getPath();
+               });
+        return recvManager;
+    }
+
+    private File writeLocalFile(String name, String content)
+                                throws IOException {
+        File file = new File(this.local, name);
+        FileUtils.writeStringToFile(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+}
@@ -33,6 +33,7 @@ import org.apache.hugegraph.computer.core.config.Config;
 import org.apache.hugegraph.computer.core.graph.id.Id;
 import org.apache.hugegraph.computer.core.io.BytesInput;
 import org.apache.hugegraph.computer.core.io.BytesOutput;
+import org.apache.hugegraph.computer.core.io.FileInputFactory;
 import org.apache.hugegraph.computer.core.io.IOFactory;
 import org.apache.hugegraph.computer.core.io.Readable;
 import org.apache.hugegraph.computer.core.io.Writable;
@@ -168,9 +169,11 @@ public class SorterTestUtil {
 
     public static Sorter createSorter(Config config) {
         if (config.get(ComputerOptions.TRANSPORT_RECV_FILE_MODE)) {
-            return new BufferFileSorter(config);
+            return new BufferFileSorter(config,
+                                        new FileInputFactory(config, null));
         } else {
-            return new HgkvFileSorter(config);
+            return new HgkvFileSorter(config,
+                                      new FileInputFactory(config, null));
         }
     }
 }
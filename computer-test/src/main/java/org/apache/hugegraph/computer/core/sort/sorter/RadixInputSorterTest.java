@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hugegraph.computer.core.sort.sorter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.hugegraph.computer.core.combiner.IntValueSumCombiner;
+import org.apache.hugegraph.computer.core.combiner.PointerCombiner;
+import org.apache.hugegraph.computer.core.common.Constants;
+import org.apache.hugegraph.computer.core.common.exception.ComputerException;
+import org.apache.hugegraph.computer.core.config.ComputerOptions;
+import org.apache.hugegraph.computer.core.config.Config;
+import org.apache.hugegraph.computer.core.graph.value.IntValue;
+import org.apache.hugegraph.computer.core.io.BytesInput;
+import org.apache.hugegraph.computer.core.io.BytesOutput;
+import org.apache.hugegraph.computer.core.io.IOFactory;
+import org.apache.hugegraph.computer.core.sort.Sorter;
+import org.apache.hugegraph.computer.core.sort.SorterTestUtil;
+import org.apache.hugegraph.computer.core.sort.flusher.CombineKvInnerSortFlusher;
+import org.apache.hugegraph.computer.core.sort.sorting.SortingFactory;
+import org.apache.hugegraph.computer.core.store.buffer.KvEntriesInput;
+import org.apache.hugegraph.computer.core.store.entry.DefaultKvEntry;
+import org.apache.hugegraph.computer.core.store.entry.EntriesUtil;
+import org.apache.hugegraph.computer.core.store.entry.InlinePointer;
+import org.apache.hugegraph.computer.core.store.entry.KvEntry;
+import org.apache.hugegraph.computer.suite.unit.UnitTestBase;
+import org.apache.hugegraph.testutil.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class RadixInputSorterTest {
+
+    @Test
+    public void testSortSameAsJavaSorter() throws Exception {
+        Random random = new Random(1L);
+        List<KvEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            // Many keys are equal or share the same prefix
+            byte[] key = new byte[random.nextInt(12)];
+            for (int j = 0; j < key.length; j++) {
+                key[j] = (byte) (j < 6 ? random.nextInt(3) - 1 :
+                                         random.nextInt(256));
+            }
+            entries.add(entry(key, i));
+        }
+        // The keys longer than the length in prefix
+        for (int i = 0; i < 10; i++) {
+            byte[] key = new byte[40000 + random.nextInt(2)];
+            key[key.length - 1] = (byte) random.nextInt(3);
+            entries.add(entry(key, 5000 + i));
+        }
+
+        List<KvEntry> expected = sort(new JavaInputSorter(), entries);
+        List<KvEntry> actual = sort(new RadixInputSorter(), entries);
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            // Same key and value means the sort is stable
+            Assert.assertSame(expected.get(i), actual.get(i));
+        }
+
+        // The arrays of the thread are reused by next sort
+        List<KvEntry> few = entries.subList(0, 3);
+        Assert.assertEquals(sort(new JavaInputSorter(), few),
+                            sort(new RadixInputSorter(), few));
+        Assert.assertEquals(0, sort(new RadixInputSorter(),
+                                    ImmutableList.of()).size());
+    }
+
+    @Test
+    public void testPrefix() throws Exception {
+        long prefix1 = RadixInputSorter.prefix(new InlinePointer(
+                                               new byte[]{(byte) 0xFF}));
+        long prefix2 = RadixInputSorter.prefix(new InlinePointer(
+                                               new byte[]{0, 0}));
+        // The shorter key is smaller
+        Assert.assertLt(prefix2, prefix1);
+        Assert.assertGt(0L, prefix1);
+
+        long prefix3 = RadixInputSorter.prefix(new InlinePointer(
+                                               new byte[]{1, 2, 3, 4}));
+        long prefix4 = RadixInputSorter.prefix(new InlinePointer(
+                                               new byte[]{1, 2, 3, 5}));
+        Assert.assertLt(prefix4, prefix3);
+
+        // The bytes after the prefix are ignored
+        long prefix5 = RadixInputSorter.prefix(new InlinePointer(
+                       new byte[]{1, 2, 3, 4, 5, 6, 7}));
+        long prefix6 = RadixInputSorter.prefix(new InlinePointer(
+                       new byte[]{1, 2, 3, 4, 5, 6, 8}));
+        Assert.assertEquals(prefix5, prefix6);
+
+        // The bytes of the key with the pointer length are used
+        long prefix7 = RadixInputSorter.prefix(new InlinePointer(
+                       new byte[]{1, 2, 3, 4, 5}, 4));
+        Assert.assertEquals(prefix3, prefix7);
+    }
+
+    @Test
+    public void testSortKvBufferWithRadixSorter() throws Exception {
+        Config config = UnitTestBase.updateWithRequiredOptions(
+                ComputerOptions.SORT_INPUT_SORTER, "RADIX"
+        );
+        List<Integer> map = ImmutableList.of(2, 3,
+                                             1, 23,
+                                             6, 2,
+                                             5, 9,
+                                             2, 2,
+                                             6, 1,
+                                             1, 20);
+        BytesInput input = SorterTestUtil.inputFromKvMap(map);
+        BytesOutput output = IOFactory.createBytesOutput(
+                             Constants.SMALL_BUF_SIZE);
+
+        Sorter sorter = SorterTestUtil.createSorter(config);
+        PointerCombiner combiner = SorterTestUtil.createPointerCombiner(
+                                                  IntValue::new,
+                                                  new IntValueSumCombiner());
+        sorter.sortBuffer(input,
+                          new CombineKvInnerSortFlusher(output, combiner),
+                          false);
+
+        BytesInput resultInput = EntriesUtil.inputFromOutput(output);
+        KvEntriesInput iter = new KvEntriesInput(resultInput);
+        SorterTestUtil.assertKvEntry(iter.next(), 1, 43);
+        SorterTestUtil.assertKvEntry(iter.next(), 2, 5);
+        SorterTestUtil.assertKvEntry(iter.next(), 5, 9);
+        SorterTestUtil.assertKvEntry(iter.next(), 6, 3);
+        Assert.assertFalse(iter.hasNext());
+        iter.close();
+    }
+
+    @Test
+    public void testCreateInputSorter() {
+        Assert.assertEquals(JavaInputSorter.class,
+                            SortingFactory.createInputSorter("JAVA")
+                                          .getClass());
+        Assert.assertEquals(RadixInputSorter.class,
+                            SortingFactory.createInputSorter("RADIX")
+                                          .getClass());
+        Assert.assertThrows(ComputerException.class, () -> {
+            SortingFactory.createInputSorter("MERGE");
+        }, e -> {
+            Assert.assertContains("Can't create input sorter for 'MERGE'",
+                                  e.getMessage());
+        });
+    }
+
+    private static KvEntry entry(byte[] key, int value) {
+        byte[] bytes = Arrays.copyOf(Integer.toString(value).getBytes(), 8);
+        return new DefaultKvEntry(new InlinePointer(key),
+                                  new InlinePointer(bytes));
+    }
+
+    private static List<KvEntry> sort(InputSorter sorter,
+                                      List<KvEntry> entries)
+                                      throws Exception {
+        List<KvEntry> sorted = new ArrayList<>(entries.size());
+        Iterator<KvEntry> iter = sorter.sort(entries.iterator());
+        while (iter.hasNext()) {
+            sorted.add(iter.next());
+        }
+        return sorted;
+    }
+}
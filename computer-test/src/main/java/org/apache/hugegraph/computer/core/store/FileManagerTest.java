@@ -19,12 +19,18 @@ package org.apache.hugegraph.computer.core.store;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.hugegraph.computer.core.common.exception.ComputerException;
 import org.apache.hugegraph.computer.core.config.ComputerOptions;
 import org.apache.hugegraph.computer.core.config.Config;
+import org.apache.hugegraph.computer.core.io.FileInputFactory;
+import org.apache.hugegraph.computer.core.io.RandomAccessInput;
+import org.apache.hugegraph.computer.core.io.ReadAheadFileInput;
 import org.apache.hugegraph.computer.suite.unit.UnitTestBase;
 import org.apache.hugegraph.testutil.Assert;
+import org.apache.hugegraph.testutil.Whitebox;
 import org.junit.Test;
 
 public class FileManagerTest extends UnitTestBase {
@@ -104,4 +110,33 @@ public class FileManagerTest extends UnitTestBase {
 
         dataFileManager.close(config);
     }
+
+    @Test
+    public void testReadAheadExecutor() throws IOException {
+        Config config = UnitTestBase.updateWithRequiredOptions(
+                ComputerOptions.JOB_ID, "local_001",
+                ComputerOptions.WORKER_DATA_DIRS, "[data_dir1]",
+                ComputerOptions.WORKER_READ_AHEAD_DEPTH, "2"
+        );
+        FileManager dataFileManager = new FileManager();
+        try {
+            dataFileManager.init(config);
+
+            File file = new File(dataFileManager.nextDirectory("read_ahead"));
+            FileUtils.writeByteArrayToFile(file, new byte[100]);
+            FileInputFactory factory = dataFileManager.inputFactory();
+            try (RandomAccessInput input = factory.createRawFileInput(file)) {
+                Assert.assertTrue(input instanceof ReadAheadFileInput);
+                Assert.assertEquals(100L, input.available());
+            }
+            ExecutorService executor = Whitebox.getInternalState(
+                                       dataFileManager, "readAheadExecutor");
+            dataFileManager.close(config);
+            Assert.assertTrue(executor.isShutdown());
+        } finally {
+            UnitTestBase.updateWithRequiredOptions(
+                ComputerOptions.WORKER_READ_AHEAD_DEPTH, "0"
+            );
+        }
+    }
 }
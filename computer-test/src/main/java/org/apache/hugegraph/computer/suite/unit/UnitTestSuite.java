@@ -20,6 +20,7 @@ package org.apache.hugegraph.computer.suite.unit;
 import org.apache.hugegraph.computer.algorithm.AlgorithmTestSuite;
 import org.apache.hugegraph.computer.core.allocator.AllocatorTestSuite;
 import org.apache.hugegraph.computer.core.bsp.BspTestSuite;
+import org.apache.hugegraph.computer.core.checkpoint.CheckpointTestSuite;
 import org.apache.hugegraph.computer.core.combiner.CombinerTestSuite;
 import org.apache.hugegraph.computer.core.common.CommonTestSuite;
 import org.apache.hugegraph.computer.core.compute.ComputeTestSuite;
@@ -30,6 +31,7 @@ import org.apache.hugegraph.computer.core.io.IOTestSuite;
 import org.apache.hugegraph.computer.core.network.NetworkTestSuite;
 import org.apache.hugegraph.computer.core.receiver.ReceiverTestSuite;
 import org.apache.hugegraph.computer.core.sender.SenderTestSuite;
+import org.apache.hugegraph.computer.core.snapshot.SnapshotTestSuite;
 import org.apache.hugegraph.computer.core.sort.sorter.SorterTestSuite;
 import org.apache.hugegraph.computer.core.sort.sorting.SortingTestSuite;
 import org.apache.hugegraph.computer.core.store.StoreTestSuite;
@@ -60,6 +62,8 @@ import org.junit.runners.Suite;
     SenderTestSuite.class,
     ReceiverTestSuite.class,
     ComputeTestSuite.class,
+    CheckpointTestSuite.class,
+    SnapshotTestSuite.class,
     ComputerDistTestSuite.class,
     DriverTestSuite.class,
     K8sTestSuite.class,